@@ -0,0 +1,128 @@
+package fr.sii.ogham.processor;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor that lists, at compile time, all classes annotated by
+ * {@code fr.sii.ogham.core.builder.configurer.ConfigurerFor}. The list is
+ * written in {@value #INDEX_LOCATION} (one fully qualified class name per
+ * line). The index is always written, even if there is no configurer: an empty
+ * index indicates that the jar has been indexed and doesn't need to be
+ * scanned.
+ * 
+ * <p>
+ * The index is read by {@code MessagingBuilder.findAndRegister()} instead of
+ * scanning the whole classpath at startup. Each jar has its own index so all
+ * index resources available in the classpath are read.
+ * </p>
+ * 
+ * <p>
+ * The annotation is referenced by its name so this processor doesn't depend
+ * on ogham-core. It is automatically applied by the Java compiler for any
+ * project that has ogham-core in its classpath.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class ConfigurerIndexProcessor extends AbstractProcessor {
+	/**
+	 * The location of the index in the classpath (must be the same as the
+	 * location read by {@code ConfigurerIndex} in ogham-core)
+	 */
+	public static final String INDEX_LOCATION = "META-INF/ogham/configurers.index";
+
+	/**
+	 * The annotation that marks configurers to index
+	 */
+	public static final String CONFIGURER_ANNOTATION = "fr.sii.ogham.core.builder.configurer.ConfigurerFor";
+
+	private final Set<String> configurers = new TreeSet<>();
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		// every annotation so that the processor is also called (and the
+		// index written) when there is no configurer
+		return Collections.singleton("*");
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		if (roundEnv.processingOver()) {
+			writeIndex();
+			return false;
+		}
+		for (TypeElement annotation : annotations) {
+			if (!annotation.getQualifiedName().contentEquals(CONFIGURER_ANNOTATION)) {
+				continue;
+			}
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				if (element.getKind() == ElementKind.CLASS) {
+					configurers.add(processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString());
+				}
+			}
+		}
+		return false;
+	}
+
+	private void writeIndex() {
+		// on incremental compilation, only modified classes are processed
+		readExistingIndex();
+		try {
+			FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+			try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+				for (String configurer : configurers) {
+					writer.write(configurer);
+					writer.write('\n');
+				}
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Kind.ERROR, "Failed to write configurer index " + INDEX_LOCATION + ": " + e.getMessage());
+		}
+	}
+
+	private void readExistingIndex() {
+		try {
+			FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					String className = line.trim();
+					// skip configurers that have been removed since last compilation
+					if (!className.isEmpty() && processingEnv.getElementUtils().getTypeElement(className.replace('$', '.')) != null) {
+						configurers.add(className);
+					}
+				}
+			}
+		} catch (FileNotFoundException | NoSuchFileException e) {
+			// no previous index
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Kind.NOTE, "Previous configurer index couldn't be read: " + e.getMessage());
+		}
+	}
+}
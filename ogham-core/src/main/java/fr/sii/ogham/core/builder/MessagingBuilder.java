@@ -5,8 +5,11 @@ import static java.util.Arrays.asList;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
@@ -19,6 +22,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import fr.sii.ogham.core.builder.configurer.ConfigurerFor;
+import fr.sii.ogham.core.builder.configurer.ConfigurerIndex;
 import fr.sii.ogham.core.builder.configurer.MessagingConfigurer;
 import fr.sii.ogham.core.builder.env.EnvironmentBuilder;
 import fr.sii.ogham.core.builder.env.SimpleEnvironmentBuilder;
@@ -29,8 +33,11 @@ import fr.sii.ogham.core.builder.resolution.StandaloneResourceResolutionBuilder;
 import fr.sii.ogham.core.exception.MessagingException;
 import fr.sii.ogham.core.exception.builder.BuildException;
 import fr.sii.ogham.core.sender.ConditionalSender;
+import fr.sii.ogham.core.sender.LazyConditionalSender;
+import fr.sii.ogham.core.service.AsyncMessagingService;
 import fr.sii.ogham.core.service.EverySupportingMessagingService;
 import fr.sii.ogham.core.service.MessagingService;
+import fr.sii.ogham.core.service.WarmUpable;
 import fr.sii.ogham.core.service.WrapExceptionMessagingService;
 import fr.sii.ogham.email.builder.EmailBuilder;
 import fr.sii.ogham.email.message.Email;
@@ -240,6 +247,9 @@ public class MessagingBuilder implements Builder<MessagingService> {
 	private EmailBuilder emailBuilder;
 	private SmsBuilder smsBuilder;
 	private boolean wrapUncaught;
+	private boolean lazy;
+	private boolean virtualThreads;
+	private int maxConcurrentSendsPerProvider;
 
 	/**
 	 * Initializes the builder with minimal requirements:
@@ -500,6 +510,87 @@ public class MessagingBuilder implements Builder<MessagingService> {
 		return this;
 	}
 
+	/**
+	 * By default, everything is initialized when {@link #build()} is called
+	 * (template engines, mimetype detection, CSS inliners, senders...) even if
+	 * the application never sends some kind of message (for example, only
+	 * SMS are sent).
+	 * 
+	 * <p>
+	 * If lazy mode is enabled, the {@link Email} part and the {@link Sms} part
+	 * are only built when the first message of that kind is sent. The
+	 * initialization is done only once even if several threads send messages
+	 * at the same time.
+	 * </p>
+	 * 
+	 * <p>
+	 * The first message of each kind takes longer to be sent. If you prefer
+	 * predictable latency, you can initialize everything up front by calling
+	 * {@link WarmUpable#warmUp()} on the built service:
+	 * 
+	 * <pre>
+	 * <code>
+	 * MessagingService service = MessagingBuilder.standard()
+	 *   .lazy(true)
+	 *   .build();
+	 * // later, for example when the application is ready
+	 * ((WarmUpable) service).warmUp();
+	 * </code>
+	 * </pre>
+	 * 
+	 * <p>
+	 * As the parts are built later, any change made on this builder after
+	 * calling {@link #build()} may be taken into account by the service.
+	 * </p>
+	 * 
+	 * @param enable
+	 *            enable or disable lazy initialization
+	 * @return this instance for fluent chaining
+	 */
+	public MessagingBuilder lazy(boolean enable) {
+		lazy = enable;
+		return this;
+	}
+
+	/**
+	 * Enables asynchronous sending: the built service is an
+	 * {@link AsyncMessagingService} that runs each send (including connection
+	 * acquisition and retries) on its own thread. On Java 21+, virtual threads
+	 * are used so thousands of slow sends can be in flight cheaply. On older
+	 * Java versions, a bounded pool of platform threads is used instead (the
+	 * concurrent sends per provider times the number of registered
+	 * providers).
+	 * 
+	 * <p>
+	 * As many messages may be sent at the same time, the number of concurrent
+	 * sends is limited for each provider (JavaMail, SendGrid, Cloudhopper,
+	 * OVH...). This limit overrides the one configured through
+	 * {@link EmailBuilder#maxConcurrentSends(int)} and
+	 * {@link SmsBuilder#maxConcurrentSends(int)}.
+	 * </p>
+	 * 
+	 * <pre>
+	 * <code>
+	 * AsyncMessagingService service = (AsyncMessagingService) MessagingBuilder.standard()
+	 *   .virtualThreads(50)
+	 *   .build();
+	 * service.sendAsync(email);
+	 * </code>
+	 * </pre>
+	 * 
+	 * @param maxConcurrentSendsPerProvider
+	 *            the maximum number of concurrent sends per provider
+	 * @return this instance for fluent chaining
+	 */
+	public MessagingBuilder virtualThreads(int maxConcurrentSendsPerProvider) {
+		if (maxConcurrentSendsPerProvider <= 0) {
+			throw new IllegalArgumentException("[maxConcurrentSendsPerProvider] must be strictly positive");
+		}
+		virtualThreads = true;
+		this.maxConcurrentSendsPerProvider = maxConcurrentSendsPerProvider;
+		return this;
+	}
+
 	/**
 	 * Configures how to send {@link Email} messages. It allows to:
 	 * <ul>
@@ -1075,6 +1166,10 @@ public class MessagingBuilder implements Builder<MessagingService> {
 		if (wrapUncaught) {
 			service = new WrapExceptionMessagingService(service);
 		}
+		if (virtualThreads) {
+			LOG.info("Messages can be sent asynchronously (at most {} concurrent sends per provider)", maxConcurrentSendsPerProvider);
+			service = new AsyncMessagingService(service, maxConcurrentSendsPerProvider * Math.max(1, countProviders()));
+		}
 		return service;
 	}
 
@@ -1853,6 +1948,13 @@ public class MessagingBuilder implements Builder<MessagingService> {
 	 * the classpath. Only configurers that are in the provided packages (and
 	 * sub-packages) are loaded.
 	 * 
+	 * <p>
+	 * Configurers are listed at compile time in an index (see
+	 * {@link ConfigurerIndex}) so the classpath doesn't need to be scanned.
+	 * The classpath is only scanned if there is no index at all (for example
+	 * if annotation processing is disabled).
+	 * </p>
+	 * 
 	 * Once configurers are found, they are filtered thanks to information
 	 * provided by {@link ConfigurerFor} annotation. Only configurers with
 	 * {@link ConfigurerFor#targetedBuilder()} value that matches the
@@ -1871,8 +1973,7 @@ public class MessagingBuilder implements Builder<MessagingService> {
 	 *            {@link MessagingConfigurer} implementations
 	 */
 	public static void findAndRegister(MessagingBuilder builder, String builderName, String... basePackages) {
-		Reflections reflections = new Reflections(basePackages, new SubTypesScanner());
-		Set<Class<? extends MessagingConfigurer>> configurerClasses = reflections.getSubTypesOf(MessagingConfigurer.class);
+		Collection<Class<? extends MessagingConfigurer>> configurerClasses = findConfigurers(basePackages);
 		for (Class<? extends MessagingConfigurer> configurerClass : configurerClasses) {
 			ConfigurerFor annotation = configurerClass.getAnnotation(ConfigurerFor.class);
 			if (annotation != null && asList(annotation.targetedBuilder()).contains(builderName)) {
@@ -1886,17 +1987,67 @@ public class MessagingBuilder implements Builder<MessagingService> {
 		}
 	}
 
+	private static Collection<Class<? extends MessagingConfigurer>> findConfigurers(String... basePackages) {
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		if (classLoader == null) {
+			classLoader = MessagingBuilder.class.getClassLoader();
+		}
+		List<Class<? extends MessagingConfigurer>> indexed = ConfigurerIndex.load(classLoader, basePackages);
+		if (indexed == null) {
+			LOG.info("No configurer index found, scanning classpath for configurers (slower)");
+			return scanConfigurers(basePackages);
+		}
+		String[] notIndexed = ConfigurerIndex.getNotIndexedPackages(classLoader, basePackages);
+		if (notIndexed.length == 0) {
+			return indexed;
+		}
+		// some jars/directories have been compiled without the annotation
+		// processor => merge indexed configurers with scanned ones
+		LOG.info("Packages {} are not fully indexed, scanning classpath for configurers (slower)", Arrays.toString(notIndexed));
+		Set<Class<? extends MessagingConfigurer>> configurers = new LinkedHashSet<>(indexed);
+		configurers.addAll(scanConfigurers(notIndexed));
+		return configurers;
+	}
+
+	private static Set<Class<? extends MessagingConfigurer>> scanConfigurers(String... basePackages) {
+		Reflections reflections = new Reflections(basePackages, new SubTypesScanner());
+		return reflections.getSubTypesOf(MessagingConfigurer.class);
+	}
+
 	private List<ConditionalSender> buildSenders() {
 		List<ConditionalSender> senders = new ArrayList<>();
+		if (virtualThreads) {
+			limitConcurrentSends();
+		}
 		if (emailBuilder != null) {
-			senders.add(emailBuilder.build());
+			senders.add(lazy ? new LazyConditionalSender(Email.class, emailBuilder) : emailBuilder.build());
 		}
 		if (smsBuilder != null) {
-			senders.add(smsBuilder.build());
+			senders.add(lazy ? new LazyConditionalSender(Sms.class, smsBuilder) : smsBuilder.build());
 		}
 		return senders;
 	}
 
+	private int countProviders() {
+		int count = 0;
+		if (emailBuilder != null) {
+			count += emailBuilder.getRegisteredSendersCount();
+		}
+		if (smsBuilder != null) {
+			count += smsBuilder.getRegisteredSendersCount();
+		}
+		return count;
+	}
+
+	private void limitConcurrentSends() {
+		if (emailBuilder != null) {
+			emailBuilder.maxConcurrentSends(maxConcurrentSendsPerProvider);
+		}
+		if (smsBuilder != null) {
+			smsBuilder.maxConcurrentSends(maxConcurrentSendsPerProvider);
+		}
+	}
+
 	private static class PriorityComparator implements Comparator<PrioritizedConfigurer> {
 		@Override
 		public int compare(PrioritizedConfigurer o1, PrioritizedConfigurer o2) {
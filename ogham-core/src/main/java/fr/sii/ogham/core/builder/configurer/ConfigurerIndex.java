@@ -0,0 +1,194 @@
+package fr.sii.ogham.core.builder.configurer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.builder.MessagingBuilder;
+
+/**
+ * Reads the configurer indexes generated at compile time by the annotation
+ * processor of ogham-annotation-processor module. Each jar compiled with the
+ * annotation processor provides its own index (empty if it contains no
+ * {@link ConfigurerFor} annotated class).
+ * 
+ * <p>
+ * This is used by {@link MessagingBuilder#findAndRegister} to avoid scanning
+ * the whole classpath.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public final class ConfigurerIndex {
+	private static final Logger LOG = LoggerFactory.getLogger(ConfigurerIndex.class);
+
+	/**
+	 * The location of the index in the classpath (must be the same as the
+	 * location used by the annotation processor)
+	 */
+	public static final String INDEX_LOCATION = "META-INF/ogham/configurers.index";
+
+	/**
+	 * Load the configurer classes listed in all the indexes available in the
+	 * classpath. Only classes in the provided packages (or sub-packages) are
+	 * loaded.
+	 * 
+	 * <p>
+	 * Indexed classes that can't be loaded (removed class or missing optional
+	 * dependency) are skipped.
+	 * </p>
+	 * 
+	 * @param classLoader
+	 *            the class loader used to find indexes and load classes
+	 * @param basePackages
+	 *            the packages to keep
+	 * @return the found configurer classes or null if there is no index in
+	 *         the classpath
+	 */
+	public static List<Class<? extends MessagingConfigurer>> load(ClassLoader classLoader, String... basePackages) {
+		Set<String> classNames = readIndexes(classLoader);
+		if (classNames == null) {
+			return null;
+		}
+		List<Class<? extends MessagingConfigurer>> configurers = new ArrayList<>(classNames.size());
+		for (String className : classNames) {
+			if (inPackages(className, basePackages)) {
+				Class<? extends MessagingConfigurer> configurer = loadClass(classLoader, className);
+				if (configurer != null) {
+					configurers.add(configurer);
+				}
+			}
+		}
+		return configurers;
+	}
+
+	/**
+	 * Find the packages that are not fully covered by the indexes: at least
+	 * one classpath entry (jar or directory) contains the package but has no
+	 * index (compiled without the annotation processor). Configurers of these
+	 * packages can only be found by scanning the classpath.
+	 * 
+	 * @param classLoader
+	 *            the class loader used to find indexes and packages
+	 * @param basePackages
+	 *            the packages to check
+	 * @return the packages that are not covered (empty array if all packages
+	 *         are covered)
+	 */
+	public static String[] getNotIndexedPackages(ClassLoader classLoader, String... basePackages) {
+		if (basePackages == null || basePackages.length == 0) {
+			return new String[0];
+		}
+		try {
+			Set<String> indexedRoots = getRoots(classLoader.getResources(INDEX_LOCATION), INDEX_LOCATION);
+			List<String> notIndexed = new ArrayList<>();
+			for (String basePackage : basePackages) {
+				String path = basePackage.replace('.', '/');
+				Set<String> roots = getRoots(classLoader.getResources(path), path);
+				roots.removeAll(indexedRoots);
+				if (!roots.isEmpty()) {
+					LOG.debug("Package {} is available in {} that have no configurer index", basePackage, roots);
+					notIndexed.add(basePackage);
+				}
+			}
+			return notIndexed.toArray(new String[notIndexed.size()]);
+		} catch (IOException e) {
+			LOG.warn("Failed to check configurer indexes, classpath will be scanned", e);
+			return basePackages;
+		}
+	}
+
+	private static Set<String> getRoots(Enumeration<URL> resources, String path) {
+		Set<String> roots = new LinkedHashSet<>();
+		while (resources.hasMoreElements()) {
+			String location = resources.nextElement().toExternalForm();
+			if (location.endsWith("/")) {
+				location = location.substring(0, location.length() - 1);
+			}
+			if (location.endsWith(path)) {
+				roots.add(location.substring(0, location.length() - path.length()));
+			}
+		}
+		return roots;
+	}
+
+	private static Set<String> readIndexes(ClassLoader classLoader) {
+		try {
+			Enumeration<URL> indexes = classLoader.getResources(INDEX_LOCATION);
+			if (!indexes.hasMoreElements()) {
+				LOG.debug("No configurer index found in classpath");
+				return null;
+			}
+			Set<String> classNames = new LinkedHashSet<>();
+			while (indexes.hasMoreElements()) {
+				URL index = indexes.nextElement();
+				LOG.debug("Reading configurer index {}", index);
+				readIndex(index, classNames);
+			}
+			return classNames;
+		} catch (IOException e) {
+			LOG.warn("Failed to read configurer indexes, classpath will be scanned", e);
+			return null;
+		}
+	}
+
+	private static void readIndex(URL index, Set<String> classNames) throws IOException {
+		try (InputStream stream = index.openStream(); BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String className = line.trim();
+				if (!className.isEmpty() && !className.startsWith("#")) {
+					classNames.add(className);
+				}
+			}
+		}
+	}
+
+	private static boolean inPackages(String className, String... basePackages) {
+		if (basePackages == null || basePackages.length == 0) {
+			return true;
+		}
+		for (String basePackage : basePackages) {
+			if (inPackage(className, basePackage)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean inPackage(String className, String basePackage) {
+		String prefix = basePackage.endsWith(".") ? basePackage : basePackage + ".";
+		return className.startsWith(prefix);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Class<? extends MessagingConfigurer> loadClass(ClassLoader classLoader, String className) {
+		try {
+			Class<?> clazz = Class.forName(className, false, classLoader);
+			if (!MessagingConfigurer.class.isAssignableFrom(clazz)) {
+				LOG.debug("Indexed class {} is not a MessagingConfigurer => skipped", className);
+				return null;
+			}
+			return (Class<? extends MessagingConfigurer>) clazz;
+		} catch (ClassNotFoundException | LinkageError e) {
+			LOG.debug("Indexed configurer {} can't be loaded => skipped", className, e);
+			return null;
+		}
+	}
+
+	private ConfigurerIndex() {
+		super();
+	}
+}
@@ -23,6 +23,7 @@ import fr.sii.ogham.sms.builder.AutofillSmsBuilder;
 import fr.sii.ogham.sms.builder.RecipientNumberFormatBuilder;
 import fr.sii.ogham.sms.builder.SenderNumberFormatBuilder;
 import fr.sii.ogham.sms.builder.SmsBuilder;
+import fr.sii.ogham.sms.builder.TransliterationBuilder;
 import fr.sii.ogham.sms.message.Sms;
 
 /**
@@ -96,6 +97,9 @@ import fr.sii.ogham.sms.message.Sms;
  * {@code ogham.sms.to} is defined (see {@link AutofillSmsBuilder})</li>
  * <li>Configure phone number formats (see {@link SenderNumberFormatBuilder} and
  * {@link RecipientNumberFormatBuilder})</li>
+ * <li>Replace characters that are not part of the GSM 7-bit alphabet by close
+ * equivalents if the property {@code ogham.sms.transliteration.enable} is set
+ * to true (see {@link TransliterationBuilder})</li>
  * </ul>
  * </li>
  * <li>Mimetype detection configuration:
@@ -213,7 +217,12 @@ public class DefaultMessagingConfigurer extends MessagingConfigurerAdapter {
 					.and()
 				.to()
 					.format()
-						.internationalNumber("${ogham.sms.to-format-enable-international}", "true");
+						.internationalNumber("${ogham.sms.to-format-enable-international}", "true")
+						.and()
+					.and()
+				.and()
+			.transliteration()
+				.enable("${ogham.sms.transliteration.enable}");
 		// @formatter:on
 	}
 
@@ -222,7 +231,6 @@ public class DefaultMessagingConfigurer extends MessagingConfigurerAdapter {
 		// @formatter:off
 		builder
 			.tika()
-				.instance(new Tika())
 				.failIfOctetStream(true)
 				.and()
 			.defaultMimetype("${ogham.mimetype.default-mimetype}", "application/octet-stream");
@@ -5,6 +5,7 @@ import java.util.Properties;
 import fr.sii.ogham.core.builder.Builder;
 import fr.sii.ogham.core.builder.Parent;
 import fr.sii.ogham.core.env.PropertyResolver;
+import fr.sii.ogham.core.env.SnapshotPropertyResolver;
 
 /**
  * Builder that configures how configuration properties are handled.
@@ -321,4 +322,20 @@ public interface EnvironmentBuilder<P> extends Parent<P>, Builder<PropertyResolv
 	 * @return this instance for fluent chaining
 	 */
 	EnvironmentBuilder<P> resolver(PropertyResolver resolver);
+
+	/**
+	 * Resolve properties from an immutable snapshot instead of requesting the
+	 * property sources each time (see {@link SnapshotPropertyResolver}).
+	 * 
+	 * <p>
+	 * Some properties are read for every message (default values,
+	 * conditions...). With a snapshot, values are read and converted only
+	 * once. The same {@link SnapshotPropertyResolver} instance is built each
+	 * time so calling {@link SnapshotPropertyResolver#reload()} refreshes the
+	 * values everywhere.
+	 * </p>
+	 * 
+	 * @return this instance for fluent chaining
+	 */
+	EnvironmentBuilder<P> snapshot();
 }
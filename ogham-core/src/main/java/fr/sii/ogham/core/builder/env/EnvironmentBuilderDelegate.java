@@ -86,6 +86,12 @@ public class EnvironmentBuilderDelegate<P> extends AbstractParent<P> implements
 		return this;
 	}
 
+	@Override
+	public EnvironmentBuilderDelegate<P> snapshot() {
+		delegate.snapshot();
+		return this;
+	}
+
 	@Override
 	public PropertiesBuilder<EnvironmentBuilder<P>> properties() {
 		return new PropertiesBuilderDelegate<EnvironmentBuilder<P>>(this, delegate.properties());
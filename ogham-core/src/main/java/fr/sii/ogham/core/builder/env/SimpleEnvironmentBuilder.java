@@ -20,6 +20,7 @@ import fr.sii.ogham.core.convert.DefaultConverter;
 import fr.sii.ogham.core.env.FirstExistingPropertiesResolver;
 import fr.sii.ogham.core.env.JavaPropertiesResolver;
 import fr.sii.ogham.core.env.PropertyResolver;
+import fr.sii.ogham.core.env.SnapshotPropertyResolver;
 import fr.sii.ogham.core.exception.builder.BuildException;
 import fr.sii.ogham.core.util.BuilderUtils;
 
@@ -43,6 +44,8 @@ public class SimpleEnvironmentBuilder<P> extends AbstractParent<P> implements En
 	private ConverterBuilder<EnvironmentBuilder<P>> converterBuilder;
 	private List<AbstractProps> props;
 	private int currentIndex;
+	private boolean snapshot;
+	private SnapshotPropertyResolver snapshotResolver;
 
 	/**
 	 * Initializes the builder with the provided parent (parent is used when
@@ -110,6 +113,12 @@ public class SimpleEnvironmentBuilder<P> extends AbstractParent<P> implements En
 		return this;
 	}
 
+	@Override
+	public SimpleEnvironmentBuilder<P> snapshot() {
+		this.snapshot = true;
+		return this;
+	}
+
 	@Override
 	public PropertiesBuilder<EnvironmentBuilder<P>> properties() {
 		return properties(DEFAULT_MANUAL_PROPERTY_PRIORITY);
@@ -130,9 +139,24 @@ public class SimpleEnvironmentBuilder<P> extends AbstractParent<P> implements En
 	 * merged {@link Properties} and converter instance provided by
 	 * {@link ConverterBuilder#build()}</li>
 	 * </ul>
+	 * 
+	 * If snapshot is enabled, the resolver is wrapped in a
+	 * {@link SnapshotPropertyResolver} that is built only once. The snapshot
+	 * converts the values using the converter instance provided by
+	 * {@link ConverterBuilder#build()}.
 	 */
 	@Override
 	public PropertyResolver build() {
+		if (!snapshot) {
+			return buildResolver();
+		}
+		if (snapshotResolver == null) {
+			snapshotResolver = new SnapshotPropertyResolver(buildResolver(), buildConverter());
+		}
+		return snapshotResolver;
+	}
+
+	private PropertyResolver buildResolver() {
 		if (resolver != null) {
 			return resolver;
 		}
@@ -0,0 +1,328 @@
+package fr.sii.ogham.core.builder.http;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import fr.sii.ogham.core.builder.AbstractParent;
+import fr.sii.ogham.core.builder.Builder;
+import fr.sii.ogham.core.builder.env.EnvironmentBuilder;
+import fr.sii.ogham.core.env.PropertyResolver;
+import fr.sii.ogham.core.util.BuilderUtils;
+import fr.sii.ogham.core.util.http.HttpClientOptions;
+import fr.sii.ogham.core.util.http.HttpClientPool;
+
+/**
+ * Configures the pool of HTTP connections used to call an HTTP API (see
+ * {@link HttpClientPool}).
+ * 
+ * <p>
+ * Each option accepts either a direct value (for example
+ * <code>.maxConnections("20")</code>) or one or several property keys (for
+ * example <code>.maxConnections("${custom.property.high-priority}",
+ * "${custom.property.low-priority}")</code>). The properties are not
+ * immediately evaluated. The evaluation will be done when the {@link #build()}
+ * method is called: the first property that exists is used. If this method is
+ * called several times, the values are evaluated in the order of the calls.
+ * </p>
+ * 
+ * <p>
+ * Each option can also be set using a typed value. This value preempts the
+ * values provided as strings. If it is set several times, only the last value
+ * is used.
+ * </p>
+ * 
+ * <p>
+ * If none of the options has a value, {@link #build()} returns null (the pool
+ * is not configured). Options that have no value use the defaults of
+ * {@link HttpClientOptions}.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ * @param <P>
+ *            the type of the parent builder (when calling {@link #and()}
+ *            method)
+ */
+public class HttpPoolBuilder<P> extends AbstractParent<P> implements Builder<HttpClientOptions> {
+	private final EnvironmentBuilder<?> environmentBuilder;
+	private final List<String> maxConnections;
+	private final List<String> maxConnectionsPerRoute;
+	private final List<String> connectTimeout;
+	private final List<String> socketTimeout;
+	private final List<String> connectionRequestTimeout;
+	private final List<String> keepAlive;
+	private final List<String> asyncThreads;
+	private final List<String> asyncQueueSize;
+
+	/**
+	 * Initializes the builder with a parent builder. The parent builder is used
+	 * when calling {@link #and()} method. The {@link EnvironmentBuilder} is
+	 * used to evaluate properties when {@link #build()} method is called.
+	 * 
+	 * @param parent
+	 *            the parent builder
+	 * @param environmentBuilder
+	 *            the configuration for property resolution and evaluation
+	 */
+	public HttpPoolBuilder(P parent, EnvironmentBuilder<?> environmentBuilder) {
+		super(parent);
+		this.environmentBuilder = environmentBuilder;
+		maxConnections = new ArrayList<>();
+		maxConnectionsPerRoute = new ArrayList<>();
+		connectTimeout = new ArrayList<>();
+		socketTimeout = new ArrayList<>();
+		connectionRequestTimeout = new ArrayList<>();
+		keepAlive = new ArrayList<>();
+		asyncThreads = new ArrayList<>();
+		asyncQueueSize = new ArrayList<>();
+	}
+
+	/**
+	 * Set the maximum number of connections in the pool.
+	 * 
+	 * @param max
+	 *            the value to use (may be null)
+	 * @return this instance for fluent chaining
+	 */
+	public HttpPoolBuilder<P> maxConnections(Integer max) {
+		return set(maxConnections, max);
+	}
+
+	/**
+	 * Set the maximum number of connections in the pool. Defaults to 20.
+	 * 
+	 * @param max
+	 *            one value, or one or several property keys
+	 * @return this instance for fluent chaining
+	 */
+	public HttpPoolBuilder<P> maxConnections(String... max) {
+		return add(maxConnections, max);
+	}
+
+	/**
+	 * Set the maximum number of connections per route.
+	 * 
+	 * @param max
+	 *            the value to use (may be null)
+	 * @return this instance for fluent chaining
+	 */
+	public HttpPoolBuilder<P> maxConnectionsPerRoute(Integer max) {
+		return set(maxConnectionsPerRoute, max);
+	}
+
+	/**
+	 * Set the maximum number of connections per route. Defaults to 20.
+	 * 
+	 * @param max
+	 *            one value, or one or several property keys
+	 * @return this instance for fluent chaining
+	 */
+	public HttpPoolBuilder<P> maxConnectionsPerRoute(String... max) {
+		return add(maxConnectionsPerRoute, max);
+	}
+
+	/**
+	 * Set the maximum time (in milliseconds) to establish a connection.
+	 * 
+	 * @param timeout
+	 *            the value to use (may be null)
+	 * @return this instance for fluent chaining
+	 */
+	public HttpPoolBuilder<P> connectTimeout(Integer timeout) {
+		return set(connectTimeout, timeout);
+	}
+
+	/**
+	 * Set the maximum time (in milliseconds) to establish a connection.
+	 * Defaults to 10000.
+	 * 
+	 * @param timeout
+	 *            one value, or one or several property keys
+	 * @return this instance for fluent chaining
+	 */
+	public HttpPoolBuilder<P> connectTimeout(String... timeout) {
+		return add(connectTimeout, timeout);
+	}
+
+	/**
+	 * Set the maximum time (in milliseconds) to wait for data.
+	 * 
+	 * @param timeout
+	 *            the value to use (may be null)
+	 * @return this instance for fluent chaining
+	 */
+	public HttpPoolBuilder<P> socketTimeout(Integer timeout) {
+		return set(socketTimeout, timeout);
+	}
+
+	/**
+	 * Set the maximum time (in milliseconds) to wait for data. Defaults to
+	 * 30000.
+	 * 
+	 * @param timeout
+	 *            one value, or one or several property keys
+	 * @return this instance for fluent chaining
+	 */
+	public HttpPoolBuilder<P> socketTimeout(String... timeout) {
+		return add(socketTimeout, timeout);
+	}
+
+	/**
+	 * Set the maximum time (in milliseconds) to wait for a free connection in
+	 * the pool.
+	 * 
+	 * @param timeout
+	 *            the value to use (may be null)
+	 * @return this instance for fluent chaining
+	 */
+	public HttpPoolBuilder<P> connectionRequestTimeout(Integer timeout) {
+		return set(connectionRequestTimeout, timeout);
+	}
+
+	/**
+	 * Set the maximum time (in milliseconds) to wait for a free connection in
+	 * the pool. Defaults to 10000.
+	 * 
+	 * @param timeout
+	 *            one value, or one or several property keys
+	 * @return this instance for fluent chaining
+	 */
+	public HttpPoolBuilder<P> connectionRequestTimeout(String... timeout) {
+		return add(connectionRequestTimeout, timeout);
+	}
+
+	/**
+	 * Set the maximum time (in milliseconds) an idle connection is kept alive
+	 * in the pool.
+	 * 
+	 * @param duration
+	 *            the value to use (may be null)
+	 * @return this instance for fluent chaining
+	 */
+	public HttpPoolBuilder<P> keepAlive(Long duration) {
+		return set(keepAlive, duration);
+	}
+
+	/**
+	 * Set the maximum time (in milliseconds) an idle connection is kept alive
+	 * in the pool. If the server sends a shorter keep-alive duration, the
+	 * duration of the server is used. Defaults to 30000.
+	 * 
+	 * @param duration
+	 *            one value, or one or several property keys
+	 * @return this instance for fluent chaining
+	 */
+	public HttpPoolBuilder<P> keepAlive(String... duration) {
+		return add(keepAlive, duration);
+	}
+
+	/**
+	 * Set the number of threads used for asynchronous requests.
+	 * 
+	 * @param threads
+	 *            the value to use (may be null)
+	 * @return this instance for fluent chaining
+	 */
+	public HttpPoolBuilder<P> asyncThreads(Integer threads) {
+		return set(asyncThreads, threads);
+	}
+
+	/**
+	 * Set the number of threads used for asynchronous requests. Defaults to
+	 * the maximum number of connections per route.
+	 * 
+	 * @param threads
+	 *            one value, or one or several property keys
+	 * @return this instance for fluent chaining
+	 */
+	public HttpPoolBuilder<P> asyncThreads(String... threads) {
+		return add(asyncThreads, threads);
+	}
+
+	/**
+	 * Set the maximum number of asynchronous requests waiting for a thread.
+	 * 
+	 * @param size
+	 *            the value to use (may be null)
+	 * @return this instance for fluent chaining
+	 */
+	public HttpPoolBuilder<P> asyncQueueSize(Integer size) {
+		return set(asyncQueueSize, size);
+	}
+
+	/**
+	 * Set the maximum number of asynchronous requests waiting for a thread.
+	 * When the queue is full, the request is executed by the calling thread.
+	 * Defaults to 1000.
+	 * 
+	 * @param size
+	 *            one value, or one or several property keys
+	 * @return this instance for fluent chaining
+	 */
+	public HttpPoolBuilder<P> asyncQueueSize(String... size) {
+		return add(asyncQueueSize, size);
+	}
+
+	@Override
+	public HttpClientOptions build() {
+		PropertyResolver propertyResolver = environmentBuilder.build();
+		Integer evaluatedMaxConnections = BuilderUtils.evaluate(maxConnections, propertyResolver, Integer.class);
+		Integer evaluatedMaxConnectionsPerRoute = BuilderUtils.evaluate(maxConnectionsPerRoute, propertyResolver, Integer.class);
+		Integer evaluatedConnectTimeout = BuilderUtils.evaluate(connectTimeout, propertyResolver, Integer.class);
+		Integer evaluatedSocketTimeout = BuilderUtils.evaluate(socketTimeout, propertyResolver, Integer.class);
+		Integer evaluatedConnectionRequestTimeout = BuilderUtils.evaluate(connectionRequestTimeout, propertyResolver, Integer.class);
+		Long evaluatedKeepAlive = BuilderUtils.evaluate(keepAlive, propertyResolver, Long.class);
+		Integer evaluatedAsyncThreads = BuilderUtils.evaluate(asyncThreads, propertyResolver, Integer.class);
+		Integer evaluatedAsyncQueueSize = BuilderUtils.evaluate(asyncQueueSize, propertyResolver, Integer.class);
+		if (allNull(evaluatedMaxConnections, evaluatedMaxConnectionsPerRoute, evaluatedConnectTimeout, evaluatedSocketTimeout, evaluatedConnectionRequestTimeout, evaluatedKeepAlive,
+				evaluatedAsyncThreads, evaluatedAsyncQueueSize)) {
+			return null;
+		}
+		HttpClientOptions options = new HttpClientOptions();
+		if (evaluatedMaxConnections != null) {
+			options.setMaxConnections(evaluatedMaxConnections);
+		}
+		if (evaluatedMaxConnectionsPerRoute != null) {
+			options.setMaxConnectionsPerRoute(evaluatedMaxConnectionsPerRoute);
+		}
+		if (evaluatedConnectTimeout != null) {
+			options.setConnectTimeout(evaluatedConnectTimeout);
+		}
+		if (evaluatedSocketTimeout != null) {
+			options.setSocketTimeout(evaluatedSocketTimeout);
+		}
+		if (evaluatedConnectionRequestTimeout != null) {
+			options.setConnectionRequestTimeout(evaluatedConnectionRequestTimeout);
+		}
+		if (evaluatedKeepAlive != null) {
+			options.setKeepAlive(evaluatedKeepAlive);
+		}
+		options.setAsyncThreads(evaluatedAsyncThreads == null ? options.getMaxConnectionsPerRoute() : evaluatedAsyncThreads);
+		if (evaluatedAsyncQueueSize != null) {
+			options.setAsyncQueueSize(evaluatedAsyncQueueSize);
+		}
+		return options;
+	}
+
+	private HttpPoolBuilder<P> set(List<String> props, Object value) {
+		if (value != null) {
+			props.add(0, value.toString());
+		}
+		return this;
+	}
+
+	private HttpPoolBuilder<P> add(List<String> props, String... values) {
+		for (String v : values) {
+			if (v != null) {
+				props.add(v);
+			}
+		}
+		return this;
+	}
+
+	private static boolean allNull(Object... values) {
+		return Collections.frequency(Arrays.asList(values), null) == values.length;
+	}
+}
@@ -20,6 +20,7 @@ import fr.sii.ogham.core.condition.fluent.MessageConditions;
 import fr.sii.ogham.core.condition.provider.ImplementationConditionProvider;
 import fr.sii.ogham.core.exception.builder.BuildException;
 import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.sender.ConcurrencyLimitedSender;
 import fr.sii.ogham.core.sender.MessageSender;
 import fr.sii.ogham.core.sender.MultiImplementationSender;
 
@@ -48,6 +49,7 @@ public class SenderImplementationBuilderHelper<P> {
 	private final EnvironmentBuilder<?> environmentBuilder;
 	private final List<Builder<? extends MessageSender>> senderBuilders;
 	private final List<MessageSender> customSenders;
+	private int maxConcurrentSends;
 
 	/**
 	 * Initializes the builder with a parent builder. The parent builder is used
@@ -79,6 +81,17 @@ public class SenderImplementationBuilderHelper<P> {
 		return !customSenders.isEmpty() || !senderBuilders.isEmpty();
 	}
 
+	/**
+	 * Counts the registered custom senders and sender builders. Builders are
+	 * not built so implementations that can't be used in the current
+	 * environment are also counted.
+	 * 
+	 * @return the number of registered implementations
+	 */
+	public int getRegisteredSendersCount() {
+		return customSenders.size() + senderBuilders.size();
+	}
+
 	/**
 	 * Registers a custom message sender implementation.
 	 * 
@@ -115,6 +128,21 @@ public class SenderImplementationBuilderHelper<P> {
 		customSenders.add(sender);
 	}
 
+	/**
+	 * Limits the number of messages that each implementation can send at the
+	 * same time (see {@link ConcurrencyLimitedSender}). A value of 0 (default)
+	 * means no limit.
+	 * 
+	 * @param maxConcurrentSends
+	 *            the maximum number of concurrent sends per implementation
+	 */
+	public void maxConcurrentSends(int maxConcurrentSends) {
+		if (maxConcurrentSends < 0) {
+			throw new IllegalArgumentException("[maxConcurrentSends] must be positive");
+		}
+		this.maxConcurrentSends = maxConcurrentSends;
+	}
+
 	/**
 	 * Registers and configures sender through a dedicated builder.
 	 * 
@@ -239,15 +267,23 @@ public class SenderImplementationBuilderHelper<P> {
 		ImplementationConditionProvider implementationSelection = new ImplementationConditionProvider(environmentBuilder.build());
 		for (MessageSender customSender : customSenders) {
 			LOG.debug("Custom implementation {} registered into {}", customSender, mainSender);
-			mainSender.addImplementation(implementationSelection.provide(customSender), customSender);
+			mainSender.addImplementation(implementationSelection.provide(customSender), limit(customSender));
 		}
 		for (Builder<? extends MessageSender> builder : senderBuilders) {
 			MessageSender sender = builder.build();
 			if (sender != null) {
 				LOG.debug("Implementation {} registered into {}", sender, mainSender);
-				mainSender.addImplementation(implementationSelection.provide(builder), sender);
+				mainSender.addImplementation(implementationSelection.provide(builder), limit(sender));
 			}
 		}
 	}
 
+	private MessageSender limit(MessageSender sender) {
+		if (maxConcurrentSends == 0) {
+			return sender;
+		}
+		LOG.debug("At most {} messages are sent at the same time by {}", maxConcurrentSends, sender);
+		return new ConcurrencyLimitedSender(sender, maxConcurrentSends);
+	}
+
 }
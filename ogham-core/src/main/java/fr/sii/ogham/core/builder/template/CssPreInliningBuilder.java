@@ -0,0 +1,37 @@
+package fr.sii.ogham.core.builder.template;
+
+import fr.sii.ogham.html.inliner.TemplateCssInliner;
+
+/**
+ * Builder that configures CSS inlining directly in the source of the templates
+ * when they are loaded by the template engine.
+ * 
+ * <p>
+ * The aim is to inline CSS only once per template instead of after every
+ * render.
+ * </p>
+ * 
+ * <p>
+ * Only template engines whose templates are valid HTML documents (Thymeleaf)
+ * implement this interface. Parsing and regenerating the HTML would corrupt
+ * the directives of other template engines (FreeMarker).
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ * @param <MYSELF>
+ *            The type of this instance. This is needed to have the right return
+ *            type for fluent chaining with inheritance
+ */
+public interface CssPreInliningBuilder<MYSELF> {
+	/**
+	 * Registers the inliner to apply on the source of HTML templates when they
+	 * are loaded by the template engine. If {@code null}, CSS is not inlined in
+	 * template sources.
+	 * 
+	 * @param inliner
+	 *            the inliner to apply on template sources
+	 * @return this instance for fluent chaining
+	 */
+	MYSELF preInlineCss(TemplateCssInliner inliner);
+}
@@ -18,6 +18,8 @@ import fr.sii.ogham.core.template.detector.TemplateEngineDetector;
 import fr.sii.ogham.core.template.parser.AutoDetectTemplateParser;
 import fr.sii.ogham.core.template.parser.AutoDetectTemplateParser.TemplateImplementation;
 import fr.sii.ogham.core.template.parser.TemplateParser;
+import fr.sii.ogham.html.inliner.TemplateCssInliner;
+import fr.sii.ogham.template.common.adapter.CachingVariantResolver;
 import fr.sii.ogham.template.common.adapter.FailIfNotFoundVariantResolver;
 import fr.sii.ogham.template.common.adapter.FirstExistingResourceVariantResolver;
 import fr.sii.ogham.template.common.adapter.NullVariantResolver;
@@ -49,6 +51,8 @@ public class TemplateBuilderHelper<P> {
 	private final EnvironmentBuilder<?> environmentBuilder;
 	private boolean missingVariantFail;
 	private VariantResolver missingResolver;
+	private TemplateCssInliner cssPreInliner;
+	private long variantCacheTtlMs;
 
 	/**
 	 * Initializes the builder with a parent builder. The parent builder is used
@@ -106,6 +110,31 @@ public class TemplateBuilderHelper<P> {
 		this.missingResolver = resolver;
 	}
 
+	/**
+	 * Inline CSS in the source of HTML templates when they are loaded by the
+	 * template engines. The inliner is provided to each registered builder
+	 * that implements {@link CssPreInliningBuilder}.
+	 * 
+	 * @param inliner
+	 *            the inliner to apply on template sources (null to disable)
+	 */
+	public void preInlineCss(TemplateCssInliner inliner) {
+		this.cssPreInliner = inliner;
+	}
+
+	/**
+	 * Cache the resolution of template variants (see
+	 * {@link CachingVariantResolver}). Each entry (existing or missing
+	 * variant) expires after the provided duration.
+	 * 
+	 * @param ttlMs
+	 *            the time to live of the cached resolutions in milliseconds (0
+	 *            to disable the cache)
+	 */
+	public void variantResolutionCache(long ttlMs) {
+		this.variantCacheTtlMs = ttlMs;
+	}
+
 	/**
 	 * Registers and configures a {@link TemplateParser} through a dedicated
 	 * builder.
@@ -209,6 +238,12 @@ public class TemplateBuilderHelper<P> {
 	 * default variant resolver (see {@link #missingVariant(boolean)} and
 	 * {@link #missingVariant(VariantResolver)}).
 	 * 
+	 * <p>
+	 * If enabled (see {@link #variantResolutionCache(long)}), resolution
+	 * results are cached (see {@link CachingVariantResolver}) to avoid checking
+	 * existence of every possible template for each message.
+	 * </p>
+	 * 
 	 * @return the variant resolver
 	 */
 	public VariantResolver buildVariant() {
@@ -218,7 +253,11 @@ public class TemplateBuilderHelper<P> {
 				variantResolver.addVariantResolver(((VariantBuilder<?>) builder).buildVariant());
 			}
 		}
-		return variantResolver;
+		if (variantCacheTtlMs <= 0) {
+			return variantResolver;
+		}
+		LOG.debug("Variant resolutions are cached for {}ms", variantCacheTtlMs);
+		return new CachingVariantResolver(variantResolver, variantCacheTtlMs);
 	}
 
 	private VariantResolver buildDefaultVariantResolver() {
@@ -237,6 +276,9 @@ public class TemplateBuilderHelper<P> {
 			} else {
 				detector = new FixedEngineDetector(true);
 			}
+			if (cssPreInliner != null && builder instanceof CssPreInliningBuilder) {
+				((CssPreInliningBuilder<?>) builder).preInlineCss(cssPreInliner);
+			}
 			impls.add(new TemplateImplementation(detector, builder.build()));
 		}
 		return impls;
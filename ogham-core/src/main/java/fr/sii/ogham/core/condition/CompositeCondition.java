@@ -3,9 +3,9 @@ package fr.sii.ogham.core.condition;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 import fr.sii.ogham.core.util.EqualsBuilder;
-import fr.sii.ogham.core.util.HashCodeBuilder;
 
 /**
  * Base class for operators that handle several sub-conditions like AND operator
@@ -45,12 +45,19 @@ public abstract class CompositeCondition<T> implements Condition<T> {
 
 	@Override
 	public boolean equals(Object obj) {
-		return new EqualsBuilder(this, obj).appendFields("conditions").isEqual();
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		CompositeCondition<?> other = (CompositeCondition<?>) obj;
+		return new EqualsBuilder().append(conditions, other.conditions).isEqual();
 	}
 
 	@Override
 	public int hashCode() {
-		return new HashCodeBuilder().append(conditions).hashCode();
+		return Objects.hashCode(conditions);
 	}
 
 	@Override
@@ -1,7 +1,8 @@
 package fr.sii.ogham.core.condition;
 
+import java.util.Objects;
+
 import fr.sii.ogham.core.util.EqualsBuilder;
-import fr.sii.ogham.core.util.HashCodeBuilder;
 
 /**
  * Basic condition that always give the same result: the result you provided at
@@ -34,12 +35,19 @@ public class FixedCondition<T> implements Condition<T> {
 
 	@Override
 	public boolean equals(Object obj) {
-		return new EqualsBuilder(this, obj).appendFields("accept").isEqual();
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		FixedCondition<?> other = (FixedCondition<?>) obj;
+		return new EqualsBuilder().append(accept, other.accept).isEqual();
 	}
 
 	@Override
 	public int hashCode() {
-		return new HashCodeBuilder().append(accept).hashCode();
+		return Objects.hashCode(accept);
 	}
 
 	@Override
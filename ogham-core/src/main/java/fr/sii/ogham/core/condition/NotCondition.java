@@ -1,7 +1,8 @@
 package fr.sii.ogham.core.condition;
 
+import java.util.Objects;
+
 import fr.sii.ogham.core.util.EqualsBuilder;
-import fr.sii.ogham.core.util.HashCodeBuilder;
 
 /**
  * Condition that provides a logical NOT operation on manipulated condition.
@@ -36,12 +37,19 @@ public class NotCondition<T> implements Condition<T> {
 
 	@Override
 	public boolean equals(Object obj) {
-		return new EqualsBuilder(this, obj).appendFields("condition").isEqual();
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		NotCondition<?> other = (NotCondition<?>) obj;
+		return new EqualsBuilder().append(condition, other.condition).isEqual();
 	}
 	
 	@Override
 	public int hashCode() {
-		return new HashCodeBuilder().append(condition).hashCode();
+		return Objects.hashCode(condition);
 	}
 
 	@Override
@@ -1,10 +1,10 @@
 package fr.sii.ogham.core.condition;
 
+import java.util.Objects;
 import java.util.regex.Pattern;
 
 import fr.sii.ogham.core.env.PropertyResolver;
 import fr.sii.ogham.core.util.EqualsBuilder;
-import fr.sii.ogham.core.util.HashCodeBuilder;
 
 /**
  * Condition that checks if the provided property value matches the provided
@@ -58,12 +58,19 @@ public class PropertyPatternCondition<T> implements Condition<T> {
 
 	@Override
 	public boolean equals(Object obj) {
-		return new EqualsBuilder(this, obj).appendFields("key", "pattern", "propertyResolver").isEqual();
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		PropertyPatternCondition<?> other = (PropertyPatternCondition<?>) obj;
+		return new EqualsBuilder().append(key, other.key).append(pattern, other.pattern).append(propertyResolver, other.propertyResolver).isEqual();
 	}
 
 	@Override
 	public int hashCode() {
-		return new HashCodeBuilder().append(key, pattern, propertyResolver).hashCode();
+		return Objects.hash(key, pattern, propertyResolver);
 	}
 
 	@Override
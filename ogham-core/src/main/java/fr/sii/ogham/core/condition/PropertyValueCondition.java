@@ -4,7 +4,6 @@ import java.util.Objects;
 
 import fr.sii.ogham.core.env.PropertyResolver;
 import fr.sii.ogham.core.util.EqualsBuilder;
-import fr.sii.ogham.core.util.HashCodeBuilder;
 
 /**
  * Condition that checks if the provided property value is the same as the
@@ -57,12 +56,19 @@ public class PropertyValueCondition<T> implements Condition<T> {
 
 	@Override
 	public boolean equals(Object obj) {
-		return new EqualsBuilder(this, obj).appendFields("key", "value", "propertyResolver").isEqual();
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		PropertyValueCondition<?> other = (PropertyValueCondition<?>) obj;
+		return new EqualsBuilder().append(key, other.key).append(value, other.value).append(propertyResolver, other.propertyResolver).isEqual();
 	}
 
 	@Override
 	public int hashCode() {
-		return new HashCodeBuilder().append(key, value, propertyResolver).hashCode();
+		return Objects.hash(key, value, propertyResolver);
 	}
 
 	@Override
@@ -1,8 +1,9 @@
 package fr.sii.ogham.core.condition;
 
+import java.util.Objects;
+
 import fr.sii.ogham.core.util.ClasspathUtils;
 import fr.sii.ogham.core.util.EqualsBuilder;
-import fr.sii.ogham.core.util.HashCodeBuilder;
 
 /**
  * Condition that checks if the provided class is available in the classpath.
@@ -37,12 +38,19 @@ public class RequiredClassCondition<T> implements Condition<T> {
 	
 	@Override
 	public boolean equals(Object obj) {
-		return new EqualsBuilder(this, obj).appendFields("className").isEqual();
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		RequiredClassCondition<?> other = (RequiredClassCondition<?>) obj;
+		return new EqualsBuilder().append(className, other.className).isEqual();
 	}
 
 	@Override
 	public int hashCode() {
-		return new HashCodeBuilder().append(className).hashCode();
+		return Objects.hashCode(className);
 	}
 
 	@Override
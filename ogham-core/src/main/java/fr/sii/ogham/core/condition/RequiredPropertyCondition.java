@@ -1,8 +1,9 @@
 package fr.sii.ogham.core.condition;
 
+import java.util.Objects;
+
 import fr.sii.ogham.core.env.PropertyResolver;
 import fr.sii.ogham.core.util.EqualsBuilder;
-import fr.sii.ogham.core.util.HashCodeBuilder;
 
 /**
  * Condition that checks if the provided property is defined either in the
@@ -47,12 +48,19 @@ public class RequiredPropertyCondition<T> implements Condition<T> {
 
 	@Override
 	public boolean equals(Object obj) {
-		return new EqualsBuilder(this, obj).appendFields("key", "propertyResolver").isEqual();
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		RequiredPropertyCondition<?> other = (RequiredPropertyCondition<?>) obj;
+		return new EqualsBuilder().append(key, other.key).append(propertyResolver, other.propertyResolver).isEqual();
 	}
 	
 	@Override
 	public int hashCode() {
-		return new HashCodeBuilder().append(key, propertyResolver).hashCode();
+		return Objects.hash(key, propertyResolver);
 	}
 
 	@Override
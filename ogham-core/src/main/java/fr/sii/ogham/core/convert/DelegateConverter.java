@@ -3,6 +3,8 @@ package fr.sii.ogham.core.convert;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import fr.sii.ogham.core.exception.convert.ConversionException;
 
@@ -20,11 +22,17 @@ import fr.sii.ogham.core.exception.convert.ConversionException;
  * 
  * <strong>Registration order is important.</strong>
  * 
+ * The converter found for a pair of source class and target type is cached so
+ * next conversions of the same types don't ask each
+ * {@link SupportingConverter} again. The cache is cleared when a converter is
+ * registered through {@link #register(SupportingConverter)}.
+ * 
  * @author Aurélien Baudet
  *
  */
 public class DelegateConverter implements Converter, ConverterRegistry {
 	private final List<SupportingConverter> delegates;
+	private final ConcurrentMap<ConversionKey, SupportingConverter> resolved;
 
 	/**
 	 * Registers none, one or several converters
@@ -45,11 +53,13 @@ public class DelegateConverter implements Converter, ConverterRegistry {
 	public DelegateConverter(List<SupportingConverter> delegates) {
 		super();
 		this.delegates = delegates;
+		this.resolved = new ConcurrentHashMap<>();
 	}
 
 	@Override
 	public ConverterRegistry register(SupportingConverter converter) {
 		delegates.add(converter);
+		resolved.clear();
 		return this;
 	}
 
@@ -58,12 +68,26 @@ public class DelegateConverter implements Converter, ConverterRegistry {
 		if (source == null) {
 			return null;
 		}
-		for (SupportingConverter converter : delegates) {
-			if (converter.supports(source.getClass(), targetType)) {
-				return converter.convert(source, targetType);
+		SupportingConverter converter = resolve(source.getClass(), targetType);
+		if (converter == null) {
+			throw new ConversionException("No converter available to convert " + source + " into " + targetType.getSimpleName());
+		}
+		return converter.convert(source, targetType);
+	}
+
+	private SupportingConverter resolve(Class<?> sourceType, Class<?> targetType) {
+		ConversionKey key = new ConversionKey(sourceType, targetType);
+		SupportingConverter converter = resolved.get(key);
+		if (converter != null) {
+			return converter;
+		}
+		for (SupportingConverter delegate : delegates) {
+			if (delegate.supports(sourceType, targetType)) {
+				resolved.putIfAbsent(key, delegate);
+				return delegate;
 			}
 		}
-		throw new ConversionException("No converter available to convert " + source + " into " + targetType.getSimpleName());
+		return null;
 	}
 
 	@Override
@@ -71,4 +95,31 @@ public class DelegateConverter implements Converter, ConverterRegistry {
 		return delegates;
 	}
 
+	private static class ConversionKey {
+		private final Class<?> sourceType;
+		private final Class<?> targetType;
+
+		public ConversionKey(Class<?> sourceType, Class<?> targetType) {
+			super();
+			this.sourceType = sourceType;
+			this.targetType = targetType;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * sourceType.hashCode() + targetType.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof ConversionKey)) {
+				return false;
+			}
+			ConversionKey other = (ConversionKey) obj;
+			return sourceType.equals(other.sourceType) && targetType.equals(other.targetType);
+		}
+	}
 }
@@ -3,6 +3,7 @@ package fr.sii.ogham.core.convert;
 import java.lang.reflect.Array;
 
 import fr.sii.ogham.core.exception.convert.ConversionException;
+import fr.sii.ogham.core.util.LruCache;
 
 /**
  * Converts a string to an array of anything. The string is split on
@@ -40,12 +41,23 @@ import fr.sii.ogham.core.exception.convert.ConversionException;
  * Person[] persons = converter.convert(source, Person[].class);
  * </pre>
  * 
+ * The same properties are often converted for each message. When elements are
+ * immutable (strings, primitives, wrappers and enums), the converted array is
+ * cached and a copy of the cached array is returned so the string is split and
+ * converted only once.
+ * 
  * @author Aurélien Baudet
  *
  */
 public class StringToArrayConverter implements SupportingConverter {
+	/**
+	 * The default maximum number of cached arrays
+	 */
+	public static final int DEFAULT_MAX_CACHED_VALUES = 128;
+
 	private final Converter elementsConverter;
 	private final String splitPattern;
+	private final LruCache<CacheKey, Object> cache;
 
 	/**
 	 * Initializes with the default separator {@literal ,} and another converter
@@ -68,15 +80,44 @@ public class StringToArrayConverter implements SupportingConverter {
 	 *            the separator that is used to split the source string
 	 */
 	public StringToArrayConverter(Converter elementsConverter, String splitPattern) {
+		this(elementsConverter, splitPattern, DEFAULT_MAX_CACHED_VALUES);
+	}
+
+	/**
+	 * Initializes with the provided separator, another converter that is used
+	 * to convert each split element and the maximum number of cached arrays.
+	 * 
+	 * @param elementsConverter
+	 *            converts each element to the target type
+	 * @param splitPattern
+	 *            the separator that is used to split the source string
+	 * @param maxCachedValues
+	 *            the maximum number of cached arrays
+	 */
+	public StringToArrayConverter(Converter elementsConverter, String splitPattern, int maxCachedValues) {
 		super();
 		this.elementsConverter = elementsConverter;
 		this.splitPattern = splitPattern;
+		this.cache = new LruCache<>(maxCachedValues);
 	}
 
 	@SuppressWarnings("unchecked")
 	@Override
 	public <T> T convert(Object source, Class<T> targetType) throws ConversionException {
 		String s = (String) source;
+		if (!isImmutable(targetType.getComponentType())) {
+			return (T) split(s, targetType);
+		}
+		CacheKey key = new CacheKey(s, targetType);
+		Object cached = cache.get(key);
+		if (cached == null) {
+			cached = split(s, targetType);
+			cache.put(key, cached);
+		}
+		return (T) copy(cached);
+	}
+
+	private Object split(String s, Class<?> targetType) throws ConversionException {
 		String[] parts = s.split(splitPattern);
 		Object target = Array.newInstance(targetType.getComponentType(), parts.length);
 		for (int i = 0; i < parts.length; i++) {
@@ -84,7 +125,19 @@ public class StringToArrayConverter implements SupportingConverter {
 			Object targetElement = elementsConverter.convert(sourceElement.trim(), targetType.getComponentType());
 			Array.set(target, i, targetElement);
 		}
-		return (T) target;
+		return target;
+	}
+
+	private static Object copy(Object array) {
+		int length = Array.getLength(array);
+		Object copy = Array.newInstance(array.getClass().getComponentType(), length);
+		System.arraycopy(array, 0, copy, 0, length);
+		return copy;
+	}
+
+	private static boolean isImmutable(Class<?> type) {
+		return type.isPrimitive() || type.isEnum() || String.class.equals(type) || Boolean.class.equals(type) || Character.class.equals(type)
+				|| (Number.class.isAssignableFrom(type) && "java.lang".equals(type.getPackage().getName()));
 	}
 
 	@Override
@@ -92,4 +145,31 @@ public class StringToArrayConverter implements SupportingConverter {
 		return String.class.isAssignableFrom(sourceType) && String[].class.isAssignableFrom(targetType);
 	}
 
+	private static class CacheKey {
+		private final String source;
+		private final Class<?> targetType;
+
+		public CacheKey(String source, Class<?> targetType) {
+			super();
+			this.source = source;
+			this.targetType = targetType;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * source.hashCode() + targetType.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey other = (CacheKey) obj;
+			return source.equals(other.source) && targetType.equals(other.targetType);
+		}
+	}
 }
@@ -0,0 +1,286 @@
+package fr.sii.ogham.core.env;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.convert.Converter;
+import fr.sii.ogham.core.convert.DefaultConverter;
+
+/**
+ * Resolve properties from an immutable snapshot of the values provided by a
+ * delegate resolver.
+ *
+ * Some properties are read for every message (default subject, sender and
+ * recipients, conditions...). Requesting the delegate each time means walking
+ * all property sources and converting the value each time. Instead, the
+ * values are materialized once:
+ * <ul>
+ * <li>Keys provided at construction are read immediately</li>
+ * <li>Other keys are read the first time they are requested and then added to
+ * the snapshot</li>
+ * <li>Converted values are computed once per snapshot (from the raw value of
+ * the snapshot using the provided {@link Converter})</li>
+ * </ul>
+ *
+ * The snapshot is never modified, a new one replaces it atomically. Calling
+ * {@link #reload()} reads all known keys again from the delegate (when
+ * properties have changed for example).
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class SnapshotPropertyResolver implements PropertyResolver {
+	private static final Logger LOG = LoggerFactory.getLogger(SnapshotPropertyResolver.class);
+
+	/**
+	 * The resolver that provides the values
+	 */
+	private final PropertyResolver delegate;
+
+	/**
+	 * Used to convert the raw values of the snapshot
+	 */
+	private final Converter converter;
+
+	/**
+	 * The current snapshot
+	 */
+	private volatile Snapshot snapshot;
+
+	public SnapshotPropertyResolver(PropertyResolver delegate) {
+		this(delegate, new DefaultConverter());
+	}
+
+	public SnapshotPropertyResolver(PropertyResolver delegate, Collection<String> keys) {
+		this(delegate, new DefaultConverter(), keys);
+	}
+
+	public SnapshotPropertyResolver(PropertyResolver delegate, Converter converter) {
+		this(delegate, converter, Collections.<String> emptyList());
+	}
+
+	/**
+	 * Initialize the resolver with the delegate that provides the values, the
+	 * converter used to convert the raw values and the keys to read
+	 * immediately.
+	 *
+	 * @param delegate
+	 *            the resolver that provides the values
+	 * @param converter
+	 *            used to convert the raw values of the snapshot
+	 * @param keys
+	 *            the keys to read immediately
+	 */
+	public SnapshotPropertyResolver(PropertyResolver delegate, Converter converter, Collection<String> keys) {
+		super();
+		this.delegate = delegate;
+		this.converter = converter;
+		this.snapshot = take(delegate, keys);
+	}
+
+	/**
+	 * Read the provided keys from the delegate now (if not already known) so
+	 * that they are immediately available in the snapshot.
+	 *
+	 * @param keys
+	 *            the keys to read
+	 */
+	public synchronized void preload(Collection<String> keys) {
+		Map<String, String> values = new HashMap<>(snapshot.values);
+		for (String key : keys) {
+			if (!values.containsKey(key)) {
+				values.put(key, read(delegate, key));
+			}
+		}
+		snapshot = new Snapshot(values, new ConcurrentHashMap<>(snapshot.converted));
+	}
+
+	/**
+	 * Read again all known keys from the delegate and replace the current
+	 * snapshot.
+	 */
+	public synchronized void reload() {
+		LOG.debug("Reloading snapshot of properties");
+		snapshot = take(delegate, snapshot.values.keySet());
+	}
+
+	@Override
+	public boolean containsProperty(String key) {
+		return snapshotFor(key).values.get(key) != null;
+	}
+
+	@Override
+	public String getProperty(String key) {
+		return snapshotFor(key).values.get(key);
+	}
+
+	@Override
+	public String getProperty(String key, String defaultValue) {
+		String value = getProperty(key);
+		return value == null ? defaultValue : value;
+	}
+
+	@Override
+	public <T> T getProperty(String key, Class<T> targetType) {
+		Snapshot s = snapshotFor(key);
+		if (s.values.get(key) == null) {
+			return null;
+		}
+		return s.getConverted(converter, key, targetType);
+	}
+
+	@Override
+	public <T> T getProperty(String key, Class<T> targetType, T defaultValue) {
+		T value = getProperty(key, targetType);
+		return value == null ? defaultValue : value;
+	}
+
+	@Override
+	public String getRequiredProperty(String key) throws IllegalStateException {
+		String value = getProperty(key);
+		if (value == null) {
+			throw new IllegalStateException("no value for required property " + key);
+		}
+		return value;
+	}
+
+	@Override
+	public <T> T getRequiredProperty(String key, Class<T> targetType) throws IllegalStateException {
+		T value = getProperty(key, targetType);
+		if (value == null) {
+			throw new IllegalStateException("no value for required property " + key);
+		}
+		return value;
+	}
+
+	public PropertyResolver getDelegate() {
+		return delegate;
+	}
+
+	public Converter getConverter() {
+		return converter;
+	}
+
+	/**
+	 * Get the snapshot that knows the key. If the key is not known yet, it is
+	 * read from the delegate and a new snapshot that includes it replaces the
+	 * current one.
+	 *
+	 * @param key
+	 *            the property key
+	 * @return the snapshot that knows the key
+	 */
+	private Snapshot snapshotFor(String key) {
+		Snapshot s = snapshot;
+		if (s.values.containsKey(key)) {
+			return s;
+		}
+		synchronized (this) {
+			s = snapshot;
+			if (!s.values.containsKey(key)) {
+				s = s.with(key, read(delegate, key));
+				snapshot = s;
+			}
+			return s;
+		}
+	}
+
+	private static Snapshot take(PropertyResolver delegate, Collection<String> keys) {
+		Map<String, String> values = new HashMap<>();
+		for (String key : new LinkedHashSet<>(keys)) {
+			values.put(key, read(delegate, key));
+		}
+		return new Snapshot(values, new ConcurrentHashMap<ConversionKey, Object>());
+	}
+
+	private static String read(PropertyResolver delegate, String key) {
+		return delegate.containsProperty(key) ? delegate.getProperty(key) : null;
+	}
+
+	/**
+	 * Immutable values (null value for missing properties) and lazily
+	 * converted values.
+	 */
+	private static class Snapshot {
+		private static final Object NULL = new Object();
+		private final Map<String, String> values;
+		private final ConcurrentMap<ConversionKey, Object> converted;
+
+		public Snapshot(Map<String, String> values, ConcurrentMap<ConversionKey, Object> converted) {
+			super();
+			this.values = Collections.unmodifiableMap(values);
+			this.converted = converted;
+		}
+
+		public Snapshot with(String key, String value) {
+			Map<String, String> copy = new HashMap<>(values);
+			copy.put(key, value);
+			// other values are unchanged so conversions are still valid
+			return new Snapshot(copy, new ConcurrentHashMap<>(converted));
+		}
+
+		@SuppressWarnings("unchecked")
+		public <T> T getConverted(Converter converter, String key, Class<T> targetType) {
+			ConversionKey conversionKey = new ConversionKey(key, targetType);
+			Object value = converted.get(conversionKey);
+			if (value == null) {
+				// convert the raw value of this snapshot (the delegate may
+				// already provide a different value)
+				T convertedValue = converter.convert(values.get(key), targetType);
+				value = convertedValue == null ? NULL : convertedValue;
+				converted.putIfAbsent(conversionKey, value);
+			}
+			return value == NULL ? null : (T) copyIfArray(value);
+		}
+
+		/**
+		 * Arrays are mutable so each caller receives its own copy.
+		 */
+		private static Object copyIfArray(Object value) {
+			if (!value.getClass().isArray()) {
+				return value;
+			}
+			int length = Array.getLength(value);
+			Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+			System.arraycopy(value, 0, copy, 0, length);
+			return copy;
+		}
+	}
+
+	private static class ConversionKey {
+		private final String key;
+		private final Class<?> targetType;
+
+		public ConversionKey(String key, Class<?> targetType) {
+			super();
+			this.key = key;
+			this.targetType = targetType;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * key.hashCode() + targetType.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof ConversionKey)) {
+				return false;
+			}
+			ConversionKey other = (ConversionKey) obj;
+			return key.equals(other.key) && targetType.equals(other.targetType);
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package fr.sii.ogham.core.exception;
+
+import static fr.sii.ogham.core.CoreConstants.SERIAL_VERSION_UID;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import fr.sii.ogham.core.message.Message;
+
+/**
+ * The recipients of the message have been split into several requests (or
+ * transactions) and the message couldn't be delivered to some of them. The
+ * exception provides the reason for each recipient that failed and the list of
+ * recipients that have been delivered (the message must not be sent again to
+ * them).
+ * 
+ * <p>
+ * Recipients are identified the same way the implementation addresses them
+ * (email address, phone number...).
+ * </p>
+ * 
+ * <p>
+ * If no recipient has been delivered at all, implementations throw a
+ * {@link MessageNotSentException} instead.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class PartialDeliveryException extends MessageNotSentException {
+	private static final long serialVersionUID = SERIAL_VERSION_UID;
+
+	private final transient Map<String, Exception> failures;
+	private final transient List<String> delivered;
+
+	public PartialDeliveryException(String message, Message msg, Map<String, Exception> failures, List<String> delivered) {
+		super(message, msg, failures.isEmpty() ? null : failures.values().iterator().next());
+		this.failures = Collections.unmodifiableMap(failures);
+		this.delivered = Collections.unmodifiableList(delivered);
+	}
+
+	/**
+	 * @return the reason of the failure indexed by recipient
+	 */
+	public Map<String, Exception> getFailures() {
+		return failures;
+	}
+
+	/**
+	 * @return the recipients that have been delivered
+	 */
+	public List<String> getDelivered() {
+		return delivered;
+	}
+}
@@ -1,9 +1,11 @@
 package fr.sii.ogham.core.filler;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import fr.sii.ogham.core.env.PropertyResolver;
+import fr.sii.ogham.core.env.SnapshotPropertyResolver;
 import fr.sii.ogham.core.exception.filler.FillMessageException;
 import fr.sii.ogham.core.message.Message;
 
@@ -51,6 +53,24 @@ public abstract class AbstractMessageAwareFiller<M> implements MessageFiller {
 		this.resolver = resolver;
 		this.aliases = aliases;
 		this.messageType = messageType;
+		preload(resolver, aliases);
+	}
+
+	/**
+	 * Properties are read for every message. If the resolver is a snapshot,
+	 * the values are read now.
+	 */
+	private static void preload(PropertyResolver resolver, Map<String, List<String>> aliases) {
+		if (!(resolver instanceof SnapshotPropertyResolver)) {
+			return;
+		}
+		List<String> keys = new ArrayList<>();
+		for (List<String> possibleKeys : aliases.values()) {
+			if (possibleKeys != null) {
+				keys.addAll(possibleKeys);
+			}
+		}
+		((SnapshotPropertyResolver) resolver).preload(keys);
 	}
 
 	@SuppressWarnings("unchecked")
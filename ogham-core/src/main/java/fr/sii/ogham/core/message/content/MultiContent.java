@@ -3,10 +3,10 @@ package fr.sii.ogham.core.message.content;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 import fr.sii.ogham.core.util.ArrayUtils;
 import fr.sii.ogham.core.util.EqualsBuilder;
-import fr.sii.ogham.core.util.HashCodeBuilder;
 
 /**
  * Decorator content that provide ability to handle several sub contents. The
@@ -80,12 +80,19 @@ public class MultiContent implements Content {
 	
 	@Override
 	public int hashCode() {
-		return new HashCodeBuilder().append(contents).hashCode();
+		return Objects.hashCode(contents);
 	}
 
 	@Override
 	public boolean equals(Object obj) {
-		return new EqualsBuilder(this, obj).appendFields("contents").isEqual();
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		MultiContent other = (MultiContent) obj;
+		return new EqualsBuilder().append(contents, other.contents).isEqual();
 	}
 	
 	private static Content[] toContent(String[] strs) {
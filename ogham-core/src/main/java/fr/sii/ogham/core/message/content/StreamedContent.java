@@ -0,0 +1,95 @@
+package fr.sii.ogham.core.message.content;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+import fr.sii.ogham.core.util.IOUtils;
+import fr.sii.ogham.core.util.SpillToDiskOutputStream;
+
+/**
+ * Content that has been rendered by a template engine directly as encoded
+ * bytes (see {@link fr.sii.ogham.core.template.parser.StreamingRenderOptions}).
+ * The bytes are kept in memory for small contents and in a temporary file for
+ * big contents. The sender can then directly stream the bytes without any
+ * intermediate {@link String}.
+ *
+ * <p>
+ * The content can still be provided as a string (for HTML post-processing
+ * like CSS inlining for example) but the whole content is then decoded in
+ * memory.
+ * </p>
+ *
+ * <p>
+ * The content must be closed once sent to release the memory and to delete
+ * the temporary file.
+ * </p>
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class StreamedContent implements MayHaveStringContent, Closeable {
+	/**
+	 * The encoded content
+	 */
+	private final SpillToDiskOutputStream buffer;
+
+	/**
+	 * The charset used to encode the content
+	 */
+	private final Charset charset;
+
+	public StreamedContent(SpillToDiskOutputStream buffer, Charset charset) {
+		super();
+		this.buffer = buffer;
+		this.charset = charset;
+	}
+
+	/**
+	 * Provides a new stream to read the encoded content. The stream must be
+	 * closed once read.
+	 *
+	 * @return the stream to read the encoded content
+	 * @throws IOException
+	 *             when the content can't be read
+	 */
+	public InputStream getInputStream() throws IOException {
+		return buffer.getInputStream();
+	}
+
+	public Charset getCharset() {
+		return charset;
+	}
+
+	/**
+	 * @return the size of the encoded content in bytes
+	 */
+	public long getSize() {
+		return buffer.size();
+	}
+
+	@Override
+	public boolean canProvideString() {
+		return true;
+	}
+
+	@Override
+	public String asString() {
+		try (InputStream stream = getInputStream()) {
+			return IOUtils.toString(stream, charset);
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to read streamed content", e);
+		}
+	}
+
+	@Override
+	public void close() {
+		buffer.delete();
+	}
+
+	@Override
+	public String toString() {
+		return "StreamedContent [" + buffer.size() + " bytes, " + charset + (buffer.isInMemory() ? ", in memory]" : ", " + buffer.getFile() + "]");
+	}
+}
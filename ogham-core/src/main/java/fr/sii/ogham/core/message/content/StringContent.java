@@ -1,7 +1,8 @@
 package fr.sii.ogham.core.message.content;
 
+import java.util.Objects;
+
 import fr.sii.ogham.core.util.EqualsBuilder;
-import fr.sii.ogham.core.util.HashCodeBuilder;
 
 /**
  * Represent a string content. This implementation is the most basic one. It
@@ -58,11 +59,18 @@ public class StringContent implements MayHaveStringContent, UpdatableStringConte
 
 	@Override
 	public int hashCode() {
-		return new HashCodeBuilder().append(content).hashCode();
+		return Objects.hashCode(content);
 	}
 
 	@Override
 	public boolean equals(Object obj) {
-		return new EqualsBuilder(this, obj).appendFields("content").isEqual();
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		StringContent other = (StringContent) obj;
+		return new EqualsBuilder().append(content, other.content).isEqual();
 	}
 }
@@ -1,9 +1,10 @@
 package fr.sii.ogham.core.message.content;
 
+import java.util.Objects;
+
 import fr.sii.ogham.core.template.context.BeanContext;
 import fr.sii.ogham.core.template.context.Context;
 import fr.sii.ogham.core.util.EqualsBuilder;
-import fr.sii.ogham.core.util.HashCodeBuilder;
 
 /**
  * Content that points to a template. The template contains variables. The
@@ -67,11 +68,18 @@ public class TemplateContent implements Content {
 
 	@Override
 	public int hashCode() {
-		return new HashCodeBuilder().append(path, context).hashCode();
+		return Objects.hash(path, context);
 	}
 
 	@Override
 	public boolean equals(Object obj) {
-		return new EqualsBuilder(this, obj).appendFields("path", "context").isEqual();
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		TemplateContent other = (TemplateContent) obj;
+		return new EqualsBuilder().append(path, other.path).append(context, other.context).isEqual();
 	}
 }
@@ -1,9 +1,10 @@
 package fr.sii.ogham.core.message.content;
 
+import java.util.Objects;
+
 import fr.sii.ogham.core.message.capability.HasVariant;
 import fr.sii.ogham.core.template.context.Context;
 import fr.sii.ogham.core.util.EqualsBuilder;
-import fr.sii.ogham.core.util.HashCodeBuilder;
 
 /**
  * Content that points to a template variant. The template contains variables.
@@ -45,11 +46,18 @@ public class TemplateVariantContent extends TemplateContent implements HasVarian
 
 	@Override
 	public int hashCode() {
-		return new HashCodeBuilder().append(getPath(), getContext(), getVariant()).hashCode();
+		return Objects.hash(getPath(), getContext(), getVariant());
 	}
 
 	@Override
 	public boolean equals(Object obj) {
-		return new EqualsBuilder(this, obj).appendFields("path", "context", "variant").isEqual();
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		TemplateVariantContent other = (TemplateVariantContent) obj;
+		return new EqualsBuilder().append(getPath(), other.getPath()).append(getContext(), other.getContext()).append(variant, other.variant).isEqual();
 	}
 }
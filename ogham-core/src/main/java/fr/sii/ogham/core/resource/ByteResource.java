@@ -3,20 +3,35 @@ package fr.sii.ogham.core.resource;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.Objects;
 
 import fr.sii.ogham.core.util.EqualsBuilder;
-import fr.sii.ogham.core.util.HashCodeBuilder;
 import fr.sii.ogham.core.util.IOUtils;
 
 /**
  * Basic implementation of a {@link NamedResource} that simply stores a
  * reference to the provided bytes.
  * 
+ * <p>
+ * Resources are often used as keys (caches, attachments...). In order to
+ * avoid going through the whole content for each comparison, a digest of the
+ * content is computed once. {@link #hashCode()} and {@link #equals(Object)}
+ * only use the name and the digest. The bytes returned by {@link #getBytes()}
+ * must therefore never be modified.
+ * </p>
+ * 
  * @author Aurélien Baudet
  *
  */
 public class ByteResource implements NamedResource {
+	/**
+	 * The algorithm used to compute the digest of the content
+	 */
+	public static final String DIGEST_ALGORITHM = "SHA-256";
+
 	/**
 	 * The content of the resource as array of bytes
 	 */
@@ -27,6 +42,11 @@ public class ByteResource implements NamedResource {
 	 */
 	private String name;
 
+	/**
+	 * The digest of the content (lazily computed)
+	 */
+	private volatile byte[] digest;
+
 	public ByteResource(String name, InputStream stream) throws IOException {
 		this(name, IOUtils.toByteArray(stream));
 	}
@@ -60,13 +80,52 @@ public class ByteResource implements NamedResource {
 		return bytes;
 	}
 
+	/**
+	 * Provides the {@value #DIGEST_ALGORITHM} digest of the content. The digest
+	 * is computed only once. The returned array is a copy so it can be safely
+	 * modified.
+	 * 
+	 * @return the digest of the content
+	 */
+	public byte[] getDigest() {
+		byte[] d = digest();
+		return d == null ? null : Arrays.copyOf(d, d.length);
+	}
+
 	@Override
 	public int hashCode() {
-		return new HashCodeBuilder().append(name, bytes).hashCode();
+		return 31 * Objects.hashCode(name) + Arrays.hashCode(digest());
 	}
 
 	@Override
 	public boolean equals(Object obj) {
-		return new EqualsBuilder(this, obj).appendFields("name", "bytes").isEqual();
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		ByteResource other = (ByteResource) obj;
+		return new EqualsBuilder().append(name, other.name).append(digest(), other.digest()).isEqual();
+	}
+
+	private byte[] digest() {
+		// computed at most a few times if several threads race, the result is
+		// always the same
+		byte[] d = digest;
+		if (d == null && bytes != null) {
+			d = computeDigest(bytes);
+			digest = d;
+		}
+		return d;
+	}
+
+	private static byte[] computeDigest(byte[] bytes) {
+		try {
+			return MessageDigest.getInstance(DIGEST_ALGORITHM).digest(bytes);
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform must support SHA-256
+			throw new IllegalStateException(DIGEST_ALGORITHM + " is not available", e);
+		}
 	}
 }
\ No newline at end of file
@@ -4,9 +4,9 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Objects;
 
 import fr.sii.ogham.core.util.EqualsBuilder;
-import fr.sii.ogham.core.util.HashCodeBuilder;
 
 /**
  * Resource that provide access to a file.
@@ -78,11 +78,18 @@ public class FileResource implements NamedResource {
 
 	@Override
 	public int hashCode() {
-		return new HashCodeBuilder().append(name, file).hashCode();
+		return Objects.hash(name, file);
 	}
 
 	@Override
 	public boolean equals(Object obj) {
-		return new EqualsBuilder(this, obj).appendFields("name", "file").isEqual();
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		FileResource other = (FileResource) obj;
+		return new EqualsBuilder().append(name, other.name).append(file, other.file).isEqual();
 	}
 }
@@ -2,9 +2,9 @@ package fr.sii.ogham.core.resource;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Objects;
 
 import fr.sii.ogham.core.util.EqualsBuilder;
-import fr.sii.ogham.core.util.HashCodeBuilder;
 
 /**
  * <p>
@@ -93,11 +93,18 @@ public class LookupResource implements NamedResource {
 
 	@Override
 	public int hashCode() {
-		return new HashCodeBuilder().append(name, path).hashCode();
+		return Objects.hash(name, path);
 	}
 
 	@Override
 	public boolean equals(Object obj) {
-		return new EqualsBuilder(this, obj).appendFields("name", "path").isEqual();
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		LookupResource other = (LookupResource) obj;
+		return new EqualsBuilder().append(name, other.name).append(path, other.path).isEqual();
 	}
 }
@@ -16,7 +16,7 @@ import fr.sii.ogham.core.resource.ResourcePath;
  * @author Cyril Dejonghe
  *
  */
-public abstract class AbstractPrefixedLookupPathResolver implements ResourceResolver {
+public abstract class AbstractPrefixedLookupPathResolver implements ExistenceCheckingResourceResolver {
 	private List<String> lookups;
 
 	protected AbstractPrefixedLookupPathResolver(List<String> lookups) {
@@ -58,6 +58,30 @@ public abstract class AbstractPrefixedLookupPathResolver implements ResourceReso
 		return getResource(getResourcePath(path));
 	}
 
+	@Override
+	public boolean exists(String path) {
+		ResourcePath resourcePath = getResourcePath(path);
+		return resourcePath != null && exists(resourcePath);
+	}
+
+	/**
+	 * Check if the resource exists. This default implementation loads the
+	 * resource. Implementations should override it to avoid loading the
+	 * content.
+	 * 
+	 * @param resourcePath
+	 *            the resolved path of the resource
+	 * @return true if the resource exists, false otherwise
+	 */
+	protected boolean exists(ResourcePath resourcePath) {
+		try {
+			getResource(resourcePath);
+			return true;
+		} catch (ResourceResolutionException e) {
+			return false;
+		}
+	}
+
 	@Override
 	public ResourcePath getResourcePath(String path) {
 		ResourcePath result = null;
@@ -0,0 +1,30 @@
+package fr.sii.ogham.core.resource.resolver;
+
+import fr.sii.ogham.core.resource.Resource;
+
+/**
+ * Optional capability of a {@link ResourceResolver} that is able to check if
+ * a resource exists without loading its content (a stat for a file, a URL
+ * lookup for a classpath resource...).
+ * 
+ * <p>
+ * Resolvers that don't implement this interface can still be checked using
+ * {@link fr.sii.ogham.core.util.ResourceResolverUtils#exists(ResourceResolver, String)}
+ * that falls back to loading the resource.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ * @see Resource
+ */
+public interface ExistenceCheckingResourceResolver extends ResourceResolver {
+	/**
+	 * Check if the resource exists without loading its content. Contrary to
+	 * {@link #getResource(String)}, no exception is thrown if the resource
+	 * doesn't exist.
+	 * 
+	 * @param path
+	 *            the path of the resource
+	 * @return true if the resource exists, false otherwise
+	 */
+	boolean exists(String path);
+}
@@ -47,6 +47,11 @@ public class FileResolver extends AbstractPrefixedLookupPathResolver implements
 		return resource;
 	}
 
+	@Override
+	protected boolean exists(ResourcePath resourcePath) {
+		return new File(resourcePath.getResolvedPath()).exists();
+	}
+
 
 	@Override
 	public boolean isAbsolute(String path) {
@@ -12,6 +12,7 @@ import fr.sii.ogham.core.exception.resource.NoResolverException;
 import fr.sii.ogham.core.exception.resource.ResourceResolutionException;
 import fr.sii.ogham.core.resource.Resource;
 import fr.sii.ogham.core.resource.ResourcePath;
+import fr.sii.ogham.core.util.ResourceResolverUtils;
 
 /**
  * Decorator that will ask each resource resolver if it is able to handle the
@@ -23,7 +24,7 @@ import fr.sii.ogham.core.resource.ResourcePath;
  * @author Aurélien Baudet
  * @see ResourceResolver
  */
-public class FirstSupportingResourceResolver implements ResourceResolver, ResourceResolverRegistry {
+public class FirstSupportingResourceResolver implements ExistenceCheckingResourceResolver, ResourceResolverRegistry {
 	private static final Logger LOG = LoggerFactory.getLogger(FirstSupportingResourceResolver.class);
 
 	/**
@@ -65,6 +66,12 @@ public class FirstSupportingResourceResolver implements ResourceResolver, Resour
 		throw new NoResolverException("No resource resolver available to find resource " + path, path);
 	}
 
+	@Override
+	public boolean exists(String path) {
+		ResourceResolver supportingResolver = getSupportingResolver(path);
+		return supportingResolver != null && ResourceResolverUtils.exists(supportingResolver, path);
+	}
+
 	/**
 	 * Register a new resolver. The resolver is added at the end.
 	 * 
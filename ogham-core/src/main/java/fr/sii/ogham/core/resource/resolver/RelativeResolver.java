@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import fr.sii.ogham.core.exception.resource.ResourceResolutionException;
 import fr.sii.ogham.core.resource.Resource;
 import fr.sii.ogham.core.resource.ResourcePath;
+import fr.sii.ogham.core.util.ResourceResolverUtils;
 
 /**
  * <p>
@@ -26,7 +27,7 @@ import fr.sii.ogham.core.resource.ResourcePath;
  * @author Aurélien Baudet
  *
  */
-public class RelativeResolver implements DelegateResourceResolver {
+public class RelativeResolver implements DelegateResourceResolver, ExistenceCheckingResourceResolver {
 	private static final Logger LOG = LoggerFactory.getLogger(RelativeResolver.class);
 
 	/**
@@ -86,6 +87,14 @@ public class RelativeResolver implements DelegateResourceResolver {
 		}
 	}
 
+	@Override
+	public boolean exists(String path) {
+		if (delegate.isAbsolute(path)) {
+			return ResourceResolverUtils.exists(delegate, path);
+		}
+		return ResourceResolverUtils.exists(delegate, delegate.resolve(path, parentPath, extension));
+	}
+
 	public String getParentPath() {
 		return parentPath;
 	}
@@ -0,0 +1,108 @@
+package fr.sii.ogham.core.sender;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.message.Message;
+
+/**
+ * Decorator sender that limits the number of messages that are sent at the
+ * same time by the decorated sender.
+ * 
+ * <p>
+ * The whole sending (including connection acquisition and retries done by
+ * the decorated sender) is done while holding a permit. When all permits are
+ * used, the calling thread waits until a permit is released. This is useful
+ * when sends are executed on many (virtual) threads: the number of messages in
+ * flight is not limited by the threads anymore but the provider may not accept
+ * that many connections or requests.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class ConcurrencyLimitedSender implements ConditionalSender, Closeable {
+	private static final Logger LOG = LoggerFactory.getLogger(ConcurrencyLimitedSender.class);
+
+	/**
+	 * The decorated sender
+	 */
+	private final MessageSender delegate;
+
+	/**
+	 * The permits to send
+	 */
+	private final Semaphore permits;
+
+	/**
+	 * The maximum number of concurrent sends
+	 */
+	private final int maxConcurrentSends;
+
+	/**
+	 * Initialize with the decorated sender and the maximum number of messages
+	 * that can be sent at the same time.
+	 * 
+	 * @param delegate
+	 *            the sender that really sends the messages
+	 * @param maxConcurrentSends
+	 *            the maximum number of concurrent sends
+	 */
+	public ConcurrencyLimitedSender(MessageSender delegate, int maxConcurrentSends) {
+		super();
+		if (maxConcurrentSends <= 0) {
+			throw new IllegalArgumentException("[maxConcurrentSends] must be strictly positive");
+		}
+		this.delegate = delegate;
+		this.maxConcurrentSends = maxConcurrentSends;
+		this.permits = new Semaphore(maxConcurrentSends, true);
+	}
+
+	@Override
+	public void send(Message message) throws MessageException {
+		try {
+			permits.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MessageException("Interrupted while waiting for a permit to send the message", message, e);
+		}
+		try {
+			LOG.debug("Sending message {} using {} ({} permits left)", message, delegate, permits.availablePermits());
+			delegate.send(message);
+		} finally {
+			permits.release();
+		}
+	}
+
+	@Override
+	public boolean supports(Message message) {
+		return delegate instanceof ConditionalSender ? ((ConditionalSender) delegate).supports(message) : true;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (delegate instanceof Closeable) {
+			((Closeable) delegate).close();
+		}
+	}
+
+	public MessageSender getDelegate() {
+		return delegate;
+	}
+
+	public int getMaxConcurrentSends() {
+		return maxConcurrentSends;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("ConcurrencyLimitedSender [maxConcurrentSends=").append(maxConcurrentSends).append(", delegate=").append(delegate).append("]");
+		return builder.toString();
+	}
+}
@@ -1,13 +1,21 @@
 package fr.sii.ogham.core.sender;
 
+import java.io.Closeable;
+import java.io.IOException;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import fr.sii.ogham.core.exception.MessageException;
 import fr.sii.ogham.core.exception.MessageNotSentException;
 import fr.sii.ogham.core.exception.handler.ContentTranslatorException;
+import fr.sii.ogham.core.exception.template.ParseException;
 import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.template.precompile.TemplatePrecompiler;
 import fr.sii.ogham.core.translator.content.ContentTranslator;
+import fr.sii.ogham.core.util.ContentUtils;
+import fr.sii.ogham.core.util.IOUtils;
+import fr.sii.ogham.core.util.PrecompileUtils;
 
 /**
  * Decorator sender that transforms the content of the message before really
@@ -15,10 +23,17 @@ import fr.sii.ogham.core.translator.content.ContentTranslator;
  * message content. Once the content has been updated, then this sender
  * delegates to a real implementation the sending of the message.
  * 
+ * <p>
+ * Contents rendered directly as bytes (see
+ * {@link fr.sii.ogham.core.message.content.StreamedContent}) are released
+ * once the message has been sent (or sending has failed), whatever the
+ * implementation that really sent the message.
+ * </p>
+ * 
  * @author Aurélien Baudet
  * @see ContentTranslator
  */
-public class ContentTranslatorSender implements ConditionalSender {
+public class ContentTranslatorSender implements ConditionalSender, TemplatePrecompiler, Closeable {
 	private static final Logger LOG = LoggerFactory.getLogger(ContentTranslatorSender.class);
 
 	/**
@@ -63,9 +78,22 @@ public class ContentTranslatorSender implements ConditionalSender {
 			delegate.send(message);
 		} catch (ContentTranslatorException e) {
 			throw new MessageNotSentException("Failed to send message due to content handler", message, e);
+		} finally {
+			// contents rendered as bytes are not needed anymore
+			ContentUtils.release(message.getContent());
 		}
 	}
 
+	@Override
+	public boolean precompile(String templateName) throws ParseException {
+		return PrecompileUtils.precompile(translator, templateName);
+	}
+
+	@Override
+	public void close() throws IOException {
+		IOUtils.closeAll(translator, delegate);
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder builder = new StringBuilder();
@@ -1,11 +1,18 @@
 package fr.sii.ogham.core.sender;
 
+import java.io.Closeable;
+import java.io.IOException;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.exception.template.ParseException;
 import fr.sii.ogham.core.filler.MessageFiller;
 import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.template.precompile.TemplatePrecompiler;
+import fr.sii.ogham.core.util.IOUtils;
+import fr.sii.ogham.core.util.PrecompileUtils;
 
 /**
  * Decorator sender that adds extra information to the message. This sender
@@ -16,7 +23,7 @@ import fr.sii.ogham.core.message.Message;
  * @author Aurélien Baudet
  *
  */
-public class FillerSender implements ConditionalSender {
+public class FillerSender implements ConditionalSender, TemplatePrecompiler, Closeable {
 	private static final Logger LOG = LoggerFactory.getLogger(FillerSender.class);
 
 	/**
@@ -61,6 +68,16 @@ public class FillerSender implements ConditionalSender {
 		return delegate instanceof ConditionalSender ? ((ConditionalSender) delegate).supports(message) : true;
 	}
 
+	@Override
+	public boolean precompile(String templateName) throws ParseException {
+		return PrecompileUtils.precompile(delegate, templateName);
+	}
+
+	@Override
+	public void close() throws IOException {
+		IOUtils.closeAll(delegate);
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder builder = new StringBuilder();
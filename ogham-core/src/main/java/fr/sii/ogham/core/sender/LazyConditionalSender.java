@@ -0,0 +1,153 @@
+package fr.sii.ogham.core.sender;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.builder.Builder;
+import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.exception.template.ParseException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.service.WarmUpable;
+import fr.sii.ogham.core.template.precompile.TemplatePrecompiler;
+import fr.sii.ogham.core.util.IOUtils;
+import fr.sii.ogham.core.util.PrecompileUtils;
+
+/**
+ * Sender that builds the real sender (and everything it needs like template
+ * engines, mimetype detection, CSS inliners...) only when a message of the
+ * handled type is sent for the first time.
+ * 
+ * <p>
+ * The initialization is done only once even if several threads send messages
+ * at the same time. If the initialization fails, it is tried again for the
+ * next message.
+ * </p>
+ * 
+ * <p>
+ * {@link #warmUp()} can be called to initialize the sender immediately.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class LazyConditionalSender implements ConditionalSender, WarmUpable, TemplatePrecompiler, Closeable {
+	private static final Logger LOG = LoggerFactory.getLogger(LazyConditionalSender.class);
+
+	/**
+	 * The type of messages handled by the real sender
+	 */
+	private final Class<? extends Message> messageType;
+
+	/**
+	 * The builder used to create the real sender
+	 */
+	private final Builder<? extends ConditionalSender> builder;
+
+	/**
+	 * The real sender (null until initialized or if the builder provides no
+	 * sender)
+	 */
+	private volatile ConditionalSender delegate;
+
+	/**
+	 * True once the builder has been called successfully (even if it has
+	 * provided no sender)
+	 */
+	private volatile boolean initialized;
+
+	/**
+	 * Initializes with the type of handled messages (used to know if the
+	 * message is supported without initializing the real sender) and the
+	 * builder that creates the real sender.
+	 * 
+	 * @param messageType
+	 *            the type of messages handled by the real sender
+	 * @param builder
+	 *            the builder that creates the real sender
+	 */
+	public LazyConditionalSender(Class<? extends Message> messageType, Builder<? extends ConditionalSender> builder) {
+		super();
+		this.messageType = messageType;
+		this.builder = builder;
+	}
+
+	/**
+	 * The message is not supported if it is not of the handled type or if the
+	 * builder provides no sender (the sender is not configured).
+	 */
+	@Override
+	public boolean supports(Message message) {
+		if (!messageType.isInstance(message)) {
+			return false;
+		}
+		ConditionalSender sender = getDelegate();
+		return sender != null && sender.supports(message);
+	}
+
+	@Override
+	public void send(Message message) throws MessageException {
+		ConditionalSender sender = getDelegate();
+		if (sender == null) {
+			throw new MessageException("No sender has been built for " + messageType.getSimpleName(), message);
+		}
+		sender.send(message);
+	}
+
+	@Override
+	public void warmUp() {
+		getDelegate();
+	}
+
+	/**
+	 * Precompiling templates needs the template engines so the real sender is
+	 * initialized.
+	 */
+	@Override
+	public boolean precompile(String templateName) throws ParseException {
+		ConditionalSender sender = getDelegate();
+		return PrecompileUtils.precompile(sender, templateName);
+	}
+
+	/**
+	 * @return true if the builder has been called (the real sender may be null
+	 *         if the builder has provided no sender)
+	 */
+	public boolean isInitialized() {
+		return initialized;
+	}
+
+	private ConditionalSender getDelegate() {
+		if (!initialized) {
+			synchronized (this) {
+				if (!initialized) {
+					LOG.info("Initializing sender for {}", messageType.getSimpleName());
+					ConditionalSender sender = builder.build();
+					if (sender == null) {
+						LOG.info("No sender has been built for {}, {} messages are not supported", messageType.getSimpleName(), messageType.getSimpleName());
+					} else {
+						LOG.debug("Sender for {} initialized: {}", messageType.getSimpleName(), sender);
+					}
+					delegate = sender;
+					initialized = true;
+				}
+			}
+		}
+		return delegate;
+	}
+
+	/**
+	 * Close the real sender if it has been built. Nothing is built otherwise.
+	 */
+	@Override
+	public void close() throws IOException {
+		IOUtils.closeAll(delegate);
+	}
+
+	@Override
+	public String toString() {
+		return "LazyConditionalSender[" + messageType.getSimpleName() + (initialized ? ", " + delegate + "]" : ", not initialized]");
+	}
+}
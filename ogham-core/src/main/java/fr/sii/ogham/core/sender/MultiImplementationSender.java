@@ -1,5 +1,7 @@
 package fr.sii.ogham.core.sender;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -11,6 +13,7 @@ import org.slf4j.LoggerFactory;
 import fr.sii.ogham.core.condition.Condition;
 import fr.sii.ogham.core.exception.MessageException;
 import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.util.IOUtils;
 
 /**
  * Decorator sender that is able to handle a particular type of message. And for
@@ -29,7 +32,7 @@ import fr.sii.ogham.core.message.Message;
  *            The type of message that the implementations can handle
  * @see Condition
  */
-public class MultiImplementationSender<M extends Message> implements ConditionalSender {
+public class MultiImplementationSender<M extends Message> implements ConditionalSender, Closeable {
 	private static final Logger LOG = LoggerFactory.getLogger(MultiImplementationSender.class);
 
 	/**
@@ -128,6 +131,18 @@ public class MultiImplementationSender<M extends Message> implements Conditional
 		sender.send(message);
 	}
 
+	/**
+	 * Close the implementations that hold resources (connections, threads...).
+	 */
+	@Override
+	public void close() throws IOException {
+		List<MessageSender> senders = new ArrayList<>(implementations.size());
+		for (Implementation impl : implementations) {
+			senders.add(impl.getSender());
+		}
+		IOUtils.closeAll(senders);
+	}
+
 	public List<Implementation> getImplementations() {
 		return implementations;
 	}
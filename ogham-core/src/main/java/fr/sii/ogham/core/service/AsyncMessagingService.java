@@ -0,0 +1,222 @@
+package fr.sii.ogham.core.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.exception.template.ParseException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.template.precompile.TemplatePrecompiler;
+import fr.sii.ogham.core.util.IOUtils;
+import fr.sii.ogham.core.util.PrecompileUtils;
+import fr.sii.ogham.core.util.ThreadPerTaskExecutors;
+
+/**
+ * Decorator that is able to send messages asynchronously. Each asynchronous
+ * send (including connection acquisition and retries) is run as a task of an
+ * {@link ExecutorService}.
+ * 
+ * <p>
+ * By default, each send is run on its own thread: a virtual thread on Java
+ * 21+ (see {@link ThreadPerTaskExecutors}). As every provider blocks while
+ * sending, virtual threads make it cheap to have thousands of slow sends in
+ * flight. The number of concurrent sends for each provider should then be
+ * limited (see {@link fr.sii.ogham.core.sender.ConcurrencyLimitedSender}).
+ * </p>
+ * 
+ * <p>
+ * {@link #send(Message)} still sends the message synchronously.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class AsyncMessagingService implements MessagingService, WarmUpable, TemplatePrecompiler, Closeable {
+	private static final Logger LOG = LoggerFactory.getLogger(AsyncMessagingService.class);
+	private static final String THREAD_NAME_PREFIX = "ogham-send-";
+	private static final long CLOSE_TIMEOUT_MS = 30000;
+
+	/**
+	 * The delegate service that will really send messages
+	 */
+	private final MessagingService delegate;
+
+	/**
+	 * The executor used to run the sends
+	 */
+	private final ExecutorService executor;
+
+	/**
+	 * Whether the executor has been created by this service (and must be shut
+	 * down on close)
+	 */
+	private final boolean managedExecutor;
+
+	/**
+	 * Initialize with the service that really sends the messages. Each send
+	 * is run on its own thread (virtual thread if available).
+	 * 
+	 * @param delegate
+	 *            the service that really sends the messages
+	 */
+	public AsyncMessagingService(MessagingService delegate) {
+		this(delegate, ThreadPerTaskExecutors.newExecutor(THREAD_NAME_PREFIX), true);
+	}
+
+	/**
+	 * Initialize with the service that really sends the messages. Each send
+	 * is run on its own virtual thread if available. Otherwise, at most
+	 * {@code maxPlatformThreads} sends are run at the same time on platform
+	 * threads (see {@link ThreadPerTaskExecutors#newExecutor(String, int)}).
+	 * 
+	 * @param delegate
+	 *            the service that really sends the messages
+	 * @param maxPlatformThreads
+	 *            the maximum number of platform threads if virtual threads
+	 *            are not available
+	 */
+	public AsyncMessagingService(MessagingService delegate, int maxPlatformThreads) {
+		this(delegate, ThreadPerTaskExecutors.newExecutor(THREAD_NAME_PREFIX, maxPlatformThreads), true);
+	}
+
+	/**
+	 * Initialize with the service that really sends the messages and the
+	 * executor used to run the sends. The executor is not shut down by this
+	 * service.
+	 * 
+	 * @param delegate
+	 *            the service that really sends the messages
+	 * @param executor
+	 *            the executor used to run the sends
+	 */
+	public AsyncMessagingService(MessagingService delegate, ExecutorService executor) {
+		this(delegate, executor, false);
+	}
+
+	private AsyncMessagingService(MessagingService delegate, ExecutorService executor, boolean managedExecutor) {
+		super();
+		this.delegate = delegate;
+		this.executor = executor;
+		this.managedExecutor = managedExecutor;
+	}
+
+	@Override
+	public void send(Message message) throws MessagingException {
+		delegate.send(message);
+	}
+
+	/**
+	 * Sends the message asynchronously. The returned {@link Future} completes
+	 * when the message has been sent. If the message couldn't be sent,
+	 * {@link Future#get()} throws an
+	 * {@link java.util.concurrent.ExecutionException} that wraps the
+	 * {@link MessagingException}.
+	 * 
+	 * @param message
+	 *            the message to send
+	 * @return the future that completes once the message is sent
+	 */
+	public Future<Void> sendAsync(final Message message) {
+		return executor.submit(new Callable<Void>() {
+			@Override
+			public Void call() throws MessagingException {
+				delegate.send(message);
+				return null;
+			}
+		});
+	}
+
+	/**
+	 * Sends the message asynchronously. The callback is notified once the
+	 * message has been sent or if it couldn't be sent. Any exception
+	 * (including {@link RuntimeException}) is provided to the callback as a
+	 * {@link MessagingException}.
+	 * 
+	 * @param message
+	 *            the message to send
+	 * @param callback
+	 *            the callback to notify
+	 */
+	public void sendAsync(final Message message, final SendCallback callback) {
+		try {
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					doSend(message, callback);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			callback.onFailure(message, new MessagingException("Message can't be sent because the service doesn't accept new messages", e));
+		}
+	}
+
+	private void doSend(Message message, SendCallback callback) {
+		try {
+			delegate.send(message);
+		} catch (MessagingException e) {
+			LOG.debug("Message {} couldn't be sent", message, e);
+			callback.onFailure(message, e);
+			return;
+		} catch (RuntimeException e) {
+			LOG.debug("Message {} couldn't be sent", message, e);
+			callback.onFailure(message, new MessagingException("Message can't be sent due to uncaught exception. Cause: " + e.getMessage(), e));
+			return;
+		}
+		callback.onSuccess(message);
+	}
+
+	@Override
+	public void warmUp() {
+		if (delegate instanceof WarmUpable) {
+			((WarmUpable) delegate).warmUp();
+		}
+	}
+
+	@Override
+	public boolean precompile(String templateName) throws ParseException {
+		return PrecompileUtils.precompile(delegate, templateName);
+	}
+
+	/**
+	 * Stops accepting new messages and closes the delegate service (see
+	 * {@link Closeable}). Messages that are being sent are not interrupted:
+	 * if the executor is managed by this service, the delegate is closed once
+	 * they are sent (or after {@value #CLOSE_TIMEOUT_MS}ms). If the executor
+	 * has been provided, it is left untouched.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (managedExecutor) {
+			executor.shutdown();
+			awaitPendingSends();
+		}
+		IOUtils.closeAll(delegate);
+	}
+
+	public MessagingService getDelegate() {
+		return delegate;
+	}
+
+	public ExecutorService getExecutor() {
+		return executor;
+	}
+
+	private void awaitPendingSends() {
+		try {
+			if (!executor.awaitTermination(CLOSE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+				LOG.warn("Some messages are still being sent after {}ms", CLOSE_TIMEOUT_MS);
+			}
+		} catch (InterruptedException e) {
+			LOG.debug("Interrupted while waiting for pending messages", e);
+			Thread.currentThread().interrupt();
+		}
+	}
+}
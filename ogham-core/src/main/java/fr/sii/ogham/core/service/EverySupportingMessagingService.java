@@ -1,5 +1,7 @@
 package fr.sii.ogham.core.service;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 
@@ -8,8 +10,12 @@ import org.slf4j.LoggerFactory;
 
 import fr.sii.ogham.core.exception.MessageNotSentException;
 import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.exception.template.ParseException;
 import fr.sii.ogham.core.message.Message;
 import fr.sii.ogham.core.sender.ConditionalSender;
+import fr.sii.ogham.core.template.precompile.TemplatePrecompiler;
+import fr.sii.ogham.core.util.IOUtils;
+import fr.sii.ogham.core.util.PrecompileUtils;
 
 /**
  * Implementation that will ask each sender if it is able to handle the message.
@@ -22,7 +28,7 @@ import fr.sii.ogham.core.sender.ConditionalSender;
  * @author Aurélien Baudet
  * @see ConditionalSender
  */
-public class EverySupportingMessagingService implements MessagingService {
+public class EverySupportingMessagingService implements MessagingService, WarmUpable, TemplatePrecompiler, Closeable {
 	private static final Logger LOG = LoggerFactory.getLogger(EverySupportingMessagingService.class);
 
 	/**
@@ -92,6 +98,19 @@ public class EverySupportingMessagingService implements MessagingService {
 		}
 	}
 
+	/**
+	 * Initialize now the senders that defer their initialization (see
+	 * {@link WarmUpable}).
+	 */
+	@Override
+	public void warmUp() {
+		for (ConditionalSender sender : senders) {
+			if (sender instanceof WarmUpable) {
+				((WarmUpable) sender).warmUp();
+			}
+		}
+	}
+
 	/**
 	 * Register a new sender. The sender is added at the end.
 	 * 
@@ -103,4 +122,23 @@ public class EverySupportingMessagingService implements MessagingService {
 		senders.add(sender);
 		return this;
 	}
+
+	/**
+	 * Precompile the template with every sender that supports precompilation
+	 * (email and SMS templates are handled by different template engines).
+	 * The template is precompiled if at least one of them handled it. If any
+	 * of them fails, the first failure is thrown.
+	 */
+	@Override
+	public boolean precompile(String templateName) throws ParseException {
+		return PrecompileUtils.precompileAll(senders, templateName);
+	}
+
+	/**
+	 * Close the senders that hold resources (connections, threads...).
+	 */
+	@Override
+	public void close() throws IOException {
+		IOUtils.closeAll(senders);
+	}
 }
@@ -0,0 +1,322 @@
+package fr.sii.ogham.core.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.message.Message;
+
+/**
+ * Reactive variant of {@link MessagingService} based on
+ * <a href="http://www.reactive-streams.org/">Reactive Streams</a>. It can be
+ * used with any Reactive Streams implementation (Reactor, RxJava...) without
+ * blocking the calling thread (a WebFlux event loop for example).
+ *
+ * <p>
+ * Messages are sent using an {@link AsyncMessagingService} so the blocking
+ * sends are done on dedicated threads (virtual threads if available).
+ * </p>
+ *
+ * <p>
+ * Nothing is sent until the returned {@link Publisher} is subscribed and
+ * demand is signaled. When sending many messages (see {@link #sendAll(Publisher)}),
+ * messages are requested from the source only when there is room for them:
+ * at most {@link #getMaxInFlight()} messages are being sent at the same time.
+ * This value should match the concurrency limits of the providers (see
+ * {@link fr.sii.ogham.core.builder.MessagingBuilder#virtualThreads(int)}).
+ * </p>
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class ReactiveMessagingService implements Closeable {
+	private static final Logger LOG = LoggerFactory.getLogger(ReactiveMessagingService.class);
+
+	/**
+	 * The default maximum number of messages that are sent at the same time
+	 */
+	public static final int DEFAULT_MAX_IN_FLIGHT = 16;
+
+	/**
+	 * The service that sends the messages asynchronously
+	 */
+	private final AsyncMessagingService delegate;
+
+	/**
+	 * The maximum number of messages that are sent at the same time
+	 */
+	private final int maxInFlight;
+
+	public ReactiveMessagingService(AsyncMessagingService delegate) {
+		this(delegate, DEFAULT_MAX_IN_FLIGHT);
+	}
+
+	/**
+	 * Initialize with the service that sends the messages asynchronously and
+	 * the maximum number of messages that are sent at the same time by
+	 * {@link #sendAll(Publisher)}.
+	 *
+	 * @param delegate
+	 *            the service that sends the messages asynchronously
+	 * @param maxInFlight
+	 *            the maximum number of messages that are sent at the same time
+	 */
+	public ReactiveMessagingService(AsyncMessagingService delegate, int maxInFlight) {
+		super();
+		if (maxInFlight <= 0) {
+			throw new IllegalArgumentException("[maxInFlight] must be strictly positive");
+		}
+		this.delegate = delegate;
+		this.maxInFlight = maxInFlight;
+	}
+
+	/**
+	 * Provides a {@link Publisher} that sends the message once subscribed and
+	 * demand is signaled. The publisher completes when the message has been
+	 * sent. It signals a {@link MessagingException} if the message couldn't be
+	 * sent.
+	 *
+	 * <p>
+	 * Each subscription sends the message again.
+	 * </p>
+	 *
+	 * @param message
+	 *            the message to send
+	 * @return the publisher that sends the message
+	 */
+	public Publisher<Void> send(final Message message) {
+		return new Publisher<Void>() {
+			@Override
+			public void subscribe(Subscriber<? super Void> subscriber) {
+				subscriber.onSubscribe(new SingleSend(message, subscriber));
+			}
+		};
+	}
+
+	/**
+	 * Provides a {@link Publisher} that sends all the messages provided by the
+	 * source once subscribed. Messages are requested from the source only when
+	 * less than {@link #getMaxInFlight()} messages are being sent.
+	 *
+	 * <p>
+	 * The publisher completes when the source has completed and all messages
+	 * have been sent. If a message couldn't be sent, the source is cancelled
+	 * and the publisher signals the {@link MessagingException} (messages that
+	 * are being sent are not interrupted).
+	 * </p>
+	 *
+	 * @param messages
+	 *            the source of the messages to send
+	 * @return the publisher that sends all the messages
+	 */
+	public Publisher<Void> sendAll(final Publisher<? extends Message> messages) {
+		return new Publisher<Void>() {
+			@Override
+			public void subscribe(Subscriber<? super Void> subscriber) {
+				BulkSend bulk = new BulkSend(subscriber);
+				subscriber.onSubscribe(bulk);
+				messages.subscribe(bulk);
+			}
+		};
+	}
+
+	public AsyncMessagingService getDelegate() {
+		return delegate;
+	}
+
+	public int getMaxInFlight() {
+		return maxInFlight;
+	}
+
+	@Override
+	public void close() throws IOException {
+		delegate.close();
+	}
+
+	/**
+	 * Sends a single message on first demand and notifies the subscriber only
+	 * once.
+	 */
+	private class SingleSend implements Subscription, SendCallback {
+		private final Message message;
+		private final Subscriber<? super Void> subscriber;
+		private final AtomicBoolean started;
+		private volatile boolean cancelled;
+
+		public SingleSend(Message message, Subscriber<? super Void> subscriber) {
+			super();
+			this.message = message;
+			this.subscriber = subscriber;
+			this.started = new AtomicBoolean();
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0 && !cancelled) {
+				cancelled = true;
+				subscriber.onError(new IllegalArgumentException("Requested amount must be strictly positive (Reactive Streams rule 3.9)"));
+				return;
+			}
+			if (!cancelled && started.compareAndSet(false, true)) {
+				delegate.sendAsync(message, this);
+			}
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+		}
+
+		@Override
+		public void onSuccess(Message message) {
+			if (!cancelled) {
+				subscriber.onComplete();
+			}
+		}
+
+		@Override
+		public void onFailure(Message message, MessagingException cause) {
+			if (!cancelled) {
+				subscriber.onError(cause);
+			}
+		}
+	}
+
+	/**
+	 * Requests messages from the source while less than {@link #maxInFlight}
+	 * messages are being sent. Nothing is requested from the source until the
+	 * downstream subscriber signals demand. The downstream subscriber receives
+	 * no element (only completion or error) so the amount it requests is not
+	 * used.
+	 */
+	private class BulkSend implements Subscriber<Message>, Subscription, SendCallback {
+		private final Subscriber<? super Void> downstream;
+		private final AtomicInteger inFlight;
+		private final AtomicBoolean terminated;
+		private Subscription upstream;
+		private boolean demanded;
+		private boolean started;
+		private volatile boolean upstreamDone;
+
+		public BulkSend(Subscriber<? super Void> downstream) {
+			super();
+			this.downstream = downstream;
+			this.inFlight = new AtomicInteger();
+			this.terminated = new AtomicBoolean();
+		}
+
+		@Override
+		public void onSubscribe(Subscription subscription) {
+			synchronized (this) {
+				if (upstream != null || terminated.get()) {
+					subscription.cancel();
+					return;
+				}
+				upstream = subscription;
+			}
+			start();
+		}
+
+		@Override
+		public void onNext(Message message) {
+			if (terminated.get()) {
+				return;
+			}
+			inFlight.incrementAndGet();
+			delegate.sendAsync(message, this);
+		}
+
+		@Override
+		public void onError(Throwable cause) {
+			upstreamDone = true;
+			terminate(cause);
+		}
+
+		@Override
+		public void onComplete() {
+			upstreamDone = true;
+			if (inFlight.get() == 0) {
+				terminate(null);
+			}
+		}
+
+		@Override
+		public void onSuccess(Message message) {
+			if (inFlight.decrementAndGet() == 0 && upstreamDone) {
+				terminate(null);
+			} else {
+				requestUpstream(1);
+			}
+		}
+
+		@Override
+		public void onFailure(Message message, MessagingException cause) {
+			inFlight.decrementAndGet();
+			cancelUpstream();
+			terminate(cause);
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				cancelUpstream();
+				terminate(new IllegalArgumentException("Requested amount must be strictly positive (Reactive Streams rule 3.9)"));
+				return;
+			}
+			synchronized (this) {
+				demanded = true;
+			}
+			start();
+		}
+
+		@Override
+		public void cancel() {
+			if (terminated.compareAndSet(false, true)) {
+				LOG.debug("Bulk sending cancelled ({} messages are still being sent)", inFlight.get());
+				cancelUpstream();
+			}
+		}
+
+		private void terminate(Throwable cause) {
+			if (!terminated.compareAndSet(false, true)) {
+				return;
+			}
+			if (cause == null) {
+				downstream.onComplete();
+			} else {
+				downstream.onError(cause);
+			}
+		}
+
+		/**
+		 * Requests the first messages once the source has subscribed and the
+		 * downstream subscriber has signaled demand (in any order).
+		 */
+		private synchronized void start() {
+			if (upstream != null && demanded && !started) {
+				started = true;
+				requestUpstream(maxInFlight);
+			}
+		}
+
+		private synchronized void requestUpstream(long n) {
+			if (upstream != null && !terminated.get() && !upstreamDone) {
+				upstream.request(n);
+			}
+		}
+
+		private synchronized void cancelUpstream() {
+			if (upstream != null && !upstreamDone) {
+				upstream.cancel();
+			}
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package fr.sii.ogham.core.service;
+
+import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.message.Message;
+
+/**
+ * Notified when a message sent asynchronously (see
+ * {@link AsyncMessagingService#sendAsync(Message, SendCallback)}) has been
+ * sent or couldn't be sent.
+ * 
+ * <p>
+ * The callback is called by the thread that has sent the message.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public interface SendCallback {
+	/**
+	 * Called when the message has been sent.
+	 * 
+	 * @param message
+	 *            the sent message
+	 */
+	public void onSuccess(Message message);
+
+	/**
+	 * Called when the message couldn't be sent.
+	 * 
+	 * @param message
+	 *            the message that couldn't be sent
+	 * @param cause
+	 *            the reason why the message couldn't be sent
+	 */
+	public void onFailure(Message message, MessagingException cause);
+}
@@ -0,0 +1,23 @@
+package fr.sii.ogham.core.service;
+
+import fr.sii.ogham.core.exception.builder.BuildException;
+
+/**
+ * Implemented by services and senders that may defer their initialization
+ * until the first message is sent. Calling {@link #warmUp()} initializes
+ * everything immediately in order to have a predictable latency for the first
+ * message.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public interface WarmUpable {
+	/**
+	 * Initialize now everything that has been deferred. Calling this method
+	 * several times has no effect.
+	 * 
+	 * @throws BuildException
+	 *             when the initialization has failed
+	 */
+	public void warmUp();
+}
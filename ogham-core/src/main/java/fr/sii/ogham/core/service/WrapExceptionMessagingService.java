@@ -1,7 +1,14 @@
 package fr.sii.ogham.core.service;
 
+import java.io.Closeable;
+import java.io.IOException;
+
 import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.exception.template.ParseException;
 import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.template.precompile.TemplatePrecompiler;
+import fr.sii.ogham.core.util.IOUtils;
+import fr.sii.ogham.core.util.PrecompileUtils;
 
 /**
  * Decorator that catch all exceptions including {@link RuntimeException}. It
@@ -9,7 +16,7 @@ import fr.sii.ogham.core.message.Message;
  * 
  * @author Aurélien Baudet
  */
-public class WrapExceptionMessagingService implements MessagingService {
+public class WrapExceptionMessagingService implements MessagingService, WarmUpable, TemplatePrecompiler, Closeable {
 	/**
 	 * The delegate service that will really send messages
 	 */
@@ -47,4 +54,21 @@ public class WrapExceptionMessagingService implements MessagingService {
 			throw new MessagingException("Message can't be sent due to uncaught exception. Cause: " + e.getMessage(), e);
 		}
 	}
+
+	@Override
+	public void warmUp() {
+		if (delegate instanceof WarmUpable) {
+			((WarmUpable) delegate).warmUp();
+		}
+	}
+
+	@Override
+	public boolean precompile(String templateName) throws ParseException {
+		return PrecompileUtils.precompile(delegate, templateName);
+	}
+
+	@Override
+	public void close() throws IOException {
+		IOUtils.closeAll(delegate);
+	}
 }
@@ -1,13 +1,13 @@
 package fr.sii.ogham.core.template.context;
 
 import java.util.Map;
+import java.util.Objects;
 
 import fr.sii.ogham.core.exception.template.BeanContextException;
 import fr.sii.ogham.core.exception.template.BeanException;
 import fr.sii.ogham.core.exception.template.ContextException;
 import fr.sii.ogham.core.util.BeanUtils;
 import fr.sii.ogham.core.util.EqualsBuilder;
-import fr.sii.ogham.core.util.HashCodeBuilder;
 
 /**
  * Template context that provides variable values using a Java object. Each
@@ -86,11 +86,18 @@ public class BeanContext implements Context {
 	
 	@Override
 	public int hashCode() {
-		return new HashCodeBuilder().append(bean).hashCode();
+		return Objects.hashCode(bean);
 	}
 
 	@Override
 	public boolean equals(Object obj) {
-		return new EqualsBuilder(this, obj).appendFields("bean").isEqual();
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		BeanContext other = (BeanContext) obj;
+		return new EqualsBuilder().append(bean, other.bean).isEqual();
 	}
 }
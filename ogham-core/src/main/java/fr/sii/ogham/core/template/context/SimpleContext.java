@@ -2,9 +2,9 @@ package fr.sii.ogham.core.template.context;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 import fr.sii.ogham.core.util.EqualsBuilder;
-import fr.sii.ogham.core.util.HashCodeBuilder;
 
 /**
  * Simple context that stores variable substitutions into a map. This map in
@@ -65,11 +65,18 @@ public class SimpleContext implements Context {
 
 	@Override
 	public int hashCode() {
-		return new HashCodeBuilder().append(variables).hashCode();
+		return Objects.hashCode(variables);
 	}
 
 	@Override
 	public boolean equals(Object obj) {
-		return new EqualsBuilder(this, obj).appendFields("variables").isEqual();
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		SimpleContext other = (SimpleContext) obj;
+		return new EqualsBuilder().append(variables, other.variables).isEqual();
 	}
 }
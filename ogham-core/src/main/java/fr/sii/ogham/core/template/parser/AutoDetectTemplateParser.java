@@ -1,6 +1,10 @@
 package fr.sii.ogham.core.template.parser;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,7 +14,9 @@ import fr.sii.ogham.core.exception.template.NoEngineDetectionException;
 import fr.sii.ogham.core.exception.template.ParseException;
 import fr.sii.ogham.core.message.content.Content;
 import fr.sii.ogham.core.template.context.Context;
+import fr.sii.ogham.core.template.context.SimpleContext;
 import fr.sii.ogham.core.template.detector.TemplateEngineDetector;
+import fr.sii.ogham.core.template.precompile.TemplatePrecompiler;
 
 /**
  * Decorator that automatically detects the template engine parser to use. The
@@ -23,8 +29,10 @@ import fr.sii.ogham.core.template.detector.TemplateEngineDetector;
  * @author Aurélien Baudet
  *
  */
-public class AutoDetectTemplateParser implements TemplateParser {
+public class AutoDetectTemplateParser implements TemplateParser, TemplatePrecompiler {
 	private static final Logger LOG = LoggerFactory.getLogger(AutoDetectTemplateParser.class);
+	private static final Pattern REDUNDANT_SEPARATORS = Pattern.compile("/(?:\\.?/)+");
+	private static final String CURRENT_DIRECTORY = "./";
 	
 
 	/**
@@ -32,13 +40,24 @@ public class AutoDetectTemplateParser implements TemplateParser {
 	 */
 	private List<TemplateImplementation> implementations;
 
+	/**
+	 * The parsers detected for precompiled templates
+	 */
+	private final ConcurrentMap<String, TemplateParser> precompiled;
+
 	public AutoDetectTemplateParser(List<TemplateImplementation> implementations) {
 		super();
 		this.implementations = implementations;
+		this.precompiled = new ConcurrentHashMap<>();
 	}
 
 	@Override
 	public Content parse(String templateName, Context ctx) throws ParseException {
+		TemplateParser detected = precompiled.get(normalize(templateName));
+		if (detected != null) {
+			LOG.debug("Template {} has been precompiled, use template engine {}", templateName, detected);
+			return detected.parse(templateName, ctx);
+		}
 		try {
 			LOG.info("Start template engine automatic detection for {}", templateName);
 			TemplateParser parser = null;
@@ -61,6 +80,53 @@ public class AutoDetectTemplateParser implements TemplateParser {
 		}
 	}
 
+	/**
+	 * Detects the template engine to use for the template (without any
+	 * variable), precompiles the template with the detected template engine
+	 * and keeps the detection result so the detection is skipped for next
+	 * parsing of the same template.
+	 */
+	@Override
+	public boolean precompile(String templateName) throws ParseException {
+		Context ctx = new SimpleContext(new HashMap<String, Object>());
+		try {
+			for (TemplateImplementation impl : implementations) {
+				if (impl.getDetector().canParse(templateName, ctx) && impl.getParser() instanceof TemplatePrecompiler) {
+					TemplateParser parser = impl.getParser();
+					LOG.debug("Precompiling template {} using template engine {}", templateName, parser);
+					if (((TemplatePrecompiler) parser).precompile(templateName)) {
+						precompiled.put(normalize(templateName), parser);
+						return true;
+					}
+				}
+			}
+			return false;
+		} catch (EngineDetectionException e) {
+			throw new ParseException("Failed to automatically detect parser due to detection error", templateName, ctx, e);
+		}
+	}
+
+	/**
+	 * The same template may be referenced with insignificant differences
+	 * (surrounding spaces, duplicated separators or "./" segments). The name
+	 * is normalized so that a template precompiled from an expanded location
+	 * is found whatever the way it is referenced when sending a message. The
+	 * lookup prefix is kept as is.
+	 * 
+	 * @param templateName
+	 *            the template name
+	 * @return the name used as cache key
+	 */
+	private static String normalize(String templateName) {
+		String name = templateName.trim();
+		int lookupEnd = name.indexOf(':') + 1;
+		String path = REDUNDANT_SEPARATORS.matcher(name.substring(lookupEnd)).replaceAll("/");
+		if (path.startsWith(CURRENT_DIRECTORY)) {
+			path = path.substring(CURRENT_DIRECTORY.length());
+		}
+		return name.substring(0, lookupEnd) + path;
+	}
+
 	public static class TemplateImplementation {
 		private final TemplateEngineDetector detector;
 		private final TemplateParser parser;
@@ -0,0 +1,116 @@
+package fr.sii.ogham.core.template.parser;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import fr.sii.ogham.core.message.content.StreamedContent;
+import fr.sii.ogham.core.util.SpillToDiskOutputStream;
+
+/**
+ * Options to make template engines write the result of the evaluation directly
+ * as encoded bytes instead of a {@link String}. The result is a
+ * {@link StreamedContent}: bytes are kept in memory up to
+ * {@link #getMemoryThreshold()} and then written in a temporary file.
+ *
+ * <p>
+ * Streaming is useful for very big contents that would otherwise be held
+ * several times in memory (rendered string, encoded bytes, MIME message...).
+ * If HTML post-processing (CSS inlining, image inlining...) is configured, the
+ * content is decoded in memory for post-processing.
+ * </p>
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class StreamingRenderOptions {
+	/**
+	 * The default maximum number of bytes kept in memory (64KB)
+	 */
+	public static final int DEFAULT_MEMORY_THRESHOLD = 64 * 1024;
+
+	/**
+	 * The charset used to encode the content
+	 */
+	private final Charset charset;
+
+	/**
+	 * The maximum number of bytes kept in memory
+	 */
+	private final int memoryThreshold;
+
+	/**
+	 * The directory where temporary files are created (null for the system
+	 * temporary directory)
+	 */
+	private final File tempDirectory;
+
+	public StreamingRenderOptions() {
+		this(StandardCharsets.UTF_8, DEFAULT_MEMORY_THRESHOLD, null);
+	}
+
+	/**
+	 * Initializes with the charset used to encode the content, the maximum
+	 * number of bytes kept in memory and the directory for temporary files.
+	 *
+	 * @param charset
+	 *            the charset used to encode the content
+	 * @param memoryThreshold
+	 *            the maximum number of bytes kept in memory
+	 * @param tempDirectory
+	 *            the directory where temporary files are created (null for the
+	 *            system temporary directory)
+	 */
+	public StreamingRenderOptions(Charset charset, int memoryThreshold, File tempDirectory) {
+		super();
+		if (charset == null) {
+			throw new IllegalArgumentException("[charset] cannot be null");
+		}
+		if (memoryThreshold < 0) {
+			throw new IllegalArgumentException("[memoryThreshold] must be positive");
+		}
+		this.charset = charset;
+		this.memoryThreshold = memoryThreshold;
+		this.tempDirectory = tempDirectory;
+	}
+
+	/**
+	 * Creates a new buffer to write the result of a template evaluation.
+	 *
+	 * @return the buffer
+	 */
+	public SpillToDiskOutputStream newBuffer() {
+		return new SpillToDiskOutputStream(memoryThreshold, tempDirectory);
+	}
+
+	/**
+	 * Creates a writer that encodes characters into the buffer.
+	 *
+	 * @param buffer
+	 *            the buffer created by {@link #newBuffer()}
+	 * @return the writer
+	 */
+	public Writer newWriter(SpillToDiskOutputStream buffer) {
+		return new BufferedWriter(new OutputStreamWriter(buffer, charset));
+	}
+
+	public Charset getCharset() {
+		return charset;
+	}
+
+	public int getMemoryThreshold() {
+		return memoryThreshold;
+	}
+
+	public File getTempDirectory() {
+		return tempDirectory;
+	}
+
+	@Override
+	public String toString() {
+		return "StreamingRenderOptions [charset=" + charset + ", memoryThreshold=" + memoryThreshold + ", tempDirectory=" + tempDirectory + "]";
+	}
+}
@@ -0,0 +1,72 @@
+package fr.sii.ogham.core.template.precompile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import fr.sii.ogham.core.exception.template.ParseException;
+
+/**
+ * Result of template precompilation (see {@link TemplateWarmUp}):
+ * <ul>
+ * <li>the templates that have been successfully precompiled</li>
+ * <li>the templates that no template engine could handle</li>
+ * <li>the templates that failed to compile with the associated error</li>
+ * </ul>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class PrecompilationReport {
+	private final List<String> precompiled = new ArrayList<>();
+	private final List<String> notHandled = new ArrayList<>();
+	private final Map<String, ParseException> failures = new LinkedHashMap<>();
+
+	public void addPrecompiled(String templateName) {
+		precompiled.add(templateName);
+	}
+
+	public void addNotHandled(String templateName) {
+		notHandled.add(templateName);
+	}
+
+	public void addFailure(String templateName, ParseException failure) {
+		failures.put(templateName, failure);
+	}
+
+	/**
+	 * @return true if no template failed to compile
+	 */
+	public boolean isSuccess() {
+		return failures.isEmpty();
+	}
+
+	public List<String> getPrecompiled() {
+		return Collections.unmodifiableList(precompiled);
+	}
+
+	public List<String> getNotHandled() {
+		return Collections.unmodifiableList(notHandled);
+	}
+
+	public Map<String, ParseException> getFailures() {
+		return Collections.unmodifiableMap(failures);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append(precompiled.size()).append(" templates precompiled, ");
+		builder.append(notHandled.size()).append(" not handled ").append(notHandled).append(", ");
+		builder.append(failures.size()).append(" failed");
+		for (Map.Entry<String, ParseException> failure : failures.entrySet()) {
+			builder.append("\n  - ").append(failure.getKey()).append(": ").append(failure.getValue().getMessage());
+			if (failure.getValue().getCause() != null) {
+				builder.append(" (").append(failure.getValue().getCause().getMessage()).append(")");
+			}
+		}
+		return builder.toString();
+	}
+}
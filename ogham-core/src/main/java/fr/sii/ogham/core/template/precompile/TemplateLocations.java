@@ -0,0 +1,193 @@
+package fr.sii.ogham.core.template.precompile;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Expands template locations that contain glob patterns into the list of
+ * matching templates. For example:
+ * 
+ * <ul>
+ * <li>{@code classpath:/templates/email/*.html}: all HTML files directly
+ * under templates/email in the classpath</li>
+ * <li>{@code classpath:/templates/**}{@code /*.ftl}: all FreeMarker templates
+ * under templates in the classpath (at any depth)</li>
+ * <li>{@code file:/var/templates/*.{html,txt}}: HTML and text files directly
+ * under /var/templates</li>
+ * </ul>
+ * 
+ * <p>
+ * Locations without lookup prefix are searched in the classpath. Each
+ * expanded location keeps the original lookup prefix and is absolute so it
+ * is not modified by path prefixes/suffixes configured for resolution.
+ * </p>
+ * 
+ * <p>
+ * Locations without any pattern are returned as is.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public final class TemplateLocations {
+	private static final String CLASSPATH_LOOKUP = "classpath:";
+	private static final String FILE_LOOKUP = "file:";
+	private static final String ANY_DIRECTORY = "**/";
+
+	/**
+	 * Expands the location into the list of matching templates.
+	 * 
+	 * @param location
+	 *            the location that may contain glob patterns
+	 * @return the list of matching templates
+	 * @throws IOException
+	 *             when the templates couldn't be listed
+	 */
+	public static List<String> expand(String location) throws IOException {
+		int patternStart = patternStart(location);
+		if (patternStart < 0) {
+			return Collections.singletonList(location);
+		}
+		String lookup = "";
+		String path = location;
+		if (location.startsWith(CLASSPATH_LOOKUP) || location.startsWith(FILE_LOOKUP)) {
+			lookup = location.substring(0, location.indexOf(':') + 1);
+			path = location.substring(lookup.length());
+			patternStart -= lookup.length();
+		}
+		String base = path.substring(0, path.lastIndexOf('/', patternStart) + 1);
+		Matcher matcher = new Matcher(path.substring(base.length()));
+		Set<String> matching = new TreeSet<>();
+		if (FILE_LOOKUP.equals(lookup)) {
+			for (String relative : listDirectory(Paths.get(base), matcher)) {
+				matching.add(lookup + base + relative);
+			}
+		} else {
+			String absoluteBase = base.startsWith("/") ? base : "/" + base;
+			for (String relative : listClasspath(absoluteBase.substring(1), matcher)) {
+				matching.add(lookup + absoluteBase + relative);
+			}
+		}
+		return new ArrayList<>(matching);
+	}
+
+	private static int patternStart(String location) {
+		for (int i = 0; i < location.length(); i++) {
+			char c = location.charAt(i);
+			if (c == '*' || c == '?' || c == '{' || c == '[') {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static List<String> listClasspath(String base, Matcher matcher) throws IOException {
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		if (classLoader == null) {
+			classLoader = TemplateLocations.class.getClassLoader();
+		}
+		List<String> matching = new ArrayList<>();
+		Enumeration<URL> roots = classLoader.getResources(base);
+		while (roots.hasMoreElements()) {
+			URL root = roots.nextElement();
+			if ("file".equals(root.getProtocol())) {
+				matching.addAll(listDirectory(toPath(root), matcher));
+			} else {
+				matching.addAll(listJar(root, base, matcher));
+			}
+		}
+		return matching;
+	}
+
+	private static List<String> listDirectory(final Path base, final Matcher matcher) throws IOException {
+		final List<String> matching = new ArrayList<>();
+		if (!Files.isDirectory(base)) {
+			return matching;
+		}
+		Files.walkFileTree(base, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				String relative = base.relativize(file).toString().replace(File.separatorChar, '/');
+				if (matcher.matches(relative)) {
+					matching.add(relative);
+				}
+				return FileVisitResult.CONTINUE;
+			}
+		});
+		return matching;
+	}
+
+	private static List<String> listJar(URL root, String base, Matcher matcher) throws IOException {
+		List<String> matching = new ArrayList<>();
+		URLConnection connection = root.openConnection();
+		if (!(connection instanceof JarURLConnection)) {
+			return matching;
+		}
+		connection.setUseCaches(false);
+		try (JarFile jar = ((JarURLConnection) connection).getJarFile()) {
+			Enumeration<JarEntry> entries = jar.entries();
+			while (entries.hasMoreElements()) {
+				JarEntry entry = entries.nextElement();
+				if (!entry.isDirectory() && entry.getName().startsWith(base)) {
+					String relative = entry.getName().substring(base.length());
+					if (matcher.matches(relative)) {
+						matching.add(relative);
+					}
+				}
+			}
+		}
+		return matching;
+	}
+
+	private static Path toPath(URL url) throws IOException {
+		try {
+			return Paths.get(url.toURI());
+		} catch (URISyntaxException e) {
+			throw new IOException("Invalid classpath location " + url, e);
+		}
+	}
+
+	/**
+	 * Glob matching on relative paths. A pattern that starts with
+	 * <code>**&#47;</code> also matches files directly in the base directory.
+	 */
+	private static class Matcher {
+		private final PathMatcher matcher;
+		private final PathMatcher rootMatcher;
+
+		public Matcher(String pattern) {
+			super();
+			matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+			rootMatcher = pattern.startsWith(ANY_DIRECTORY) ? FileSystems.getDefault().getPathMatcher("glob:" + pattern.substring(ANY_DIRECTORY.length())) : null;
+		}
+
+		public boolean matches(String relative) {
+			Path path = Paths.get(relative);
+			return matcher.matches(path) || (rootMatcher != null && rootMatcher.matches(path));
+		}
+	}
+
+	private TemplateLocations() {
+		super();
+	}
+}
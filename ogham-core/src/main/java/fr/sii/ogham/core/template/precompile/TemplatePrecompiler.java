@@ -0,0 +1,31 @@
+package fr.sii.ogham.core.template.precompile;
+
+import fr.sii.ogham.core.exception.template.ParseException;
+
+/**
+ * Implemented by template parsers that are able to load, parse and cache a
+ * template without evaluating it. It is also implemented by all the
+ * decorators (services, senders, translators) that contain such parsers in
+ * order to precompile templates from the {@code MessagingService}.
+ * 
+ * <p>
+ * Precompiling templates at startup avoids the latency of the first message
+ * for each template (resolution, engine detection, parsing and compilation).
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ * @see TemplateWarmUp
+ */
+public interface TemplatePrecompiler {
+	/**
+	 * Load, parse and cache the template.
+	 * 
+	 * @param templateName
+	 *            the name (or path) of the template
+	 * @return true if the template has been precompiled, false if the template
+	 *         is not handled (template not found or no engine can parse it)
+	 * @throws ParseException
+	 *             when the template is handled but can't be compiled
+	 */
+	public boolean precompile(String templateName) throws ParseException;
+}
@@ -0,0 +1,104 @@
+package fr.sii.ogham.core.template.precompile;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.exception.template.ParseException;
+import fr.sii.ogham.core.service.MessagingService;
+
+/**
+ * Precompiles templates through a {@link MessagingService} in order to avoid
+ * the latency of the first message for each template. Template locations may
+ * contain glob patterns (see {@link TemplateLocations}).
+ * 
+ * <p>
+ * Each template is loaded, the template engine is detected (and the detection
+ * result is kept), and the template is parsed and cached by the template
+ * engine. The template is not evaluated so no context is needed.
+ * </p>
+ * 
+ * <pre>
+ * PrecompilationReport report = TemplateWarmUp.precompile(service, "classpath:/templates/email/**&#47;*.html", "classpath:/templates/sms/*.txt.ftl");
+ * if (!report.isSuccess()) {
+ * 	// some templates can't be compiled
+ * }
+ * </pre>
+ * 
+ * <p>
+ * With Spring Boot, this can be called from an {@code ApplicationRunner}
+ * using the {@link MessagingService} bean.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public final class TemplateWarmUp {
+	private static final Logger LOG = LoggerFactory.getLogger(TemplateWarmUp.class);
+
+	/**
+	 * Precompile the templates using all template engines available in the
+	 * service.
+	 * 
+	 * @param service
+	 *            the service built by {@code MessagingBuilder}
+	 * @param locations
+	 *            the template locations (may contain glob patterns)
+	 * @return the report that lists precompiled templates and failures
+	 * @throws IllegalArgumentException
+	 *             if the service doesn't support precompilation
+	 */
+	public static PrecompilationReport precompile(MessagingService service, String... locations) {
+		if (!(service instanceof TemplatePrecompiler)) {
+			throw new IllegalArgumentException("The service " + service + " doesn't support template precompilation");
+		}
+		return precompile((TemplatePrecompiler) service, locations);
+	}
+
+	/**
+	 * Precompile the templates using the provided precompiler.
+	 * 
+	 * @param precompiler
+	 *            the precompiler
+	 * @param locations
+	 *            the template locations (may contain glob patterns)
+	 * @return the report that lists precompiled templates and failures
+	 */
+	public static PrecompilationReport precompile(TemplatePrecompiler precompiler, String... locations) {
+		PrecompilationReport report = new PrecompilationReport();
+		for (String location : locations) {
+			try {
+				for (String templateName : TemplateLocations.expand(location)) {
+					precompile(precompiler, templateName, report);
+				}
+			} catch (IOException e) {
+				report.addFailure(location, new ParseException("Failed to list templates", location, null, e));
+			}
+		}
+		if (report.isSuccess()) {
+			LOG.info("Template precompilation done: {}", report);
+		} else {
+			LOG.warn("Template precompilation done with failures: {}", report);
+		}
+		return report;
+	}
+
+	private static void precompile(TemplatePrecompiler precompiler, String templateName, PrecompilationReport report) {
+		try {
+			LOG.debug("Precompiling template {}", templateName);
+			if (precompiler.precompile(templateName)) {
+				report.addPrecompiled(templateName);
+			} else {
+				report.addNotHandled(templateName);
+			}
+		} catch (ParseException e) {
+			LOG.debug("Failed to precompile template {}", templateName, e);
+			report.addFailure(templateName, e);
+		}
+	}
+
+	private TemplateWarmUp() {
+		super();
+	}
+}
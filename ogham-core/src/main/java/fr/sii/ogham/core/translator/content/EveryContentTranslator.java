@@ -8,7 +8,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import fr.sii.ogham.core.exception.handler.ContentTranslatorException;
+import fr.sii.ogham.core.exception.template.ParseException;
 import fr.sii.ogham.core.message.content.Content;
+import fr.sii.ogham.core.template.precompile.TemplatePrecompiler;
+import fr.sii.ogham.core.util.PrecompileUtils;
 
 /**
  * Decorator that loop through all delegate translators to transform the content
@@ -19,7 +22,7 @@ import fr.sii.ogham.core.message.content.Content;
  * @author Aurélien Baudet
  *
  */
-public class EveryContentTranslator implements ContentTranslator {
+public class EveryContentTranslator implements ContentTranslator, TemplatePrecompiler {
 	private static final Logger LOG = LoggerFactory.getLogger(EveryContentTranslator.class);
 
 	/**
@@ -79,6 +82,16 @@ public class EveryContentTranslator implements ContentTranslator {
 		return translators;
 	}
 
+	/**
+	 * Precompile the template with every translator that supports
+	 * precompilation. The template is precompiled if at least one of them
+	 * handled it. If any of them fails, the first failure is thrown.
+	 */
+	@Override
+	public boolean precompile(String templateName) throws ParseException {
+		return PrecompileUtils.precompileAll(translators, templateName);
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder builder = new StringBuilder();
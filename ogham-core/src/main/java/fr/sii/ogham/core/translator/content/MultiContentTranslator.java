@@ -1,11 +1,21 @@
 package fr.sii.ogham.core.translator.content;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import fr.sii.ogham.core.exception.handler.ContentTranslatorException;
+import fr.sii.ogham.core.exception.template.ParseException;
 import fr.sii.ogham.core.message.content.Content;
 import fr.sii.ogham.core.message.content.MultiContent;
+import fr.sii.ogham.core.template.precompile.TemplatePrecompiler;
+import fr.sii.ogham.core.util.PrecompileUtils;
 
 /**
  * <p>
@@ -26,11 +36,19 @@ import fr.sii.ogham.core.message.content.MultiContent;
  * If the content is not a {@link MultiContent}, then the content is returned
  * as-is.
  * </p>
+ * <p>
+ * If an {@link ExecutorService} is provided, the sub contents are translated
+ * concurrently: all sub contents but the last one are submitted to the
+ * executor while the last one is translated by the calling thread. The results
+ * are then joined in the original order. The delegate must therefore be
+ * thread-safe. The time to translate a {@link MultiContent} is then bounded by
+ * the slowest sub content instead of the sum.
+ * </p>
  * 
  * @author Aurélien Baudet
  *
  */
-public class MultiContentTranslator implements ContentTranslator {
+public class MultiContentTranslator implements ContentTranslator, TemplatePrecompiler {
 	private static final Logger LOG = LoggerFactory.getLogger(MultiContentTranslator.class);
 
 	/**
@@ -38,33 +56,129 @@ public class MultiContentTranslator implements ContentTranslator {
 	 */
 	private ContentTranslator delegate;
 
+	/**
+	 * The executor used to translate sub contents concurrently (null to
+	 * translate them sequentially)
+	 */
+	private ExecutorService executor;
+
 	public MultiContentTranslator(ContentTranslator delegate) {
+		this(delegate, null);
+	}
+
+	/**
+	 * Initializes with the delegate translator and the executor used to
+	 * translate sub contents concurrently.
+	 * 
+	 * @param delegate
+	 *            the content translator to apply on each sub content
+	 * @param executor
+	 *            the executor used to translate sub contents concurrently. If
+	 *            null, sub contents are translated sequentially
+	 */
+	public MultiContentTranslator(ContentTranslator delegate, ExecutorService executor) {
 		super();
 		this.delegate = delegate;
+		this.executor = executor;
 	}
 
 	@Override
 	public Content translate(Content content) throws ContentTranslatorException {
 		if (content instanceof MultiContent) {
-			MultiContent result = new MultiContent();
-			for (Content c : ((MultiContent) content).getContents()) {
-				LOG.debug("Translate the sub content {} using {}", c, delegate);
-				Content translated = delegate.translate(c);
-				if(translated!=null) {
-					LOG.debug("Sub content {} skipped", c);
-					result.addContent(translated);
-				}
+			List<Content> contents = ((MultiContent) content).getContents();
+			if (executor == null || contents.size() < 2) {
+				return translateSequentially(contents);
 			}
-			return result;
+			return translateConcurrently(contents);
 		} else {
 			LOG.trace("Not a MultiContent => skip it");
 			return content;
 		}
 	}
 
+	private MultiContent translateSequentially(List<Content> contents) throws ContentTranslatorException {
+		MultiContent result = new MultiContent();
+		for (Content c : contents) {
+			LOG.debug("Translate the sub content {} using {}", c, delegate);
+			addTranslated(result, c, delegate.translate(c));
+		}
+		return result;
+	}
+
+	private MultiContent translateConcurrently(List<Content> contents) throws ContentTranslatorException {
+		int last = contents.size() - 1;
+		List<Future<Content>> futures = new ArrayList<>(last);
+		try {
+			for (int i = 0; i < last; i++) {
+				LOG.debug("Translate the sub content {} using {} (asynchronously)", contents.get(i), delegate);
+				futures.add(executor.submit(new TranslateTask(delegate, contents.get(i))));
+			}
+			LOG.debug("Translate the sub content {} using {}", contents.get(last), delegate);
+			Content lastTranslated = delegate.translate(contents.get(last));
+			MultiContent result = new MultiContent();
+			for (int i = 0; i < last; i++) {
+				addTranslated(result, contents.get(i), await(futures.get(i)));
+			}
+			addTranslated(result, contents.get(last), lastTranslated);
+			return result;
+		} finally {
+			// no-op if already done: only stops pending tasks on failure
+			for (Future<Content> future : futures) {
+				future.cancel(true);
+			}
+		}
+	}
+
+	private static Content await(Future<Content> future) throws ContentTranslatorException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ContentTranslatorException("Interrupted while waiting for sub content translation", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof ContentTranslatorException) {
+				throw (ContentTranslatorException) e.getCause();
+			}
+			throw new ContentTranslatorException("Failed to translate sub content", e.getCause());
+		}
+	}
+
+	private static void addTranslated(MultiContent result, Content original, Content translated) {
+		if (translated != null) {
+			result.addContent(translated);
+		} else {
+			LOG.debug("Sub content {} skipped", original);
+		}
+	}
+
+	@Override
+	public boolean precompile(String templateName) throws ParseException {
+		return PrecompileUtils.precompile(delegate, templateName);
+	}
+
+	public ExecutorService getExecutor() {
+		return executor;
+	}
+
 	@Override
 	public String toString() {
 		return "MultiContentTranslator";
 	}
 
+	private static class TranslateTask implements Callable<Content> {
+		private final ContentTranslator delegate;
+		private final Content content;
+
+		public TranslateTask(ContentTranslator delegate, Content content) {
+			super();
+			this.delegate = delegate;
+			this.content = content;
+		}
+
+		@Override
+		public Content call() throws ContentTranslatorException {
+			return delegate.translate(content);
+		}
+	}
+
 }
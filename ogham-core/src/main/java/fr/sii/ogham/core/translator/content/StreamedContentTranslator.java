@@ -0,0 +1,53 @@
+package fr.sii.ogham.core.translator.content;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.exception.handler.ContentTranslatorException;
+import fr.sii.ogham.core.message.content.Content;
+import fr.sii.ogham.core.message.content.StreamedContent;
+import fr.sii.ogham.core.message.content.StringContent;
+
+/**
+ * <p>
+ * Translator that converts a {@link StreamedContent} into a
+ * {@link StringContent} and releases the memory and the temporary file used by
+ * the {@link StreamedContent}.
+ * </p>
+ * <p>
+ * This is used for messages that are sent as text (SMS for example): the
+ * senders need the content as a string so the encoded bytes are not needed
+ * anymore.
+ * </p>
+ * <p>
+ * If the content is not a {@link StreamedContent}, then the content is
+ * returned as-is
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class StreamedContentTranslator implements ContentTranslator {
+	private static final Logger LOG = LoggerFactory.getLogger(StreamedContentTranslator.class);
+
+	@Override
+	public Content translate(Content content) throws ContentTranslatorException {
+		if (!(content instanceof StreamedContent)) {
+			return content;
+		}
+		StreamedContent streamed = (StreamedContent) content;
+		try {
+			LOG.debug("Converting {} to string", streamed);
+			return new StringContent(streamed.asString());
+		} catch (IllegalStateException e) {
+			throw new ContentTranslatorException("Failed to read streamed content", e);
+		} finally {
+			streamed.close();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "StreamedContentTranslator";
+	}
+}
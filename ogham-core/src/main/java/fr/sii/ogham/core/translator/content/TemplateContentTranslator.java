@@ -10,6 +10,8 @@ import fr.sii.ogham.core.message.content.TemplateContent;
 import fr.sii.ogham.core.message.content.TemplateVariantContent;
 import fr.sii.ogham.core.template.context.Context;
 import fr.sii.ogham.core.template.parser.TemplateParser;
+import fr.sii.ogham.core.template.precompile.TemplatePrecompiler;
+import fr.sii.ogham.core.util.PrecompileUtils;
 import fr.sii.ogham.template.common.adapter.VariantResolver;
 import fr.sii.ogham.template.exception.VariantResolutionException;
 
@@ -30,7 +32,7 @@ import fr.sii.ogham.template.exception.VariantResolutionException;
  * @author Aurélien Baudet
  *
  */
-public class TemplateContentTranslator implements ContentTranslator {
+public class TemplateContentTranslator implements ContentTranslator, TemplatePrecompiler {
 	private static final Logger LOG = LoggerFactory.getLogger(TemplateContentTranslator.class);
 
 	/**
@@ -85,6 +87,11 @@ public class TemplateContentTranslator implements ContentTranslator {
 		return variantResolver.getRealPath(template);
 	}
 
+	@Override
+	public boolean precompile(String templateName) throws ParseException {
+		return PrecompileUtils.precompile(parser, templateName);
+	}
+
 	@Override
 	public String toString() {
 		return "TemplateContentTranslator";
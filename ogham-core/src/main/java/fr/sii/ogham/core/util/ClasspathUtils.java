@@ -1,7 +1,7 @@
 package fr.sii.ogham.core.util;
 
 import fr.sii.ogham.core.util.classpath.ClasspathHelper;
-import fr.sii.ogham.core.util.classpath.SimpleClasspathHelper;
+import fr.sii.ogham.core.util.classpath.CachingClasspathHelper;
 
 /**
  * Helper for classpath management.
@@ -13,7 +13,7 @@ public final class ClasspathUtils {
 	private static ClasspathHelper helper;
 	
 	static {
-		helper = new SimpleClasspathHelper();
+		helper = new CachingClasspathHelper();
 	}
 	
 	/**
@@ -32,7 +32,7 @@ public final class ClasspathUtils {
 	}
 	
 	public static void reset() {
-		ClasspathUtils.helper = new SimpleClasspathHelper();
+		ClasspathUtils.helper = new CachingClasspathHelper();
 	}
 	
 	private ClasspathUtils() {
@@ -0,0 +1,45 @@
+package fr.sii.ogham.core.util;
+
+import fr.sii.ogham.core.message.content.Content;
+import fr.sii.ogham.core.message.content.DecoratorContent;
+import fr.sii.ogham.core.message.content.MultiContent;
+import fr.sii.ogham.core.message.content.StreamedContent;
+
+/**
+ * Helper methods for {@link Content}s.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public final class ContentUtils {
+
+	/**
+	 * Releases the memory and the temporary files used by contents rendered
+	 * directly as bytes (see {@link StreamedContent}). Nested contents are
+	 * also released.
+	 * 
+	 * <p>
+	 * This must be called once the content is not needed anymore: either
+	 * the message has been sent (or sending has failed) or the content has
+	 * been replaced by another one.
+	 * </p>
+	 * 
+	 * @param content
+	 *            the content to release (may be null)
+	 */
+	public static void release(Content content) {
+		if (content instanceof StreamedContent) {
+			((StreamedContent) content).close();
+		} else if (content instanceof MultiContent) {
+			for (Content c : ((MultiContent) content).getContents()) {
+				release(c);
+			}
+		} else if (content instanceof DecoratorContent) {
+			release(((DecoratorContent) content).getContent());
+		}
+	}
+
+	private ContentUtils() {
+		super();
+	}
+}
@@ -0,0 +1,37 @@
+package fr.sii.ogham.core.util;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates daemon threads named with a prefix followed by a sequence number (
+ * <code>ogham-http-1</code>, <code>ogham-http-2</code>...). Daemon threads
+ * don't prevent the JVM from exiting if the application forgets to release
+ * Ogham resources.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class DaemonThreadFactory implements ThreadFactory {
+	private final String namePrefix;
+	private final AtomicInteger count;
+
+	/**
+	 * Initializes with the prefix for the name of the threads.
+	 * 
+	 * @param namePrefix
+	 *            the prefix for the name of the threads
+	 */
+	public DaemonThreadFactory(String namePrefix) {
+		super();
+		this.namePrefix = namePrefix;
+		this.count = new AtomicInteger();
+	}
+
+	@Override
+	public Thread newThread(Runnable runnable) {
+		Thread thread = new Thread(runnable, namePrefix + count.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	}
+}
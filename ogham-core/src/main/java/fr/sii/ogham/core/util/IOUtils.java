@@ -1,11 +1,13 @@
 package fr.sii.ogham.core.util;
 
 import java.io.ByteArrayInputStream;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 
 /**
  * Helper class for I/O management:
@@ -99,6 +101,44 @@ public final class IOUtils {
 		}
 	}
 	
+	/**
+	 * Close each object that is {@link Closeable}. Other objects are skipped.
+	 * All objects are closed even if closing one of them fails.
+	 * 
+	 * @param objects
+	 *            the objects to close (may contain null values)
+	 * @throws IOException
+	 *             the first failure once all objects are closed
+	 */
+	public static void closeAll(Object... objects) throws IOException {
+		closeAll(Arrays.asList(objects));
+	}
+
+	/**
+	 * Close each object that is {@link Closeable}. Other objects are skipped.
+	 * All objects are closed even if closing one of them fails.
+	 * 
+	 * @param objects
+	 *            the objects to close (may contain null values)
+	 * @throws IOException
+	 *             the first failure once all objects are closed
+	 */
+	public static void closeAll(Iterable<?> objects) throws IOException {
+		IOException failure = null;
+		for (Object object : objects) {
+			if (object instanceof Closeable) {
+				try {
+					((Closeable) object).close();
+				} catch (IOException e) {
+					failure = failure == null ? e : failure;
+				}
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
 	private IOUtils() {
 		super();
 	}
@@ -0,0 +1,78 @@
+package fr.sii.ogham.core.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thread-safe cache with a maximum number of entries. When the maximum is
+ * reached, the least recently used entry is evicted.
+ * 
+ * @author Aurélien Baudet
+ *
+ * @param <K>
+ *            the type of the keys
+ * @param <V>
+ *            the type of the values
+ */
+public class LruCache<K, V> {
+	private static final float LOAD_FACTOR = 0.75f;
+
+	private final int maxSize;
+	private final Map<K, V> entries;
+
+	/**
+	 * Initializes the cache with the maximum number of entries.
+	 * 
+	 * @param maxSize
+	 *            the maximum number of entries
+	 */
+	public LruCache(final int maxSize) {
+		super();
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("[maxSize] must be strictly positive");
+		}
+		this.maxSize = maxSize;
+		this.entries = new LinkedHashMap<K, V>(16, LOAD_FACTOR, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * @param key
+	 *            the key
+	 * @return the cached value or null if not cached
+	 */
+	public synchronized V get(K key) {
+		return entries.get(key);
+	}
+
+	/**
+	 * @param key
+	 *            the key
+	 * @param value
+	 *            the value to cache
+	 */
+	public synchronized void put(K key, V value) {
+		entries.put(key, value);
+	}
+
+	/**
+	 * Remove all entries.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+}
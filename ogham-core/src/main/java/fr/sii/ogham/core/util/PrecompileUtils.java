@@ -0,0 +1,65 @@
+package fr.sii.ogham.core.util;
+
+import fr.sii.ogham.core.exception.template.ParseException;
+import fr.sii.ogham.core.template.precompile.TemplatePrecompiler;
+
+/**
+ * Helper used by decorators (services, senders, translators) to forward
+ * template precompilation to the objects they contain.
+ * 
+ * @author Aurélien Baudet
+ * @see TemplatePrecompiler
+ */
+public final class PrecompileUtils {
+
+	/**
+	 * Precompile the template with the object if it is a
+	 * {@link TemplatePrecompiler}.
+	 * 
+	 * @param object
+	 *            the object that may precompile templates (may be null)
+	 * @param templateName
+	 *            the name (or path) of the template
+	 * @return true if the template has been precompiled, false if the object
+	 *         can't precompile templates or doesn't handle the template
+	 * @throws ParseException
+	 *             when the template is handled but can't be compiled
+	 */
+	public static boolean precompile(Object object, String templateName) throws ParseException {
+		return object instanceof TemplatePrecompiler && ((TemplatePrecompiler) object).precompile(templateName);
+	}
+
+	/**
+	 * Precompile the template with every object that is a
+	 * {@link TemplatePrecompiler}. The template is precompiled if at least one
+	 * of them handled it. All objects are called even if one of them fails.
+	 * 
+	 * @param objects
+	 *            the objects that may precompile templates (may contain null
+	 *            values)
+	 * @param templateName
+	 *            the name (or path) of the template
+	 * @return true if at least one object has precompiled the template
+	 * @throws ParseException
+	 *             the first failure once all objects have been called
+	 */
+	public static boolean precompileAll(Iterable<?> objects, String templateName) throws ParseException {
+		boolean precompiled = false;
+		ParseException failure = null;
+		for (Object object : objects) {
+			try {
+				precompiled |= precompile(object, templateName);
+			} catch (ParseException e) {
+				failure = failure == null ? e : failure;
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+		return precompiled;
+	}
+
+	private PrecompileUtils() {
+		super();
+	}
+}
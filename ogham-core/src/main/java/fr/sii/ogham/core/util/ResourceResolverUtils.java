@@ -0,0 +1,47 @@
+package fr.sii.ogham.core.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.exception.resource.ResourceResolutionException;
+import fr.sii.ogham.core.resource.resolver.ExistenceCheckingResourceResolver;
+import fr.sii.ogham.core.resource.resolver.ResourceResolver;
+
+/**
+ * Helper methods for {@link ResourceResolver}s.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public final class ResourceResolverUtils {
+	private static final Logger LOG = LoggerFactory.getLogger(ResourceResolverUtils.class);
+
+	/**
+	 * Check if the resource exists. If the resolver is an
+	 * {@link ExistenceCheckingResourceResolver}, the content is not loaded.
+	 * Otherwise, the resource is loaded and the resource exists if no
+	 * {@link ResourceResolutionException} is raised.
+	 * 
+	 * @param resolver
+	 *            the resolver used to find the resource
+	 * @param path
+	 *            the path of the resource
+	 * @return true if the resource exists, false otherwise
+	 */
+	public static boolean exists(ResourceResolver resolver, String path) {
+		if (resolver instanceof ExistenceCheckingResourceResolver) {
+			return ((ExistenceCheckingResourceResolver) resolver).exists(path);
+		}
+		try {
+			resolver.getResource(path);
+			return true;
+		} catch (ResourceResolutionException e) {
+			LOG.trace("Resource {} not found", path, e);
+			return false;
+		}
+	}
+
+	private ResourceResolverUtils() {
+		super();
+	}
+}
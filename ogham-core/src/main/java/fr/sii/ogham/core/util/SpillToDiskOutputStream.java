@@ -0,0 +1,239 @@
+package fr.sii.ogham.core.util;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Output stream that keeps written bytes in memory until a threshold is
+ * reached. Once the threshold is exceeded, the bytes already written and all
+ * following bytes are written into a temporary file.
+ *
+ * <p>
+ * Once closed, the written bytes can be read as many times as needed using
+ * {@link #getInputStream()}. The bytes are not copied when read from memory.
+ * </p>
+ *
+ * <p>
+ * {@link #delete()} must be called to release the memory and to delete the
+ * temporary file. The file is not registered for deletion when the JVM exits
+ * ({@link File#deleteOnExit()} keeps the path in memory until the JVM exits
+ * which is a leak for long-running applications). If the temporary file
+ * can't be written, it is directly deleted.
+ * </p>
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class SpillToDiskOutputStream extends OutputStream {
+	private static final Logger LOG = LoggerFactory.getLogger(SpillToDiskOutputStream.class);
+	private static final String TEMP_FILE_PREFIX = "ogham-";
+	private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+	/**
+	 * The maximum number of bytes kept in memory
+	 */
+	private final int threshold;
+
+	/**
+	 * The directory where the temporary file is created (null for the system
+	 * temporary directory)
+	 */
+	private final File directory;
+
+	/**
+	 * The bytes while the threshold is not exceeded
+	 */
+	private ExposedByteArrayOutputStream memory;
+
+	/**
+	 * The temporary file once the threshold is exceeded
+	 */
+	private File file;
+
+	/**
+	 * The stream that writes into the temporary file
+	 */
+	private OutputStream fileOut;
+
+	/**
+	 * The number of written bytes
+	 */
+	private long size;
+
+	/**
+	 * Initializes with the maximum number of bytes kept in memory. The
+	 * temporary file is created in the system temporary directory.
+	 *
+	 * @param threshold
+	 *            the maximum number of bytes kept in memory
+	 */
+	public SpillToDiskOutputStream(int threshold) {
+		this(threshold, null);
+	}
+
+	/**
+	 * Initializes with the maximum number of bytes kept in memory and the
+	 * directory used to create the temporary file.
+	 *
+	 * @param threshold
+	 *            the maximum number of bytes kept in memory
+	 * @param directory
+	 *            the directory where the temporary file is created (null for
+	 *            the system temporary directory)
+	 */
+	public SpillToDiskOutputStream(int threshold, File directory) {
+		super();
+		if (threshold < 0) {
+			throw new IllegalArgumentException("[threshold] must be positive");
+		}
+		this.threshold = threshold;
+		this.directory = directory;
+		this.memory = new ExposedByteArrayOutputStream();
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		target(1).write(b);
+		size++;
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		target(len).write(b, off, len);
+		size += len;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		if (fileOut != null) {
+			fileOut.flush();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (fileOut != null) {
+			fileOut.close();
+		}
+	}
+
+	/**
+	 * Provides a new stream to read the written bytes. The stream must be
+	 * closed once read.
+	 *
+	 * @return the stream to read written bytes
+	 * @throws IOException
+	 *             when the temporary file can't be read or when the buffer has
+	 *             been deleted
+	 */
+	public InputStream getInputStream() throws IOException {
+		if (memory != null) {
+			return memory.toInputStream();
+		}
+		if (file == null) {
+			throw new IOException("Buffer has been deleted");
+		}
+		flush();
+		return new FileInputStream(file);
+	}
+
+	/**
+	 * @return the number of written bytes
+	 */
+	public long size() {
+		return size;
+	}
+
+	/**
+	 * @return true if the written bytes are still in memory, false if they
+	 *         have been written in a temporary file
+	 */
+	public boolean isInMemory() {
+		return memory != null;
+	}
+
+	/**
+	 * @return the temporary file or null if the written bytes are still in
+	 *         memory
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Releases the memory and deletes the temporary file. The buffer can't be
+	 * read anymore.
+	 */
+	public void delete() {
+		memory = null;
+		try {
+			close();
+		} catch (IOException e) {
+			LOG.debug("Failed to close temporary file {}", file, e);
+		}
+		if (file != null && !file.delete()) {
+			LOG.warn("Failed to delete temporary file {}", file);
+		}
+		file = null;
+		fileOut = null;
+	}
+
+	private OutputStream target(int len) throws IOException {
+		if (memory != null && memory.size() + len > threshold) {
+			spill();
+		}
+		if (memory != null) {
+			return memory;
+		}
+		if (fileOut == null) {
+			throw new IOException("Buffer has been deleted");
+		}
+		return fileOut;
+	}
+
+	private void spill() throws IOException {
+		File tempFile = File.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX, directory);
+		LOG.debug("More than {} bytes written, spilling into temporary file {}", threshold, tempFile);
+		OutputStream out = null;
+		try {
+			out = new BufferedOutputStream(new FileOutputStream(tempFile));
+			memory.writeTo(out);
+		} catch (IOException | RuntimeException e) {
+			closeQuietly(out);
+			if (!tempFile.delete()) {
+				LOG.warn("Failed to delete temporary file {}", tempFile);
+			}
+			throw e;
+		}
+		file = tempFile;
+		fileOut = out;
+		memory = null;
+	}
+
+	private static void closeQuietly(OutputStream out) {
+		if (out == null) {
+			return;
+		}
+		try {
+			out.close();
+		} catch (IOException e) {
+			LOG.debug("Failed to close temporary file", e);
+		}
+	}
+
+	private static class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+		public InputStream toInputStream() {
+			return new ByteArrayInputStream(buf, 0, count);
+		}
+	}
+}
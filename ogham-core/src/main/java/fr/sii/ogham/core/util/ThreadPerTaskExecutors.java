@@ -0,0 +1,114 @@
+package fr.sii.ogham.core.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Helper class to create executors that run each task in its own thread.
+ * 
+ * <p>
+ * When running on Java 21 or later, each task is run on a virtual thread.
+ * Virtual threads are cheap so thousands of blocking sends can be in flight
+ * at the same time. Virtual threads are created through reflection so this
+ * class can still be compiled and used with older Java versions. In that
+ * case, tasks are run on a bounded pool of platform daemon threads: platform
+ * threads are expensive so tasks wait in a queue when all threads are busy
+ * (idle threads are stopped after {@value #KEEP_ALIVE_SECONDS} seconds).
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public final class ThreadPerTaskExecutors {
+	private static final Logger LOG = LoggerFactory.getLogger(ThreadPerTaskExecutors.class);
+
+	/**
+	 * The default maximum number of platform threads when virtual threads are
+	 * not available
+	 */
+	public static final int DEFAULT_MAX_PLATFORM_THREADS = 64;
+
+	/**
+	 * The time to keep idle platform threads
+	 */
+	public static final long KEEP_ALIVE_SECONDS = 60;
+
+	/**
+	 * Creates a new executor that runs each task in its own thread (virtual
+	 * thread if available). If virtual threads are not available, at most
+	 * {@value #DEFAULT_MAX_PLATFORM_THREADS} platform threads are used.
+	 * 
+	 * @param namePrefix
+	 *            the prefix for the name of the threads
+	 * @return the executor
+	 */
+	public static ExecutorService newExecutor(String namePrefix) {
+		return newExecutor(namePrefix, DEFAULT_MAX_PLATFORM_THREADS);
+	}
+
+	/**
+	 * Creates a new executor that runs each task in its own thread (virtual
+	 * thread if available). If virtual threads are not available, at most
+	 * {@code maxPlatformThreads} platform threads are used and other tasks
+	 * wait in a queue.
+	 * 
+	 * @param namePrefix
+	 *            the prefix for the name of the threads
+	 * @param maxPlatformThreads
+	 *            the maximum number of platform threads if virtual threads are
+	 *            not available
+	 * @return the executor
+	 */
+	public static ExecutorService newExecutor(String namePrefix, int maxPlatformThreads) {
+		if (maxPlatformThreads <= 0) {
+			throw new IllegalArgumentException("[maxPlatformThreads] must be strictly positive");
+		}
+		ThreadFactory virtualThreadFactory = newVirtualThreadFactory(namePrefix);
+		if (virtualThreadFactory != null) {
+			try {
+				Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+				LOG.debug("Tasks are run on virtual threads");
+				return (ExecutorService) newThreadPerTaskExecutor.invoke(null, virtualThreadFactory);
+			} catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+				LOG.debug("Failed to create executor for virtual threads. Using platform threads instead", e);
+			}
+		}
+		LOG.debug("Virtual threads are not available. Tasks are run on at most {} platform threads", maxPlatformThreads);
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(maxPlatformThreads, maxPlatformThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new DaemonThreadFactory(namePrefix));
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * @return true if virtual threads are available (Java 21+)
+	 */
+	public static boolean isVirtualThreadAvailable() {
+		return newVirtualThreadFactory("ogham-") != null;
+	}
+
+	private static ThreadFactory newVirtualThreadFactory(String namePrefix) {
+		try {
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			Class<?> ofVirtualClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			builder = ofVirtualClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 1L);
+			return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+		} catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+			LOG.trace("Virtual threads are not available", e);
+			return null;
+		}
+	}
+
+	private ThreadPerTaskExecutors() {
+		super();
+	}
+}
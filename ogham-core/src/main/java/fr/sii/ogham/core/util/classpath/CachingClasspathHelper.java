@@ -0,0 +1,129 @@
+package fr.sii.ogham.core.util.classpath;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Helper for classpath management that remembers the answers. Conditions on
+ * classpath are evaluated when the senders are built but also each time a
+ * message is sent so answers (positive and negative) are cached per class
+ * name and per class loader.
+ * 
+ * <p>
+ * In order to avoid creating a {@link ClassNotFoundException} for each
+ * missing class, the class file is first searched as a resource in the class
+ * loader. The class is only loaded (without initialization) if the resource
+ * exists.
+ * </p>
+ * 
+ * <p>
+ * Class loaders are weakly referenced so the cache doesn't prevent them from
+ * being garbage collected (redeployment in an application server for
+ * example).
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class CachingClasspathHelper implements ClasspathHelper {
+	private static final Logger LOG = LoggerFactory.getLogger(CachingClasspathHelper.class);
+
+	private final Map<ClassLoader, ConcurrentMap<String, Boolean>> cache = Collections.synchronizedMap(new WeakHashMap<ClassLoader, ConcurrentMap<String, Boolean>>());
+
+	private ClassLoader classLoader;
+
+	/**
+	 * Test if the class name is defined in the classpath.
+	 * 
+	 * <p>
+	 * If a class loader is set (see {@link #setClassLoader(ClassLoader)}),
+	 * only this class loader is used. Otherwise, the class loader of this
+	 * class is used and then the class loader of the current thread.
+	 * </p>
+	 * 
+	 * @param className
+	 *            the class name
+	 * @return true if the class exists in the classpath, false otherwise
+	 */
+	@Override
+	public boolean exists(String className) {
+		if (classLoader != null) {
+			return exists(className, classLoader);
+		}
+		ClassLoader own = getClass().getClassLoader();
+		if (exists(className, own)) {
+			return true;
+		}
+		ClassLoader context = Thread.currentThread().getContextClassLoader();
+		return context != null && context != own && exists(className, context);
+	}
+
+	/**
+	 * Test if the class name is defined in the provided class loader.
+	 * 
+	 * @param className
+	 *            the class name
+	 * @param classLoader
+	 *            the class loader to use
+	 * @return true if the class exists in the class loader, false otherwise
+	 */
+	public boolean exists(String className, ClassLoader classLoader) {
+		ConcurrentMap<String, Boolean> answers = getAnswers(classLoader);
+		Boolean found = answers.get(className);
+		if (found == null) {
+			found = lookup(className, classLoader);
+			answers.putIfAbsent(className, found);
+		}
+		return found;
+	}
+
+	/**
+	 * Forget all previous answers.
+	 */
+	public void clearCache() {
+		cache.clear();
+	}
+
+	public void setClassLoader(ClassLoader classLoader) {
+		this.classLoader = classLoader;
+	}
+
+	public void resetClassLoader() {
+		this.classLoader = null;
+	}
+
+	private ConcurrentMap<String, Boolean> getAnswers(ClassLoader classLoader) {
+		synchronized (cache) {
+			ConcurrentMap<String, Boolean> answers = cache.get(classLoader);
+			if (answers == null) {
+				answers = new ConcurrentHashMap<>();
+				cache.put(classLoader, answers);
+			}
+			return answers;
+		}
+	}
+
+	private static boolean lookup(String className, ClassLoader classLoader) {
+		String resource = className.replace('.', '/') + ".class";
+		boolean hasResource = classLoader == null ? ClassLoader.getSystemResource(resource) != null : classLoader.getResource(resource) != null;
+		if (!hasResource) {
+			LOG.debug("Class {} not found", className);
+			return false;
+		}
+		try {
+			Class.forName(className, false, classLoader);
+			LOG.debug("Class {} found", className);
+			return true;
+		} catch (ClassNotFoundException | LinkageError e) {
+			LOG.debug("Class {} not found", className);
+			LOG.trace("Cause:", e);
+			return false;
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package fr.sii.ogham.core.util.http;
+
+/**
+ * Configuration of a pool of HTTP connections (see {@link HttpClientPool}):
+ * size of the pool, timeouts, keep-alive and number of threads used for
+ * asynchronous requests.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class HttpClientOptions {
+	private int maxConnections;
+	private int maxConnectionsPerRoute;
+	private int connectTimeout;
+	private int socketTimeout;
+	private int connectionRequestTimeout;
+	private long keepAlive;
+	private int asyncThreads;
+	private int asyncQueueSize;
+
+	/**
+	 * Initializes with default values:
+	 * <ul>
+	 * <li>20 connections in the pool</li>
+	 * <li>20 connections per route</li>
+	 * <li>10000ms to establish a connection</li>
+	 * <li>30000ms to wait for data</li>
+	 * <li>10000ms to wait for a free connection in the pool</li>
+	 * <li>30000ms to keep idle connections alive</li>
+	 * <li>as many threads for asynchronous requests as connections per
+	 * route</li>
+	 * <li>1000 asynchronous requests waiting for a thread</li>
+	 * </ul>
+	 */
+	public HttpClientOptions() {
+		super();
+		maxConnections = 20;
+		maxConnectionsPerRoute = 20;
+		connectTimeout = 10000;
+		socketTimeout = 30000;
+		connectionRequestTimeout = 10000;
+		keepAlive = 30000L;
+		asyncThreads = maxConnectionsPerRoute;
+		asyncQueueSize = 1000;
+	}
+
+	public int getMaxConnections() {
+		return maxConnections;
+	}
+
+	public void setMaxConnections(int maxConnections) {
+		this.maxConnections = maxConnections;
+	}
+
+	public int getMaxConnectionsPerRoute() {
+		return maxConnectionsPerRoute;
+	}
+
+	public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+		this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+	}
+
+	public int getConnectTimeout() {
+		return connectTimeout;
+	}
+
+	public void setConnectTimeout(int connectTimeout) {
+		this.connectTimeout = connectTimeout;
+	}
+
+	public int getSocketTimeout() {
+		return socketTimeout;
+	}
+
+	public void setSocketTimeout(int socketTimeout) {
+		this.socketTimeout = socketTimeout;
+	}
+
+	public int getConnectionRequestTimeout() {
+		return connectionRequestTimeout;
+	}
+
+	public void setConnectionRequestTimeout(int connectionRequestTimeout) {
+		this.connectionRequestTimeout = connectionRequestTimeout;
+	}
+
+	/**
+	 * @return the maximum duration (in milliseconds) an idle connection is
+	 *         kept alive in the pool
+	 */
+	public long getKeepAlive() {
+		return keepAlive;
+	}
+
+	public void setKeepAlive(long keepAlive) {
+		this.keepAlive = keepAlive;
+	}
+
+	public int getAsyncThreads() {
+		return asyncThreads;
+	}
+
+	public void setAsyncThreads(int asyncThreads) {
+		this.asyncThreads = asyncThreads;
+	}
+
+	/**
+	 * @return the maximum number of asynchronous requests waiting for a
+	 *         thread
+	 */
+	public int getAsyncQueueSize() {
+		return asyncQueueSize;
+	}
+
+	public void setAsyncQueueSize(int asyncQueueSize) {
+		this.asyncQueueSize = asyncQueueSize;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("HttpClientOptions [maxConnections=").append(maxConnections).append(", maxConnectionsPerRoute=").append(maxConnectionsPerRoute).append(", connectTimeout=")
+				.append(connectTimeout).append(", socketTimeout=").append(socketTimeout).append(", connectionRequestTimeout=").append(connectionRequestTimeout).append(", keepAlive=")
+				.append(keepAlive).append(", asyncThreads=").append(asyncThreads)
+				.append(", asyncQueueSize=").append(asyncQueueSize).append("]");
+		return builder.toString();
+	}
+}
@@ -0,0 +1,190 @@
+package fr.sii.ogham.core.util.http;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.util.DaemonThreadFactory;
+
+/**
+ * Apache HttpClient with an explicitly configured pool of connections (see
+ * {@link HttpClientOptions}) shared by the implementations that call HTTP
+ * APIs. Connections are reused between requests and idle connections are
+ * kept alive at most {@link HttpClientOptions#getKeepAlive()} milliseconds.
+ * Each request has a deadline: connection, socket and pool timeouts are
+ * always set.
+ * 
+ * <p>
+ * The pool also provides a bounded executor for asynchronous requests (see
+ * {@link #getExecutor()}). It is created on first use.
+ * </p>
+ * 
+ * <p>
+ * The pool must be closed in order to release the connections and the
+ * threads.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class HttpClientPool implements Closeable {
+	private static final Logger LOG = LoggerFactory.getLogger(HttpClientPool.class);
+	private static final long THREAD_KEEP_ALIVE_SECONDS = 60;
+
+	private final String name;
+	private final HttpClientOptions options;
+	private final CloseableHttpClient client;
+	private ExecutorService executor;
+
+	/**
+	 * Initializes the pool of connections.
+	 * 
+	 * @param name
+	 *            the name of the pool (used to name the threads)
+	 * @param options
+	 *            the HTTP configuration
+	 */
+	public HttpClientPool(String name, HttpClientOptions options) {
+		super();
+		if (options == null) {
+			throw new IllegalArgumentException("[options] cannot be null");
+		}
+		this.name = name;
+		this.options = options;
+		this.client = createHttpClient(options);
+	}
+
+	/**
+	 * @return the HTTP client that uses the pool of connections
+	 */
+	public CloseableHttpClient getClient() {
+		return client;
+	}
+
+	/**
+	 * Get the executor used to run requests in background. It uses at most
+	 * {@link HttpClientOptions#getAsyncThreads()} threads. Other requests wait
+	 * in the queue of the executor (at most
+	 * {@link HttpClientOptions#getAsyncQueueSize()} requests). When the queue
+	 * is full, the request is executed by the calling thread which slows down
+	 * the producer instead of accumulating requests. Once the pool is closed,
+	 * new requests are rejected ({@link RejectedExecutionException}).
+	 * 
+	 * @return the executor for asynchronous requests
+	 */
+	public synchronized ExecutorService getExecutor() {
+		if (executor == null) {
+			ThreadPoolExecutor pool = new ThreadPoolExecutor(options.getAsyncThreads(), options.getAsyncThreads(), THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+					new ArrayBlockingQueue<Runnable>(options.getAsyncQueueSize()), new DaemonThreadFactory("ogham-" + name + "-"), new CallerRunsUnlessShutdownPolicy());
+			pool.allowCoreThreadTimeOut(true);
+			executor = pool;
+		}
+		return executor;
+	}
+
+	public HttpClientOptions getOptions() {
+		return options;
+	}
+
+	/**
+	 * Waits for pending asynchronous requests (at most
+	 * {@link HttpClientOptions#getSocketTimeout()} milliseconds) and then
+	 * closes the connections. Calling this method several times has no effect.
+	 */
+	@Override
+	public void close() throws IOException {
+		LOG.debug("Closing HTTP pool {}", name);
+		shutdownExecutor();
+		client.close();
+	}
+
+	private synchronized void shutdownExecutor() {
+		if (executor == null) {
+			return;
+		}
+		executor.shutdown();
+		try {
+			if (!executor.awaitTermination(options.getSocketTimeout(), TimeUnit.MILLISECONDS)) {
+				executor.shutdownNow();
+			}
+		} catch (InterruptedException e) {
+			LOG.debug("Interrupted while waiting for pending requests", e);
+			executor.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static CloseableHttpClient createHttpClient(HttpClientOptions options) {
+		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(options.getMaxConnections());
+		connectionManager.setDefaultMaxPerRoute(options.getMaxConnectionsPerRoute());
+		// @formatter:off
+		RequestConfig requestConfig = RequestConfig.custom()
+				.setConnectTimeout(options.getConnectTimeout())
+				.setSocketTimeout(options.getSocketTimeout())
+				.setConnectionRequestTimeout(options.getConnectionRequestTimeout())
+				.build();
+		return HttpClientBuilder.create()
+				.useSystemProperties()
+				.setConnectionManager(connectionManager)
+				.setDefaultRequestConfig(requestConfig)
+				.setKeepAliveStrategy(new MaxKeepAliveStrategy(options.getKeepAlive()))
+				.evictIdleConnections(options.getKeepAlive(), TimeUnit.MILLISECONDS)
+				.evictExpiredConnections()
+				.build();
+		// @formatter:on
+	}
+
+	/**
+	 * Uses the keep-alive duration sent by the server but never keeps an idle
+	 * connection longer than the configured duration.
+	 */
+	private static class MaxKeepAliveStrategy implements ConnectionKeepAliveStrategy {
+		private final long maxKeepAlive;
+
+		public MaxKeepAliveStrategy(long maxKeepAlive) {
+			super();
+			this.maxKeepAlive = maxKeepAlive;
+		}
+
+		@Override
+		public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+			long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+			if (duration <= 0 || duration > maxKeepAlive) {
+				return maxKeepAlive;
+			}
+			return duration;
+		}
+	}
+
+	/**
+	 * Runs the request on the calling thread when the queue is full. Rejects
+	 * the request if the executor is shut down (the task would never be
+	 * executed otherwise).
+	 */
+	private static class CallerRunsUnlessShutdownPolicy implements RejectedExecutionHandler {
+		@Override
+		public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+			if (executor.isShutdown()) {
+				throw new RejectedExecutionException("HTTP pool is closed");
+			}
+			task.run();
+		}
+	}
+}
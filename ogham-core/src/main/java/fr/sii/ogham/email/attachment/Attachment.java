@@ -3,13 +3,13 @@ package fr.sii.ogham.email.attachment;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Objects;
 
 import fr.sii.ogham.core.resource.ByteResource;
 import fr.sii.ogham.core.resource.FileResource;
 import fr.sii.ogham.core.resource.LookupResource;
 import fr.sii.ogham.core.resource.NamedResource;
 import fr.sii.ogham.core.util.EqualsBuilder;
-import fr.sii.ogham.core.util.HashCodeBuilder;
 
 /**
  * Represents a content to attach to the email. Typically a file to join to the
@@ -429,11 +429,18 @@ public class Attachment {
 
 	@Override
 	public int hashCode() {
-		return new HashCodeBuilder().append(resource, description, disposition, contentId).hashCode();
+		return Objects.hash(resource, description, disposition, contentId);
 	}
 
 	@Override
 	public boolean equals(Object obj) {
-		return new EqualsBuilder(this, obj).appendFields("resource", "description", "disposition", "contentId").isEqual();
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		Attachment other = (Attachment) obj;
+		return new EqualsBuilder().append(resource, other.resource).append(description, other.description).append(disposition, other.disposition).append(contentId, other.contentId).isEqual();
 	}
 }
@@ -4,6 +4,7 @@ import fr.sii.ogham.core.builder.AbstractParent;
 import fr.sii.ogham.core.builder.Builder;
 import fr.sii.ogham.core.builder.env.EnvironmentBuilder;
 import fr.sii.ogham.core.translator.content.ContentTranslator;
+import fr.sii.ogham.html.inliner.TemplateCssInliner;
 
 /**
  * CSS handling consists of defining how CSS are inlined in the email. Inlining
@@ -54,4 +55,17 @@ public class CssHandlingBuilder extends AbstractParent<EmailBuilder> implements
 		}
 		return cssInliningBuilder.build();
 	}
+
+	/**
+	 * Builds the inliner that is applied on template sources when they are
+	 * loaded (see {@link CssInliningBuilder#templateTime(boolean)}).
+	 * 
+	 * @return the inliner for template sources or null if disabled
+	 */
+	public TemplateCssInliner buildTemplateCssInliner() {
+		if (cssInliningBuilder == null) {
+			return null;
+		}
+		return cssInliningBuilder.buildTemplateCssInliner();
+	}
 }
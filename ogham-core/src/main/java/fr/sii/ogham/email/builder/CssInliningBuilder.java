@@ -17,6 +17,7 @@ import fr.sii.ogham.core.resource.resolver.FirstSupportingResourceResolver;
 import fr.sii.ogham.core.resource.resolver.ResourceResolver;
 import fr.sii.ogham.core.translator.content.ContentTranslator;
 import fr.sii.ogham.html.inliner.CssInliner;
+import fr.sii.ogham.html.inliner.TemplateCssInliner;
 import fr.sii.ogham.html.inliner.impl.jsoup.JsoupCssInliner;
 import fr.sii.ogham.html.translator.InlineCssTranslator;
 
@@ -34,6 +35,7 @@ public class CssInliningBuilder extends AbstractParent<CssHandlingBuilder> imple
 
 	private ResourceResolutionBuilderHelper<CssInliningBuilder> resourceResolutionBuilderHelper;
 	private boolean useJsoup;
+	private boolean templateTime;
 
 	/**
 	 * Initializes the builder with a parent builder. The parent builder is used
@@ -64,6 +66,49 @@ public class CssInliningBuilder extends AbstractParent<CssHandlingBuilder> imple
 		return this;
 	}
 
+	/**
+	 * Inline CSS directly in the source of HTML templates when they are loaded
+	 * by the template engine instead of after every render. The stylesheets
+	 * and the markup are the same for every message so CSS inlining is done
+	 * only once per template.
+	 * 
+	 * <p>
+	 * Styles of elements that depend on values only known at render time
+	 * (dynamic class for example) can't be computed when the template is
+	 * loaded. Mark those elements with the
+	 * {@value TemplateCssInliner#RENDER_TIME_ATTR} attribute: the whole
+	 * template is then inlined after every render.
+	 * 
+	 * <p>
+	 * Only Thymeleaf templates are inlined when they are loaded: Thymeleaf
+	 * templates are valid HTML documents so they are not altered by parsing
+	 * and regenerating the HTML. FreeMarker directives ({@code <#if>},
+	 * {@code <@macro>}...) are not HTML so FreeMarker templates are still
+	 * inlined after every render.
+	 * 
+	 * <p>
+	 * CSS inlining after render is still registered for contents that are not
+	 * templates.
+	 * 
+	 * @param enable
+	 *            true to inline CSS in template sources
+	 * @return this instance for fluent chaining
+	 */
+	public CssInliningBuilder templateTime(boolean enable) {
+		templateTime = enable;
+		return this;
+	}
+
+	/**
+	 * Shortcut for {@code templateTime(true)}.
+	 * 
+	 * @return this instance for fluent chaining
+	 * @see #templateTime(boolean)
+	 */
+	public CssInliningBuilder templateTime() {
+		return templateTime(true);
+	}
+
 	@Override
 	public ClassPathResolutionBuilder<CssInliningBuilder> classpath() {
 		return resourceResolutionBuilderHelper.classpath();
@@ -95,6 +140,21 @@ public class CssInliningBuilder extends AbstractParent<CssHandlingBuilder> imple
 		return new InlineCssTranslator(cssInliner, resourceResolver);
 	}
 
+	/**
+	 * Builds the inliner that is applied on template sources if
+	 * {@link #templateTime(boolean)} is enabled.
+	 * 
+	 * @return the inliner for template sources or null if disabled
+	 */
+	public TemplateCssInliner buildTemplateCssInliner() {
+		if (!templateTime || !useJsoup) {
+			return null;
+		}
+		LOG.debug("CSS is inlined in template sources");
+		// result is parsed again by template engines that may require XML
+		return new TemplateCssInliner(new JsoupCssInliner(true), buildResolver());
+	}
+
 	private CssInliner buildInliner() {
 		if (useJsoup) {
 			return new JsoupCssInliner();
@@ -1,5 +1,7 @@
 package fr.sii.ogham.email.builder;
 
+import java.util.concurrent.ExecutorService;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -340,6 +342,7 @@ public class EmailBuilder extends AbstractParent<MessagingBuilder> implements Bu
 	private AutofillEmailBuilder autofillBuilder;
 	private CssHandlingBuilder cssBuilder;
 	private ImageHandlingBuilder imageBuilder;
+	private ExecutorService variantsExecutor;
 
 	/**
 	 * Initializes the builder with a parent builder. The parent builder is used
@@ -551,6 +554,52 @@ public class EmailBuilder extends AbstractParent<MessagingBuilder> implements Bu
 		return imageBuilder;
 	}
 
+	/**
+	 * Translates the variants of a {@link MultiTemplateContent} (text and HTML
+	 * by default) concurrently using the provided executor. Each variant is
+	 * parsed and transformed (CSS inlining, image inlining...) independently
+	 * so the time to generate the content of an email is bounded by the
+	 * slowest variant instead of the sum of all variants.
+	 * 
+	 * <p>
+	 * The results are always joined in the order of the variants. The
+	 * calling thread translates one of the variants itself so the executor
+	 * only needs to handle the others.
+	 * 
+	 * <p>
+	 * The executor is not managed by Ogham: it is neither created nor shut
+	 * down. If {@code null} (default), variants are translated sequentially.
+	 * 
+	 * @param executor
+	 *            the executor used to translate variants concurrently
+	 * @return this instance for fluent chaining
+	 */
+	public EmailBuilder parallelVariants(ExecutorService executor) {
+		this.variantsExecutor = executor;
+		return this;
+	}
+
+	/**
+	 * Caches the resolution of template variants. When a template is sent
+	 * with variants (HTML and text for example), the existence of each
+	 * possible template is checked for each message. With the cache, the
+	 * result is reused until it expires.
+	 * 
+	 * <p>
+	 * Templates added or removed are only detected once the cached entry has
+	 * expired, so the duration should not be longer than the cache duration
+	 * of the template engines. Disabled by default.
+	 * 
+	 * @param ttlMs
+	 *            the time to live of the cached resolutions in milliseconds (0
+	 *            to disable the cache)
+	 * @return this instance for fluent chaining
+	 */
+	public EmailBuilder variantResolutionCache(long ttlMs) {
+		templateBuilderHelper.variantResolutionCache(ttlMs);
+		return this;
+	}
+
 	/**
 	 * Registers and configures a {@link TemplateParser} through a dedicated
 	 * builder.
@@ -633,6 +682,38 @@ public class EmailBuilder extends AbstractParent<MessagingBuilder> implements Bu
 		return this;
 	}
 
+	/**
+	 * Limits the number of email messages that each sender implementation
+	 * (each provider) can send at the same time. When the limit is reached,
+	 * the thread that sends a message waits until another message has been
+	 * sent.
+	 * 
+	 * <p>
+	 * This is mainly useful when messages are sent asynchronously on many
+	 * threads (see {@link MessagingBuilder#virtualThreads(int)}).
+	 * </p>
+	 * 
+	 * @param maxConcurrentSends
+	 *            the maximum number of concurrent sends per provider (0 for no
+	 *            limit)
+	 * @return this instance for fluent chaining
+	 */
+	public EmailBuilder maxConcurrentSends(int maxConcurrentSends) {
+		senderBuilderHelper.maxConcurrentSends(maxConcurrentSends);
+		return this;
+	}
+
+	/**
+	 * Counts the registered sender implementations (providers). The
+	 * implementations are not built so the ones that can't be used in the
+	 * current environment are also counted.
+	 * 
+	 * @return the number of registered implementations
+	 */
+	public int getRegisteredSendersCount() {
+		return senderBuilderHelper.getRegisteredSendersCount();
+	}
+
 	/**
 	 * Registers and configures sender through a dedicated builder.
 	 * 
@@ -731,13 +812,19 @@ public class EmailBuilder extends AbstractParent<MessagingBuilder> implements Bu
 		if (!templateBuilderHelper.hasRegisteredTemplates()) {
 			return;
 		}
+		if (cssBuilder != null) {
+			templateBuilderHelper.preInlineCss(cssBuilder.buildTemplateCssInliner());
+		}
 		TemplateParser templateParser = templateBuilderHelper.buildTemplateParser();
 		LOG.debug("Registering content translator that parses templates using {}", templateParser);
 		translator.addTranslator(new TemplateContentTranslator(templateParser, templateBuilderHelper.buildVariant()));
 	}
 
 	private void addMultiContent(EveryContentTranslator translator) {
-		translator.addTranslator(new MultiContentTranslator(translator));
+		if (variantsExecutor != null) {
+			LOG.debug("Variants are translated concurrently using {}", variantsExecutor);
+		}
+		translator.addTranslator(new MultiContentTranslator(translator, variantsExecutor));
 	}
 
 	private void addImageInlining(EveryContentTranslator translator) {
@@ -3,6 +3,7 @@ package fr.sii.ogham.email.message;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 import fr.sii.ogham.core.message.Message;
 import fr.sii.ogham.core.message.capability.HasContentFluent;
@@ -14,7 +15,6 @@ import fr.sii.ogham.core.message.capability.HasToFluent;
 import fr.sii.ogham.core.message.content.Content;
 import fr.sii.ogham.core.message.content.StringContent;
 import fr.sii.ogham.core.util.EqualsBuilder;
-import fr.sii.ogham.core.util.HashCodeBuilder;
 import fr.sii.ogham.core.util.StringUtils;
 import fr.sii.ogham.email.attachment.Attachment;
 
@@ -484,12 +484,19 @@ public class Email implements Message, HasContentFluent<Email>, HasSubject, HasS
 
 	@Override
 	public int hashCode() {
-		return new HashCodeBuilder().append(subject, content, from, recipients, attachments).hashCode();
+		return Objects.hash(subject, content, from, recipients, attachments);
 	}
 
 	@Override
 	public boolean equals(Object obj) {
-		return new EqualsBuilder(this, obj).appendFields("subject", "content", "from", "recipients", "attachments").isEqual();
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		Email other = (Email) obj;
+		return new EqualsBuilder().append(subject, other.subject).append(content, other.content).append(from, other.from).append(recipients, other.recipients).append(attachments, other.attachments).isEqual();
 	}
 
 }
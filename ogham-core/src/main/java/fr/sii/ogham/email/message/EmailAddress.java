@@ -1,7 +1,8 @@
 package fr.sii.ogham.email.message;
 
+import java.util.Objects;
+
 import fr.sii.ogham.core.util.EqualsBuilder;
-import fr.sii.ogham.core.util.HashCodeBuilder;
 
 /**
  * Represents an email address. javax.mail.internet.InternetAddress also
@@ -68,11 +69,18 @@ public class EmailAddress {
 
 	@Override
 	public int hashCode() {
-		return new HashCodeBuilder().append(address, personal).hashCode();
+		return Objects.hash(address, personal);
 	}
 
 	@Override
 	public boolean equals(Object obj) {
-		return new EqualsBuilder(this, obj).appendFields("address", "personal").isEqual();
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		EmailAddress other = (EmailAddress) obj;
+		return new EqualsBuilder().append(address, other.address).append(personal, other.personal).isEqual();
 	}
 }
@@ -1,8 +1,9 @@
 package fr.sii.ogham.email.message;
 
+import java.util.Objects;
+
 import fr.sii.ogham.core.message.recipient.Addressee;
 import fr.sii.ogham.core.util.EqualsBuilder;
-import fr.sii.ogham.core.util.HashCodeBuilder;
 
 /**
  * Represents an email recipient. The recipient contains:
@@ -80,11 +81,18 @@ public class Recipient implements Addressee {
 
 	@Override
 	public int hashCode() {
-		return new HashCodeBuilder().append(address, type).hashCode();
+		return Objects.hash(address, type);
 	}
 
 	@Override
 	public boolean equals(Object obj) {
-		return new EqualsBuilder(this, obj).appendFields("address", "type").isEqual();
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		Recipient other = (Recipient) obj;
+		return new EqualsBuilder().append(address, other.address).append(type, other.type).isEqual();
 	}
 }
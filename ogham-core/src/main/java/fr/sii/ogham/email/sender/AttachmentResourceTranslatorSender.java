@@ -1,16 +1,23 @@
 package fr.sii.ogham.email.sender;
 
+import java.io.Closeable;
+import java.io.IOException;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import fr.sii.ogham.core.exception.MessageException;
 import fr.sii.ogham.core.exception.MessageNotSentException;
+import fr.sii.ogham.core.exception.template.ParseException;
 import fr.sii.ogham.core.message.Message;
 import fr.sii.ogham.core.resource.NamedResource;
 import fr.sii.ogham.core.resource.resolver.ResourceResolver;
 import fr.sii.ogham.core.sender.ConditionalSender;
 import fr.sii.ogham.core.sender.MessageSender;
+import fr.sii.ogham.core.template.precompile.TemplatePrecompiler;
 import fr.sii.ogham.core.translator.resource.AttachmentResourceTranslator;
+import fr.sii.ogham.core.util.IOUtils;
+import fr.sii.ogham.core.util.PrecompileUtils;
 import fr.sii.ogham.email.attachment.Attachment;
 import fr.sii.ogham.email.exception.attachment.translator.ResourceTranslatorException;
 import fr.sii.ogham.email.message.Email;
@@ -25,7 +32,7 @@ import fr.sii.ogham.email.message.Email;
  * @see ResourceResolver
  * @see NamedResource
  */
-public class AttachmentResourceTranslatorSender implements ConditionalSender {
+public class AttachmentResourceTranslatorSender implements ConditionalSender, TemplatePrecompiler, Closeable {
 	private static final Logger LOG = LoggerFactory.getLogger(AttachmentResourceTranslatorSender.class);
 
 	/**
@@ -74,6 +81,16 @@ public class AttachmentResourceTranslatorSender implements ConditionalSender {
 		}
 	}
 
+	@Override
+	public boolean precompile(String templateName) throws ParseException {
+		return PrecompileUtils.precompile(delegate, templateName);
+	}
+
+	@Override
+	public void close() throws IOException {
+		IOUtils.closeAll(delegate);
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder builder = new StringBuilder();
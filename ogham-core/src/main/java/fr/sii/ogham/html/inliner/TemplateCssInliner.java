@@ -0,0 +1,172 @@
+package fr.sii.ogham.html.inliner;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.exception.resource.ResourceResolutionException;
+import fr.sii.ogham.core.resource.resolver.ResourceResolver;
+import fr.sii.ogham.core.util.HtmlUtils;
+import fr.sii.ogham.core.util.IOUtils;
+import fr.sii.ogham.core.util.LruCache;
+import fr.sii.ogham.html.translator.InlineCssTranslator;
+
+/**
+ * Inlines CSS directly in the source of a template (before any evaluation by
+ * the template engine). The stylesheets and the markup are the same for every
+ * message so CSS inlining is done only once when the template is loaded by the
+ * template engine instead of after every render (see
+ * {@link InlineCssTranslator}).
+ *
+ * <p>
+ * Once inlined, the {@code link} tags are removed from the template so CSS
+ * inlining done after rendering has nothing left to do.
+ * </p>
+ *
+ * <p>
+ * Some templates can't be inlined at load time. In that case, the source is
+ * returned as-is and CSS inlining is done after every render:
+ * <ul>
+ * <li>templates that contain at least one element marked with the
+ * {@value #RENDER_TIME_ATTR} attribute (styles depend on a value only known at
+ * render time such as a dynamic class)</li>
+ * <li>templates that reference a stylesheet through a dynamic path</li>
+ * <li>templates whose stylesheets can't be loaded</li>
+ * </ul>
+ *
+ * <p>
+ * Results are cached (the key is the template source) so loading the same
+ * template several times (if the template engine cache is disabled for
+ * example) doesn't inline CSS again.
+ * </p>
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class TemplateCssInliner {
+	private static final Logger LOG = LoggerFactory.getLogger(TemplateCssInliner.class);
+
+	/**
+	 * Attribute to mark an element whose styles can only be computed at render
+	 * time. The whole template is then inlined after every render.
+	 */
+	public static final String RENDER_TIME_ATTR = "data-inline-css-at-render";
+
+	/**
+	 * The default maximum number of cached templates
+	 */
+	public static final int DEFAULT_MAX_SIZE = 100;
+
+	private static final Pattern DYNAMIC_PATH = Pattern.compile("[$#@*]\\{");
+
+	/**
+	 * The CSS inliner
+	 */
+	private final CssInliner cssInliner;
+
+	/**
+	 * The resource resolver to find the CSS files
+	 */
+	private final ResourceResolver resourceResolver;
+
+	/**
+	 * The template sources with inlined CSS indexed by original source
+	 */
+	private final LruCache<String, String> cache;
+
+	public TemplateCssInliner(CssInliner cssInliner, ResourceResolver resourceResolver) {
+		this(cssInliner, resourceResolver, DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Initializes with the inliner, the resolver used to load stylesheets and
+	 * the maximum number of cached templates.
+	 *
+	 * @param cssInliner
+	 *            the CSS inliner
+	 * @param resourceResolver
+	 *            the resource resolver to find the CSS files
+	 * @param maxSize
+	 *            the maximum number of cached templates
+	 */
+	public TemplateCssInliner(CssInliner cssInliner, ResourceResolver resourceResolver, int maxSize) {
+		super();
+		this.cssInliner = cssInliner;
+		this.resourceResolver = resourceResolver;
+		this.cache = new LruCache<>(maxSize);
+	}
+
+	/**
+	 * Inlines CSS in the source of a template. If the template can't be
+	 * inlined at load time, the source is returned as-is.
+	 *
+	 * @param templateName
+	 *            the name of the template (used for logs)
+	 * @param source
+	 *            the template source
+	 * @return the template source with inlined CSS
+	 */
+	public String inline(String templateName, String source) {
+		String inlined = cache.get(source);
+		if (inlined != null) {
+			LOG.trace("CSS already inlined in template {}", templateName);
+			return inlined;
+		}
+		inlined = doInline(templateName, source);
+		cache.put(source, inlined);
+		return inlined;
+	}
+
+	/**
+	 * Removes all cached templates.
+	 */
+	public void clear() {
+		cache.clear();
+	}
+
+	private String doInline(String templateName, String source) {
+		if (!HtmlUtils.isHtml(source)) {
+			return source;
+		}
+		if (source.contains(RENDER_TIME_ATTR)) {
+			LOG.debug("Template {} has elements marked with {} => CSS is inlined at render time", templateName, RENDER_TIME_ATTR);
+			return source;
+		}
+		List<String> cssFiles = HtmlUtils.getDistinctCssUrls(source);
+		if (cssFiles.isEmpty()) {
+			return source;
+		}
+		List<ExternalCss> cssResources = load(templateName, cssFiles);
+		if (cssResources == null) {
+			return source;
+		}
+		LOG.debug("Inlining CSS in template {}", templateName);
+		return cssInliner.inline(source, cssResources);
+	}
+
+	private List<ExternalCss> load(String templateName, List<String> cssFiles) {
+		List<ExternalCss> cssResources = new ArrayList<>(cssFiles.size());
+		for (String path : cssFiles) {
+			if (DYNAMIC_PATH.matcher(path).find()) {
+				LOG.debug("Template {} references stylesheet {} with dynamic path => CSS is inlined at render time", templateName, path);
+				return null;
+			}
+			try {
+				cssResources.add(new ExternalCss(path, IOUtils.toString(resourceResolver.getResource(path).getInputStream())));
+			} catch (IOException | ResourceResolutionException e) {
+				LOG.warn("Failed to load CSS file {} for template {} => CSS is inlined at render time", path, templateName, e);
+				return null;
+			}
+		}
+		return cssResources;
+	}
+
+	@Override
+	public String toString() {
+		return "TemplateCssInliner";
+	}
+}
@@ -6,7 +6,9 @@ import java.util.StringTokenizer;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.DataNode;
 import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Document.OutputSettings.Syntax;
 import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Entities.EscapeMode;
 import org.jsoup.parser.Tag;
 import org.jsoup.select.Elements;
 
@@ -22,9 +24,37 @@ public class JsoupCssInliner implements CssInliner {
 	private static final String STYLE_TAG = "style";
 	private static final String CSS_LINKS_SELECTOR = "link[rel*=\"stylesheet\"], link[type=\"text/css\"], link[href$=\".css\"]";
 
+	/**
+	 * Generate well-formed XML (XHTML) instead of HTML
+	 */
+	private final boolean xmlSyntax;
+
+	public JsoupCssInliner() {
+		this(false);
+	}
+
+	/**
+	 * Initializes the inliner with the syntax used to generate the result.
+	 * 
+	 * <p>
+	 * XML syntax is required when the result must be parsed again by an XML
+	 * parser (for example, when CSS is inlined in Thymeleaf templates).
+	 * 
+	 * @param xmlSyntax
+	 *            true to generate well-formed XML (XHTML), false to generate
+	 *            HTML
+	 */
+	public JsoupCssInliner(boolean xmlSyntax) {
+		super();
+		this.xmlSyntax = xmlSyntax;
+	}
+
 	@Override
 	public String inline(String htmlContent, List<ExternalCss> cssContents) {
 		Document doc = Jsoup.parse(htmlContent);
+		if (xmlSyntax) {
+			doc.outputSettings().syntax(Syntax.xml).escapeMode(EscapeMode.xhtml);
+		}
 
 		internStyles(doc, cssContents);
 		String stylesheet = fetchStyles(doc);
@@ -3,6 +3,7 @@ package fr.sii.ogham.html.translator;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +16,7 @@ import fr.sii.ogham.core.message.content.StringContent;
 import fr.sii.ogham.core.message.content.UpdatableStringContent;
 import fr.sii.ogham.core.resource.resolver.ResourceResolver;
 import fr.sii.ogham.core.translator.content.ContentTranslator;
+import fr.sii.ogham.core.util.ContentUtils;
 import fr.sii.ogham.core.util.HtmlUtils;
 import fr.sii.ogham.core.util.IOUtils;
 import fr.sii.ogham.html.inliner.CssInliner;
@@ -32,6 +34,7 @@ import fr.sii.ogham.html.inliner.ExternalCss;
  */
 public class InlineCssTranslator implements ContentTranslator {
 	private static final Logger LOG = LoggerFactory.getLogger(InlineCssTranslator.class);
+	private static final Pattern LINK_PATTERN = Pattern.compile("<link", Pattern.CASE_INSENSITIVE);
 	
 	/**
 	 * The CSS inliner
@@ -53,7 +56,9 @@ public class InlineCssTranslator implements ContentTranslator {
 	public Content translate(Content content) throws ContentTranslatorException {
 		if (content instanceof MayHaveStringContent && ((MayHaveStringContent) content).canProvideString()) {
 			String stringContent = ((MayHaveStringContent) content).asString();
-			if (HtmlUtils.isHtml(stringContent)) {
+			// cheap check before parsing: CSS may already be inlined in the
+			// template source (see TemplateCssInliner)
+			if (HtmlUtils.isHtml(stringContent) && LINK_PATTERN.matcher(stringContent).find()) {
 				List<String> cssFiles = HtmlUtils.getDistinctCssUrls(stringContent);
 				if (!cssFiles.isEmpty()) {
 					// prepare list of css files/urls with their content
@@ -96,6 +101,8 @@ public class InlineCssTranslator implements ContentTranslator {
 		} else {
 			LOG.info("Content is not updatable => create a new StringContent for CSS inlining result");
 			inlinedContent = new StringContent(inlinedContentStr);
+			// the replaced content is not needed anymore
+			ContentUtils.release(content);
 		}
 		return inlinedContent;
 	}
@@ -23,6 +23,7 @@ import fr.sii.ogham.core.message.content.UpdatableStringContent;
 import fr.sii.ogham.core.mimetype.MimeTypeProvider;
 import fr.sii.ogham.core.resource.resolver.ResourceResolver;
 import fr.sii.ogham.core.translator.content.ContentTranslator;
+import fr.sii.ogham.core.util.ContentUtils;
 import fr.sii.ogham.core.util.HtmlUtils;
 import fr.sii.ogham.core.util.IOUtils;
 import fr.sii.ogham.email.message.content.ContentWithAttachments;
@@ -140,6 +141,8 @@ public class InlineImageTranslator implements ContentTranslator {
 			return content;
 		}
 		LOG.info("Content is not updatable => create a new StringContent for image inlining result");
+		// the replaced content is not needed anymore
+		ContentUtils.release(content);
 		return new StringContent(contentWithImages.getContent());
 	}
 
@@ -28,6 +28,7 @@ import fr.sii.ogham.core.sender.MessageSender;
 import fr.sii.ogham.core.template.parser.TemplateParser;
 import fr.sii.ogham.core.translator.content.ContentTranslator;
 import fr.sii.ogham.core.translator.content.EveryContentTranslator;
+import fr.sii.ogham.core.translator.content.StreamedContentTranslator;
 import fr.sii.ogham.core.translator.content.TemplateContentTranslator;
 import fr.sii.ogham.sms.message.PhoneNumber;
 import fr.sii.ogham.sms.message.Sms;
@@ -280,6 +281,7 @@ public class SmsBuilder extends AbstractParent<MessagingBuilder> implements Buil
 	private final SenderImplementationBuilderHelper<SmsBuilder> senderBuilderHelper;
 	private AutofillSmsBuilder autofillBuilder;
 	private PhoneNumbersBuilder phoneNumbersBuilder;
+	private TransliterationBuilder transliterationBuilder;
 
 	/**
 	 * Initializes the builder with a parent builder. The parent builder is used
@@ -369,6 +371,32 @@ public class SmsBuilder extends AbstractParent<MessagingBuilder> implements Buil
 		return phoneNumbersBuilder;
 	}
 
+	/**
+	 * Configures replacement of characters that are not part of the GSM 7-bit
+	 * alphabet by close equivalents (curly quotes, dashes, accented
+	 * characters...). A single character outside the GSM 7-bit alphabet forces
+	 * the whole SMS to be encoded using UCS-2 which halves the capacity of each
+	 * segment.
+	 * 
+	 * For example:
+	 * 
+	 * <pre>
+	 * <code>
+	 *	builder
+	 *	  .transliteration()
+	 *	    .enable("${ogham.sms.transliteration.enable}")
+	 * </code>
+	 * </pre>
+	 * 
+	 * @return the builder to configure GSM transliteration
+	 */
+	public TransliterationBuilder transliteration() {
+		if (transliterationBuilder == null) {
+			transliterationBuilder = new TransliterationBuilder(this, environmentBuilder);
+		}
+		return transliterationBuilder;
+	}
+
 	/**
 	 * Registers and configures a {@link TemplateParser} through a dedicated
 	 * builder.
@@ -451,6 +479,38 @@ public class SmsBuilder extends AbstractParent<MessagingBuilder> implements Buil
 		return this;
 	}
 
+	/**
+	 * Limits the number of SMS messages that each sender implementation
+	 * (each provider) can send at the same time. When the limit is reached,
+	 * the thread that sends a message waits until another message has been
+	 * sent.
+	 * 
+	 * <p>
+	 * This is mainly useful when messages are sent asynchronously on many
+	 * threads (see {@link MessagingBuilder#virtualThreads(int)}).
+	 * </p>
+	 * 
+	 * @param maxConcurrentSends
+	 *            the maximum number of concurrent sends per provider (0 for no
+	 *            limit)
+	 * @return this instance for fluent chaining
+	 */
+	public SmsBuilder maxConcurrentSends(int maxConcurrentSends) {
+		senderBuilderHelper.maxConcurrentSends(maxConcurrentSends);
+		return this;
+	}
+
+	/**
+	 * Counts the registered sender implementations (providers). The
+	 * implementations are not built so the ones that can't be used in the
+	 * current environment are also counted.
+	 * 
+	 * @return the number of registered implementations
+	 */
+	public int getRegisteredSendersCount() {
+		return senderBuilderHelper.getRegisteredSendersCount();
+	}
+
 	/**
 	 * Registers and configures sender through a dedicated builder.
 	 * 
@@ -516,8 +576,8 @@ public class SmsBuilder extends AbstractParent<MessagingBuilder> implements Buil
 		SmsSender smsSender = new SmsSender();
 		ConditionalSender sender = smsSender;
 		senderBuilderHelper.addSenders(smsSender);
-		if (templateBuilderHelper.hasRegisteredTemplates()) {
-			ContentTranslator translator = buildContentTranslator();
+		EveryContentTranslator translator = buildContentTranslator();
+		if (!translator.getTranslators().isEmpty()) {
 			LOG.debug("Content translation enabled {}", translator);
 			sender = new ContentTranslatorSender(translator, sender);
 		}
@@ -533,12 +593,24 @@ public class SmsBuilder extends AbstractParent<MessagingBuilder> implements Buil
 		return sender;
 	}
 
-	private ContentTranslator buildContentTranslator() {
+	private EveryContentTranslator buildContentTranslator() {
 		EveryContentTranslator translator = new EveryContentTranslator();
 		addTemplateTranslator(translator);
+		addTransliteration(translator);
 		return translator;
 	}
 
+	private void addTransliteration(EveryContentTranslator translator) {
+		if (transliterationBuilder == null) {
+			return;
+		}
+		ContentTranslator transliteration = transliterationBuilder.build();
+		if (transliteration != null) {
+			LOG.debug("GSM transliteration is enabled");
+			translator.addTranslator(transliteration);
+		}
+	}
+
 	private void addTemplateTranslator(EveryContentTranslator translator) {
 		if (!templateBuilderHelper.hasRegisteredTemplates()) {
 			return;
@@ -546,6 +618,8 @@ public class SmsBuilder extends AbstractParent<MessagingBuilder> implements Buil
 		TemplateParser templateParser = templateBuilderHelper.buildTemplateParser();
 		LOG.debug("Registering content translator that parses templates using {}", templateParser);
 		translator.addTranslator(new TemplateContentTranslator(templateParser));
+		// SMS are sent as text => contents rendered as bytes are converted
+		translator.addTranslator(new StreamedContentTranslator());
 	}
 
 }
@@ -0,0 +1,167 @@
+package fr.sii.ogham.sms.builder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import fr.sii.ogham.core.builder.AbstractParent;
+import fr.sii.ogham.core.builder.Builder;
+import fr.sii.ogham.core.builder.env.EnvironmentBuilder;
+import fr.sii.ogham.core.env.PropertyResolver;
+import fr.sii.ogham.core.translator.content.ContentTranslator;
+import fr.sii.ogham.core.util.BuilderUtils;
+import fr.sii.ogham.sms.charset.Gsm7TransliterationTable;
+import fr.sii.ogham.sms.translator.Gsm7TransliterationTranslator;
+
+/**
+ * Configures replacement of characters that are not part of the GSM 7-bit
+ * alphabet by close equivalents (for example curly quotes are replaced by
+ * straight quotes). This way, the SMS content can be encoded using GSM 7-bit
+ * alphabet (160/153 characters per segment) instead of UCS-2 (70/67 characters
+ * per segment).
+ * 
+ * <p>
+ * Transliteration is disabled by default. For example:
+ * 
+ * <pre>
+ * .transliteration()
+ *   .enable(true)
+ *   .replace('ç', "c")
+ * </pre>
+ * 
+ * <p>
+ * The total number of characters replaced while sending SMS is available
+ * through {@link #getReplacedCount()}.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class TransliterationBuilder extends AbstractParent<SmsBuilder> implements Builder<ContentTranslator> {
+	private EnvironmentBuilder<?> environmentBuilder;
+	private Boolean enable;
+	private List<String> enableProps;
+	private Map<Character, String> customMapping;
+	private Gsm7TransliterationTable table;
+	private final AtomicLong replacedCount;
+
+	/**
+	 * Initializes the builder with a parent builder. The parent builder is used
+	 * when calling {@link #and()} method. The {@link EnvironmentBuilder} is
+	 * used to evaluate properties when {@link #build()} method is called.
+	 * 
+	 * @param parent
+	 *            the parent builder
+	 * @param environmentBuilder
+	 *            the configuration for property resolution and evaluation
+	 */
+	public TransliterationBuilder(SmsBuilder parent, EnvironmentBuilder<?> environmentBuilder) {
+		super(parent);
+		this.environmentBuilder = environmentBuilder;
+		enableProps = new ArrayList<>();
+		customMapping = new HashMap<>();
+		replacedCount = new AtomicLong();
+	}
+
+	/**
+	 * Enable or disable transliteration.
+	 * 
+	 * This value preempts any other value defined by calling
+	 * {@link #enable(String...)} method.
+	 * 
+	 * @param enable
+	 *            enable or disable transliteration (may be null)
+	 * @return this instance for fluent chaining
+	 */
+	public TransliterationBuilder enable(Boolean enable) {
+		if (enable != null) {
+			this.enable = enable;
+		}
+		return this;
+	}
+
+	/**
+	 * Enable or disable transliteration.
+	 * 
+	 * <p>
+	 * You can specify one or several property keys. For example:
+	 * 
+	 * <pre>
+	 * .enable("${custom.property.high-priority}", "${custom.property.low-priority}");
+	 * </pre>
+	 * 
+	 * The properties are not immediately evaluated. The evaluation will be done
+	 * when the {@link #build()} method is called.
+	 * 
+	 * @param enable
+	 *            one value, or one or several property keys
+	 * @return this instance for fluent chaining
+	 */
+	public TransliterationBuilder enable(String... enable) {
+		for (String e : enable) {
+			if (e != null) {
+				enableProps.add(e);
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Registers a custom replacement. The custom replacement is added to the
+	 * default mapping (see {@link Gsm7TransliterationTable#defaultMapping()})
+	 * and overrides the default replacement for the same character.
+	 * 
+	 * @param c
+	 *            the character to replace
+	 * @param replacement
+	 *            the replacement text
+	 * @return this instance for fluent chaining
+	 */
+	public TransliterationBuilder replace(char c, String replacement) {
+		customMapping.put(c, replacement);
+		return this;
+	}
+
+	/**
+	 * Use a custom table instead of the default one. If a table is provided,
+	 * replacements registered using {@link #replace(char, String)} are
+	 * ignored.
+	 * 
+	 * @param table
+	 *            the table to use
+	 * @return this instance for fluent chaining
+	 */
+	public TransliterationBuilder table(Gsm7TransliterationTable table) {
+		this.table = table;
+		return this;
+	}
+
+	@Override
+	public ContentTranslator build() {
+		if (!isEnabled()) {
+			return null;
+		}
+		return new Gsm7TransliterationTranslator(table == null ? new Gsm7TransliterationTable(customMapping) : table, replacedCount);
+	}
+
+	/**
+	 * Provides the total number of characters that have been replaced by the
+	 * translators built by this builder (0 if transliteration is disabled).
+	 * 
+	 * @return the total number of replaced characters
+	 */
+	public long getReplacedCount() {
+		return replacedCount.get();
+	}
+
+	private boolean isEnabled() {
+		if (enable != null) {
+			return enable;
+		}
+		PropertyResolver propertyResolver = environmentBuilder.build();
+		Boolean value = BuilderUtils.evaluate(enableProps, propertyResolver, Boolean.class);
+		return value != null && value;
+	}
+}
@@ -0,0 +1,108 @@
+package fr.sii.ogham.sms.charset;
+
+/**
+ * The GSM 7-bit default alphabet (3GPP TS 23.038) with its extension table.
+ * 
+ * <p>
+ * Characters of the basic table are encoded using one septet. Characters of
+ * the extension table are encoded using two septets (escape character followed
+ * by the character). Any other character can't be encoded using GSM 7-bit
+ * alphabet.
+ * </p>
+ * 
+ * <p>
+ * The lookup table is computed once so checking a character is only an array
+ * access.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public final class Gsm7Alphabet {
+	/**
+	 * Characters of the basic table (the escape character is not included as
+	 * it is not a printable character)
+	 */
+	private static final String BASIC = "@£$¥èéùìòÇ\nØø\rÅå"
+			+ "Δ_ΦΓΛΩΠΨΣΘΞÆæßÉ"
+			+ " !\"#¤%&'()*+,-./0123456789:;<=>?"
+			+ "¡ABCDEFGHIJKLMNOPQRSTUVWXYZÄÖÑÜ§"
+			+ "¿abcdefghijklmnopqrstuvwxyzäöñüà";
+
+	/**
+	 * Characters of the extension table
+	 */
+	private static final String EXTENSION = "\f^{}\\[~]|€";
+
+	/**
+	 * Only the euro sign is above this limit so the table remains small
+	 */
+	private static final int TABLE_SIZE = 0x400;
+	private static final char EURO = '€';
+	private static final byte[] SEPTETS = new byte[TABLE_SIZE];
+
+	static {
+		for (int i = 0; i < BASIC.length(); i++) {
+			SEPTETS[BASIC.charAt(i)] = 1;
+		}
+		for (int i = 0; i < EXTENSION.length(); i++) {
+			char c = EXTENSION.charAt(i);
+			if (c < TABLE_SIZE) {
+				SEPTETS[c] = 2;
+			}
+		}
+	}
+
+	/**
+	 * Get the number of septets needed to encode the character using GSM
+	 * 7-bit alphabet.
+	 * 
+	 * @param c
+	 *            the character to encode
+	 * @return 1 for a character of the basic table, 2 for a character of the
+	 *         extension table, 0 if the character can't be encoded
+	 */
+	public static int septets(char c) {
+		if (c < TABLE_SIZE) {
+			return SEPTETS[c];
+		}
+		return c == EURO ? 2 : 0;
+	}
+
+	/**
+	 * Count the number of septets needed to encode the whole text using GSM
+	 * 7-bit alphabet. The text is scanned only once and the scan stops at the
+	 * first character that can't be encoded.
+	 * 
+	 * @param text
+	 *            the text to encode
+	 * @return the number of septets or -1 if the text contains at least one
+	 *         character that can't be encoded
+	 */
+	public static int countSeptets(CharSequence text) {
+		int count = 0;
+		for (int i = 0; i < text.length(); i++) {
+			int septets = septets(text.charAt(i));
+			if (septets == 0) {
+				return -1;
+			}
+			count += septets;
+		}
+		return count;
+	}
+
+	/**
+	 * Indicates if the whole text can be encoded using GSM 7-bit alphabet.
+	 * 
+	 * @param text
+	 *            the text to check
+	 * @return true if every character is in the basic or extension table
+	 */
+	public static boolean canEncode(CharSequence text) {
+		return countSeptets(text) >= 0;
+	}
+
+	private Gsm7Alphabet() {
+		super();
+	}
+}
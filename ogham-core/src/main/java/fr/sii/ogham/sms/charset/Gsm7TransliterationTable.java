@@ -0,0 +1,136 @@
+package fr.sii.ogham.sms.charset;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Table that provides a close GSM 7-bit equivalent for characters that are not
+ * part of the GSM 7-bit alphabet (see {@link Gsm7Alphabet}). For example,
+ * curly quotes are replaced by straight quotes and accented characters that
+ * are not in the GSM table are replaced by the character without accent.
+ * 
+ * <p>
+ * The table is computed once at construction: looking for a replacement is
+ * only an array access. The default mapping (see {@link #defaultMapping()})
+ * can be completed or overridden by custom entries.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class Gsm7TransliterationTable {
+	/**
+	 * Replacements indexed by character
+	 */
+	private final String[] replacements;
+
+	/**
+	 * Initializes with the default mapping.
+	 */
+	public Gsm7TransliterationTable() {
+		this(new HashMap<Character, String>());
+	}
+
+	/**
+	 * Initializes with the default mapping completed by the custom mapping. If
+	 * a character is defined in both, the custom replacement is used.
+	 * 
+	 * @param customMapping
+	 *            the custom replacements indexed by character
+	 */
+	public Gsm7TransliterationTable(Map<Character, String> customMapping) {
+		this(customMapping, true);
+	}
+
+	/**
+	 * Initializes with only the provided mapping or with the default mapping
+	 * completed by the provided mapping.
+	 * 
+	 * @param mapping
+	 *            the replacements indexed by character
+	 * @param includeDefaults
+	 *            true to also use the default mapping
+	 */
+	public Gsm7TransliterationTable(Map<Character, String> mapping, boolean includeDefaults) {
+		super();
+		Map<Character, String> all = includeDefaults ? defaultMapping() : new HashMap<Character, String>();
+		all.putAll(mapping);
+		int max = 0;
+		for (Character c : all.keySet()) {
+			max = Math.max(max, c);
+		}
+		replacements = new String[max + 1];
+		for (Entry<Character, String> entry : all.entrySet()) {
+			replacements[entry.getKey()] = entry.getValue();
+		}
+	}
+
+	/**
+	 * Get the replacement for the character.
+	 * 
+	 * @param c
+	 *            the character to replace
+	 * @return the replacement or null if there is no replacement for this
+	 *         character
+	 */
+	public String getReplacement(char c) {
+		return c < replacements.length ? replacements[c] : null;
+	}
+
+	/**
+	 * The default mapping: typographic punctuation, spaces and accented
+	 * latin characters that are not in the GSM 7-bit alphabet.
+	 * 
+	 * @return a new mutable map of default replacements
+	 */
+	public static Map<Character, String> defaultMapping() {
+		Map<Character, String> mapping = new HashMap<>();
+		// quotes
+		put(mapping, "‘’‚‛′´`", "'");
+		put(mapping, "“”„‟″«»", "\"");
+		// dashes and spaces
+		put(mapping, "‐‑‒–—―−", "-");
+		put(mapping, "\u00A0\u2002\u2003\u2009\u202F\t", " ");
+		put(mapping, "…", "...");
+		put(mapping, "•·", "*");
+		// latin letters with accents that are not in the GSM table
+		put(mapping, "áâãāăą", "a");
+		put(mapping, "ÀÁÂÃĀĂĄ", "A");
+		put(mapping, "çćč", "c");
+		put(mapping, "ĆČ", "C");
+		put(mapping, "êëēėęě", "e");
+		put(mapping, "ÈÊËĒĖĘĚ", "E");
+		put(mapping, "íîïīį", "i");
+		put(mapping, "ÌÍÎÏĪĮ", "I");
+		put(mapping, "óôõōő", "o");
+		put(mapping, "ÒÓÔÕŌŐ", "O");
+		put(mapping, "úûūůűų", "u");
+		put(mapping, "ÙÚÛŪŮŰŲ", "U");
+		put(mapping, "ýÿ", "y");
+		put(mapping, "ÝŸ", "Y");
+		put(mapping, "ńň", "n");
+		put(mapping, "ŃŇ", "N");
+		put(mapping, "śšş", "s");
+		put(mapping, "ŚŠŞ", "S");
+		put(mapping, "źżž", "z");
+		put(mapping, "ŹŻŽ", "Z");
+		put(mapping, "ł", "l");
+		put(mapping, "Ł", "L");
+		put(mapping, "ř", "r");
+		put(mapping, "Ř", "R");
+		put(mapping, "ť", "t");
+		put(mapping, "Ť", "T");
+		put(mapping, "ď", "d");
+		put(mapping, "Ď", "D");
+		put(mapping, "œ", "oe");
+		put(mapping, "Œ", "OE");
+		return mapping;
+	}
+
+	private static void put(Map<Character, String> mapping, String chars, String replacement) {
+		for (int i = 0; i < chars.length(); i++) {
+			mapping.put(chars.charAt(i), replacement);
+		}
+	}
+}
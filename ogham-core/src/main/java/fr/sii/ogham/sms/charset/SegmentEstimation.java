@@ -0,0 +1,86 @@
+package fr.sii.ogham.sms.charset;
+
+/**
+ * Provides the cost of a SMS content before sending it: the cheapest encoding
+ * that can be used, the encoded length and the number of segments (SMS) needed
+ * for each recipient.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class SegmentEstimation {
+	private final SmsEncoding encoding;
+	private final int length;
+	private final int segments;
+
+	public SegmentEstimation(SmsEncoding encoding, int length) {
+		super();
+		this.encoding = encoding;
+		this.length = length;
+		this.segments = encoding.segments(length);
+	}
+
+	/**
+	 * Scan the text once to select the cheapest encoding: packed GSM 7-bit if
+	 * every character is in the GSM basic or extension table, UCS-2 otherwise.
+	 * 
+	 * @param text
+	 *            the content of the SMS
+	 * @return the estimation
+	 */
+	public static SegmentEstimation estimate(CharSequence text) {
+		return estimate(text, true);
+	}
+
+	/**
+	 * Scan the text once to select the cheapest encoding: GSM 7-bit if every
+	 * character is in the GSM basic or extension table, UCS-2 otherwise.
+	 * 
+	 * <p>
+	 * The number of segments depends on how GSM 7-bit is sent: packed (160
+	 * characters per SMS) or unpacked (140 characters per SMS, one byte per
+	 * septet).
+	 * </p>
+	 * 
+	 * @param text
+	 *            the content of the SMS
+	 * @param packedGsm
+	 *            true if GSM 7-bit content is sent packed, false if one byte
+	 *            is sent per septet
+	 * @return the estimation
+	 */
+	public static SegmentEstimation estimate(CharSequence text, boolean packedGsm) {
+		int septets = Gsm7Alphabet.countSeptets(text);
+		if (septets >= 0) {
+			return new SegmentEstimation(packedGsm ? SmsEncoding.GSM_7 : SmsEncoding.GSM_7_UNPACKED, septets);
+		}
+		return new SegmentEstimation(SmsEncoding.UCS_2, text.length());
+	}
+
+	/**
+	 * @return the cheapest encoding for the content
+	 */
+	public SmsEncoding getEncoding() {
+		return encoding;
+	}
+
+	/**
+	 * @return the length of the content expressed in units of the encoding
+	 *         (septets for GSM 7-bit, UTF-16 code units for UCS-2)
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * @return the number of segments (SMS) needed for one recipient
+	 */
+	public int getSegments() {
+		return segments;
+	}
+
+	@Override
+	public String toString() {
+		return encoding + " (" + length + ") -> " + segments + " segment(s)";
+	}
+}
@@ -0,0 +1,120 @@
+package fr.sii.ogham.sms.charset;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.List;
+
+import fr.sii.ogham.core.charset.CharsetDetector;
+import fr.sii.ogham.core.charset.CharsetMatch;
+import fr.sii.ogham.core.charset.SimpleCharsetMatch;
+import fr.sii.ogham.core.util.IOUtils;
+
+/**
+ * Charset detector dedicated to SMS content that selects the encoding that
+ * minimizes the number of segments. The text is scanned only once against the
+ * GSM 7-bit basic and extension tables (see {@link Gsm7Alphabet}):
+ * <ul>
+ * <li>If every character can be encoded using GSM 7-bit alphabet, the
+ * detection is delegated to the wrapped detector (the charset it provides is
+ * expected to be converted to GSM by the sender implementation)</li>
+ * <li>Otherwise, the unicode charset is used (UTF-16BE by default which
+ * corresponds to UCS-2 for SMPP)</li>
+ * </ul>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class SmsCharsetDetector implements CharsetDetector {
+	private static final int CONFIDENCE = 100;
+
+	/**
+	 * The detector used when content is GSM compatible
+	 */
+	private final CharsetDetector gsmCompatibleDetector;
+
+	/**
+	 * The charset used when content is not GSM compatible
+	 */
+	private final Charset unicodeCharset;
+
+	/**
+	 * Initializes with the detector to use for GSM compatible content. UTF-16BE
+	 * is used for other content.
+	 * 
+	 * @param gsmCompatibleDetector
+	 *            the detector used when content is GSM compatible
+	 */
+	public SmsCharsetDetector(CharsetDetector gsmCompatibleDetector) {
+		this(gsmCompatibleDetector, Charset.forName("UTF-16BE"));
+	}
+
+	/**
+	 * Initializes with the detector to use for GSM compatible content and the
+	 * charset to use for other content.
+	 * 
+	 * @param gsmCompatibleDetector
+	 *            the detector used when content is GSM compatible
+	 * @param unicodeCharset
+	 *            the charset used when content is not GSM compatible
+	 */
+	public SmsCharsetDetector(CharsetDetector gsmCompatibleDetector, Charset unicodeCharset) {
+		super();
+		this.gsmCompatibleDetector = gsmCompatibleDetector;
+		this.unicodeCharset = unicodeCharset;
+	}
+
+	@Override
+	public Charset detect(String str) {
+		if (Gsm7Alphabet.canEncode(str)) {
+			return gsmCompatibleDetector.detect(str);
+		}
+		return unicodeCharset;
+	}
+
+	@Override
+	public Charset detect(byte[] bytes) {
+		Charset charset = gsmCompatibleDetector.detect(bytes);
+		return charset == null ? null : detect(new String(bytes, charset));
+	}
+
+	@Override
+	public Charset detect(InputStream stream) {
+		try {
+			return detect(IOUtils.toByteArray(stream));
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	@Override
+	public List<CharsetMatch> detectAll(String str) {
+		return toMatches(detect(str));
+	}
+
+	@Override
+	public List<CharsetMatch> detectAll(byte[] bytes) {
+		return toMatches(detect(bytes));
+	}
+
+	@Override
+	public List<CharsetMatch> detectAll(InputStream stream) {
+		return toMatches(detect(stream));
+	}
+
+	private static List<CharsetMatch> toMatches(Charset charset) {
+		if (charset == null) {
+			return Arrays.<CharsetMatch>asList();
+		}
+		return Arrays.<CharsetMatch>asList(new SimpleCharsetMatch(charset, CONFIDENCE));
+	}
+
+	public CharsetDetector getGsmCompatibleDetector() {
+		return gsmCompatibleDetector;
+	}
+
+	public Charset getUnicodeCharset() {
+		return unicodeCharset;
+	}
+}
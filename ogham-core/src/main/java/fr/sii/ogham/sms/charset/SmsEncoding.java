@@ -0,0 +1,61 @@
+package fr.sii.ogham.sms.charset;
+
+/**
+ * The encodings that can be used to send a SMS with the number of units
+ * (septets for GSM 7-bit, UTF-16 code units for UCS-2) that fit in a single SMS
+ * and in each part of a concatenated SMS (the User Data Header takes some
+ * room). A SMS carries 140 bytes: the number of units depends on the number
+ * of bits used for each unit.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public enum SmsEncoding {
+	/**
+	 * GSM 7-bit default alphabet packed (8 septets in 7 bytes): 160 characters
+	 * in a single SMS, 153 per part
+	 */
+	GSM_7(160, 153),
+	/**
+	 * GSM 7-bit default alphabet unpacked (one byte per septet, as sent by
+	 * Cloudhopper with the "GSM" charset): 140 characters in a single SMS, 134
+	 * per part
+	 */
+	GSM_7_UNPACKED(140, 134),
+	/**
+	 * UCS-2 (two bytes per character): 70 characters in a single SMS, 67 per
+	 * part
+	 */
+	UCS_2(70, 67);
+
+	private final int singleLength;
+	private final int partLength;
+
+	private SmsEncoding(int singleLength, int partLength) {
+		this.singleLength = singleLength;
+		this.partLength = partLength;
+	}
+
+	/**
+	 * Compute the number of SMS needed to send a content of the provided
+	 * length.
+	 * 
+	 * @param length
+	 *            the number of units (septets or UTF-16 code units)
+	 * @return the number of segments
+	 */
+	public int segments(int length) {
+		if (length <= singleLength) {
+			return 1;
+		}
+		return (length + partLength - 1) / partLength;
+	}
+
+	public int getSingleLength() {
+		return singleLength;
+	}
+
+	public int getPartLength() {
+		return partLength;
+	}
+}
@@ -1,7 +1,8 @@
 package fr.sii.ogham.sms.message;
 
+import java.util.Objects;
+
 import fr.sii.ogham.core.util.EqualsBuilder;
-import fr.sii.ogham.core.util.HashCodeBuilder;
 
 /**
  * A SMS contact taht contains the following information:
@@ -101,11 +102,18 @@ public class Contact {
 
 	@Override
 	public int hashCode() {
-		return new HashCodeBuilder().append(name, phoneNumber).hashCode();
+		return Objects.hash(name, phoneNumber);
 	}
 
 	@Override
 	public boolean equals(Object obj) {
-		return new EqualsBuilder(this, obj).appendFields("name", "phoneNumber").isEqual();
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		Contact other = (Contact) obj;
+		return new EqualsBuilder().append(name, other.name).append(phoneNumber, other.phoneNumber).isEqual();
 	}
 }
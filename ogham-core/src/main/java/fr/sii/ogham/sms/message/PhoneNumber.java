@@ -1,7 +1,8 @@
 package fr.sii.ogham.sms.message;
 
+import java.util.Objects;
+
 import fr.sii.ogham.core.util.EqualsBuilder;
-import fr.sii.ogham.core.util.HashCodeBuilder;
 
 /**
  * Represents a phone number. It wraps a simple string. The aim is to abstracts
@@ -42,12 +43,19 @@ public class PhoneNumber {
 
 	@Override
 	public int hashCode() {
-		return new HashCodeBuilder().append(number).hashCode();
+		return Objects.hashCode(number);
 	}
 
 	@Override
 	public boolean equals(Object obj) {
-		return new EqualsBuilder(this, obj).appendFields("number").isEqual();
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		PhoneNumber other = (PhoneNumber) obj;
+		return new EqualsBuilder().append(number, other.number).isEqual();
 	}
 
 }
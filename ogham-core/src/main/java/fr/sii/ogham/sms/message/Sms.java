@@ -3,6 +3,7 @@ package fr.sii.ogham.sms.message;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 import fr.sii.ogham.core.message.Message;
 import fr.sii.ogham.core.message.capability.HasContentFluent;
@@ -12,8 +13,8 @@ import fr.sii.ogham.core.message.capability.HasToFluent;
 import fr.sii.ogham.core.message.content.Content;
 import fr.sii.ogham.core.message.content.StringContent;
 import fr.sii.ogham.core.util.EqualsBuilder;
-import fr.sii.ogham.core.util.HashCodeBuilder;
 import fr.sii.ogham.core.util.StringUtils;
+import fr.sii.ogham.sms.charset.SegmentEstimation;
 
 /**
  * SMS message that contains the following information:
@@ -308,6 +309,45 @@ public class Sms implements Message, HasContentFluent<Sms>, HasRecipients<Recipi
 		return addresses;
 	}
 
+	// ----------------------- Utilities -----------------------//
+
+	/**
+	 * Estimates the cost of the SMS before sending it. The content is scanned
+	 * once to select the cheapest encoding (packed GSM 7-bit if every
+	 * character is in the GSM basic or extension table, UCS-2 otherwise) and
+	 * to compute the number of segments (SMS) needed for each recipient.
+	 * 
+	 * <p>
+	 * The total number of SMS sent is the number of segments multiplied by the
+	 * number of recipients.
+	 * </p>
+	 * 
+	 * <p>
+	 * If the sender sends GSM 7-bit unpacked (one byte per character, like
+	 * Cloudhopper with the "GSM" charset), use
+	 * {@link #estimateSegments(boolean)}.
+	 * </p>
+	 * 
+	 * @return the estimation (encoding, encoded length and number of segments)
+	 */
+	public SegmentEstimation estimateSegments() {
+		return estimateSegments(true);
+	}
+
+	/**
+	 * Estimates the cost of the SMS before sending it (see
+	 * {@link #estimateSegments()}).
+	 * 
+	 * @param packedGsm
+	 *            true if GSM 7-bit content is sent packed (160 characters per
+	 *            SMS), false if one byte is sent per character (140 characters
+	 *            per SMS)
+	 * @return the estimation (encoding, encoded length and number of segments)
+	 */
+	public SegmentEstimation estimateSegments(boolean packedGsm) {
+		return SegmentEstimation.estimate(content == null ? "" : content.toString(), packedGsm);
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder builder = new StringBuilder();
@@ -320,11 +360,18 @@ public class Sms implements Message, HasContentFluent<Sms>, HasRecipients<Recipi
 
 	@Override
 	public int hashCode() {
-		return new HashCodeBuilder().append(from, recipients, content).hashCode();
+		return Objects.hash(from, recipients, content);
 	}
 
 	@Override
 	public boolean equals(Object obj) {
-		return new EqualsBuilder(this, obj).appendFields("from", "recipients", "content").isEqual();
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		Sms other = (Sms) obj;
+		return new EqualsBuilder().append(from, other.from).append(recipients, other.recipients).append(content, other.content).isEqual();
 	}
 }
@@ -1,7 +1,8 @@
 package fr.sii.ogham.sms.message.addressing;
 
+import java.util.Objects;
+
 import fr.sii.ogham.core.util.EqualsBuilder;
-import fr.sii.ogham.core.util.HashCodeBuilder;
 import fr.sii.ogham.sms.message.PhoneNumber;
 
 /**
@@ -56,12 +57,19 @@ public class AddressedPhoneNumber extends PhoneNumber {
 
 	@Override
 	public int hashCode() {
-		return new HashCodeBuilder().append(getNumber(), ton, npi).hashCode();
+		return Objects.hash(getNumber(), ton, npi);
 	}
 
 	@Override
 	public boolean equals(Object obj) {
-		return new EqualsBuilder(this, obj).appendFields("number", "ton", "npi").isEqual();
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		AddressedPhoneNumber other = (AddressedPhoneNumber) obj;
+		return new EqualsBuilder().append(getNumber(), other.getNumber()).append(ton, other.ton).append(npi, other.npi).isEqual();
 	}
 
 }
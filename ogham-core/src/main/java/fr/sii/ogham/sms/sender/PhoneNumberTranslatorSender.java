@@ -1,13 +1,20 @@
 package fr.sii.ogham.sms.sender;
 
+import java.io.Closeable;
+import java.io.IOException;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import fr.sii.ogham.core.exception.MessageException;
 import fr.sii.ogham.core.exception.MessageNotSentException;
+import fr.sii.ogham.core.exception.template.ParseException;
 import fr.sii.ogham.core.message.Message;
 import fr.sii.ogham.core.sender.ConditionalSender;
 import fr.sii.ogham.core.sender.MessageSender;
+import fr.sii.ogham.core.template.precompile.TemplatePrecompiler;
+import fr.sii.ogham.core.util.IOUtils;
+import fr.sii.ogham.core.util.PrecompileUtils;
 import fr.sii.ogham.sms.exception.message.PhoneNumberTranslatorException;
 import fr.sii.ogham.sms.message.Contact;
 import fr.sii.ogham.sms.message.PhoneNumber;
@@ -25,7 +32,7 @@ import fr.sii.ogham.sms.message.addressing.translator.PhoneNumberTranslator;
  * @author cdejonghe
  * @see PhoneNumberTranslator
  */
-public class PhoneNumberTranslatorSender implements ConditionalSender {
+public class PhoneNumberTranslatorSender implements ConditionalSender, TemplatePrecompiler, Closeable {
 	private static final Logger LOG = LoggerFactory.getLogger(PhoneNumberTranslatorSender.class);
 
 	/** The translator that transforms the content of the message. */
@@ -99,6 +106,16 @@ public class PhoneNumberTranslatorSender implements ConditionalSender {
 		}
 	}
 
+	@Override
+	public boolean precompile(String templateName) throws ParseException {
+		return PrecompileUtils.precompile(delegate, templateName);
+	}
+
+	@Override
+	public void close() throws IOException {
+		IOUtils.closeAll(delegate);
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
@@ -0,0 +1,175 @@
+package fr.sii.ogham.sms.translator;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.exception.handler.ContentTranslatorException;
+import fr.sii.ogham.core.message.content.Content;
+import fr.sii.ogham.core.message.content.MayHaveStringContent;
+import fr.sii.ogham.core.message.content.StringContent;
+import fr.sii.ogham.core.message.content.UpdatableStringContent;
+import fr.sii.ogham.core.translator.content.ContentTranslator;
+import fr.sii.ogham.core.util.ContentUtils;
+import fr.sii.ogham.sms.charset.Gsm7Alphabet;
+import fr.sii.ogham.sms.charset.Gsm7TransliterationTable;
+
+/**
+ * Translator that replaces characters that are not part of the GSM 7-bit
+ * alphabet by a close equivalent (see {@link Gsm7TransliterationTable}). A
+ * single character outside the GSM 7-bit alphabet forces the whole SMS to be
+ * encoded using UCS-2 which reduces the capacity of each segment from 160/153
+ * to 70/67 characters.
+ * 
+ * <p>
+ * Characters that have no replacement are kept as-is.
+ * </p>
+ * 
+ * <p>
+ * The number of replaced characters is logged (debug level) for each message
+ * and the total number of replaced characters is available through
+ * {@link #getReplacedCount()}. When the translator is built by
+ * {@link fr.sii.ogham.sms.builder.TransliterationBuilder}, the total is also
+ * available through
+ * {@link fr.sii.ogham.sms.builder.TransliterationBuilder#getReplacedCount()}.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class Gsm7TransliterationTranslator implements ContentTranslator {
+	private static final Logger LOG = LoggerFactory.getLogger(Gsm7TransliterationTranslator.class);
+
+	/**
+	 * The replacements
+	 */
+	private final Gsm7TransliterationTable table;
+
+	/**
+	 * Total number of replaced characters
+	 */
+	private final AtomicLong replacedCount;
+
+	public Gsm7TransliterationTranslator() {
+		this(new Gsm7TransliterationTable());
+	}
+
+	public Gsm7TransliterationTranslator(Gsm7TransliterationTable table) {
+		this(table, new AtomicLong());
+	}
+
+	/**
+	 * Initializes with the replacements and the counter that is incremented
+	 * each time a character is replaced. The counter may be shared with other
+	 * translators.
+	 * 
+	 * @param table
+	 *            the replacements
+	 * @param replacedCount
+	 *            the counter of replaced characters
+	 */
+	public Gsm7TransliterationTranslator(Gsm7TransliterationTable table, AtomicLong replacedCount) {
+		super();
+		this.table = table;
+		this.replacedCount = replacedCount;
+	}
+
+	@Override
+	public Content translate(Content content) throws ContentTranslatorException {
+		if (content instanceof MayHaveStringContent && ((MayHaveStringContent) content).canProvideString()) {
+			String text = ((MayHaveStringContent) content).asString();
+			Transliteration result = transliterate(text);
+			if (result.getReplaced() == 0) {
+				return content;
+			}
+			LOG.debug("{} character(s) replaced to fit in GSM 7-bit alphabet", result.getReplaced());
+			return update(content, result.getText());
+		}
+		LOG.debug("Content is not available as string. Skip GSM transliteration for {}", content);
+		return content;
+	}
+
+	/**
+	 * Replace every character that is not part of GSM 7-bit alphabet and that
+	 * has a replacement. The text is scanned once and a new string is only
+	 * created if at least one character is replaced.
+	 * 
+	 * @param text
+	 *            the text to transliterate
+	 * @return the transliterated text and the number of replaced characters
+	 */
+	public Transliteration transliterate(String text) {
+		StringBuilder sb = null;
+		int replaced = 0;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			String replacement = Gsm7Alphabet.septets(c) == 0 ? table.getReplacement(c) : null;
+			if (replacement != null) {
+				if (sb == null) {
+					sb = new StringBuilder(text.length() + 16);
+					sb.append(text, 0, i);
+				}
+				sb.append(replacement);
+				replaced++;
+			} else if (sb != null) {
+				sb.append(c);
+			}
+		}
+		replacedCount.addAndGet(replaced);
+		return new Transliteration(sb == null ? text : sb.toString(), replaced);
+	}
+
+	/**
+	 * @return the total number of characters replaced by this translator
+	 */
+	public long getReplacedCount() {
+		return replacedCount.get();
+	}
+
+	private static Content update(Content content, String text) {
+		if (content instanceof UpdatableStringContent) {
+			((UpdatableStringContent) content).setStringContent(text);
+			return content;
+		}
+		// the replaced content is not needed anymore
+		ContentUtils.release(content);
+		return new StringContent(text);
+	}
+
+	@Override
+	public String toString() {
+		return "Gsm7TransliterationTranslator";
+	}
+
+	/**
+	 * Result of the transliteration of a text.
+	 * 
+	 * @author Aurélien Baudet
+	 *
+	 */
+	public static class Transliteration {
+		private final String text;
+		private final int replaced;
+
+		public Transliteration(String text, int replaced) {
+			super();
+			this.text = text;
+			this.replaced = replaced;
+		}
+
+		/**
+		 * @return the transliterated text
+		 */
+		public String getText() {
+			return text;
+		}
+
+		/**
+		 * @return the number of replaced characters
+		 */
+		public int getReplaced() {
+			return replaced;
+		}
+	}
+}
@@ -0,0 +1,167 @@
+package fr.sii.ogham.template.common.adapter;
+
+import java.util.concurrent.TimeUnit;
+
+import fr.sii.ogham.core.message.capability.HasVariant;
+import fr.sii.ogham.core.message.content.TemplateContent;
+import fr.sii.ogham.core.message.content.Variant;
+import fr.sii.ogham.core.util.LruCache;
+import fr.sii.ogham.template.exception.VariantResolutionException;
+
+/**
+ * Decorator that remembers, for each template path and variant, the real path
+ * and whether the variant exists. Each message with variants (HTML and text
+ * for example) no longer needs to check the existence of every possible
+ * template.
+ * 
+ * <p>
+ * The number of cached entries is bounded (least recently used entries are
+ * evicted) and each entry expires after a time to live. Templates added or
+ * removed are therefore detected once the entry has expired: the time to live
+ * should match the cache configuration of the template engines. Failures are
+ * not cached.
+ * </p>
+ * 
+ * <p>
+ * The cache is not used by default (see
+ * {@link fr.sii.ogham.email.builder.EmailBuilder#variantResolutionCache(long)}).
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class CachingVariantResolver implements VariantResolver {
+	/**
+	 * Default maximum number of cached entries
+	 */
+	public static final int DEFAULT_MAX_SIZE = 1000;
+
+	private final VariantResolver delegate;
+	private final long ttlNanos;
+	private final LruCache<VariantKey, CachedValue<String>> realPaths;
+	private final LruCache<VariantKey, CachedValue<Boolean>> existing;
+
+	/**
+	 * Initializes with the resolver to decorate and the time to live of the
+	 * cached entries. At most {@value #DEFAULT_MAX_SIZE} entries are cached.
+	 * 
+	 * @param delegate
+	 *            the resolver to decorate
+	 * @param ttlMs
+	 *            the time to live of the entries in milliseconds
+	 */
+	public CachingVariantResolver(VariantResolver delegate, long ttlMs) {
+		this(delegate, DEFAULT_MAX_SIZE, ttlMs);
+	}
+
+	/**
+	 * Initializes with the resolver to decorate, the maximum number of cached
+	 * entries and the time to live of the cached entries.
+	 * 
+	 * @param delegate
+	 *            the resolver to decorate
+	 * @param maxSize
+	 *            the maximum number of cached entries
+	 * @param ttlMs
+	 *            the time to live of the entries in milliseconds
+	 */
+	public CachingVariantResolver(VariantResolver delegate, int maxSize, long ttlMs) {
+		super();
+		if (ttlMs <= 0) {
+			throw new IllegalArgumentException("[ttlMs] must be strictly positive");
+		}
+		this.delegate = delegate;
+		this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+		this.realPaths = new LruCache<>(maxSize);
+		this.existing = new LruCache<>(maxSize);
+	}
+
+	@Override
+	public String getRealPath(TemplateContent template) throws VariantResolutionException {
+		if (!(template instanceof HasVariant)) {
+			return delegate.getRealPath(template);
+		}
+		VariantKey key = new VariantKey(template.getPath(), ((HasVariant) template).getVariant());
+		CachedValue<String> cached = realPaths.get(key);
+		if (cached != null && !cached.isExpired()) {
+			return cached.getValue();
+		}
+		String realPath = delegate.getRealPath(template);
+		realPaths.put(key, new CachedValue<>(realPath, ttlNanos));
+		return realPath;
+	}
+
+	@Override
+	public boolean variantExists(TemplateContent template) {
+		if (!(template instanceof HasVariant)) {
+			return delegate.variantExists(template);
+		}
+		VariantKey key = new VariantKey(template.getPath(), ((HasVariant) template).getVariant());
+		CachedValue<Boolean> cached = existing.get(key);
+		if (cached != null && !cached.isExpired()) {
+			return cached.getValue();
+		}
+		boolean exists = delegate.variantExists(template);
+		existing.put(key, new CachedValue<>(exists, ttlNanos));
+		return exists;
+	}
+
+	/**
+	 * Forget all cached resolutions.
+	 */
+	public void clear() {
+		realPaths.clear();
+		existing.clear();
+	}
+
+	public VariantResolver getDelegate() {
+		return delegate;
+	}
+
+	private static class CachedValue<V> {
+		private final V value;
+		private final long expiresAt;
+
+		public CachedValue(V value, long ttlNanos) {
+			super();
+			this.value = value;
+			this.expiresAt = System.nanoTime() + ttlNanos;
+		}
+
+		public V getValue() {
+			return value;
+		}
+
+		public boolean isExpired() {
+			return System.nanoTime() - expiresAt >= 0;
+		}
+	}
+
+	private static class VariantKey {
+		private final String path;
+		private final Variant variant;
+
+		public VariantKey(String path, Variant variant) {
+			super();
+			this.path = path;
+			this.variant = variant;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (path == null ? 0 : path.hashCode()) + (variant == null ? 0 : variant.hashCode());
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof VariantKey)) {
+				return false;
+			}
+			VariantKey other = (VariantKey) obj;
+			return (path == null ? other.path == null : path.equals(other.path)) && (variant == null ? other.variant == null : variant.equals(other.variant));
+		}
+	}
+}
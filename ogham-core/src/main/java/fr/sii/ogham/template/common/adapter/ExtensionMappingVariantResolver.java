@@ -6,11 +6,11 @@ import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import fr.sii.ogham.core.exception.resource.ResourceResolutionException;
 import fr.sii.ogham.core.message.capability.HasVariant;
 import fr.sii.ogham.core.message.content.TemplateContent;
 import fr.sii.ogham.core.message.content.Variant;
 import fr.sii.ogham.core.resource.resolver.ResourceResolver;
+import fr.sii.ogham.core.util.ResourceResolverUtils;
 import fr.sii.ogham.template.exception.UnknownVariantException;
 import fr.sii.ogham.template.exception.VariantResolutionException;
 
@@ -65,13 +65,11 @@ public class ExtensionMappingVariantResolver implements VariantResolver {
 		}
 
 		String templatePath = template.getPath();
-		try {
-			resourceResolver.getResource(templatePath + extension);
-			return true;
-		} catch (ResourceResolutionException e) {
-			LOG.trace("template {}.{} not found", templatePath, extension, e);
-			return false;
+		boolean exists = ResourceResolverUtils.exists(resourceResolver, templatePath + extension);
+		if (!exists) {
+			LOG.trace("template {}{} not found", templatePath, extension);
 		}
+		return exists;
 	}
 
 }
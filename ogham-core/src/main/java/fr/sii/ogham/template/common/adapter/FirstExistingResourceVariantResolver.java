@@ -34,12 +34,8 @@ public class FirstExistingResourceVariantResolver implements VariantResolver {
 		if (!(template instanceof HasVariant)) {
 			return template.getPath();
 		}
-		for (VariantResolver delegate : delegates) {
-			if(delegate.variantExists(template)) {
-				return delegate.getRealPath(template);
-			}
-		}
-		return defaultResolver.getRealPath(template);
+		VariantResolver existing = findExisting(template);
+		return existing == null ? defaultResolver.getRealPath(template) : existing.getRealPath(template);
 	}
 
 	@Override
@@ -47,12 +43,25 @@ public class FirstExistingResourceVariantResolver implements VariantResolver {
 		if (!(template instanceof HasVariant)) {
 			return false;
 		}
+		return findExisting(template) != null || defaultResolver.variantExists(template);
+	}
+
+	/**
+	 * Find the first resolver for which the variant exists. The existence is
+	 * checked only once for each resolver.
+	 * 
+	 * @param template
+	 *            the template with the variant
+	 * @return the resolver or null if the variant doesn't exist for any
+	 *         resolver
+	 */
+	private VariantResolver findExisting(TemplateContent template) {
 		for (VariantResolver delegate : delegates) {
-			if(delegate.variantExists(template)) {
-				return true;
+			if (delegate.variantExists(template)) {
+				return delegate;
 			}
 		}
-		return defaultResolver.variantExists(template);
+		return null;
 	}
 
 	public FirstExistingResourceVariantResolver addVariantResolver(VariantResolver variantResolver) {
@@ -15,12 +15,15 @@ import fr.sii.ogham.core.exception.resource.ResourceResolutionException;
 import fr.sii.ogham.core.resource.ByteResource;
 import fr.sii.ogham.core.resource.FileResource;
 import fr.sii.ogham.core.resource.Resource;
+import fr.sii.ogham.core.resource.ResourcePath;
 import fr.sii.ogham.core.resource.SimpleResource;
 import fr.sii.ogham.core.resource.resolver.ClassPathResolver;
 import fr.sii.ogham.core.resource.resolver.FileResolver;
 import fr.sii.ogham.core.resource.resolver.FirstSupportingResourceResolver;
+import fr.sii.ogham.core.resource.resolver.ResourceResolver;
 import fr.sii.ogham.core.resource.resolver.StringResourceResolver;
 import fr.sii.ogham.core.util.IOUtils;
+import fr.sii.ogham.core.util.ResourceResolverUtils;
 import fr.sii.ogham.helper.rule.LoggingTestRule;
 
 public class FirstSupportingResolverTest {
@@ -80,4 +83,48 @@ public class FirstSupportingResolverTest {
 		String path = "fake:/template/resolver/foo/bar.html";
 		firstSupportingResolver.getResource(path);
 	}
+
+	@Test
+	public void exists() throws IOException {
+		File tempFile = folder.newFile("exists.html");
+		Assert.assertTrue("classpath resource should exist", firstSupportingResolver.exists("classpath:/template/resolver/foo/bar.html"));
+		Assert.assertTrue("default resource should exist", firstSupportingResolver.exists("/template/resolver/foo/bar.html"));
+		Assert.assertTrue("file resource should exist", firstSupportingResolver.exists("file:" + tempFile.getAbsolutePath()));
+		Assert.assertTrue("string resource should exist", firstSupportingResolver.exists("string:ma ressource"));
+	}
+
+	@Test
+	public void notExists() {
+		Assert.assertFalse("classpath resource should not exist", firstSupportingResolver.exists("classpath:/template/resolver/foo/unknown.html"));
+		Assert.assertFalse("file resource should not exist", firstSupportingResolver.exists("file:" + new File(folder.getRoot(), "unknown.html").getAbsolutePath()));
+		Assert.assertFalse("unsupported resource should not exist", firstSupportingResolver.exists("fake:/template/resolver/foo/bar.html"));
+	}
+
+	@Test
+	public void existsWithoutExistenceCheck() {
+		ResourceResolver resolver = new ResourceResolver() {
+			@Override
+			public boolean supports(String path) {
+				return path.startsWith("custom:");
+			}
+
+			@Override
+			public ResourcePath getResourcePath(String path) {
+				return null;
+			}
+
+			@Override
+			public Resource getResource(String path) throws ResourceResolutionException {
+				if ("custom:found".equals(path)) {
+					return new SimpleResource(new byte[0]);
+				}
+				throw new ResourceResolutionException("Resource not found", path);
+			}
+		};
+		Assert.assertTrue("resource should exist", ResourceResolverUtils.exists(resolver, "custom:found"));
+		Assert.assertFalse("resource should not exist", ResourceResolverUtils.exists(resolver, "custom:unknown"));
+		FirstSupportingResourceResolver decorator = new FirstSupportingResourceResolver(resolver);
+		Assert.assertTrue("resource should exist", decorator.exists("custom:found"));
+		Assert.assertFalse("resource should not exist", decorator.exists("custom:unknown"));
+	}
 }
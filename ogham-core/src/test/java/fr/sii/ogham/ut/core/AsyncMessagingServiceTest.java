@@ -0,0 +1,165 @@
+package fr.sii.ogham.ut.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeFalse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.service.AsyncMessagingService;
+import fr.sii.ogham.core.service.MessagingService;
+import fr.sii.ogham.core.service.SendCallback;
+import fr.sii.ogham.core.util.ThreadPerTaskExecutors;
+import fr.sii.ogham.email.message.Email;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+
+public class AsyncMessagingServiceTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	SlowService slow;
+	AsyncMessagingService service;
+
+	@Before
+	public void setUp() {
+		slow = new SlowService();
+		service = new AsyncMessagingService(slow, 2);
+	}
+
+	@Test
+	public void futureCompletesOnceSent() throws Exception {
+		List<Future<Void>> futures = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			futures.add(service.sendAsync(new Email()));
+		}
+		for (Future<Void> future : futures) {
+			assertNull(future.get(5, TimeUnit.SECONDS));
+		}
+		assertEquals(10, slow.sent.get());
+		service.close();
+	}
+
+	@Test
+	public void futureFailsIfNotSent() throws Exception {
+		slow.failAt = 1;
+		try {
+			service.sendAsync(new Email()).get(5, TimeUnit.SECONDS);
+			fail("sending should fail");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof MessagingException);
+		}
+		service.close();
+	}
+
+	@Test
+	public void callbackNotified() throws Exception {
+		slow.failAt = 2;
+		RecordingCallback success = new RecordingCallback();
+		service.sendAsync(new Email(), success);
+		success.await();
+		RecordingCallback failure = new RecordingCallback();
+		service.sendAsync(new Email(), failure);
+		failure.await();
+		assertEquals(1, success.succeeded.get());
+		assertNull(success.error);
+		assertEquals(0, failure.succeeded.get());
+		assertTrue(failure.error instanceof MessagingException);
+		service.close();
+	}
+
+	@Test
+	public void closeWaitsForPendingSendsAndClosesDelegate() throws IOException {
+		for (int i = 0; i < 5; i++) {
+			service.sendAsync(new Email());
+		}
+		service.close();
+		assertEquals(5, slow.sent.get());
+		assertTrue(slow.closed);
+		RecordingCallback rejected = new RecordingCallback();
+		service.sendAsync(new Email(), rejected);
+		assertTrue("sending after close should fail", rejected.error instanceof MessagingException);
+	}
+
+	@Test
+	public void platformThreadsAreBounded() throws IOException {
+		assumeFalse("virtual threads are used", ThreadPerTaskExecutors.isVirtualThreadAvailable());
+		ThreadPoolExecutor executor = (ThreadPoolExecutor) service.getExecutor();
+		assertEquals(2, executor.getMaximumPoolSize());
+		service.close();
+	}
+
+	@Test
+	public void providedExecutorIsNotShutDown() throws IOException {
+		ExecutorService executor = ThreadPerTaskExecutors.newExecutor("test-send-", 1);
+		AsyncMessagingService provided = new AsyncMessagingService(slow, executor);
+		assertSame(executor, provided.getExecutor());
+		provided.close();
+		assertFalse(executor.isShutdown());
+		executor.shutdown();
+	}
+
+	private static class SlowService implements MessagingService, Closeable {
+		private final AtomicInteger sent = new AtomicInteger();
+		private volatile int failAt = -1;
+		private volatile boolean closed;
+
+		@Override
+		public void send(Message message) throws MessagingException {
+			try {
+				Thread.sleep(5);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if (sent.incrementAndGet() == failAt) {
+				throw new MessagingException("failure");
+			}
+		}
+
+		@Override
+		public void close() {
+			closed = true;
+		}
+	}
+
+	private static class RecordingCallback implements SendCallback {
+		private final CountDownLatch done = new CountDownLatch(1);
+		private final AtomicInteger succeeded = new AtomicInteger();
+		private volatile MessagingException error;
+
+		@Override
+		public void onSuccess(Message message) {
+			succeeded.incrementAndGet();
+			done.countDown();
+		}
+
+		@Override
+		public void onFailure(Message message, MessagingException cause) {
+			error = cause;
+			done.countDown();
+		}
+
+		public void await() throws InterruptedException {
+			assertTrue("callback should be notified", done.await(5, TimeUnit.SECONDS));
+		}
+	}
+}
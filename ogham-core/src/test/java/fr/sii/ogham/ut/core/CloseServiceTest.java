@@ -0,0 +1,64 @@
+package fr.sii.ogham.ut.core;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import fr.sii.ogham.core.condition.FixedCondition;
+import fr.sii.ogham.core.filler.MessageFiller;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.sender.ConditionalSender;
+import fr.sii.ogham.core.sender.FillerSender;
+import fr.sii.ogham.core.sender.MessageSender;
+import fr.sii.ogham.core.service.EverySupportingMessagingService;
+import fr.sii.ogham.core.service.WrapExceptionMessagingService;
+import fr.sii.ogham.email.sender.EmailSender;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+
+public class CloseServiceTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	@Test
+	public void closeIsPropagatedToImplementations() throws IOException {
+		MessageSender implementation = closeableSender();
+		EmailSender emailSender = new EmailSender();
+		emailSender.addImplementation(new FixedCondition<Message>(true), implementation);
+		ConditionalSender sender = new FillerSender(mock(MessageFiller.class), emailSender);
+		WrapExceptionMessagingService service = new WrapExceptionMessagingService(new EverySupportingMessagingService(sender));
+
+		service.close();
+
+		verify((Closeable) implementation).close();
+	}
+
+	@Test
+	public void allSendersAreClosedEvenIfOneFails() throws IOException {
+		ConditionalSender failing = mock(ConditionalSender.class, withSettings().extraInterfaces(Closeable.class));
+		IOException failure = new IOException("failure");
+		doThrow(failure).when((Closeable) failing).close();
+		ConditionalSender other = mock(ConditionalSender.class, withSettings().extraInterfaces(Closeable.class));
+		EverySupportingMessagingService service = new EverySupportingMessagingService(failing, other);
+
+		try {
+			service.close();
+			fail("closing failure should be reported");
+		} catch (IOException e) {
+			assertSame(failure, e);
+		}
+		verify((Closeable) other).close();
+	}
+
+	private static MessageSender closeableSender() {
+		return mock(MessageSender.class, withSettings().extraInterfaces(Closeable.class));
+	}
+}
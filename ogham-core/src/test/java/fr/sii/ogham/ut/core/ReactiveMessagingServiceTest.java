@@ -0,0 +1,201 @@
+package fr.sii.ogham.ut.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.service.AsyncMessagingService;
+import fr.sii.ogham.core.service.MessagingService;
+import fr.sii.ogham.core.service.ReactiveMessagingService;
+import fr.sii.ogham.email.message.Email;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+
+public class ReactiveMessagingServiceTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	ExecutorService executor;
+	SlowService slow;
+	ReactiveMessagingService service;
+
+	@Before
+	public void setUp() {
+		executor = Executors.newFixedThreadPool(10);
+		slow = new SlowService();
+		service = new ReactiveMessagingService(new AsyncMessagingService(slow, executor), 2);
+	}
+
+	@After
+	public void tearDown() throws InterruptedException {
+		executor.shutdown();
+		executor.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void nothingSentUntilRequested() throws InterruptedException {
+		Publisher<Void> publisher = service.send(new Email());
+		assertEquals(0, slow.sent.get());
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		publisher.subscribe(subscriber);
+		subscriber.await();
+		assertEquals(1, slow.sent.get());
+		assertNull(subscriber.error);
+	}
+
+	@Test
+	public void bulkSendRespectsMaxInFlight() throws InterruptedException {
+		RangePublisher source = new RangePublisher(20);
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		service.sendAll(source).subscribe(subscriber);
+		subscriber.await();
+		assertNull(subscriber.error);
+		assertEquals(20, slow.sent.get());
+		assertTrue("at most 2 messages in flight but was " + slow.maxInFlight.get(), slow.maxInFlight.get() <= 2);
+	}
+
+	@Test
+	public void bulkSendWaitsForDemand() throws InterruptedException {
+		RangePublisher source = new RangePublisher(5);
+		RecordingSubscriber subscriber = new RecordingSubscriber(false);
+		service.sendAll(source).subscribe(subscriber);
+		assertEquals(0, source.requested.get());
+		subscriber.subscription.request(1);
+		subscriber.await();
+		assertNull(subscriber.error);
+		assertEquals(5, slow.sent.get());
+	}
+
+	@Test
+	public void bulkSendStopsOnFailure() throws InterruptedException {
+		slow.failAt = 3;
+		RangePublisher source = new RangePublisher(20);
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		service.sendAll(source).subscribe(subscriber);
+		subscriber.await();
+		assertTrue(subscriber.error instanceof MessagingException);
+		assertTrue(source.cancelled);
+	}
+
+	private static class SlowService implements MessagingService {
+		private final AtomicInteger inFlight = new AtomicInteger();
+		private final AtomicInteger maxInFlight = new AtomicInteger();
+		private final AtomicInteger sent = new AtomicInteger();
+		private volatile int failAt = -1;
+
+		@Override
+		public void send(Message message) throws MessagingException {
+			int current = inFlight.incrementAndGet();
+			int max = maxInFlight.get();
+			while (current > max && !maxInFlight.compareAndSet(max, current)) {
+				max = maxInFlight.get();
+			}
+			try {
+				Thread.sleep(5);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				inFlight.decrementAndGet();
+			}
+			if (sent.incrementAndGet() == failAt) {
+				throw new MessagingException("failure");
+			}
+		}
+	}
+
+	private static class RangePublisher implements Publisher<Message> {
+		private final int count;
+		private final AtomicLong requested = new AtomicLong();
+		private volatile boolean cancelled;
+
+		public RangePublisher(int count) {
+			super();
+			this.count = count;
+		}
+
+		@Override
+		public void subscribe(final Subscriber<? super Message> subscriber) {
+			subscriber.onSubscribe(new Subscription() {
+				private final AtomicLong emitted = new AtomicLong();
+
+				@Override
+				public synchronized void request(long n) {
+					requested.addAndGet(n);
+					for (long i = 0; i < n && !cancelled && emitted.get() < count; i++) {
+						emitted.incrementAndGet();
+						subscriber.onNext(new Email());
+					}
+					if (!cancelled && emitted.get() == count) {
+						cancelled = true;
+						subscriber.onComplete();
+					}
+				}
+
+				@Override
+				public void cancel() {
+					cancelled = true;
+				}
+			});
+		}
+	}
+
+	private static class RecordingSubscriber implements Subscriber<Void> {
+		private final CountDownLatch done = new CountDownLatch(1);
+		private final boolean requestOnSubscribe;
+		private volatile Subscription subscription;
+		private volatile Throwable error;
+
+		public RecordingSubscriber() {
+			this(true);
+		}
+
+		public RecordingSubscriber(boolean requestOnSubscribe) {
+			super();
+			this.requestOnSubscribe = requestOnSubscribe;
+		}
+
+		@Override
+		public void onSubscribe(Subscription subscription) {
+			this.subscription = subscription;
+			if (requestOnSubscribe) {
+				subscription.request(1);
+			}
+		}
+
+		@Override
+		public void onNext(Void item) {
+			// never called
+		}
+
+		@Override
+		public void onError(Throwable cause) {
+			error = cause;
+			done.countDown();
+		}
+
+		@Override
+		public void onComplete() {
+			done.countDown();
+		}
+
+		public void await() throws InterruptedException {
+			assertTrue("publisher should terminate", done.await(5, TimeUnit.SECONDS));
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package fr.sii.ogham.ut.core.builder;
+
+import static fr.sii.ogham.core.builder.configurer.ConfigurerIndex.INDEX_LOCATION;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import fr.sii.ogham.core.builder.configurer.ConfigurerIndex;
+import fr.sii.ogham.core.builder.configurer.DefaultMessagingConfigurer;
+import fr.sii.ogham.core.builder.configurer.MessagingConfigurer;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+
+public class ConfigurerIndexTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void generatedIndex() {
+		List<Class<? extends MessagingConfigurer>> configurers = ConfigurerIndex.load(getClass().getClassLoader(), "fr.sii.ogham");
+		assertThat(configurers, hasItem(DefaultMessagingConfigurer.class));
+	}
+
+	@Test
+	public void filteredByPackage() {
+		List<Class<? extends MessagingConfigurer>> configurers = ConfigurerIndex.load(getClass().getClassLoader(), "com.acme");
+		assertThat(configurers, empty());
+	}
+
+	@Test
+	public void noIndex() throws IOException {
+		ClassLoader classLoader = new URLClassLoader(new URL[] { folder.getRoot().toURI().toURL() }, null);
+		assertThat(ConfigurerIndex.load(classLoader, "fr.sii.ogham"), nullValue());
+	}
+
+	@Test
+	public void invalidEntriesSkipped() throws IOException {
+		File index = new File(folder.getRoot(), INDEX_LOCATION);
+		FileUtils.write(index, "# comment\nfr.sii.ogham.Unknown\njava.lang.String\n" + DefaultMessagingConfigurer.class.getName() + "\n", StandardCharsets.UTF_8);
+		ClassLoader classLoader = new URLClassLoader(new URL[] { folder.getRoot().toURI().toURL() }, getClass().getClassLoader());
+		List<Class<? extends MessagingConfigurer>> configurers = ConfigurerIndex.load(classLoader, "fr.sii.ogham", "java.lang");
+		assertTrue(configurers.contains(DefaultMessagingConfigurer.class));
+		assertFalse(configurers.contains(String.class));
+	}
+
+	@Test
+	public void packageBoundary() throws IOException {
+		File index = new File(folder.getRoot(), INDEX_LOCATION);
+		FileUtils.write(index, DefaultMessagingConfigurer.class.getName() + "\n", StandardCharsets.UTF_8);
+		ClassLoader classLoader = new URLClassLoader(new URL[] { folder.getRoot().toURI().toURL() }, getClass().getClassLoader());
+		assertThat(ConfigurerIndex.load(classLoader, "fr.sii.og"), empty());
+		assertThat(ConfigurerIndex.load(classLoader, "fr.sii.ogham.core"), hasItem(DefaultMessagingConfigurer.class));
+	}
+
+	@Test
+	public void packagesWithoutIndexAreReported() throws IOException {
+		File indexed = folder.newFolder("indexed");
+		FileUtils.write(new File(indexed, INDEX_LOCATION), "com.acme.indexed.Configurer\n", StandardCharsets.UTF_8);
+		new File(indexed, "com/acme/indexed").mkdirs();
+		new File(indexed, "com/acme/shared").mkdirs();
+		File notIndexed = folder.newFolder("not-indexed");
+		new File(notIndexed, "com/acme/shared").mkdirs();
+		ClassLoader classLoader = new URLClassLoader(new URL[] { indexed.toURI().toURL(), notIndexed.toURI().toURL() }, null);
+		assertArrayEquals(new String[] { "com.acme.shared" }, ConfigurerIndex.getNotIndexedPackages(classLoader, "com.acme.indexed", "com.acme.shared", "com.acme.missing"));
+	}
+}
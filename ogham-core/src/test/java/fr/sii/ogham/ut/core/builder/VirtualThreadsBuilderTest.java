@@ -0,0 +1,100 @@
+package fr.sii.ogham.ut.core.builder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import fr.sii.ogham.core.builder.MessagingBuilder;
+import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.sender.MessageSender;
+import fr.sii.ogham.core.service.AsyncMessagingService;
+import fr.sii.ogham.core.service.MessagingService;
+import fr.sii.ogham.email.message.Email;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+
+public class VirtualThreadsBuilderTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	@Test
+	public void asyncServiceWithLimitedConcurrentSends() throws Exception {
+		SlowSender slow = new SlowSender();
+		MessagingService service = MessagingBuilder.empty()
+				.email()
+					.customSender(slow)
+					.and()
+				.virtualThreads(3)
+				.build();
+		assertTrue("service should send asynchronously", service instanceof AsyncMessagingService);
+		AsyncMessagingService async = (AsyncMessagingService) service;
+		List<Future<Void>> futures = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			futures.add(async.sendAsync(new Email().subject("subject").content("content").from("sender@sii.fr").to("recipient@sii.fr")));
+		}
+		for (Future<Void> future : futures) {
+			future.get(5, TimeUnit.SECONDS);
+		}
+		async.close();
+		assertEquals(20, slow.sent.get());
+		assertTrue("at most 3 concurrent sends but was " + slow.maxInFlight.get(), slow.maxInFlight.get() <= 3);
+	}
+
+	@Test
+	public void synchronousServiceByDefault() {
+		MessagingService service = MessagingBuilder.empty()
+				.email()
+					.customSender(new SlowSender())
+					.and()
+				.build();
+		assertTrue("service should not be asynchronous", !(service instanceof AsyncMessagingService));
+	}
+
+	@Test
+	public void registeredProvidersAreCounted() {
+		MessagingBuilder builder = MessagingBuilder.empty();
+		builder.email()
+				.customSender(new SlowSender())
+				.customSender(new SlowSender());
+		builder.sms()
+				.customSender(new SlowSender());
+		assertEquals(2, builder.email().getRegisteredSendersCount());
+		assertEquals(1, builder.sms().getRegisteredSendersCount());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void limitMustBePositive() {
+		MessagingBuilder.empty().virtualThreads(0);
+	}
+
+	private static class SlowSender implements MessageSender {
+		private final AtomicInteger inFlight = new AtomicInteger();
+		private final AtomicInteger maxInFlight = new AtomicInteger();
+		private final AtomicInteger sent = new AtomicInteger();
+
+		@Override
+		public void send(Message message) throws MessageException {
+			int current = inFlight.incrementAndGet();
+			int max = maxInFlight.get();
+			while (current > max && !maxInFlight.compareAndSet(max, current)) {
+				max = maxInFlight.get();
+			}
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				inFlight.decrementAndGet();
+				sent.incrementAndGet();
+			}
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package fr.sii.ogham.ut.core.convert;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import fr.sii.ogham.core.convert.DelegateConverter;
+import fr.sii.ogham.core.convert.NoConversionNeededConverter;
+import fr.sii.ogham.core.convert.StringToArrayConverter;
+import fr.sii.ogham.core.convert.SupportingConverter;
+import fr.sii.ogham.core.exception.convert.ConversionException;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+
+public class DelegateConverterTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	private CountingConverter counting;
+	private DelegateConverter converter;
+
+	@Before
+	public void setUp() {
+		converter = new DelegateConverter();
+		counting = new CountingConverter(new StringToArrayConverter(converter));
+		converter.register(counting);
+		converter.register(new NoConversionNeededConverter());
+	}
+
+	@Test
+	public void converterIsResolvedOnce() {
+		converter.convert("foo, bar", String[].class);
+		converter.convert("foo, bar", String[].class);
+		converter.convert("abc", String[].class);
+		// String to String[] and String to String (elements)
+		assertEquals(2, counting.supportsCalls);
+		assertEquals(3, counting.convertCalls);
+	}
+
+	@Test
+	public void registerClearsResolvedConverters() {
+		converter.convert("foo, bar", String[].class);
+		converter.register(new NoConversionNeededConverter());
+		converter.convert("foo, bar", String[].class);
+		// elements are not converted again (array is cached)
+		assertEquals(3, counting.supportsCalls);
+	}
+
+	@Test
+	public void cachedArraysAreCopied() {
+		String[] first = converter.convert("foo, bar", String[].class);
+		first[0] = "changed";
+		String[] second = converter.convert("foo, bar", String[].class);
+		assertArrayEquals(new String[] { "foo", "bar" }, second);
+		assertNotSame(first, second);
+	}
+
+	private static class CountingConverter implements SupportingConverter {
+		private final SupportingConverter delegate;
+		private int supportsCalls;
+		private int convertCalls;
+
+		public CountingConverter(SupportingConverter delegate) {
+			super();
+			this.delegate = delegate;
+		}
+
+		@Override
+		public <T> T convert(Object source, Class<T> targetType) throws ConversionException {
+			convertCalls++;
+			return delegate.convert(source, targetType);
+		}
+
+		@Override
+		public boolean supports(Class<?> sourceType, Class<?> targetType) {
+			supportsCalls++;
+			return delegate.supports(sourceType, targetType);
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package fr.sii.ogham.ut.core.env;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import fr.sii.ogham.core.convert.DefaultConverter;
+import fr.sii.ogham.core.env.JavaPropertiesResolver;
+import fr.sii.ogham.core.env.SnapshotPropertyResolver;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+
+public class SnapshotPropertyResolverTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	private Properties properties;
+	private SnapshotPropertyResolver resolver;
+
+	@Before
+	public void setUp() {
+		properties = new Properties();
+		properties.setProperty("ogham.email.from", "foo@sii.fr");
+		properties.setProperty("ogham.email.to", "bar@sii.fr, baz@sii.fr");
+		resolver = new SnapshotPropertyResolver(new JavaPropertiesResolver(properties, new DefaultConverter()), Arrays.asList("ogham.email.from", "ogham.email.subject"));
+	}
+
+	@Test
+	public void valuesAreReadOnce() {
+		properties.setProperty("ogham.email.from", "changed@sii.fr");
+		properties.setProperty("ogham.email.subject", "subject");
+		assertEquals("foo@sii.fr", resolver.getProperty("ogham.email.from"));
+		assertFalse(resolver.containsProperty("ogham.email.subject"));
+		assertNull(resolver.getProperty("ogham.email.subject"));
+		assertEquals("default", resolver.getProperty("ogham.email.subject", "default"));
+	}
+
+	@Test
+	public void unknownKeysAreAddedToSnapshot() {
+		assertTrue(resolver.containsProperty("ogham.email.to"));
+		properties.setProperty("ogham.email.to", "changed@sii.fr");
+		assertEquals("bar@sii.fr, baz@sii.fr", resolver.getProperty("ogham.email.to"));
+	}
+
+	@Test
+	public void convertedArraysAreCopied() {
+		String[] first = resolver.getProperty("ogham.email.to", String[].class);
+		String[] second = resolver.getProperty("ogham.email.to", String[].class);
+		assertArrayEquals(new String[] { "bar@sii.fr", "baz@sii.fr" }, first);
+		assertArrayEquals(first, second);
+		assertNotSame(first, second);
+	}
+
+	@Test
+	public void convertedValuesComeFromSnapshot() {
+		properties.setProperty("ogham.email.from", "changed@sii.fr, other@sii.fr");
+		assertArrayEquals(new String[] { "foo@sii.fr" }, resolver.getProperty("ogham.email.from", String[].class));
+	}
+
+	@Test
+	public void reloadReadsAllKnownKeys() {
+		resolver.getProperty("ogham.email.to");
+		properties.setProperty("ogham.email.from", "changed@sii.fr");
+		properties.setProperty("ogham.email.to", "changed@sii.fr");
+		properties.setProperty("ogham.email.subject", "subject");
+		resolver.reload();
+		assertEquals("changed@sii.fr", resolver.getProperty("ogham.email.from"));
+		assertEquals("changed@sii.fr", resolver.getProperty("ogham.email.to"));
+		assertEquals("subject", resolver.getProperty("ogham.email.subject"));
+	}
+}
@@ -0,0 +1,87 @@
+package fr.sii.ogham.ut.core.sender;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.sender.ConcurrencyLimitedSender;
+import fr.sii.ogham.core.sender.MessageSender;
+import fr.sii.ogham.core.util.ThreadPerTaskExecutors;
+import fr.sii.ogham.email.message.Email;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+
+public class ConcurrencyLimitedSenderTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	ExecutorService executor;
+
+	@Before
+	public void setUp() {
+		executor = ThreadPerTaskExecutors.newExecutor("test-send-");
+	}
+
+	@After
+	public void tearDown() throws InterruptedException {
+		executor.shutdown();
+		executor.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void concurrentSendsAreLimited() throws Exception {
+		SlowSender slow = new SlowSender();
+		final ConcurrencyLimitedSender sender = new ConcurrencyLimitedSender(slow, 3);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			futures.add(executor.submit(new Callable<Void>() {
+				@Override
+				public Void call() throws MessageException {
+					sender.send(new Email());
+					return null;
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			future.get(5, TimeUnit.SECONDS);
+		}
+		assertEquals(20, slow.sent.get());
+		assertTrue("at most 3 concurrent sends but was " + slow.maxInFlight.get(), slow.maxInFlight.get() <= 3);
+	}
+
+	private static class SlowSender implements MessageSender {
+		private final AtomicInteger inFlight = new AtomicInteger();
+		private final AtomicInteger maxInFlight = new AtomicInteger();
+		private final AtomicInteger sent = new AtomicInteger();
+
+		@Override
+		public void send(Message message) throws MessageException {
+			int current = inFlight.incrementAndGet();
+			int max = maxInFlight.get();
+			while (current > max && !maxInFlight.compareAndSet(max, current)) {
+				max = maxInFlight.get();
+			}
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				inFlight.decrementAndGet();
+				sent.incrementAndGet();
+			}
+		}
+	}
+}
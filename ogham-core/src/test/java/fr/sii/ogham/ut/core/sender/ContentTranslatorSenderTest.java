@@ -0,0 +1,85 @@
+package fr.sii.ogham.ut.core.sender;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.exception.handler.ContentTranslatorException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.message.content.Content;
+import fr.sii.ogham.core.message.content.StreamedContent;
+import fr.sii.ogham.core.message.content.StringContent;
+import fr.sii.ogham.core.sender.ContentTranslatorSender;
+import fr.sii.ogham.core.sender.MessageSender;
+import fr.sii.ogham.core.translator.content.ContentTranslator;
+import fr.sii.ogham.core.util.SpillToDiskOutputStream;
+import fr.sii.ogham.email.message.Email;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+
+public class ContentTranslatorSenderTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	@Rule
+	public final MockitoRule mockito = MockitoJUnit.rule();
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	@Mock
+	MessageSender delegate;
+
+	File file;
+	ContentTranslatorSender sender;
+
+	@Before
+	public void setup() throws IOException {
+		final SpillToDiskOutputStream buffer = new SpillToDiskOutputStream(4, temp.getRoot());
+		buffer.write("hello world".getBytes(StandardCharsets.UTF_8));
+		buffer.close();
+		file = buffer.getFile();
+		sender = new ContentTranslatorSender(new ContentTranslator() {
+			@Override
+			public Content translate(Content content) throws ContentTranslatorException {
+				return new StreamedContent(buffer, StandardCharsets.UTF_8);
+			}
+		}, delegate);
+	}
+
+	@Test
+	public void streamedContentReleasedOnceSent() throws MessageException {
+		assertTrue(file.exists());
+		sender.send(new Email().content(new StringContent("template")));
+		verify(delegate).send(any(Message.class));
+		assertFalse("temporary file should be deleted", file.exists());
+	}
+
+	@Test
+	public void streamedContentReleasedOnFailure() throws MessageException {
+		Email email = new Email().content(new StringContent("template"));
+		doThrow(new MessageException("failed", email)).when(delegate).send(email);
+		try {
+			sender.send(email);
+			fail("should have failed");
+		} catch (MessageException e) {
+			// expected
+		}
+		assertFalse("temporary file should be deleted", file.exists());
+	}
+}
@@ -0,0 +1,87 @@
+package fr.sii.ogham.ut.core.sender;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import fr.sii.ogham.core.builder.Builder;
+import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.sender.ConditionalSender;
+import fr.sii.ogham.core.sender.LazyConditionalSender;
+import fr.sii.ogham.email.message.Email;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+import fr.sii.ogham.sms.message.Sms;
+
+public class LazyConditionalSenderTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	@Rule
+	public final MockitoRule mockito = MockitoJUnit.rule();
+
+	@Mock
+	Builder<ConditionalSender> builder;
+	@Mock
+	ConditionalSender sender;
+
+	LazyConditionalSender lazy;
+
+	@Before
+	public void setup() {
+		when(builder.build()).thenReturn(sender);
+		when(sender.supports(any(Message.class))).thenReturn(true);
+		lazy = new LazyConditionalSender(Sms.class, builder);
+	}
+
+	@Test
+	public void otherMessageTypeDoesNotInitialize() {
+		assertFalse(lazy.supports(new Email()));
+		assertFalse(lazy.isInitialized());
+		verify(builder, times(0)).build();
+	}
+
+	@Test
+	public void initializedOnce() throws MessageException {
+		Sms sms = new Sms();
+		assertTrue(lazy.supports(sms));
+		lazy.send(sms);
+		lazy.send(sms);
+		verify(builder, times(1)).build();
+		verify(sender, times(2)).send(sms);
+	}
+
+	@Test
+	public void warmUp() {
+		lazy.warmUp();
+		assertTrue(lazy.isInitialized());
+		lazy.warmUp();
+		verify(builder, times(1)).build();
+	}
+
+	@Test
+	public void noSenderBuiltMeansNotSupported() throws MessageException {
+		when(builder.build()).thenReturn(null);
+		Sms sms = new Sms();
+		assertFalse(lazy.supports(sms));
+		assertFalse(lazy.supports(sms));
+		assertTrue(lazy.isInitialized());
+		verify(builder, times(1)).build();
+	}
+
+	@Test(expected = MessageException.class)
+	public void noSenderBuiltFailsToSend() throws MessageException {
+		when(builder.build()).thenReturn(null);
+		lazy.send(new Sms());
+	}
+}
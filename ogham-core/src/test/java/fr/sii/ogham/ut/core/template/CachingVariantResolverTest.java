@@ -0,0 +1,61 @@
+package fr.sii.ogham.ut.core.template;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import fr.sii.ogham.core.message.content.EmailVariant;
+import fr.sii.ogham.core.message.content.TemplateVariantContent;
+import fr.sii.ogham.core.template.context.SimpleContext;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+import fr.sii.ogham.template.common.adapter.CachingVariantResolver;
+import fr.sii.ogham.template.common.adapter.VariantResolver;
+import fr.sii.ogham.template.exception.VariantResolutionException;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CachingVariantResolverTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	@Mock
+	VariantResolver delegate;
+
+	TemplateVariantContent html;
+
+	@Before
+	public void setUp() {
+		html = new TemplateVariantContent("classpath:/template/foo", EmailVariant.HTML, new SimpleContext("name", "foo"));
+	}
+
+	@Test
+	public void resolvedOnceWhileNotExpired() throws VariantResolutionException {
+		when(delegate.getRealPath(html)).thenReturn("classpath:/template/foo.html");
+		when(delegate.variantExists(html)).thenReturn(false);
+		CachingVariantResolver resolver = new CachingVariantResolver(delegate, 60000);
+		for (int i = 0; i < 3; i++) {
+			assertThat(resolver.getRealPath(html), is("classpath:/template/foo.html"));
+			assertThat(resolver.variantExists(html), is(false));
+		}
+		verify(delegate, times(1)).getRealPath(html);
+		verify(delegate, times(1)).variantExists(html);
+	}
+
+	@Test
+	public void missExpires() throws InterruptedException {
+		when(delegate.variantExists(html)).thenReturn(false, true);
+		CachingVariantResolver resolver = new CachingVariantResolver(delegate, 1);
+		assertThat(resolver.variantExists(html), is(false));
+		Thread.sleep(10);
+		assertThat(resolver.variantExists(html), is(true));
+		verify(delegate, times(2)).variantExists(html);
+	}
+}
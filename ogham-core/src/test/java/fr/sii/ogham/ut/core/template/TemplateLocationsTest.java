@@ -0,0 +1,53 @@
+package fr.sii.ogham.ut.core.template;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItems;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import fr.sii.ogham.core.template.precompile.TemplateLocations;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+
+public class TemplateLocationsTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void noPattern() throws IOException {
+		assertThat(TemplateLocations.expand("classpath:/subject/trim.html"), contains("classpath:/subject/trim.html"));
+	}
+
+	@Test
+	public void classpathPattern() throws IOException {
+		List<String> templates = TemplateLocations.expand("classpath:/subject/*.html");
+		assertThat(templates, contains("classpath:/subject/emptyTitle.html", "classpath:/subject/noTitle.html", "classpath:/subject/trim.html", "classpath:/subject/withTitle.html"));
+	}
+
+	@Test
+	public void classpathAnyDepth() throws IOException {
+		List<String> templates = TemplateLocations.expand("template/**/*.html");
+		assertThat(templates, hasItems("/template/resolver/foo/bar.html"));
+	}
+
+	@Test
+	public void filePattern() throws IOException {
+		folder.newFile("a.html");
+		folder.newFile("b.txt");
+		folder.newFolder("sub");
+		folder.newFile("sub" + File.separator + "c.html");
+		String base = folder.getRoot().getAbsolutePath().replace(File.separatorChar, '/');
+		List<String> templates = TemplateLocations.expand("file:" + base + "/**/*.{html,txt}");
+		assertThat(templates, hasItems("file:" + base + "/a.html", "file:" + base + "/b.txt", "file:" + base + "/sub/c.html"));
+		assertThat(TemplateLocations.expand("file:" + base + "/*.html"), contains("file:" + base + "/a.html"));
+	}
+}
@@ -0,0 +1,83 @@
+package fr.sii.ogham.ut.core.translator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import fr.sii.ogham.core.exception.handler.ContentTranslatorException;
+import fr.sii.ogham.core.message.content.Content;
+import fr.sii.ogham.core.message.content.MultiContent;
+import fr.sii.ogham.core.message.content.StringContent;
+import fr.sii.ogham.core.translator.content.ContentTranslator;
+import fr.sii.ogham.core.translator.content.MultiContentTranslator;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+
+public class MultiContentTranslatorTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	ExecutorService executor;
+	MultiContentTranslator translator;
+
+	@Before
+	public void setup() {
+		executor = Executors.newFixedThreadPool(2);
+		translator = new MultiContentTranslator(new SlowUpperCaseTranslator(), executor);
+	}
+
+	@After
+	public void shutdown() throws InterruptedException {
+		executor.shutdownNow();
+		executor.awaitTermination(1, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void concurrentTranslationKeepsOrder() throws ContentTranslatorException {
+		Content result = translator.translate(new MultiContent("first", "second", "skip", "third"));
+		List<Content> contents = ((MultiContent) result).getContents();
+		assertEquals(3, contents.size());
+		assertEquals("FIRST", contents.get(0).toString());
+		assertEquals("SECOND", contents.get(1).toString());
+		assertEquals("THIRD", contents.get(2).toString());
+	}
+
+	@Test
+	public void notMultiContentUnchanged() throws ContentTranslatorException {
+		StringContent content = new StringContent("foo");
+		assertTrue(content == translator.translate(content));
+	}
+
+	@Test(expected = ContentTranslatorException.class)
+	public void failureOfSubmittedVariantIsPropagated() throws ContentTranslatorException {
+		translator.translate(new MultiContent("fail", "second"));
+	}
+
+	private static class SlowUpperCaseTranslator implements ContentTranslator {
+		@Override
+		public Content translate(Content content) throws ContentTranslatorException {
+			String value = content.toString();
+			if ("fail".equals(value)) {
+				throw new ContentTranslatorException("failure");
+			}
+			if ("skip".equals(value)) {
+				return null;
+			}
+			try {
+				// make the first variant finish last
+				Thread.sleep("first".equals(value) ? 50 : 1);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return new StringContent(value.toUpperCase());
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package fr.sii.ogham.ut.core.translator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import fr.sii.ogham.core.exception.handler.ContentTranslatorException;
+import fr.sii.ogham.core.message.content.Content;
+import fr.sii.ogham.core.message.content.StreamedContent;
+import fr.sii.ogham.core.message.content.StringContent;
+import fr.sii.ogham.core.translator.content.StreamedContentTranslator;
+import fr.sii.ogham.core.util.SpillToDiskOutputStream;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+
+public class StreamedContentTranslatorTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	@Test
+	public void streamedContentIsConvertedAndReleased() throws IOException, ContentTranslatorException {
+		SpillToDiskOutputStream buffer = new SpillToDiskOutputStream(4, temp.getRoot());
+		buffer.write("hello world".getBytes(StandardCharsets.UTF_8));
+		buffer.close();
+		File file = buffer.getFile();
+		assertTrue(file.exists());
+		Content result = new StreamedContentTranslator().translate(new StreamedContent(buffer, StandardCharsets.UTF_8));
+		assertTrue(result instanceof StringContent);
+		assertEquals("hello world", result.toString());
+		assertFalse("temporary file should be deleted", file.exists());
+	}
+
+	@Test
+	public void otherContentIsUnchanged() throws ContentTranslatorException {
+		Content content = new StringContent("hello");
+		assertSame(content, new StreamedContentTranslator().translate(content));
+	}
+}
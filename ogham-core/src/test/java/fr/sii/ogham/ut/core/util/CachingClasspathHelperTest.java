@@ -0,0 +1,81 @@
+package fr.sii.ogham.ut.core.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import fr.sii.ogham.core.util.classpath.CachingClasspathHelper;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+
+public class CachingClasspathHelperTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	private CountingClassLoader classLoader;
+	private CachingClasspathHelper helper;
+
+	@Before
+	public void setUp() {
+		classLoader = new CountingClassLoader(getClass().getClassLoader());
+		helper = new CachingClasspathHelper();
+		helper.setClassLoader(classLoader);
+	}
+
+	@Test
+	public void existingClassCached() {
+		assertTrue(helper.exists("java.lang.String"));
+		assertTrue(helper.exists("java.lang.String"));
+		assertEquals(1, classLoader.lookups);
+	}
+
+	@Test
+	public void missingClassCachedWithoutLoading() {
+		assertFalse(helper.exists("com.acme.Missing"));
+		assertFalse(helper.exists("com.acme.Missing"));
+		assertEquals(1, classLoader.lookups);
+		assertEquals(0, classLoader.loads);
+	}
+
+	@Test
+	public void cachePerClassLoader() {
+		assertTrue(helper.exists("java.lang.String"));
+		CountingClassLoader other = new CountingClassLoader(getClass().getClassLoader());
+		assertTrue(helper.exists("java.lang.String", other));
+		assertEquals(1, other.lookups);
+	}
+
+	@Test
+	public void clearCache() {
+		assertFalse(helper.exists("com.acme.Missing"));
+		helper.clearCache();
+		assertFalse(helper.exists("com.acme.Missing"));
+		assertEquals(2, classLoader.lookups);
+	}
+
+	private static class CountingClassLoader extends ClassLoader {
+		private int lookups;
+		private int loads;
+
+		public CountingClassLoader(ClassLoader parent) {
+			super(parent);
+		}
+
+		@Override
+		public URL getResource(String name) {
+			lookups++;
+			return super.getResource(name);
+		}
+
+		@Override
+		public Class<?> loadClass(String name) throws ClassNotFoundException {
+			loads++;
+			return super.loadClass(name);
+		}
+	}
+}
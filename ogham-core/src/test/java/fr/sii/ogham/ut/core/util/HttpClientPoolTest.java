@@ -0,0 +1,98 @@
+package fr.sii.ogham.ut.core.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import fr.sii.ogham.core.util.http.HttpClientOptions;
+import fr.sii.ogham.core.util.http.HttpClientPool;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+
+public class HttpClientPoolTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	private HttpClientPool pool;
+
+	@Before
+	public void setUp() {
+		HttpClientOptions options = new HttpClientOptions();
+		options.setAsyncThreads(1);
+		options.setAsyncQueueSize(1);
+		pool = new HttpClientPool("test", options);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		pool.close();
+	}
+
+	@Test
+	public void callerRunsRequestWhenQueueIsFull() throws InterruptedException, ExecutionException {
+		final CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = pool.getExecutor();
+		// occupies the only thread
+		Future<?> running = executor.submit(new Runnable() {
+			@Override
+			public void run() {
+				await(release);
+			}
+		});
+		// fills the queue
+		Future<?> queued = executor.submit(new Runnable() {
+			@Override
+			public void run() {
+				// nothing to do
+			}
+		});
+		final AtomicReference<Thread> thread = new AtomicReference<>();
+		executor.submit(new Runnable() {
+			@Override
+			public void run() {
+				thread.set(Thread.currentThread());
+			}
+		});
+		assertSame("executed by the caller", Thread.currentThread(), thread.get());
+		release.countDown();
+		running.get();
+		queued.get();
+	}
+
+	@Test
+	public void requestsAreRejectedOnceClosed() throws IOException {
+		ExecutorService executor = pool.getExecutor();
+		pool.close();
+		try {
+			executor.submit(new Runnable() {
+				@Override
+				public void run() {
+					fail("should not be executed");
+				}
+			});
+			fail("RejectedExecutionException expected");
+		} catch (RejectedExecutionException e) {
+			assertEquals("HTTP pool is closed", e.getMessage());
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
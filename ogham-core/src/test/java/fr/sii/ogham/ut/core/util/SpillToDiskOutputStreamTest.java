@@ -0,0 +1,71 @@
+package fr.sii.ogham.ut.core.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import fr.sii.ogham.core.util.IOUtils;
+import fr.sii.ogham.core.util.SpillToDiskOutputStream;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+
+public class SpillToDiskOutputStreamTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	@Test
+	public void smallContentStaysInMemory() throws IOException {
+		SpillToDiskOutputStream buffer = new SpillToDiskOutputStream(16, temp.getRoot());
+		buffer.write("hello".getBytes(StandardCharsets.UTF_8));
+		buffer.close();
+		assertTrue(buffer.isInMemory());
+		assertNull(buffer.getFile());
+		assertEquals(5, buffer.size());
+		assertEquals("hello", read(buffer));
+		// can be read several times
+		assertEquals("hello", read(buffer));
+	}
+
+	@Test
+	public void bigContentIsSpilledToDisk() throws IOException {
+		SpillToDiskOutputStream buffer = new SpillToDiskOutputStream(4, temp.getRoot());
+		buffer.write("hel".getBytes(StandardCharsets.UTF_8));
+		buffer.write('l');
+		buffer.write("o world".getBytes(StandardCharsets.UTF_8));
+		buffer.close();
+		assertFalse(buffer.isInMemory());
+		File file = buffer.getFile();
+		assertTrue(file.exists());
+		assertEquals(11, buffer.size());
+		assertEquals("hello world", read(buffer));
+		assertEquals("hello world", read(buffer));
+		buffer.delete();
+		assertFalse(file.exists());
+	}
+
+	@Test(expected = IOException.class)
+	public void deletedBufferCantBeRead() throws IOException {
+		SpillToDiskOutputStream buffer = new SpillToDiskOutputStream(16, temp.getRoot());
+		buffer.write("hello".getBytes(StandardCharsets.UTF_8));
+		buffer.delete();
+		buffer.getInputStream();
+	}
+
+	private static String read(SpillToDiskOutputStream buffer) throws IOException {
+		try (InputStream stream = buffer.getInputStream()) {
+			return IOUtils.toString(stream, StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -69,6 +69,7 @@ public class EqualsTest {
 	
 	@Test
 	public void byteSource() {
-		EqualsVerifier.forClass(ByteResource.class).usingGetClass().suppress(Warning.NONFINAL_FIELDS).verify();
+		// content is compared through its digest
+		EqualsVerifier.forClass(ByteResource.class).usingGetClass().suppress(Warning.NONFINAL_FIELDS, Warning.ALL_FIELDS_SHOULD_BE_USED).verify();
 	}
 }
@@ -0,0 +1,74 @@
+package fr.sii.ogham.ut.html.inliner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import fr.sii.ogham.core.exception.resource.ResourceResolutionException;
+import fr.sii.ogham.core.resource.ByteResource;
+import fr.sii.ogham.core.resource.resolver.ResourceResolver;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+import fr.sii.ogham.html.inliner.TemplateCssInliner;
+import fr.sii.ogham.html.inliner.impl.jsoup.JsoupCssInliner;
+
+public class TemplateCssInlinerTest {
+	private static final String TEMPLATE = "<html><head><link rel=\"stylesheet\" href=\"style.css\" /></head><body><p th:text=\"${name}\">name</p><br /></body></html>";
+
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	@Rule
+	public final MockitoRule mockito = MockitoJUnit.rule();
+
+	@Mock
+	ResourceResolver resolver;
+
+	TemplateCssInliner inliner;
+
+	@Before
+	public void setup() throws ResourceResolutionException {
+		when(resolver.getResource("style.css")).thenReturn(new ByteResource("style.css", "p {color: red;}".getBytes(StandardCharsets.UTF_8)));
+		inliner = new TemplateCssInliner(new JsoupCssInliner(true), resolver);
+	}
+
+	@Test
+	public void inlinedOnceAndKeepsTemplateAttributes() throws ResourceResolutionException {
+		String inlined = inliner.inline("template", TEMPLATE);
+		assertTrue(inlined.contains("style=\"color: red;\""));
+		assertTrue(inlined.contains("th:text=\"${name}\""));
+		assertTrue(inlined.contains("<br />"));
+		assertFalse(inlined.contains("<link"));
+		assertEquals(inlined, inliner.inline("template", TEMPLATE));
+		verify(resolver, times(1)).getResource("style.css");
+	}
+
+	@Test
+	public void renderTimeMarkerSkipsTemplate() {
+		String template = TEMPLATE.replace("<p ", "<p " + TemplateCssInliner.RENDER_TIME_ATTR + " ");
+		assertEquals(template, inliner.inline("template", template));
+	}
+
+	@Test
+	public void dynamicStylesheetPathSkipsTemplate() {
+		String template = TEMPLATE.replace("style.css", "${theme}.css");
+		assertEquals(template, inliner.inline("template", template));
+	}
+
+	@Test
+	public void missingStylesheetSkipsTemplate() throws ResourceResolutionException {
+		when(resolver.getResource("style.css")).thenThrow(new ResourceResolutionException("not found", "style.css"));
+		assertEquals(TEMPLATE, inliner.inline("template", TEMPLATE));
+	}
+}
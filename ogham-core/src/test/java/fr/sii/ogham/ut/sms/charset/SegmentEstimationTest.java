@@ -0,0 +1,77 @@
+package fr.sii.ogham.ut.sms.charset;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.Charset;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import fr.sii.ogham.core.charset.FixedCharsetDetector;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+import fr.sii.ogham.sms.charset.SegmentEstimation;
+import fr.sii.ogham.sms.charset.SmsCharsetDetector;
+import fr.sii.ogham.sms.charset.SmsEncoding;
+import fr.sii.ogham.sms.message.Sms;
+
+public class SegmentEstimationTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	@Test
+	public void gsmBasic() {
+		SegmentEstimation estimation = new Sms().content("Hello @ world £ è").estimateSegments();
+		assertEquals(SmsEncoding.GSM_7, estimation.getEncoding());
+		assertEquals(17, estimation.getLength());
+		assertEquals(1, estimation.getSegments());
+	}
+
+	@Test
+	public void gsmExtensionCountsTwoSeptets() {
+		SegmentEstimation estimation = SegmentEstimation.estimate("{€}");
+		assertEquals(SmsEncoding.GSM_7, estimation.getEncoding());
+		assertEquals(6, estimation.getLength());
+	}
+
+	@Test
+	public void gsmLongMessage() {
+		assertEquals(1, SegmentEstimation.estimate(repeat('a', 160)).getSegments());
+		assertEquals(2, SegmentEstimation.estimate(repeat('a', 161)).getSegments());
+		assertEquals(2, SegmentEstimation.estimate(repeat('a', 306)).getSegments());
+		assertEquals(3, SegmentEstimation.estimate(repeat('a', 307)).getSegments());
+	}
+
+	@Test
+	public void gsmUnpackedLongMessage() {
+		SegmentEstimation estimation = new Sms().content(repeat('a', 141)).estimateSegments(false);
+		assertEquals(SmsEncoding.GSM_7_UNPACKED, estimation.getEncoding());
+		assertEquals(2, estimation.getSegments());
+		assertEquals(1, SegmentEstimation.estimate(repeat('a', 140), false).getSegments());
+		assertEquals(2, SegmentEstimation.estimate(repeat('a', 268), false).getSegments());
+		assertEquals(3, SegmentEstimation.estimate(repeat('a', 269), false).getSegments());
+	}
+
+	@Test
+	public void unicode() {
+		SegmentEstimation estimation = SegmentEstimation.estimate("Hello ç " + repeat('a', 70));
+		assertEquals(SmsEncoding.UCS_2, estimation.getEncoding());
+		assertEquals(78, estimation.getLength());
+		assertEquals(2, estimation.getSegments());
+	}
+
+	@Test
+	public void detector() {
+		Charset utf8 = Charset.forName("UTF-8");
+		SmsCharsetDetector detector = new SmsCharsetDetector(new FixedCharsetDetector(utf8));
+		assertEquals(utf8, detector.detect("Hello [world]"));
+		assertEquals(Charset.forName("UTF-16BE"), detector.detect("Hello ç"));
+	}
+
+	private static String repeat(char c, int times) {
+		StringBuilder sb = new StringBuilder(times);
+		for (int i = 0; i < times; i++) {
+			sb.append(c);
+		}
+		return sb.toString();
+	}
+}
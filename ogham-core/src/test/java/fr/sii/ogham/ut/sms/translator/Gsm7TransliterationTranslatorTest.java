@@ -0,0 +1,59 @@
+package fr.sii.ogham.ut.sms.translator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import fr.sii.ogham.core.builder.env.SimpleEnvironmentBuilder;
+import fr.sii.ogham.core.exception.handler.ContentTranslatorException;
+import fr.sii.ogham.core.message.content.Content;
+import fr.sii.ogham.core.message.content.StringContent;
+import fr.sii.ogham.core.translator.content.ContentTranslator;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+import fr.sii.ogham.sms.builder.TransliterationBuilder;
+import fr.sii.ogham.sms.charset.Gsm7TransliterationTable;
+import fr.sii.ogham.sms.charset.SegmentEstimation;
+import fr.sii.ogham.sms.charset.SmsEncoding;
+import fr.sii.ogham.sms.translator.Gsm7TransliterationTranslator;
+import fr.sii.ogham.sms.translator.Gsm7TransliterationTranslator.Transliteration;
+
+public class Gsm7TransliterationTranslatorTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	@Test
+	public void replaceNonGsmCharacters() {
+		Gsm7TransliterationTranslator translator = new Gsm7TransliterationTranslator();
+		Transliteration result = translator.transliterate("“Ça” coûte 5€ – déjà");
+		assertEquals("\"Ça\" coute 5€ - déjà", result.getText());
+		assertEquals(4, result.getReplaced());
+		assertEquals(SmsEncoding.GSM_7, SegmentEstimation.estimate(result.getText()).getEncoding());
+		assertEquals(4, translator.getReplacedCount());
+	}
+
+	@Test
+	public void gsmContentUnchanged() throws ContentTranslatorException {
+		Content content = new StringContent("Hello world é");
+		assertSame(content, new Gsm7TransliterationTranslator().translate(content));
+	}
+
+	@Test
+	public void customMapping() throws ContentTranslatorException {
+		Gsm7TransliterationTable table = new Gsm7TransliterationTable(Collections.singletonMap('ç', "ss"));
+		Content content = new Gsm7TransliterationTranslator(table).translate(new StringContent("façade ’"));
+		assertEquals("fassade '", content.toString());
+	}
+
+	@Test
+	public void builderProvidesReplacedCount() throws ContentTranslatorException {
+		TransliterationBuilder builder = new TransliterationBuilder(null, new SimpleEnvironmentBuilder<>(null));
+		ContentTranslator translator = builder.enable(true).build();
+		translator.translate(new StringContent("“Ça” coûte"));
+		translator.translate(new StringContent("déjà – vu"));
+		assertEquals(4, builder.getReplacedCount());
+	}
+}
@@ -55,6 +55,19 @@ import fr.sii.ogham.email.sender.impl.javamail.UsernamePasswordAuthenticator;
  * email body if defined. Default charset is UTF-8</li>
  * </ul>
  * </li>
+ * <li>Configures recipient chunking:
+ * <ul>
+ * <li>If "ogham.email.javamail.chunking.recipients-per-transaction" property is
+ * defined, recipients are split into several SMTP transactions of at most this
+ * number of recipients</li>
+ * <li>It uses "ogham.email.javamail.chunking.split-by-domain" property value
+ * to never mix recipients of different domains in the same transaction.
+ * Default to false</li>
+ * <li>It uses "ogham.email.javamail.chunking.parallelism" property value as
+ * the maximum number of transactions sent concurrently (and the number of
+ * pooled connections). Default to 1</li>
+ * </ul>
+ * </li>
  * <li>Configures mimetype detection:
  * <ul>
  * <li>Uses Apache Tika to detect mimetype</li>
@@ -85,6 +98,9 @@ public class DefaultJavaMailConfigurer implements MessagingConfigurer {
 					.password("${ogham.email.javamail.authenticator.password}")
 					.and()
 				.charset("${ogham.email.javamail.body.charset}", "UTF-8")
+				.recipientsPerTransaction("${ogham.email.javamail.chunking.recipients-per-transaction}")
+				.splitRecipientsByDomain("${ogham.email.javamail.chunking.split-by-domain}")
+				.transactionParallelism("${ogham.email.javamail.chunking.parallelism}")
 				.mimetype()
 					.tika()
 						.failIfOctetStream(false)
@@ -36,6 +36,7 @@ import fr.sii.ogham.core.convert.DefaultConverter;
 import fr.sii.ogham.core.env.PropertyResolver;
 import fr.sii.ogham.core.message.Message;
 import fr.sii.ogham.core.message.content.MultiContent;
+import fr.sii.ogham.core.message.content.StreamedContent;
 import fr.sii.ogham.core.message.content.StringContent;
 import fr.sii.ogham.core.mimetype.MimeTypeProvider;
 import fr.sii.ogham.core.resource.ByteResource;
@@ -49,11 +50,15 @@ import fr.sii.ogham.email.sender.impl.JavaMailSender;
 import fr.sii.ogham.email.sender.impl.PropertiesBridge;
 import fr.sii.ogham.email.sender.impl.javamail.ContentWithAttachmentsHandler;
 import fr.sii.ogham.email.sender.impl.javamail.FileResourceHandler;
+import fr.sii.ogham.email.sender.impl.javamail.JavaMailAttachmentResourceHandler;
 import fr.sii.ogham.email.sender.impl.javamail.JavaMailInterceptor;
 import fr.sii.ogham.email.sender.impl.javamail.MapAttachmentResourceHandler;
 import fr.sii.ogham.email.sender.impl.javamail.MapContentHandler;
 import fr.sii.ogham.email.sender.impl.javamail.MultiContentHandler;
+import fr.sii.ogham.email.sender.impl.javamail.PreEncodedAttachmentResourceHandler;
+import fr.sii.ogham.email.sender.impl.javamail.RecipientChunkingOptions;
 import fr.sii.ogham.email.sender.impl.javamail.StreamResourceHandler;
+import fr.sii.ogham.email.sender.impl.javamail.StreamedContentHandler;
 import fr.sii.ogham.email.sender.impl.javamail.StringContentHandler;
 
 /**
@@ -161,6 +166,11 @@ public class JavaMailBuilder extends AbstractParent<EmailBuilder> implements Bui
 	private List<String> charsets;
 	private Charset charset;
 	private CharsetDetector charsetDetector;
+	private int preEncodedAttachments;
+	private RecipientChunkingOptions recipientChunking;
+	private List<String> recipientsPerTransaction;
+	private List<String> splitByDomain;
+	private List<String> transactionParallelism;
 
 	/**
 	 * Default constructor when using JavaMail sender without all Ogham work.
@@ -191,6 +201,9 @@ public class JavaMailBuilder extends AbstractParent<EmailBuilder> implements Bui
 		hosts = new ArrayList<>();
 		ports = new ArrayList<>();
 		charsets = new ArrayList<>();
+		recipientsPerTransaction = new ArrayList<>();
+		splitByDomain = new ArrayList<>();
+		transactionParallelism = new ArrayList<>();
 	}
 
 	/**
@@ -516,6 +529,198 @@ public class JavaMailBuilder extends AbstractParent<EmailBuilder> implements Bui
 		return this;
 	}
 
+	/**
+	 * Keeps the base64 encoded content of attachments (including attached
+	 * images) in a cache. The same attachments (a logo, a PDF...) are often
+	 * sent with every email. With the cache, mimetype detection and base64
+	 * encoding are done only once per resource and the encoded bytes are
+	 * directly written in the MIME message.
+	 * 
+	 * <p>
+	 * Resources bigger than
+	 * {@link PreEncodedAttachmentResourceHandler#DEFAULT_MAX_RESOURCE_SIZE} are
+	 * never cached.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * @param maxEntries
+	 *            the maximum number of cached attachments (0 to disable the
+	 *            cache)
+	 * @return this instance for fluent chaining
+	 */
+	public JavaMailBuilder preEncodedAttachments(int maxEntries) {
+		this.preEncodedAttachments = maxEntries;
+		return this;
+	}
+
+	/**
+	 * Splits the recipients of an email into several SMTP transactions. Useful
+	 * for emails with a very large list of recipients (SMTP servers often
+	 * limit the number of recipients per transaction).
+	 * 
+	 * <p>
+	 * The MIME message is rendered only once and the same bytes are sent in
+	 * each transaction. Transactions are sent through pooled connections,
+	 * possibly in parallel. If some recipients couldn't be delivered, a
+	 * {@link fr.sii.ogham.core.exception.PartialDeliveryException}
+	 * provides the reason for each failed recipient.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * @param recipientsPerTransaction
+	 *            the maximum number of recipients in a single transaction
+	 * @param splitByDomain
+	 *            true to never mix recipients of different domains in the same
+	 *            transaction
+	 * @param parallelism
+	 *            the maximum number of transactions sent concurrently
+	 * @return this instance for fluent chaining
+	 */
+	public JavaMailBuilder recipientChunking(int recipientsPerTransaction, boolean splitByDomain, int parallelism) {
+		return recipientChunking(new RecipientChunkingOptions(recipientsPerTransaction, splitByDomain, parallelism));
+	}
+
+	/**
+	 * Splits the recipients of an email into several SMTP transactions. See
+	 * {@link #recipientChunking(int, boolean, int)}.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * This value preempts any other value defined by calling
+	 * {@link #recipientsPerTransaction(String...)},
+	 * {@link #splitRecipientsByDomain(String...)} and
+	 * {@link #transactionParallelism(String...)} methods.
+	 * 
+	 * @param options
+	 *            the chunking options (null to send a single transaction)
+	 * @return this instance for fluent chaining
+	 */
+	public JavaMailBuilder recipientChunking(RecipientChunkingOptions options) {
+		this.recipientChunking = options;
+		return this;
+	}
+
+	/**
+	 * Set the maximum number of recipients in a single SMTP transaction.
+	 * Recipients are split into several transactions only if this value is
+	 * defined (see {@link #recipientChunking(int, boolean, int)}).
+	 * 
+	 * You can specify a direct value. For example:
+	 * 
+	 * <pre>
+	 * .recipientsPerTransaction("100");
+	 * </pre>
+	 * 
+	 * <p>
+	 * You can also specify one or several property keys. For example:
+	 * 
+	 * <pre>
+	 * .recipientsPerTransaction("${custom.property.high-priority}", "${custom.property.low-priority}");
+	 * </pre>
+	 * 
+	 * The properties are not immediately evaluated. The evaluation will be done
+	 * when the {@link #build()} method is called.
+	 * 
+	 * If you provide several property keys, evaluation will be done on the
+	 * first key and if the property exists (see {@link EnvironmentBuilder}),
+	 * its value is used. If the first property doesn't exist in properties,
+	 * then it tries with the second one and so on.
+	 * 
+	 * @param recipientsPerTransaction
+	 *            one value, or one or several property keys
+	 * @return this instance for fluent chaining
+	 */
+	public JavaMailBuilder recipientsPerTransaction(String... recipientsPerTransaction) {
+		for (String r : recipientsPerTransaction) {
+			if (r != null) {
+				this.recipientsPerTransaction.add(r);
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Never mix recipients of different domains in the same SMTP transaction
+	 * (only used if recipients are split, see
+	 * {@link #recipientsPerTransaction(String...)}). Default to false.
+	 * 
+	 * You can specify a direct value. For example:
+	 * 
+	 * <pre>
+	 * .splitRecipientsByDomain("true");
+	 * </pre>
+	 * 
+	 * <p>
+	 * You can also specify one or several property keys. For example:
+	 * 
+	 * <pre>
+	 * .splitRecipientsByDomain("${custom.property.high-priority}", "${custom.property.low-priority}");
+	 * </pre>
+	 * 
+	 * The properties are not immediately evaluated. The evaluation will be done
+	 * when the {@link #build()} method is called.
+	 * 
+	 * If you provide several property keys, evaluation will be done on the
+	 * first key and if the property exists (see {@link EnvironmentBuilder}),
+	 * its value is used. If the first property doesn't exist in properties,
+	 * then it tries with the second one and so on.
+	 * 
+	 * @param splitByDomain
+	 *            one value, or one or several property keys
+	 * @return this instance for fluent chaining
+	 */
+	public JavaMailBuilder splitRecipientsByDomain(String... splitByDomain) {
+		for (String s : splitByDomain) {
+			if (s != null) {
+				this.splitByDomain.add(s);
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Set the maximum number of SMTP transactions sent concurrently. This is
+	 * also the number of pooled connections (only used if recipients are
+	 * split, see {@link #recipientsPerTransaction(String...)}). Default to 1.
+	 * 
+	 * You can specify a direct value. For example:
+	 * 
+	 * <pre>
+	 * .transactionParallelism("4");
+	 * </pre>
+	 * 
+	 * <p>
+	 * You can also specify one or several property keys. For example:
+	 * 
+	 * <pre>
+	 * .transactionParallelism("${custom.property.high-priority}", "${custom.property.low-priority}");
+	 * </pre>
+	 * 
+	 * The properties are not immediately evaluated. The evaluation will be done
+	 * when the {@link #build()} method is called.
+	 * 
+	 * If you provide several property keys, evaluation will be done on the
+	 * first key and if the property exists (see {@link EnvironmentBuilder}),
+	 * its value is used. If the first property doesn't exist in properties,
+	 * then it tries with the second one and so on.
+	 * 
+	 * @param parallelism
+	 *            one value, or one or several property keys
+	 * @return this instance for fluent chaining
+	 */
+	public JavaMailBuilder transactionParallelism(String... parallelism) {
+		for (String p : parallelism) {
+			if (p != null) {
+				this.transactionParallelism.add(p);
+			}
+		}
+		return this;
+	}
+
 	/**
 	 * Builder that configures mimetype detection. Detection is used here to
 	 * detect mimetype of {@link Attachment}s.
@@ -601,7 +806,7 @@ public class JavaMailBuilder extends AbstractParent<EmailBuilder> implements Bui
 		MimeTypeProvider mimetypeProvider = mimetype().build();
 		LOG.info("Sending email using JavaMail API is registered");
 		LOG.debug("SMTP server address: {}:{}", props.getProperty("mail.host"), props.getProperty("mail.port"));
-		return new JavaMailSender(props, buildContentHandler(mimetypeProvider), buildAttachmentHandler(mimetypeProvider), buildAuthenticator(), interceptor);
+		return new JavaMailSender(props, buildContentHandler(mimetypeProvider), buildAttachmentHandler(mimetypeProvider), buildAuthenticator(), interceptor, buildRecipientChunking());
 	}
 
 	@Override
@@ -639,6 +844,7 @@ public class JavaMailBuilder extends AbstractParent<EmailBuilder> implements Bui
 		MapContentHandler contentHandler = new MapContentHandler();
 		contentHandler.addContentHandler(MultiContent.class, new MultiContentHandler(contentHandler));
 		contentHandler.addContentHandler(StringContent.class, new StringContentHandler(mimetypeProvider, buildCharset()));
+		contentHandler.addContentHandler(StreamedContent.class, new StreamedContentHandler(mimetypeProvider));
 		contentHandler.addContentHandler(ContentWithAttachments.class, new ContentWithAttachmentsHandler(contentHandler));
 		return contentHandler;
 	}
@@ -657,6 +863,20 @@ public class JavaMailBuilder extends AbstractParent<EmailBuilder> implements Bui
 		return new FixedCharsetDetector();
 	}
 
+	private RecipientChunkingOptions buildRecipientChunking() {
+		if (recipientChunking != null) {
+			return recipientChunking;
+		}
+		PropertyResolver propertyResolver = getPropertyResolver();
+		Integer maxRecipients = BuilderUtils.evaluate(recipientsPerTransaction, propertyResolver, Integer.class);
+		if (maxRecipients == null) {
+			return null;
+		}
+		Boolean byDomain = BuilderUtils.evaluate(splitByDomain, propertyResolver, Boolean.class);
+		Integer parallelism = BuilderUtils.evaluate(transactionParallelism, propertyResolver, Integer.class);
+		return new RecipientChunkingOptions(maxRecipients, byDomain != null && byDomain, parallelism == null ? 1 : parallelism);
+	}
+
 	private PropertyResolver getPropertyResolver() {
 		if (environmentBuilder != null) {
 			return environmentBuilder.build();
@@ -664,10 +884,14 @@ public class JavaMailBuilder extends AbstractParent<EmailBuilder> implements Bui
 		return BuilderUtils.getDefaultPropertyResolver(BuilderUtils.getDefaultProperties());
 	}
 
-	private MapAttachmentResourceHandler buildAttachmentHandler(MimeTypeProvider mimetypeProvider) {
+	private JavaMailAttachmentResourceHandler buildAttachmentHandler(MimeTypeProvider mimetypeProvider) {
 		MapAttachmentResourceHandler attachmentHandler = new MapAttachmentResourceHandler();
 		attachmentHandler.addResourceHandler(ByteResource.class, new StreamResourceHandler(mimetypeProvider));
 		attachmentHandler.addResourceHandler(FileResource.class, new FileResourceHandler(mimetypeProvider));
+		if (preEncodedAttachments > 0) {
+			LOG.debug("Encoded content of attachments is cached (max {} attachments)", preEncodedAttachments);
+			return new PreEncodedAttachmentResourceHandler(attachmentHandler, preEncodedAttachments, PreEncodedAttachmentResourceHandler.DEFAULT_MAX_RESOURCE_SIZE);
+		}
 		return attachmentHandler;
 	}
 
@@ -1,12 +1,27 @@
 package fr.sii.ogham.email.sender.impl;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import javax.mail.Address;
 import javax.mail.Authenticator;
 import javax.mail.Message.RecipientType;
 import javax.mail.MessagingException;
 import javax.mail.Multipart;
+import javax.mail.SendFailedException;
 import javax.mail.Session;
 import javax.mail.Transport;
 import javax.mail.internet.AddressException;
@@ -20,6 +35,8 @@ import org.slf4j.LoggerFactory;
 
 import fr.sii.ogham.core.env.PropertyResolver;
 import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.exception.MessageNotSentException;
+import fr.sii.ogham.core.exception.PartialDeliveryException;
 import fr.sii.ogham.core.sender.AbstractSpecializedSender;
 import fr.sii.ogham.email.attachment.Attachment;
 import fr.sii.ogham.email.attachment.ContentDisposition;
@@ -31,14 +48,38 @@ import fr.sii.ogham.email.message.Recipient;
 import fr.sii.ogham.email.sender.impl.javamail.JavaMailAttachmentResourceHandler;
 import fr.sii.ogham.email.sender.impl.javamail.JavaMailContentHandler;
 import fr.sii.ogham.email.sender.impl.javamail.JavaMailInterceptor;
+import fr.sii.ogham.email.sender.impl.javamail.PreEncodedAttachmentResourceHandler;
+import fr.sii.ogham.email.sender.impl.javamail.RecipientChunker;
+import fr.sii.ogham.email.sender.impl.javamail.RecipientChunkingOptions;
+import fr.sii.ogham.email.sender.impl.javamail.RenderedMimeMessage;
+import fr.sii.ogham.email.sender.impl.javamail.TransportPool;
 
 /**
  * Java mail API implementation.
  * 
+ * <p>
+ * If {@link RecipientChunkingOptions} are provided, the recipients are split
+ * into several SMTP transactions. The MIME message is rendered only once and
+ * the same bytes are sent for each transaction. Transactions are sent using
+ * pooled connections, possibly in parallel. If some recipients couldn't be
+ * delivered, a {@link PartialDeliveryException} indicates the reason for each
+ * failed recipient. If no recipient has been delivered at all, a
+ * {@link MessageNotSentException} is thrown instead.
+ * </p>
+ * 
+ * <p>
+ * Pooled connections and threads are released when the sender is closed.
+ * There is no need to close the sender directly: closing the
+ * {@link fr.sii.ogham.core.service.MessagingService} closes every registered
+ * sender. When the messaging service is a Spring bean, Spring closes it
+ * automatically when the application context is closed (inferred destroy
+ * method).
+ * </p>
+ * 
  * @author Aurélien Baudet
  * @see JavaMailContentHandler
  */
-public class JavaMailSender extends AbstractSpecializedSender<Email> {
+public class JavaMailSender extends AbstractSpecializedSender<Email> implements Closeable {
 	private static final Logger LOG = LoggerFactory.getLogger(JavaMailSender.class);
 
 	/**
@@ -66,6 +107,22 @@ public class JavaMailSender extends AbstractSpecializedSender<Email> {
 	 */
 	private Authenticator authenticator;
 
+	/**
+	 * Split recipients into several transactions (null to send only one
+	 * transaction)
+	 */
+	private RecipientChunkingOptions chunkingOptions;
+
+	/**
+	 * Pooled connections used to send chunks (lazily created)
+	 */
+	private TransportPool transportPool;
+
+	/**
+	 * Threads used to send chunks in parallel (lazily created)
+	 */
+	private ExecutorService executor;
+
 	public JavaMailSender(PropertyResolver propertyResolver, JavaMailContentHandler contentHandler, JavaMailAttachmentResourceHandler attachmentResourceHandler, Authenticator authenticator) {
 		this(new PropertiesBridge(propertyResolver), contentHandler, attachmentResourceHandler, authenticator);
 	}
@@ -79,12 +136,18 @@ public class JavaMailSender extends AbstractSpecializedSender<Email> {
 	}
 
 	public JavaMailSender(Properties properties, JavaMailContentHandler contentHandler, JavaMailAttachmentResourceHandler attachmentHandler, Authenticator authenticator, JavaMailInterceptor interceptor) {
+		this(properties, contentHandler, attachmentHandler, authenticator, interceptor, null);
+	}
+
+	public JavaMailSender(Properties properties, JavaMailContentHandler contentHandler, JavaMailAttachmentResourceHandler attachmentHandler, Authenticator authenticator, JavaMailInterceptor interceptor,
+			RecipientChunkingOptions chunkingOptions) {
 		super();
 		this.properties = properties;
 		this.contentHandler = contentHandler;
 		this.attachmentHandler = attachmentHandler;
 		this.authenticator = authenticator;
 		this.interceptor = interceptor;
+		this.chunkingOptions = chunkingOptions;
 	}
 
 	@Override
@@ -110,12 +173,28 @@ public class JavaMailSender extends AbstractSpecializedSender<Email> {
 			LOG.info("Sending email using Java Mail API through server {}:{}...", 
 					properties.getProperty("mail.smtp.host", properties.getProperty("mail.host")),
 					properties.getProperty("mail.smtp.port", properties.getProperty("mail.port")));
-			Transport.send(mimeMsg);
+			if (chunkingOptions == null) {
+				Transport.send(mimeMsg);
+			} else {
+				sendInChunks(email, mimeMsg);
+			}
 		} catch (UnsupportedEncodingException | MessagingException | ContentHandlerException | AttachmentResourceHandlerException e) {
 			throw new MessageException("failed to send message using Java Mail API", email, e);
 		}
 	}
 
+	@Override
+	public synchronized void close() {
+		if (executor != null) {
+			executor.shutdown();
+			executor = null;
+		}
+		if (transportPool != null) {
+			transportPool.close();
+			transportPool = null;
+		}
+	}
+
 	/**
 	 * Initialize the session and create the mime message.
 	 * 
@@ -123,10 +202,149 @@ public class JavaMailSender extends AbstractSpecializedSender<Email> {
 	 */
 	private MimeMessage createMimeMessage() {
 		// prepare the message
-		Session session = Session.getInstance(properties, authenticator);
+		Session session = chunkingOptions == null ? Session.getInstance(properties, authenticator) : getTransportPool().getSession();
 		return new MimeMessage(session);
 	}
 
+	/**
+	 * Renders the message once and sends it in several transactions (one per
+	 * chunk of recipients).
+	 * 
+	 * @param email
+	 *            the source email
+	 * @param mimeMsg
+	 *            the message to send
+	 * @throws MessagingException
+	 *             when the message couldn't be rendered
+	 * @throws MessageException
+	 *             when the message couldn't be delivered to some recipients
+	 */
+	private void sendInChunks(Email email, MimeMessage mimeMsg) throws MessagingException, MessageException {
+		Address[] recipients = mimeMsg.getAllRecipients();
+		if (recipients == null || recipients.length == 0) {
+			throw new MessageException("failed to send message using Java Mail API: no recipient", email);
+		}
+		final byte[] rendered = render(email, mimeMsg);
+		final TransportPool pool = getTransportPool();
+		List<Address[]> chunks = new RecipientChunker(chunkingOptions).split(recipients);
+		LOG.debug("Sending email to {} recipients in {} transactions", recipients.length, chunks.size());
+		final Map<String, Exception> failures = Collections.synchronizedMap(new LinkedHashMap<String, Exception>());
+		final List<String> delivered = Collections.synchronizedList(new ArrayList<String>());
+		if (chunkingOptions.getParallelism() == 1 || chunks.size() == 1) {
+			for (Address[] chunk : chunks) {
+				sendChunk(pool, rendered, chunk, failures, delivered);
+			}
+		} else {
+			List<Future<?>> futures = new ArrayList<>(chunks.size());
+			for (final Address[] chunk : chunks) {
+				futures.add(getExecutor().submit(new Runnable() {
+					@Override
+					public void run() {
+						sendChunk(pool, rendered, chunk, failures, delivered);
+					}
+				}));
+			}
+			await(email, futures);
+		}
+		if (!failures.isEmpty() && delivered.isEmpty()) {
+			throw new MessageNotSentException("none of the " + recipients.length + " recipients could be delivered using Java Mail API", email, failures.values().iterator().next());
+		}
+		if (!failures.isEmpty()) {
+			throw new PartialDeliveryException(failures.size() + " of " + recipients.length + " recipients couldn't be delivered using Java Mail API", email,
+					new LinkedHashMap<>(failures), new ArrayList<>(delivered));
+		}
+	}
+
+	private static byte[] render(Email email, MimeMessage mimeMsg) throws MessagingException, MessageException {
+		try {
+			return RenderedMimeMessage.render(mimeMsg);
+		} catch (IOException e) {
+			throw new MessageException("failed to render message using Java Mail API", email, e);
+		}
+	}
+
+	private static void sendChunk(TransportPool pool, byte[] rendered, Address[] chunk, Map<String, Exception> failures, List<String> delivered) {
+		Transport transport = null;
+		try {
+			transport = pool.borrow();
+			transport.sendMessage(new RenderedMimeMessage(pool.getSession(), rendered), chunk);
+			pool.release(transport);
+			addAll(delivered, chunk);
+		} catch (SendFailedException e) {
+			// some recipients have been rejected but the connection may still
+			// be usable
+			release(pool, transport);
+			addAll(delivered, e.getValidSentAddresses());
+			if (e.getInvalidAddresses() == null && e.getValidUnsentAddresses() == null) {
+				addFailures(failures, chunk, e);
+			} else {
+				addFailures(failures, e.getInvalidAddresses(), e);
+				addFailures(failures, e.getValidUnsentAddresses(), e);
+			}
+		} catch (MessagingException | RuntimeException e) {
+			if (transport != null) {
+				pool.invalidate(transport);
+			}
+			addFailures(failures, chunk, e);
+		}
+	}
+
+	private static void release(TransportPool pool, Transport transport) {
+		if (transport == null) {
+			return;
+		}
+		if (transport.isConnected()) {
+			pool.release(transport);
+		} else {
+			pool.invalidate(transport);
+		}
+	}
+
+	private static void await(Email email, List<Future<?>> futures) throws MessageException {
+		try {
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MessageException("interrupted while sending message using Java Mail API", email, e);
+		} catch (ExecutionException e) {
+			throw new MessageException("failed to send message using Java Mail API", email, e.getCause());
+		}
+	}
+
+	private static void addAll(List<String> addresses, Address[] chunk) {
+		if (chunk == null) {
+			return;
+		}
+		for (Address address : chunk) {
+			addresses.add(address.toString());
+		}
+	}
+
+	private static void addFailures(Map<String, Exception> failures, Address[] addresses, Exception cause) {
+		if (addresses == null) {
+			return;
+		}
+		for (Address address : addresses) {
+			failures.put(address.toString(), cause);
+		}
+	}
+
+	private synchronized TransportPool getTransportPool() {
+		if (transportPool == null) {
+			transportPool = new TransportPool(Session.getInstance(properties, authenticator), chunkingOptions.getParallelism());
+		}
+		return transportPool;
+	}
+
+	private synchronized ExecutorService getExecutor() {
+		if (executor == null) {
+			executor = Executors.newFixedThreadPool(chunkingOptions.getParallelism(), new DeliveryThreadFactory());
+		}
+		return executor;
+	}
+
 	/**
 	 * Set the sender address on the mime message.
 	 * 
@@ -276,7 +494,7 @@ public class JavaMailSender extends AbstractSpecializedSender<Email> {
 	 *             when the attachment couldn't be attached
 	 */
 	private void addAttachment(Multipart multipart, Attachment attachment) throws AttachmentResourceHandlerException {
-		MimeBodyPart part = new MimeBodyPart();
+		MimeBodyPart part = newAttachmentPart();
 		try {
 			part.setFileName(attachment.getResource().getName());
 			part.setDisposition(attachment.getDisposition());
@@ -289,6 +507,14 @@ public class JavaMailSender extends AbstractSpecializedSender<Email> {
 		}
 	}
 
+	private MimeBodyPart newAttachmentPart() {
+		if (attachmentHandler instanceof PreEncodedAttachmentResourceHandler) {
+			// encoded content is directly written in the MIME stream
+			return ((PreEncodedAttachmentResourceHandler) attachmentHandler).newBodyPart();
+		}
+		return new MimeBodyPart();
+	}
+
 	private RecipientType convert(fr.sii.ogham.email.message.RecipientType type) {
 		switch (type) {
 		case BCC:
@@ -310,4 +536,19 @@ public class JavaMailSender extends AbstractSpecializedSender<Email> {
 	public String toString() {
 		return "JavaMailSender";
 	}
+
+	public RecipientChunkingOptions getChunkingOptions() {
+		return chunkingOptions;
+	}
+
+	private static class DeliveryThreadFactory implements ThreadFactory {
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "ogham-javamail-delivery-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
 }
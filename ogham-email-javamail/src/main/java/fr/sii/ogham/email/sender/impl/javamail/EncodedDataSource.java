@@ -0,0 +1,67 @@
+package fr.sii.ogham.email.sender.impl.javamail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import javax.activation.DataSource;
+
+/**
+ * Immutable {@link DataSource} that provides content that is already encoded
+ * (for example in base64). The content is never modified so the same instance
+ * can be shared by several messages (and several threads).
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class EncodedDataSource implements DataSource {
+	private final String name;
+	private final String contentType;
+	private final byte[] encoded;
+
+	/**
+	 * Initializes with the name, the content type of the original content and
+	 * the encoded content.
+	 * 
+	 * @param name
+	 *            the name of the content
+	 * @param contentType
+	 *            the content type of the original content
+	 * @param encoded
+	 *            the encoded content
+	 */
+	public EncodedDataSource(String name, String contentType, byte[] encoded) {
+		super();
+		this.name = name;
+		this.contentType = contentType;
+		this.encoded = encoded;
+	}
+
+	@Override
+	public InputStream getInputStream() throws IOException {
+		return new ByteArrayInputStream(encoded);
+	}
+
+	@Override
+	public OutputStream getOutputStream() throws IOException {
+		throw new IOException("Encoded content is read-only");
+	}
+
+	@Override
+	public String getContentType() {
+		return contentType;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the size of the encoded content in bytes
+	 */
+	public int getSize() {
+		return encoded.length;
+	}
+}
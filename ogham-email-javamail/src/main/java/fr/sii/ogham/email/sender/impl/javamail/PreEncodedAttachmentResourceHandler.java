@@ -0,0 +1,233 @@
+package fr.sii.ogham.email.sender.impl.javamail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import javax.activation.DataHandler;
+import javax.mail.BodyPart;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeBodyPart;
+import javax.mail.internet.MimeUtility;
+import javax.mail.internet.PreencodedMimeBodyPart;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.resource.ByteResource;
+import fr.sii.ogham.core.resource.FileResource;
+import fr.sii.ogham.core.resource.NamedResource;
+import fr.sii.ogham.core.util.LruCache;
+import fr.sii.ogham.email.attachment.Attachment;
+import fr.sii.ogham.email.exception.javamail.AttachmentResourceHandlerException;
+
+/**
+ * Decorator that keeps the base64 encoded content of attachments in a cache.
+ * The same attachments (a logo, a PDF...) are often sent with every email so
+ * the mimetype detection and the base64 encoding are done only once per
+ * resource.
+ *
+ * <p>
+ * The encoded bytes are directly written into the outgoing MIME stream using a
+ * {@link PreencodedMimeBodyPart} (see {@link #newBodyPart()}). If the provided
+ * part is not a {@link PreencodedMimeBodyPart}, the delegate is used as-is.
+ * </p>
+ *
+ * <p>
+ * A resource is identified by:
+ * <ul>
+ * <li>its name, its size and the identity of its byte array for
+ * {@link ByteResource}s</li>
+ * <li>its path, its size and its last modification date for
+ * {@link FileResource}s</li>
+ * </ul>
+ * Identifying a resource never reads its content. A {@link ByteResource} is
+ * therefore found in the cache only if the same instance (or a resource that
+ * shares the same array) is attached again, for example a logo loaded once
+ * and attached to every email. Equal contents loaded several times are
+ * encoded for each message. Other resources and resources bigger than the
+ * maximum size are encoded for each message but are not cached.
+ * </p>
+ *
+ * <p>
+ * Headers (file name, disposition, content ID...) are specific to each
+ * {@link Attachment} so they are still generated for each message.
+ * </p>
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class PreEncodedAttachmentResourceHandler implements JavaMailAttachmentResourceHandler {
+	private static final Logger LOG = LoggerFactory.getLogger(PreEncodedAttachmentResourceHandler.class);
+
+	/**
+	 * The transfer encoding applied on cached contents
+	 */
+	public static final String TRANSFER_ENCODING = "base64";
+
+	/**
+	 * The default maximum number of cached resources
+	 */
+	public static final int DEFAULT_MAX_ENTRIES = 64;
+
+	/**
+	 * The default maximum size (in bytes) of a cached resource (before
+	 * encoding)
+	 */
+	public static final long DEFAULT_MAX_RESOURCE_SIZE = 2L * 1024 * 1024;
+
+	/**
+	 * The handler that loads the content and detects the mimetype
+	 */
+	private final JavaMailAttachmentResourceHandler delegate;
+
+	/**
+	 * The maximum size of a cached resource
+	 */
+	private final long maxResourceSize;
+
+	/**
+	 * The encoded contents indexed by resource identity
+	 */
+	private final LruCache<ResourceKey, EncodedDataSource> cache;
+
+	public PreEncodedAttachmentResourceHandler(JavaMailAttachmentResourceHandler delegate) {
+		this(delegate, DEFAULT_MAX_ENTRIES, DEFAULT_MAX_RESOURCE_SIZE);
+	}
+
+	/**
+	 * Initializes with the handler that loads the content of the attachments
+	 * and the limits of the cache.
+	 *
+	 * @param delegate
+	 *            the handler that loads the content and detects the mimetype
+	 * @param maxEntries
+	 *            the maximum number of cached resources
+	 * @param maxResourceSize
+	 *            the maximum size (in bytes) of a resource to be cached
+	 */
+	public PreEncodedAttachmentResourceHandler(JavaMailAttachmentResourceHandler delegate, int maxEntries, long maxResourceSize) {
+		super();
+		this.delegate = delegate;
+		this.maxResourceSize = maxResourceSize;
+		this.cache = new LruCache<>(maxEntries);
+	}
+
+	/**
+	 * Creates a part that writes the pre-encoded content as-is.
+	 *
+	 * @return the part to fill with {@link #setData(BodyPart, NamedResource, Attachment)}
+	 */
+	public MimeBodyPart newBodyPart() {
+		return new PreencodedMimeBodyPart(TRANSFER_ENCODING);
+	}
+
+	@Override
+	public void setData(BodyPart part, NamedResource resource, Attachment attachment) throws AttachmentResourceHandlerException {
+		if (!(part instanceof PreencodedMimeBodyPart)) {
+			delegate.setData(part, resource, attachment);
+			return;
+		}
+		ResourceKey key = ResourceKey.of(resource, maxResourceSize);
+		EncodedDataSource encoded = key == null ? null : cache.get(key);
+		if (encoded == null) {
+			encoded = encode(resource, attachment);
+			if (key != null) {
+				LOG.debug("Caching encoded content of {}", resource.getName());
+				cache.put(key, encoded);
+			}
+		} else {
+			LOG.trace("Using cached encoded content of {}", resource.getName());
+		}
+		try {
+			part.setDataHandler(new DataHandler(encoded));
+		} catch (MessagingException e) {
+			throw new AttachmentResourceHandlerException("Failed to attach " + resource.getName(), attachment, e);
+		}
+	}
+
+	/**
+	 * Removes all cached contents.
+	 */
+	public void clear() {
+		cache.clear();
+	}
+
+	public JavaMailAttachmentResourceHandler getDelegate() {
+		return delegate;
+	}
+
+	private EncodedDataSource encode(NamedResource resource, Attachment attachment) throws AttachmentResourceHandlerException {
+		MimeBodyPart raw = new MimeBodyPart();
+		delegate.setData(raw, resource, attachment);
+		try {
+			DataHandler dataHandler = raw.getDataHandler();
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (OutputStream encoder = MimeUtility.encode(bytes, TRANSFER_ENCODING)) {
+				dataHandler.writeTo(encoder);
+			}
+			return new EncodedDataSource(resource.getName(), dataHandler.getContentType(), bytes.toByteArray());
+		} catch (MessagingException e) {
+			throw new AttachmentResourceHandlerException("Failed to encode " + resource.getName(), attachment, e);
+		} catch (IOException e) {
+			throw new AttachmentResourceHandlerException("Failed to encode " + resource.getName() + ". Content can't be read", attachment, e);
+		}
+	}
+
+	private static final class ResourceKey {
+		private final String name;
+		private final byte[] content;
+		private final String path;
+		private final long length;
+		private final long lastModified;
+		private final int hash;
+
+		private ResourceKey(String name, byte[] content, String path, long length, long lastModified) {
+			super();
+			this.name = name;
+			this.content = content;
+			this.path = path;
+			this.length = length;
+			this.lastModified = lastModified;
+			this.hash = Arrays.hashCode(new Object[] { name, path, length, lastModified }) * 31 + System.identityHashCode(content);
+		}
+
+		static ResourceKey of(NamedResource resource, long maxResourceSize) {
+			if (resource instanceof ByteResource) {
+				ByteResource byteResource = (ByteResource) resource;
+				byte[] bytes = byteResource.getBytes();
+				return bytes.length > maxResourceSize ? null : new ResourceKey(resource.getName(), bytes, null, bytes.length, 0);
+			}
+			if (resource instanceof FileResource) {
+				File file = ((FileResource) resource).getFile();
+				long length = file.length();
+				return length > maxResourceSize ? null : new ResourceKey(resource.getName(), null, file.getAbsolutePath(), length, file.lastModified());
+			}
+			return null;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof ResourceKey)) {
+				return false;
+			}
+			ResourceKey other = (ResourceKey) obj;
+			return hash == other.hash && length == other.length && lastModified == other.lastModified && equals(name, other.name) && equals(path, other.path)
+					&& content == other.content;
+		}
+
+		private static boolean equals(Object a, Object b) {
+			return a == null ? b == null : a.equals(b);
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package fr.sii.ogham.email.sender.impl.javamail;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.mail.Address;
+import javax.mail.internet.InternetAddress;
+
+/**
+ * Splits the recipients of an email into chunks according to
+ * {@link RecipientChunkingOptions}. The order of the recipients is preserved.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class RecipientChunker {
+	private static final String NO_DOMAIN = "";
+
+	private final RecipientChunkingOptions options;
+
+	public RecipientChunker(RecipientChunkingOptions options) {
+		super();
+		this.options = options;
+	}
+
+	/**
+	 * Splits the recipients into chunks. Each chunk contains at most
+	 * {@link RecipientChunkingOptions#getRecipientsPerTransaction()}
+	 * recipients. If {@link RecipientChunkingOptions#isSplitByDomain()} is
+	 * enabled, a chunk only contains recipients of the same domain.
+	 * 
+	 * @param recipients
+	 *            the recipients to split
+	 * @return the chunks
+	 */
+	public List<Address[]> split(Address[] recipients) {
+		List<Address[]> chunks = new ArrayList<>();
+		if (options.isSplitByDomain()) {
+			for (List<Address> group : groupByDomain(recipients)) {
+				addChunks(chunks, group);
+			}
+		} else {
+			List<Address> all = new ArrayList<>(recipients.length);
+			for (Address recipient : recipients) {
+				all.add(recipient);
+			}
+			addChunks(chunks, all);
+		}
+		return chunks;
+	}
+
+	private void addChunks(List<Address[]> chunks, List<Address> recipients) {
+		int size = options.getRecipientsPerTransaction();
+		for (int i = 0; i < recipients.size(); i += size) {
+			List<Address> chunk = recipients.subList(i, Math.min(i + size, recipients.size()));
+			chunks.add(chunk.toArray(new Address[chunk.size()]));
+		}
+	}
+
+	private static Iterable<List<Address>> groupByDomain(Address[] recipients) {
+		Map<String, List<Address>> groups = new LinkedHashMap<>();
+		for (Address recipient : recipients) {
+			String domain = getDomain(recipient);
+			List<Address> group = groups.get(domain);
+			if (group == null) {
+				group = new ArrayList<>();
+				groups.put(domain, group);
+			}
+			group.add(recipient);
+		}
+		return groups.values();
+	}
+
+	private static String getDomain(Address recipient) {
+		if (!(recipient instanceof InternetAddress)) {
+			return NO_DOMAIN;
+		}
+		String address = ((InternetAddress) recipient).getAddress();
+		int idx = address == null ? -1 : address.lastIndexOf('@');
+		return idx < 0 ? NO_DOMAIN : address.substring(idx + 1).toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,85 @@
+package fr.sii.ogham.email.sender.impl.javamail;
+
+/**
+ * Options to split the recipients of an email into several SMTP transactions.
+ * 
+ * <p>
+ * SMTP servers often limit the number of recipients per transaction
+ * ({@code RCPT TO} commands) and a single rejected address may make the whole
+ * transaction fail. Splitting recipients into chunks avoids both issues. The
+ * MIME message is rendered only once and the same bytes are sent for every
+ * chunk.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class RecipientChunkingOptions {
+	/**
+	 * Default maximum number of recipients per transaction (limit commonly
+	 * applied by SMTP servers)
+	 */
+	public static final int DEFAULT_RECIPIENTS_PER_TRANSACTION = 100;
+
+	/**
+	 * The maximum number of recipients per SMTP transaction
+	 */
+	private final int recipientsPerTransaction;
+
+	/**
+	 * Group recipients by domain before splitting
+	 */
+	private final boolean splitByDomain;
+
+	/**
+	 * The maximum number of transactions sent concurrently (and number of
+	 * pooled connections)
+	 */
+	private final int parallelism;
+
+	public RecipientChunkingOptions() {
+		this(DEFAULT_RECIPIENTS_PER_TRANSACTION, false, 1);
+	}
+
+	/**
+	 * Initializes the options.
+	 * 
+	 * @param recipientsPerTransaction
+	 *            the maximum number of recipients per SMTP transaction
+	 * @param splitByDomain
+	 *            true to group recipients by domain (a transaction contains
+	 *            only recipients of the same domain)
+	 * @param parallelism
+	 *            the maximum number of transactions sent concurrently (1 to
+	 *            send transactions sequentially)
+	 */
+	public RecipientChunkingOptions(int recipientsPerTransaction, boolean splitByDomain, int parallelism) {
+		super();
+		if (recipientsPerTransaction <= 0) {
+			throw new IllegalArgumentException("[recipientsPerTransaction] must be strictly positive");
+		}
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("[parallelism] must be strictly positive");
+		}
+		this.recipientsPerTransaction = recipientsPerTransaction;
+		this.splitByDomain = splitByDomain;
+		this.parallelism = parallelism;
+	}
+
+	public int getRecipientsPerTransaction() {
+		return recipientsPerTransaction;
+	}
+
+	public boolean isSplitByDomain() {
+		return splitByDomain;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	@Override
+	public String toString() {
+		return "RecipientChunkingOptions [recipientsPerTransaction=" + recipientsPerTransaction + ", splitByDomain=" + splitByDomain + ", parallelism=" + parallelism + "]";
+	}
+}
@@ -0,0 +1,80 @@
+package fr.sii.ogham.email.sender.impl.javamail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+import javax.mail.util.SharedByteArrayInputStream;
+
+/**
+ * {@link MimeMessage} that has already been rendered. The rendered bytes are
+ * written as-is so the same message can be sent several times (to different
+ * envelope recipients) without generating and encoding the MIME content again.
+ * 
+ * <p>
+ * The rendered bytes never contain {@code Bcc} header. The recipients of the
+ * message are provided to the transport when sending the message.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class RenderedMimeMessage extends MimeMessage {
+	private static final String[] IGNORED_HEADERS = { "Bcc", "Content-Length" };
+
+	private final byte[] rendered;
+
+	/**
+	 * Initializes the message from the rendered bytes. Headers are parsed
+	 * (needed by the transport) but the content is shared.
+	 * 
+	 * @param session
+	 *            the JavaMail session
+	 * @param rendered
+	 *            the rendered message (see {@link #render(MimeMessage)})
+	 * @throws MessagingException
+	 *             when the headers can't be parsed
+	 */
+	public RenderedMimeMessage(Session session, byte[] rendered) throws MessagingException {
+		super(session, new SharedByteArrayInputStream(rendered));
+		this.rendered = rendered;
+	}
+
+	/**
+	 * Generates the bytes of the message (headers and encoded content).
+	 * 
+	 * @param message
+	 *            the message to render
+	 * @return the rendered message
+	 * @throws MessagingException
+	 *             when the message can't be generated
+	 * @throws IOException
+	 *             when the content of the message can't be read
+	 */
+	public static byte[] render(MimeMessage message) throws MessagingException, IOException {
+		message.saveChanges();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		message.writeTo(out, IGNORED_HEADERS);
+		return out.toByteArray();
+	}
+
+	@Override
+	public void writeTo(OutputStream os, String[] ignoreList) throws IOException, MessagingException {
+		// Bcc and Content-Length are already removed
+		os.write(rendered);
+		os.flush();
+	}
+
+	@Override
+	public void saveChanges() throws MessagingException {
+		// already rendered: nothing can be changed
+	}
+
+	@Override
+	public int getSize() throws MessagingException {
+		return rendered.length;
+	}
+}
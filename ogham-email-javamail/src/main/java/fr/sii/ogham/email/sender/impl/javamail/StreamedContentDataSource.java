@@ -0,0 +1,57 @@
+package fr.sii.ogham.email.sender.impl.javamail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import javax.activation.DataSource;
+
+import fr.sii.ogham.core.message.content.StreamedContent;
+
+/**
+ * {@link DataSource} that reads the bytes of a {@link StreamedContent}. The
+ * bytes are read each time Java Mail needs them (to determine the transfer
+ * encoding and to write the message) without loading the whole content in
+ * memory.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class StreamedContentDataSource implements DataSource {
+	private final StreamedContent content;
+	private final String contentType;
+
+	/**
+	 * Initializes with the content to read and its content type.
+	 * 
+	 * @param content
+	 *            the rendered content
+	 * @param contentType
+	 *            the content type (including the charset)
+	 */
+	public StreamedContentDataSource(StreamedContent content, String contentType) {
+		super();
+		this.content = content;
+		this.contentType = contentType;
+	}
+
+	@Override
+	public InputStream getInputStream() throws IOException {
+		return content.getInputStream();
+	}
+
+	@Override
+	public OutputStream getOutputStream() throws IOException {
+		throw new IOException("Streamed content is read-only");
+	}
+
+	@Override
+	public String getContentType() {
+		return contentType;
+	}
+
+	@Override
+	public String getName() {
+		return null;
+	}
+}
@@ -0,0 +1,57 @@
+package fr.sii.ogham.email.sender.impl.javamail;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.activation.DataHandler;
+import javax.mail.MessagingException;
+import javax.mail.Multipart;
+import javax.mail.internet.MimeBodyPart;
+import javax.mail.internet.MimePart;
+
+import fr.sii.ogham.core.exception.mimetype.MimeTypeDetectionException;
+import fr.sii.ogham.core.message.content.Content;
+import fr.sii.ogham.core.message.content.StreamedContent;
+import fr.sii.ogham.core.mimetype.MimeTypeProvider;
+import fr.sii.ogham.email.exception.javamail.ContentHandlerException;
+import fr.sii.ogham.email.message.Email;
+
+/**
+ * Content handler that adds contents rendered directly as bytes (see
+ * {@link StreamedContent}). The bytes are directly used as the data source of
+ * the body part so the content is never converted to a string. The charset is
+ * the one used by the template engine to encode the content.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class StreamedContentHandler implements JavaMailContentHandler {
+	/**
+	 * The Mime Type detector
+	 */
+	private MimeTypeProvider mimetypeProvider;
+
+	public StreamedContentHandler(MimeTypeProvider mimetypeProvider) {
+		super();
+		this.mimetypeProvider = mimetypeProvider;
+	}
+
+	@Override
+	public void setContent(MimePart message, Multipart multipart, Email email, Content content) throws ContentHandlerException {
+		StreamedContent streamed = (StreamedContent) content;
+		try (InputStream stream = new BufferedInputStream(streamed.getInputStream())) {
+			MimeBodyPart part = new MimeBodyPart();
+			String contentType = mimetypeProvider.detect(stream).toString() + ";charset=" + streamed.getCharset().name();
+			part.setDataHandler(new DataHandler(new StreamedContentDataSource(streamed, contentType)));
+			multipart.addBodyPart(part);
+		} catch (MessagingException e) {
+			throw new ContentHandlerException("failed to set content on mime message", content, e);
+		} catch (MimeTypeDetectionException e) {
+			throw new ContentHandlerException("failed to determine mimetype for the content", content, e);
+		} catch (IOException e) {
+			throw new ContentHandlerException("failed to read streamed content", content, e);
+		}
+	}
+
+}
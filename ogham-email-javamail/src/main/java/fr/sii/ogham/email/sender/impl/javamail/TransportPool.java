@@ -0,0 +1,112 @@
+package fr.sii.ogham.email.sender.impl.javamail;
+
+import java.io.Closeable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Transport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps connected {@link Transport}s to reuse them for several transactions.
+ * 
+ * <p>
+ * A transport is borrowed for a transaction and released once the
+ * transaction is done. If the transaction fails because of the connection,
+ * the transport must be invalidated instead of being released.
+ * </p>
+ * 
+ * <p>
+ * At most {@code maxIdle} transports are kept connected. If more transports
+ * are released, they are closed.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class TransportPool implements Closeable {
+	private static final Logger LOG = LoggerFactory.getLogger(TransportPool.class);
+
+	private final Session session;
+	private final BlockingQueue<Transport> idle;
+
+	/**
+	 * Initializes the pool.
+	 * 
+	 * @param session
+	 *            the session used to create transports
+	 * @param maxIdle
+	 *            the maximum number of connected transports kept in the pool
+	 */
+	public TransportPool(Session session, int maxIdle) {
+		super();
+		this.session = session;
+		this.idle = new ArrayBlockingQueue<>(maxIdle);
+	}
+
+	/**
+	 * Provides a connected transport (either an idle one or a new one).
+	 * 
+	 * @return the connected transport
+	 * @throws MessagingException
+	 *             when the connection couldn't be opened
+	 */
+	public Transport borrow() throws MessagingException {
+		Transport transport;
+		while ((transport = idle.poll()) != null) {
+			if (transport.isConnected()) {
+				return transport;
+			}
+			LOG.debug("Pooled transport is no more connected => discard it");
+		}
+		transport = session.getTransport();
+		transport.connect();
+		return transport;
+	}
+
+	/**
+	 * Gives back the transport to the pool.
+	 * 
+	 * @param transport
+	 *            the transport that is still usable
+	 */
+	public void release(Transport transport) {
+		if (!idle.offer(transport)) {
+			closeQuietly(transport);
+		}
+	}
+
+	/**
+	 * Closes the transport that is no more usable.
+	 * 
+	 * @param transport
+	 *            the transport to discard
+	 */
+	public void invalidate(Transport transport) {
+		closeQuietly(transport);
+	}
+
+	public Session getSession() {
+		return session;
+	}
+
+	@Override
+	public void close() {
+		Transport transport;
+		while ((transport = idle.poll()) != null) {
+			closeQuietly(transport);
+		}
+	}
+
+	private static void closeQuietly(Transport transport) {
+		try {
+			transport.close();
+		} catch (MessagingException e) {
+			LOG.debug("Failed to close transport", e);
+		}
+	}
+}
@@ -0,0 +1,194 @@
+package fr.sii.ogham.it.email.javamail;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.mail.Address;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.Session;
+import javax.mail.URLName;
+import javax.mail.internet.InternetAddress;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.icegreen.greenmail.junit.GreenMailRule;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.sun.mail.smtp.SMTPTransport;
+
+import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.exception.MessageNotSentException;
+import fr.sii.ogham.core.exception.PartialDeliveryException;
+import fr.sii.ogham.email.builder.javamail.JavaMailBuilder;
+import fr.sii.ogham.email.message.Email;
+import fr.sii.ogham.email.message.EmailAddress;
+import fr.sii.ogham.email.sender.impl.JavaMailSender;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+
+public class JavaMailRecipientChunkingTest {
+	private JavaMailSender sender;
+
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	@Rule
+	public final GreenMailRule greenMail = new GreenMailRule(ServerSetupTest.SMTP);
+
+	@Before
+	public void setUp() {
+		RejectingTransport.transactions.set(0);
+		Properties additionalProps = new Properties();
+		additionalProps.setProperty("mail.smtp.host", ServerSetupTest.SMTP.getBindAddress());
+		additionalProps.setProperty("mail.smtp.port", String.valueOf(ServerSetupTest.SMTP.getPort()));
+		// real SMTP transport that rejects some recipients
+		additionalProps.setProperty("mail.smtp.class", RejectingTransport.class.getName());
+		additionalProps.setProperty("ogham.email.javamail.chunking.recipients-per-transaction", "2");
+		additionalProps.setProperty("ogham.email.javamail.chunking.parallelism", "2");
+		sender = new JavaMailBuilder()
+				.environment()
+					.systemProperties()
+					.properties(additionalProps)
+					.and()
+				.mimetype()
+					.tika()
+						.failIfOctetStream(false)
+						.and()
+					.and()
+				.recipientsPerTransaction("${ogham.email.javamail.chunking.recipients-per-transaction}")
+				.transactionParallelism("${ogham.email.javamail.chunking.parallelism}")
+				.build();
+	}
+
+	@After
+	public void tearDown() {
+		sender.close();
+	}
+
+	@Test
+	public void recipientsSplitIntoSeveralTransactions() throws MessageException, MessagingException {
+		sender.send(new Email()
+				.subject("Subject")
+				.content("Body")
+				.from(new EmailAddress("custom.sender@sii.fr"))
+				.to("recipient@r1.fr", "recipient@r2.fr", "recipient@r3.fr", "recipient@r4.fr", "recipient@r5.fr"));
+		assertThat(RejectingTransport.transactions.get(), is(3));
+		assertThat(greenMail.getReceivedMessages().length, is(5));
+		for (String domain : new String[] { "r1.fr", "r2.fr", "r3.fr", "r4.fr", "r5.fr" }) {
+			assertThat(greenMail.getReceivedMessagesForDomain(domain).length, is(1));
+			assertThat(greenMail.getReceivedMessagesForDomain(domain)[0].getSubject(), is("Subject"));
+		}
+	}
+
+	@Test
+	public void rejectedRecipientsAreReported() {
+		try {
+			sender.send(new Email()
+					.subject("Subject")
+					.content("Body")
+					.from(new EmailAddress("custom.sender@sii.fr"))
+					.to("recipient@r1.fr", "rejected@x1.fr", "recipient@r2.fr", "rejected@x2.fr", "recipient@r3.fr"));
+		} catch (MessageException e) {
+			assertThat(e, instanceOf(PartialDeliveryException.class));
+			PartialDeliveryException partial = (PartialDeliveryException) e;
+			assertThat(partial.getFailures().keySet(), containsInAnyOrder("rejected@x1.fr", "rejected@x2.fr"));
+			assertThat(partial.getFailures().get("rejected@x1.fr"), instanceOf(SendFailedException.class));
+			assertThat(partial.getDelivered(), containsInAnyOrder("recipient@r1.fr", "recipient@r2.fr", "recipient@r3.fr"));
+			assertThat(greenMail.getReceivedMessages().length, is(3));
+			assertThat(greenMail.getReceivedMessagesForDomain("x1.fr").length, is(0));
+			assertThat(greenMail.getReceivedMessagesForDomain("x2.fr").length, is(0));
+			return;
+		}
+		throw new AssertionError("PartialDeliveryException expected");
+	}
+
+	@Test
+	public void noDeliveredRecipientIsNotPartial() {
+		try {
+			sender.send(new Email()
+					.subject("Subject")
+					.content("Body")
+					.from(new EmailAddress("custom.sender@sii.fr"))
+					.to("rejected@x1.fr", "rejected@x2.fr", "rejected@x3.fr"));
+		} catch (MessageException e) {
+			assertThat(e, instanceOf(MessageNotSentException.class));
+			assertThat(e, not(instanceOf(PartialDeliveryException.class)));
+			assertThat(greenMail.getReceivedMessages().length, is(0));
+			return;
+		}
+		throw new AssertionError("MessageNotSentException expected");
+	}
+
+	@Test
+	public void singleTransactionWithoutChunking() throws MessageException {
+		Properties additionalProps = new Properties();
+		additionalProps.setProperty("mail.smtp.host", ServerSetupTest.SMTP.getBindAddress());
+		additionalProps.setProperty("mail.smtp.port", String.valueOf(ServerSetupTest.SMTP.getPort()));
+		additionalProps.setProperty("mail.smtp.class", RejectingTransport.class.getName());
+		JavaMailSender unchunked = new JavaMailBuilder()
+				.environment()
+					.properties(additionalProps)
+					.and()
+				.mimetype()
+					.tika()
+						.failIfOctetStream(false)
+						.and()
+					.and()
+				.recipientsPerTransaction("${ogham.email.javamail.chunking.recipients-per-transaction}")
+				.build();
+		unchunked.send(new Email()
+				.subject("Subject")
+				.content("Body")
+				.from(new EmailAddress("custom.sender@sii.fr"))
+				.to("recipient@r1.fr", "recipient@r2.fr", "recipient@r3.fr"));
+		unchunked.close();
+		assertThat(unchunked.getChunkingOptions(), nullValue());
+		assertThat(RejectingTransport.transactions.get(), is(1));
+		assertThat(greenMail.getReceivedMessages().length, is(3));
+	}
+
+	/**
+	 * SMTP transport that rejects recipients starting with "rejected" like a
+	 * real SMTP server would do (RCPT TO refused). Other recipients are really
+	 * sent.
+	 */
+	public static class RejectingTransport extends SMTPTransport {
+		static final AtomicInteger transactions = new AtomicInteger();
+
+		public RejectingTransport(Session session, URLName urlname) {
+			super(session, urlname);
+		}
+
+		@Override
+		public synchronized void sendMessage(Message message, Address[] addresses) throws MessagingException {
+			transactions.incrementAndGet();
+			List<Address> valid = new ArrayList<>();
+			List<Address> rejected = new ArrayList<>();
+			for (Address address : addresses) {
+				if (((InternetAddress) address).getAddress().startsWith("rejected")) {
+					rejected.add(address);
+				} else {
+					valid.add(address);
+				}
+			}
+			if (!valid.isEmpty()) {
+				super.sendMessage(message, valid.toArray(new Address[valid.size()]));
+			}
+			if (!rejected.isEmpty()) {
+				throw new SendFailedException("Invalid Addresses", null, valid.toArray(new Address[valid.size()]), null, rejected.toArray(new Address[rejected.size()]));
+			}
+		}
+	}
+}
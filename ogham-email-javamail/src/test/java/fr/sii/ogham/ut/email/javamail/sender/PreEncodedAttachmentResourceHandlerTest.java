@@ -0,0 +1,96 @@
+package fr.sii.ogham.ut.email.javamail.sender;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.activation.DataHandler;
+import javax.mail.BodyPart;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeBodyPart;
+import javax.mail.util.ByteArrayDataSource;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import fr.sii.ogham.core.resource.ByteResource;
+import fr.sii.ogham.core.resource.NamedResource;
+import fr.sii.ogham.email.attachment.Attachment;
+import fr.sii.ogham.email.exception.javamail.AttachmentResourceHandlerException;
+import fr.sii.ogham.email.sender.impl.javamail.JavaMailAttachmentResourceHandler;
+import fr.sii.ogham.email.sender.impl.javamail.PreEncodedAttachmentResourceHandler;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+
+public class PreEncodedAttachmentResourceHandlerTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	CountingHandler delegate;
+	PreEncodedAttachmentResourceHandler handler;
+
+	@Before
+	public void setup() {
+		delegate = new CountingHandler();
+		handler = new PreEncodedAttachmentResourceHandler(delegate);
+	}
+
+	@Test
+	public void sameResourceEncodedOnce() throws Exception {
+		ByteResource logo = new ByteResource("logo.txt", "hello".getBytes(StandardCharsets.UTF_8));
+		String first = write(logo);
+		String second = write(logo);
+		assertEquals(1, delegate.calls.get());
+		assertEquals("aGVsbG8=", first.trim());
+		assertEquals(first, second);
+	}
+
+	@Test
+	public void equalContentLoadedTwiceEncodedAgain() throws Exception {
+		write(new ByteResource("logo.txt", "hello".getBytes(StandardCharsets.UTF_8)));
+		write(new ByteResource("logo.txt", "hello".getBytes(StandardCharsets.UTF_8)));
+		assertEquals(2, delegate.calls.get());
+	}
+
+	@Test
+	public void differentContentEncodedAgain() throws Exception {
+		write(new ByteResource("logo.txt", "hello".getBytes(StandardCharsets.UTF_8)));
+		write(new ByteResource("logo.txt", "world".getBytes(StandardCharsets.UTF_8)));
+		assertEquals(2, delegate.calls.get());
+	}
+
+	@Test
+	public void standardPartUsesDelegate() throws Exception {
+		MimeBodyPart part = new MimeBodyPart();
+		handler.setData(part, new ByteResource("logo.txt", "hello".getBytes(StandardCharsets.UTF_8)), null);
+		handler.setData(part, new ByteResource("logo.txt", "hello".getBytes(StandardCharsets.UTF_8)), null);
+		assertEquals(2, delegate.calls.get());
+	}
+
+	private String write(NamedResource resource) throws AttachmentResourceHandlerException, MessagingException, IOException {
+		MimeBodyPart part = handler.newBodyPart();
+		handler.setData(part, resource, null);
+		assertEquals(PreEncodedAttachmentResourceHandler.TRANSFER_ENCODING, part.getEncoding());
+		assertEquals("text/plain", part.getDataHandler().getContentType());
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		part.getDataHandler().writeTo(out);
+		return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+	}
+
+	private static class CountingHandler implements JavaMailAttachmentResourceHandler {
+		final AtomicInteger calls = new AtomicInteger();
+
+		@Override
+		public void setData(BodyPart part, NamedResource resource, Attachment attachment) throws AttachmentResourceHandlerException {
+			calls.incrementAndGet();
+			try {
+				part.setDataHandler(new DataHandler(new ByteArrayDataSource(((ByteResource) resource).getBytes(), "text/plain")));
+			} catch (MessagingException e) {
+				throw new AttachmentResourceHandlerException("failed", attachment, e);
+			}
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package fr.sii.ogham.ut.email.javamail.sender;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.mail.Address;
+import javax.mail.internet.AddressException;
+import javax.mail.internet.InternetAddress;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import fr.sii.ogham.email.sender.impl.javamail.RecipientChunker;
+import fr.sii.ogham.email.sender.impl.javamail.RecipientChunkingOptions;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+
+public class RecipientChunkerTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	@Test
+	public void splitBySize() throws AddressException {
+		RecipientChunker chunker = new RecipientChunker(new RecipientChunkingOptions(2, false, 1));
+		List<Address[]> chunks = chunker.split(addresses("a@foo.com", "b@bar.com", "c@foo.com", "d@bar.com", "e@foo.com"));
+		assertEquals(3, chunks.size());
+		assertEquals("[a@foo.com, b@bar.com]", toString(chunks.get(0)));
+		assertEquals("[c@foo.com, d@bar.com]", toString(chunks.get(1)));
+		assertEquals("[e@foo.com]", toString(chunks.get(2)));
+	}
+
+	@Test
+	public void splitByDomain() throws AddressException {
+		RecipientChunker chunker = new RecipientChunker(new RecipientChunkingOptions(2, true, 1));
+		List<Address[]> chunks = chunker.split(addresses("a@foo.com", "b@bar.com", "c@FOO.com", "d@bar.com", "e@foo.com"));
+		assertEquals(3, chunks.size());
+		assertEquals("[a@foo.com, c@FOO.com]", toString(chunks.get(0)));
+		assertEquals("[e@foo.com]", toString(chunks.get(1)));
+		assertEquals("[b@bar.com, d@bar.com]", toString(chunks.get(2)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidSize() {
+		new RecipientChunkingOptions(0, false, 1);
+	}
+
+	private static Address[] addresses(String... addresses) throws AddressException {
+		Address[] result = new Address[addresses.length];
+		for (int i = 0; i < addresses.length; i++) {
+			result[i] = new InternetAddress(addresses[i]);
+		}
+		return result;
+	}
+
+	private static String toString(Address[] addresses) {
+		return Arrays.toString(addresses);
+	}
+}
@@ -7,6 +7,13 @@ public final class SendGridConstants {
 	 */
 	public static final int DEFAULT_SENDGRID_CONFIGURER_PRIORITY = 30000;
 
+	/**
+	 * SendGrid accepts at most 1000 recipients in the X-SMTPAPI header of a
+	 * single request.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 1000;
+
+
 	private SendGridConstants() {
 		super();
 	}
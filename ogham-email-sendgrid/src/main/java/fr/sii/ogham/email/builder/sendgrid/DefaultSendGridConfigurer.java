@@ -46,6 +46,16 @@ import fr.sii.ogham.core.util.ClasspathUtils;
  * "ogham.email.sengrid.username" and "ogham.email.sengrid.password"</li>
  * </ul>
  * </li>
+ * <li>Configures the maximum number of emails merged into a single request
+ * when sending a batch: using the property "ogham.email.sendgrid.batch-size"
+ * (1000 by default)</li>
+ * <li>Configures the pool of HTTP connections used to call SendGrid using the
+ * properties prefixed by "ogham.email.sendgrid.http" (max-connections,
+ * max-connections-per-route, connect-timeout, socket-timeout,
+ * connection-request-timeout, keep-alive, async-threads and
+ * async-queue-size). The pool is used
+ * only if at least one of these properties is set. Otherwise, the default HTTP
+ * client of SendGrid library is used</li>
  * </ul>
  * 
  * @author Aurélien Baudet
@@ -57,16 +67,26 @@ public class DefaultSendGridConfigurer implements MessagingConfigurer {
 	@Override
 	public void configure(MessagingBuilder msgBuilder) {
 		if (canUseSendGrid()) {
-			// @formatter:off
 			SendGridBuilder builder = msgBuilder.email().sender(SendGridBuilder.class);
+			// use same environment as parent builder
+			builder.environment(msgBuilder.environment());
+			builder.mimetype(msgBuilder.mimetype());
+			// @formatter:off
 			builder
 				.apiKey("${ogham.email.sengrid.api-key}")
 				.username("${ogham.email.sendgrid.username}")
-				.password("${ogham.email.sendgrid.password}");
+				.password("${ogham.email.sendgrid.password}")
+				.batchSize("${ogham.email.sendgrid.batch-size}")
+				.http()
+					.maxConnections("${ogham.email.sendgrid.http.max-connections}")
+					.maxConnectionsPerRoute("${ogham.email.sendgrid.http.max-connections-per-route}")
+					.connectTimeout("${ogham.email.sendgrid.http.connect-timeout}")
+					.socketTimeout("${ogham.email.sendgrid.http.socket-timeout}")
+					.connectionRequestTimeout("${ogham.email.sendgrid.http.connection-request-timeout}")
+					.keepAlive("${ogham.email.sendgrid.http.keep-alive}")
+					.asyncThreads("${ogham.email.sendgrid.http.async-threads}")
+					.asyncQueueSize("${ogham.email.sendgrid.http.async-queue-size}");
 			// @formatter:on
-			// use same environment as parent builder
-			builder.environment(msgBuilder.environment());
-			builder.mimetype(msgBuilder.mimetype());
 		}
 	}
 
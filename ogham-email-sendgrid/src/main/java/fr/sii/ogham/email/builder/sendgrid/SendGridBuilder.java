@@ -1,5 +1,7 @@
 package fr.sii.ogham.email.builder.sendgrid;
 
+import static fr.sii.ogham.email.SendGridConstants.DEFAULT_BATCH_SIZE;
+
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.util.ArrayList;
@@ -19,22 +21,28 @@ import fr.sii.ogham.core.builder.MessagingBuilder;
 import fr.sii.ogham.core.builder.env.EnvironmentBuilder;
 import fr.sii.ogham.core.builder.env.EnvironmentBuilderDelegate;
 import fr.sii.ogham.core.builder.env.SimpleEnvironmentBuilder;
+import fr.sii.ogham.core.builder.http.HttpPoolBuilder;
 import fr.sii.ogham.core.builder.mimetype.MimetypeDetectionBuilder;
 import fr.sii.ogham.core.builder.mimetype.MimetypeDetectionBuilderDelegate;
 import fr.sii.ogham.core.builder.mimetype.SimpleMimetypeDetectionBuilder;
 import fr.sii.ogham.core.env.PropertyResolver;
 import fr.sii.ogham.core.message.content.MultiContent;
+import fr.sii.ogham.core.message.content.StreamedContent;
 import fr.sii.ogham.core.message.content.StringContent;
 import fr.sii.ogham.core.mimetype.MimeTypeProvider;
 import fr.sii.ogham.core.util.BuilderUtils;
+import fr.sii.ogham.core.util.http.HttpClientOptions;
 import fr.sii.ogham.email.builder.EmailBuilder;
 import fr.sii.ogham.email.message.Email;
 import fr.sii.ogham.email.sender.impl.SendGridSender;
+import fr.sii.ogham.email.sender.impl.sendgrid.batch.SendGridBatchService;
 import fr.sii.ogham.email.sender.impl.sendgrid.client.DelegateSendGridClient;
+import fr.sii.ogham.email.sender.impl.sendgrid.client.PooledSendGridClient;
 import fr.sii.ogham.email.sender.impl.sendgrid.client.SendGridClient;
 import fr.sii.ogham.email.sender.impl.sendgrid.client.SendGridInterceptor;
 import fr.sii.ogham.email.sender.impl.sendgrid.handler.MapContentHandler;
 import fr.sii.ogham.email.sender.impl.sendgrid.handler.MultiContentHandler;
+import fr.sii.ogham.email.sender.impl.sendgrid.handler.StreamedContentHandler;
 import fr.sii.ogham.email.sender.impl.sendgrid.handler.StringContentHandler;
 
 /**
@@ -109,7 +117,10 @@ public class SendGridBuilder extends AbstractParent<EmailBuilder> implements Bui
 	private List<String> usernames;
 	private List<String> passwords;
 	private SendGridClient client;
+	private HttpPoolBuilder<SendGridBuilder> httpBuilder;
 	private SendGridInterceptor interceptor;
+	private List<String> batchSizes;
+	private Integer batchSize;
 
 	/**
 	 * Default constructor when using SendGrid sender without all Ogham work.
@@ -140,6 +151,7 @@ public class SendGridBuilder extends AbstractParent<EmailBuilder> implements Bui
 		apiKeys = new ArrayList<>();
 		usernames = new ArrayList<>();
 		passwords = new ArrayList<>();
+		batchSizes = new ArrayList<>();
 	}
 
 	/**
@@ -279,6 +291,40 @@ public class SendGridBuilder extends AbstractParent<EmailBuilder> implements Bui
 		return this;
 	}
 
+	/**
+	 * Configures the HTTP layer used to call SendGrid HTTP API: size of the
+	 * connection pool, timeouts, keep-alive and number of threads used to send
+	 * emails asynchronously.
+	 * 
+	 * <pre>
+	 * .http()
+	 *    .maxConnectionsPerRoute(50)
+	 *    .socketTimeout(20000)
+	 * </pre>
+	 * 
+	 * <p>
+	 * If at least one of the options has a value, the built client is a
+	 * {@link PooledSendGridClient}. Otherwise, the default HTTP client provided
+	 * by SendGrid library is used.
+	 * </p>
+	 * 
+	 * <p>
+	 * If no HTTP configuration was previously defined, it creates a new one.
+	 * Then each time you call {@link #http()}, the same instance is used.
+	 * </p>
+	 * 
+	 * NOTE: this configuration is not used if a custom client is provided
+	 * using {@link #client(SendGridClient)}.
+	 * 
+	 * @return the builder to configure the HTTP layer
+	 */
+	public HttpPoolBuilder<SendGridBuilder> http() {
+		if (httpBuilder == null) {
+			httpBuilder = new HttpPoolBuilder<>(this, environmentBuilder);
+		}
+		return httpBuilder;
+	}
+
 	/**
 	 * Builder that configures mimetype detection.
 	 * 
@@ -455,6 +501,86 @@ public class SendGridBuilder extends AbstractParent<EmailBuilder> implements Bui
 		return this;
 	}
 
+	/**
+	 * Set the maximum number of recipients of a merged email that are declared
+	 * in a single SendGrid request when sending a batch of emails (see
+	 * {@link SendGridBatchService}). SendGrid doesn't accept more than 1000
+	 * recipients per request.
+	 * 
+	 * This value preempts any other value defined by calling
+	 * {@link #batchSize(String...)} method.
+	 * 
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * @param size
+	 *            the maximum number of recipients per request
+	 * @return this instance for fluent chaining
+	 */
+	public SendGridBuilder batchSize(int size) {
+		this.batchSize = size;
+		return this;
+	}
+
+	/**
+	 * Set the maximum number of recipients of a merged email that are declared
+	 * in a single SendGrid request. This version allows {@code null} value. In this case, the
+	 * {@code null} value is skipped.
+	 * 
+	 * This value preempts any other value defined by calling
+	 * {@link #batchSize(String...)} method.
+	 * 
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * @param size
+	 *            the maximum number of recipients per request (may be null)
+	 * @return this instance for fluent chaining
+	 */
+	public SendGridBuilder batchSize(Integer size) {
+		if (size != null) {
+			this.batchSize = size;
+		}
+		return this;
+	}
+
+	/**
+	 * Set the maximum number of recipients of a merged email that are declared
+	 * in a single SendGrid request when sending a batch of emails (see
+	 * {@link SendGridBatchService}).
+	 * 
+	 * You can specify a direct value. For example:
+	 * 
+	 * <pre>
+	 * .batchSize("500");
+	 * </pre>
+	 * 
+	 * <p>
+	 * You can also specify one or several property keys. For example:
+	 * 
+	 * <pre>
+	 * .batchSize("${custom.property.high-priority}", "${custom.property.low-priority}");
+	 * </pre>
+	 * 
+	 * The properties are not immediately evaluated. The evaluation will be done
+	 * when the {@link #build()} method is called.
+	 * 
+	 * If you provide several property keys, evaluation will be done on the
+	 * first key and if the property exists (see {@link EnvironmentBuilder}),
+	 * its value is used. If the first property doesn't exist in properties,
+	 * then it tries with the second one and so on.
+	 * 
+	 * @param size
+	 *            one value, or one or several property keys
+	 * @return this instance for fluent chaining
+	 */
+	public SendGridBuilder batchSize(String... size) {
+		for (String s : size) {
+			if (s != null) {
+				batchSizes.add(s);
+			}
+		}
+		return this;
+	}
+
 	@Override
 	public SendGridSender build() {
 		PropertyResolver propertyResolver = environmentBuilder.build();
@@ -467,13 +593,25 @@ public class SendGridBuilder extends AbstractParent<EmailBuilder> implements Bui
 		}
 		LOG.info("Sending email using SendGrid API is registered");
 		LOG.debug("SendGrid account: apiKey={}, username={}", apiKey, username);
-		return new SendGridSender(builtClient, buildContentHandler(), interceptor);
+		return new SendGridSender(builtClient, buildContentHandler(), interceptor, buildBatchSize(propertyResolver));
+	}
+
+	private int buildBatchSize(PropertyResolver propertyResolver) {
+		if (batchSize != null) {
+			return batchSize;
+		}
+		Integer size = BuilderUtils.evaluate(batchSizes, propertyResolver, Integer.class);
+		return size == null ? DEFAULT_BATCH_SIZE : size;
 	}
 
 	private SendGridClient buildClient(String apiKey, String username, String password) {
 		if (client != null) {
 			return client;
 		}
+		HttpClientOptions options = httpBuilder == null ? null : httpBuilder.build();
+		if (options != null) {
+			return buildPooledClient(apiKey, username, password, options);
+		}
 		if (apiKey != null) {
 			return new DelegateSendGridClient(apiKey);
 		}
@@ -483,11 +621,23 @@ public class SendGridBuilder extends AbstractParent<EmailBuilder> implements Bui
 		return null;
 	}
 
+	private static SendGridClient buildPooledClient(String apiKey, String username, String password, HttpClientOptions options) {
+		LOG.debug("SendGrid HTTP pool: {}", options);
+		if (apiKey != null) {
+			return new PooledSendGridClient(apiKey, options);
+		}
+		if (username != null && password != null) {
+			return new PooledSendGridClient(username, password, options);
+		}
+		return null;
+	}
+
 	private MapContentHandler buildContentHandler() {
 		MimeTypeProvider mimetypeProvider = mimetypeBuilder.build();
 		MapContentHandler contentHandler = new MapContentHandler();
 		contentHandler.register(MultiContent.class, new MultiContentHandler(contentHandler));
 		contentHandler.register(StringContent.class, new StringContentHandler(mimetypeProvider));
+		contentHandler.register(StreamedContent.class, new StreamedContentHandler(contentHandler));
 		return contentHandler;
 	}
 }
@@ -1,7 +1,18 @@
 package fr.sii.ogham.email.sender.impl;
 
+import static fr.sii.ogham.email.SendGridConstants.DEFAULT_BATCH_SIZE;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,25 +21,48 @@ import com.sendgrid.SendGrid;
 import com.sendgrid.SendGridException;
 
 import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.exception.MessageNotSentException;
+import fr.sii.ogham.core.exception.PartialDeliveryException;
 import fr.sii.ogham.core.sender.AbstractSpecializedSender;
+import fr.sii.ogham.core.util.IOUtils;
 import fr.sii.ogham.email.exception.sendgrid.ContentHandlerException;
 import fr.sii.ogham.email.message.Email;
 import fr.sii.ogham.email.message.EmailAddress;
 import fr.sii.ogham.email.message.Recipient;
+import fr.sii.ogham.email.sender.impl.sendgrid.batch.MergedEmail;
+import fr.sii.ogham.email.sender.impl.sendgrid.client.AsyncSendGridClient;
 import fr.sii.ogham.email.sender.impl.sendgrid.client.SendGridClient;
 import fr.sii.ogham.email.sender.impl.sendgrid.client.SendGridInterceptor;
 import fr.sii.ogham.email.sender.impl.sendgrid.handler.SendGridContentHandler;
 
 /**
  * SendGrid-backed implementation of the email sender.
+ * 
+ * <p>
+ * A {@link MergedEmail} (see
+ * {@link fr.sii.ogham.email.sender.impl.sendgrid.batch.SendGridBatchService})
+ * is sent once for all its recipients: the recipients are declared in the
+ * X-SMTPAPI header with their substitution values (at most {@code batchSize}
+ * recipients per request). The interceptor is called once per request. If
+ * the client is an {@link AsyncSendGridClient}, the requests are sent
+ * concurrently (see {@link AsyncSendGridClient#sendAsync(SendGrid.Email)}).
+ * If some requests fail, a {@link PartialDeliveryException} provides the
+ * recipients that have been delivered.
+ * </p>
+ * 
+ * <p>
+ * Closing the sender closes the {@link SendGridClient} if it holds resources
+ * (see {@link fr.sii.ogham.email.sender.impl.sendgrid.client.PooledSendGridClient}).
+ * </p>
  */
-public final class SendGridSender extends AbstractSpecializedSender<Email> {
+public final class SendGridSender extends AbstractSpecializedSender<Email> implements Closeable {
 
 	private static final Logger LOG = LoggerFactory.getLogger(SendGridSender.class);
 
 	private final SendGridClient service;
 	private final SendGridContentHandler handler;
 	private final SendGridInterceptor interceptor;
+	private final int batchSize;
 
 	/**
 	 * Constructor.
@@ -55,16 +89,38 @@ public final class SendGridSender extends AbstractSpecializedSender<Email> {
 	 *            an extension point for customizing the email to send
 	 */
 	public SendGridSender(final SendGridClient service, final SendGridContentHandler handler, SendGridInterceptor interceptor) {
+		this(service, handler, interceptor, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param service
+	 *            the underlying SendGrid service
+	 * @param handler
+	 *            the content handler, in change of converting the email content
+	 *            into something the {@link SendGridClient} can work with
+	 * @param interceptor
+	 *            an extension point for customizing the email to send
+	 * @param batchSize
+	 *            the maximum number of recipients of a {@link MergedEmail}
+	 *            declared in a single SendGrid request
+	 */
+	public SendGridSender(final SendGridClient service, final SendGridContentHandler handler, SendGridInterceptor interceptor, int batchSize) {
 		if (service == null) {
 			throw new IllegalArgumentException("[service] cannot be null");
 		}
 		if (handler == null) {
 			throw new IllegalArgumentException("[handler] cannot be null");
 		}
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("[batchSize] must be strictly positive");
+		}
 
 		this.service = service;
 		this.handler = handler;
 		this.interceptor = interceptor;
+		this.batchSize = batchSize;
 	}
 
 	@Override
@@ -77,6 +133,11 @@ public final class SendGridSender extends AbstractSpecializedSender<Email> {
 			throw new MessageException("The provided email is invalid. (Violations: " + violations + ")", message);
 		}
 
+		if (message instanceof MergedEmail) {
+			sendMerged((MergedEmail) message);
+			return;
+		}
+
 		try {
 			LOG.debug("Preparing to send email using SendGrid: {}", message);
 			final SendGrid.Email sgEmail = intercept(toSendGridEmail(message), message);
@@ -91,6 +152,120 @@ public final class SendGridSender extends AbstractSpecializedSender<Email> {
 		}
 	}
 
+	private void sendMerged(final MergedEmail message) throws MessageException {
+		final List<Recipient> recipients = message.getRecipients();
+		final List<List<String>> chunks = new ArrayList<>();
+		final List<SendGrid.Email> requests = new ArrayList<>();
+		try {
+			for (int i = 0; i < recipients.size(); i += batchSize) {
+				final int end = Math.min(i + batchSize, recipients.size());
+				chunks.add(getAddresses(recipients.subList(i, end)));
+				requests.add(intercept(toMergedSendGridEmail(message, i, end), message));
+			}
+		} catch (ContentHandlerException e) {
+			throw new MessageException("A content-related error occurred when trying to build an email", message, e);
+		}
+		LOG.debug("Sending merged email to {} recipients in {} SendGrid requests", recipients.size(), requests.size());
+		final List<String> delivered = new ArrayList<>(recipients.size());
+		final Map<String, Exception> failures = new LinkedHashMap<>();
+		if (service instanceof AsyncSendGridClient && requests.size() > 1) {
+			sendConcurrently(message, (AsyncSendGridClient) service, requests, chunks, delivered, failures);
+		} else {
+			for (int i = 0; i < requests.size(); i++) {
+				try {
+					service.send(requests.get(i));
+					delivered.addAll(chunks.get(i));
+				} catch (SendGridException e) {
+					addFailures(failures, chunks.get(i), e);
+				}
+			}
+		}
+		if (!failures.isEmpty() && delivered.isEmpty()) {
+			throw new MessageNotSentException("A SendGrid-related error occurred when trying to send an email", message, failures.values().iterator().next());
+		}
+		if (!failures.isEmpty()) {
+			throw new PartialDeliveryException("Merged email couldn't be delivered to " + failures.size() + " of " + recipients.size() + " recipients using SendGrid", message, failures, delivered);
+		}
+		LOG.debug("Merged email has been successfully sent to {} recipients", recipients.size());
+	}
+
+	/**
+	 * The requests are sent in background using the pool of the client (see
+	 * {@link AsyncSendGridClient#sendAsync(SendGrid.Email)}). Every request is
+	 * awaited even if one fails.
+	 */
+	private static void sendConcurrently(MergedEmail message, AsyncSendGridClient client, List<SendGrid.Email> requests, List<List<String>> chunks, List<String> delivered,
+			Map<String, Exception> failures) throws MessageException {
+		final List<Future<Void>> responses = new ArrayList<>(requests.size());
+		for (SendGrid.Email request : requests) {
+			responses.add(client.sendAsync(request));
+		}
+		for (int i = 0; i < responses.size(); i++) {
+			try {
+				responses.get(i).get();
+				delivered.addAll(chunks.get(i));
+			} catch (ExecutionException e) {
+				addFailures(failures, chunks.get(i), e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new MessageException("Interrupted while sending merged email using SendGrid", message, e);
+			}
+		}
+	}
+
+	private static void addFailures(Map<String, Exception> failures, List<String> addresses, Exception cause) {
+		for (String address : addresses) {
+			failures.put(address, cause);
+		}
+	}
+
+	private static List<String> getAddresses(List<Recipient> recipients) {
+		final List<String> addresses = new ArrayList<>(recipients.size());
+		for (Recipient recipient : recipients) {
+			addresses.add(recipient.getAddress().getAddress());
+		}
+		return addresses;
+	}
+
+	/**
+	 * Builds a single SendGrid request for the recipients of the merged email
+	 * between {@code start} (inclusive) and {@code end} (exclusive). The
+	 * recipients are declared in the X-SMTPAPI header ("Name &lt;address&gt;")
+	 * with their substitution values.
+	 */
+	private SendGrid.Email toMergedSendGridEmail(final MergedEmail message, int start, int end) throws ContentHandlerException {
+		final SendGrid.Email ret = new SendGrid.Email();
+		ret.setSubject(message.getSubject());
+
+		ret.setFrom(message.getFrom().getAddress());
+		ret.setFromName(message.getFrom().getPersonal());
+
+		final Set<String> tags = new LinkedHashSet<>();
+		for (int i = start; i < end; i++) {
+			ret.addSmtpApiTo(toSmtpApiAddress(message.getRecipients().get(i).getAddress()));
+			tags.addAll(message.getSubstitutions(i).keySet());
+		}
+		for (String tag : tags) {
+			final String[] values = new String[end - start];
+			for (int i = start; i < end; i++) {
+				final String value = message.getSubstitutions(i).get(tag);
+				values[i - start] = value == null ? "" : value;
+			}
+			ret.addSubstitution(tag, values);
+		}
+
+		handler.setContent(ret, message.getContent());
+
+		return ret;
+	}
+
+	private static String toSmtpApiAddress(EmailAddress address) {
+		if (address.getPersonal() == null || address.getPersonal().isEmpty()) {
+			return address.getAddress();
+		}
+		return address.getPersonal() + " <" + address.getAddress() + ">";
+	}
+
 	private SendGrid.Email intercept(SendGrid.Email sendGridEmail, Email source) {
 		if(interceptor==null) {
 			return sendGridEmail;
@@ -151,8 +326,17 @@ public final class SendGridSender extends AbstractSpecializedSender<Email> {
 		return ret;
 	}
 
+	@Override
+	public void close() throws IOException {
+		IOUtils.closeAll(service);
+	}
+
 	public SendGridClient getService() {
 		return service;
 	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
 	
 }
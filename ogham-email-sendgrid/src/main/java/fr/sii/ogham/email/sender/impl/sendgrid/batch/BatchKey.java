@@ -0,0 +1,58 @@
+package fr.sii.ogham.email.sender.impl.sendgrid.batch;
+
+import java.util.List;
+import java.util.Objects;
+
+import fr.sii.ogham.core.util.EqualsBuilder;
+import fr.sii.ogham.email.attachment.Attachment;
+import fr.sii.ogham.email.message.Email;
+import fr.sii.ogham.email.message.EmailAddress;
+
+/**
+ * Identifies emails that can be merged into a single SendGrid request: same
+ * sender, same subject, same attachments and same content. For templates, the
+ * content is identified by the template path and the variables that are not
+ * substituted by SendGrid (see {@link SendGridBatchService}).
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class BatchKey {
+	private final EmailAddress from;
+	private final String subject;
+	private final List<Attachment> attachments;
+	private final Object content;
+
+	/**
+	 * Extracts the merge criteria from an email.
+	 *
+	 * @param email
+	 *            the email to merge
+	 * @param content
+	 *            identifies the content once substituted values are removed
+	 */
+	public BatchKey(Email email, Object content) {
+		super();
+		from = email.getFrom();
+		subject = email.getSubject();
+		attachments = email.getAttachments();
+		this.content = content;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(from, subject, attachments, content);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		BatchKey other = (BatchKey) obj;
+		return new EqualsBuilder().append(from, other.from).append(subject, other.subject).append(attachments, other.attachments).append(content, other.content).isEqual();
+	}
+}
@@ -0,0 +1,114 @@
+package fr.sii.ogham.email.sender.impl.sendgrid.batch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import fr.sii.ogham.core.message.content.Content;
+import fr.sii.ogham.core.util.EqualsBuilder;
+import fr.sii.ogham.email.message.Email;
+import fr.sii.ogham.email.message.RecipientType;
+
+/**
+ * Several emails with a single recipient merged into one email. The subject
+ * and the content are shared by all recipients. The content may contain
+ * substitution tags (for example "-name-") that SendGrid replaces with the
+ * values associated to each recipient.
+ *
+ * <p>
+ * Recipients are declared as blind copies: SendGrid declares each recipient
+ * in the X-SMTPAPI header so that each one receives its own copy. If the
+ * merged email were sent by another implementation, recipients would not see
+ * each other.
+ * </p>
+ *
+ * @author Aurélien Baudet
+ * @see SendGridBatchService
+ */
+public class MergedEmail extends Email {
+	/**
+	 * The original emails (one per recipient)
+	 */
+	private final List<Email> emails;
+
+	/**
+	 * The substitution values for each recipient (same order as recipients)
+	 */
+	private final List<Map<String, String>> substitutions;
+
+	/**
+	 * Merge the emails. The subject, the sender and the attachments are taken
+	 * from the first email. Each email must have a single recipient.
+	 *
+	 * @param emails
+	 *            the emails to merge
+	 * @param content
+	 *            the shared content
+	 * @param substitutions
+	 *            the substitution values indexed by tag for each email (same
+	 *            order as emails)
+	 */
+	public MergedEmail(List<Email> emails, Content content, List<Map<String, String>> substitutions) {
+		super();
+		if (emails.size() != substitutions.size()) {
+			throw new IllegalArgumentException("[substitutions] must provide values for each email");
+		}
+		this.emails = new ArrayList<>(emails);
+		this.substitutions = new ArrayList<>(substitutions);
+		Email first = emails.get(0);
+		setSubject(first.getSubject());
+		setFrom(first.getFrom());
+		setAttachments(new ArrayList<>(first.getAttachments()));
+		setContent(content);
+		for (Email email : emails) {
+			recipient(email.getRecipients().get(0).getAddress(), RecipientType.BCC);
+		}
+	}
+
+	/**
+	 * @return the original emails (same order as recipients)
+	 */
+	public List<Email> getEmails() {
+		return Collections.unmodifiableList(emails);
+	}
+
+	/**
+	 * Get the substitution values for the recipient at the provided index
+	 * (see {@link #getRecipients()}).
+	 *
+	 * @param index
+	 *            the index of the recipient
+	 * @return the substitution values indexed by tag
+	 */
+	public Map<String, String> getSubstitutions(int index) {
+		return Collections.unmodifiableMap(substitutions.get(index));
+	}
+
+	/**
+	 * Get the original email for the recipient at the provided index (see
+	 * {@link #getRecipients()}).
+	 *
+	 * @param index
+	 *            the index of the recipient
+	 * @return the original email
+	 */
+	public Email getEmail(int index) {
+		return emails.get(index);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(super.hashCode(), emails, substitutions);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!super.equals(obj)) {
+			return false;
+		}
+		MergedEmail other = (MergedEmail) obj;
+		return new EqualsBuilder().append(emails, other.emails).append(substitutions, other.substitutions).isEqual();
+	}
+}
@@ -0,0 +1,80 @@
+package fr.sii.ogham.email.sender.impl.sendgrid.batch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.email.message.Email;
+
+/**
+ * Result of a batch send through SendGrid. Several emails may have been merged
+ * into a single SendGrid request, the result is split back per email.
+ * 
+ * <p>
+ * Each failure is a {@link MessageException} that references the email that
+ * couldn't be sent (see {@link MessageException#getOghamMessage()}).
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class SendGridBatchResult {
+	/**
+	 * The emails that have been accepted by SendGrid
+	 */
+	private final List<Email> sent;
+
+	/**
+	 * The errors for emails that couldn't be sent
+	 */
+	private final List<MessageException> failures;
+
+	public SendGridBatchResult() {
+		super();
+		sent = new ArrayList<>();
+		failures = new ArrayList<>();
+	}
+
+	/**
+	 * Register emails that have been successfully sent.
+	 * 
+	 * @param emails
+	 *            the sent emails
+	 */
+	public void addSent(List<Email> emails) {
+		sent.addAll(emails);
+	}
+
+	/**
+	 * Register an email that couldn't be sent.
+	 * 
+	 * @param failure
+	 *            the error that references the email
+	 */
+	public void addFailure(MessageException failure) {
+		failures.add(failure);
+	}
+
+	public List<Email> getSent() {
+		return Collections.unmodifiableList(sent);
+	}
+
+	public List<MessageException> getFailures() {
+		return Collections.unmodifiableList(failures);
+	}
+
+	/**
+	 * @return true if every email has been sent
+	 */
+	public boolean isSuccess() {
+		return failures.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("SendGridBatchResult [sent=").append(sent.size()).append(", failures=").append(failures.size()).append("]");
+		return builder.toString();
+	}
+}
@@ -0,0 +1,350 @@
+package fr.sii.ogham.email.sender.impl.sendgrid.batch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.exception.PartialDeliveryException;
+import fr.sii.ogham.core.exception.template.ContextException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.message.content.Content;
+import fr.sii.ogham.core.message.content.MultiContent;
+import fr.sii.ogham.core.message.content.TemplateContent;
+import fr.sii.ogham.core.message.content.TemplateVariantContent;
+import fr.sii.ogham.core.service.MessagingService;
+import fr.sii.ogham.core.template.context.Context;
+import fr.sii.ogham.core.template.context.LocaleContext;
+import fr.sii.ogham.core.template.context.SimpleContext;
+import fr.sii.ogham.core.util.IOUtils;
+import fr.sii.ogham.email.message.Email;
+import fr.sii.ogham.email.message.Recipient;
+import fr.sii.ogham.email.message.RecipientType;
+
+/**
+ * Messaging service that is able to send several emails at once through
+ * SendGrid. Emails that have a single recipient and share the same sender,
+ * subject, attachments and content are merged into a {@link MergedEmail}
+ * that is sent only once through the decorated service (fillers and
+ * templates are applied only once). The SendGrid sender declares each
+ * recipient in the X-SMTPAPI header (at most the configured batch size per
+ * request) so that each recipient receives its own copy.
+ *
+ * <p>
+ * The content of the emails is generally a template. Some template variables
+ * are different for each recipient (the name of the recipient for example).
+ * Those variables are declared as substitution keys. Emails are merged if
+ * they use the same template with the same values for all other variables.
+ * The template is evaluated once with the SendGrid tag "-key-" as value of
+ * each substitution key. SendGrid then replaces the tags with the values of
+ * each recipient. Substituted values are inserted as is (they are not escaped
+ * by the template engine).
+ * </p>
+ *
+ * <p>
+ * Emails that can't be merged are sent one by one. A failure doesn't stop
+ * the batch: the result lists sent emails and failures per email.
+ * </p>
+ *
+ * <p>
+ * Merged emails must be sent by SendGrid: the decorated service must select
+ * the SendGrid implementation for emails.
+ * </p>
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class SendGridBatchService implements MessagingService, Closeable {
+	private static final Logger LOG = LoggerFactory.getLogger(SendGridBatchService.class);
+
+	/**
+	 * The service that sends emails
+	 */
+	private final MessagingService delegate;
+
+	/**
+	 * The template variables that are substituted by SendGrid
+	 */
+	private final Set<String> substitutionKeys;
+
+	/**
+	 * Initialize with the service that really sends the emails and the
+	 * template variables that are different for each recipient.
+	 *
+	 * @param delegate
+	 *            the service that sends emails
+	 * @param substitutionKeys
+	 *            the template variables that are substituted by SendGrid
+	 */
+	public SendGridBatchService(MessagingService delegate, String... substitutionKeys) {
+		this(delegate, Arrays.asList(substitutionKeys));
+	}
+
+	/**
+	 * Initialize with the service that really sends the emails and the
+	 * template variables that are different for each recipient.
+	 *
+	 * @param delegate
+	 *            the service that sends emails
+	 * @param substitutionKeys
+	 *            the template variables that are substituted by SendGrid
+	 */
+	public SendGridBatchService(MessagingService delegate, Collection<String> substitutionKeys) {
+		super();
+		if (delegate == null) {
+			throw new IllegalArgumentException("[delegate] cannot be null");
+		}
+		this.delegate = delegate;
+		this.substitutionKeys = new LinkedHashSet<>(substitutionKeys);
+	}
+
+	@Override
+	public void send(Message message) throws MessagingException {
+		delegate.send(message);
+	}
+
+	/**
+	 * Sends several emails at once. Compatible emails are merged and sent
+	 * once. Other emails are sent one by one.
+	 *
+	 * @param emails
+	 *            the emails to send
+	 * @return the result for each email
+	 */
+	public SendGridBatchResult sendBatch(List<Email> emails) {
+		if (emails == null) {
+			throw new IllegalArgumentException("[emails] cannot be null");
+		}
+		SendGridBatchResult result = new SendGridBatchResult();
+		Map<BatchKey, List<Email>> groups = new LinkedHashMap<>();
+		for (Email email : emails) {
+			BatchKey key = batchKey(email);
+			if (key == null) {
+				sendSingle(email, result);
+				continue;
+			}
+			List<Email> group = groups.get(key);
+			if (group == null) {
+				group = new ArrayList<>();
+				groups.put(key, group);
+			}
+			group.add(email);
+		}
+		for (List<Email> group : groups.values()) {
+			if (group.size() == 1) {
+				sendSingle(group.get(0), result);
+			} else {
+				sendMerged(group, result);
+			}
+		}
+		LOG.debug("Batch sent using SendGrid: {}", result);
+		return result;
+	}
+
+	@Override
+	public void close() throws IOException {
+		IOUtils.closeAll(delegate);
+	}
+
+	public MessagingService getDelegate() {
+		return delegate;
+	}
+
+	public Set<String> getSubstitutionKeys() {
+		return Collections.unmodifiableSet(substitutionKeys);
+	}
+
+	private void sendSingle(Email email, SendGridBatchResult result) {
+		try {
+			delegate.send(email);
+			result.addSent(Collections.singletonList(email));
+		} catch (MessagingException e) {
+			result.addFailure(toMessageException(e, email));
+		} catch (IllegalArgumentException e) {
+			result.addFailure(new MessageException("The provided email is invalid", email, e));
+		}
+	}
+
+	private void sendMerged(List<Email> group, SendGridBatchResult result) {
+		MergedEmail merged;
+		try {
+			merged = merge(group);
+		} catch (ContextException e) {
+			LOG.debug("Emails can't be merged, send them one by one", e);
+			for (Email email : group) {
+				sendSingle(email, result);
+			}
+			return;
+		}
+		try {
+			LOG.debug("Merging {} emails into a single SendGrid email", group.size());
+			delegate.send(merged);
+			result.addSent(group);
+		} catch (PartialDeliveryException e) {
+			splitResult(merged, e, result);
+		} catch (MessagingException e) {
+			for (Email email : group) {
+				result.addFailure(new MessageException("Merged email couldn't be sent", email, e));
+			}
+		} catch (IllegalArgumentException e) {
+			for (Email email : group) {
+				result.addFailure(new MessageException("The provided email is invalid", email, e));
+			}
+		}
+	}
+
+	private static void splitResult(MergedEmail merged, PartialDeliveryException partial, SendGridBatchResult result) {
+		List<Email> sent = new ArrayList<>();
+		for (int i = 0; i < merged.getEmails().size(); i++) {
+			Email email = merged.getEmail(i);
+			String address = merged.getRecipients().get(i).getAddress().getAddress();
+			Exception failure = partial.getFailures().get(address);
+			if (failure == null) {
+				sent.add(email);
+			} else {
+				result.addFailure(new MessageException("Merged email couldn't be sent", email, failure));
+			}
+		}
+		result.addSent(sent);
+	}
+
+	private static MessageException toMessageException(MessagingException e, Email email) {
+		if (e instanceof MessageException) {
+			return (MessageException) e;
+		}
+		return new MessageException(e.getMessage(), email, e);
+	}
+
+	private MergedEmail merge(List<Email> group) throws ContextException {
+		List<Map<String, String>> substitutions = new ArrayList<>(group.size());
+		for (Email email : group) {
+			substitutions.add(getSubstitutions(email.getContent()));
+		}
+		return new MergedEmail(group, withTags(group.get(0).getContent()), substitutions);
+	}
+
+	/**
+	 * Get the merge criteria of the email.
+	 *
+	 * @param email
+	 *            the email to send
+	 * @return the key or null if the email can't be merged
+	 */
+	private BatchKey batchKey(Email email) {
+		if (email == null || email.getContent() == null || email.getRecipients().size() != 1) {
+			return null;
+		}
+		Recipient recipient = email.getRecipients().get(0);
+		if (recipient.getType() != RecipientType.TO) {
+			return null;
+		}
+		try {
+			return new BatchKey(email, contentKey(email.getContent()));
+		} catch (ContextException e) {
+			LOG.debug("Email can't be merged, it is sent alone", e);
+			return null;
+		}
+	}
+
+	private Object contentKey(Content content) throws ContextException {
+		if (content instanceof TemplateVariantContent) {
+			TemplateVariantContent template = (TemplateVariantContent) content;
+			return Arrays.asList(template.getPath(), template.getVariant(), withoutSubstitutions(template.getContext()), getLocale(template.getContext()));
+		}
+		if (content instanceof TemplateContent) {
+			TemplateContent template = (TemplateContent) content;
+			return Arrays.asList(template.getPath(), withoutSubstitutions(template.getContext()), getLocale(template.getContext()));
+		}
+		if (content instanceof MultiContent) {
+			List<Object> keys = new ArrayList<>();
+			for (Content c : ((MultiContent) content).getContents()) {
+				keys.add(contentKey(c));
+			}
+			return keys;
+		}
+		return content;
+	}
+
+	private Content withTags(Content content) throws ContextException {
+		if (content instanceof TemplateVariantContent) {
+			TemplateVariantContent template = (TemplateVariantContent) content;
+			return new TemplateVariantContent(template.getPath(), template.getVariant(), withTags(template.getContext()));
+		}
+		if (content instanceof TemplateContent) {
+			TemplateContent template = (TemplateContent) content;
+			return new TemplateContent(template.getPath(), withTags(template.getContext()));
+		}
+		if (content instanceof MultiContent) {
+			List<Content> contents = new ArrayList<>();
+			for (Content c : ((MultiContent) content).getContents()) {
+				contents.add(withTags(c));
+			}
+			return new MultiContent(contents);
+		}
+		return content;
+	}
+
+	private Context withTags(Context context) throws ContextException {
+		Map<String, Object> variables = new HashMap<>(context.getVariables());
+		for (String key : substitutionKeys) {
+			if (variables.containsKey(key)) {
+				variables.put(key, toTag(key));
+			}
+		}
+		SimpleContext tagged = new SimpleContext(variables);
+		if (context instanceof LocaleContext) {
+			return new LocaleContext(tagged, ((LocaleContext) context).getLocale());
+		}
+		return tagged;
+	}
+
+	private Map<String, String> getSubstitutions(Content content) throws ContextException {
+		Map<String, String> values = new LinkedHashMap<>();
+		if (content instanceof TemplateContent) {
+			Map<String, Object> variables = ((TemplateContent) content).getContext().getVariables();
+			for (String key : substitutionKeys) {
+				if (variables.containsKey(key)) {
+					Object value = variables.get(key);
+					values.put(toTag(key), value == null ? "" : value.toString());
+				}
+			}
+		}
+		if (content instanceof MultiContent) {
+			for (Content c : ((MultiContent) content).getContents()) {
+				for (Map.Entry<String, String> entry : getSubstitutions(c).entrySet()) {
+					if (!values.containsKey(entry.getKey())) {
+						values.put(entry.getKey(), entry.getValue());
+					}
+				}
+			}
+		}
+		return values;
+	}
+
+	private Map<String, Object> withoutSubstitutions(Context context) throws ContextException {
+		Map<String, Object> variables = new HashMap<>(context.getVariables());
+		variables.keySet().removeAll(substitutionKeys);
+		return variables;
+	}
+
+	private static Object getLocale(Context context) {
+		return context instanceof LocaleContext ? ((LocaleContext) context).getLocale() : null;
+	}
+
+	private static String toTag(String key) {
+		return "-" + key + "-";
+	}
+}
@@ -0,0 +1,28 @@
+package fr.sii.ogham.email.sender.impl.sendgrid.client;
+
+import java.util.concurrent.Future;
+
+import com.sendgrid.SendGrid;
+
+/**
+ * A {@link SendGridClient} that is also able to send emails without blocking
+ * the caller thread.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public interface AsyncSendGridClient extends SendGridClient {
+
+	/**
+	 * Sends the provided email to SendGrid in background. The returned future
+	 * completes when SendGrid has answered. If SendGrid rejected the email,
+	 * {@link Future#get()} throws an {@link java.util.concurrent.ExecutionException}
+	 * that wraps the {@link com.sendgrid.SendGridException}.
+	 * 
+	 * @param email
+	 *            the email to send, cannot be {@code null}
+	 * @return the future result of the sending
+	 */
+	Future<Void> sendAsync(SendGrid.Email email);
+
+}
@@ -16,7 +16,7 @@ public final class DelegateSendGridClient implements SendGridClient {
 
 	private static final Logger LOG = LoggerFactory.getLogger(DelegateSendGridClient.class);
 
-	private SendGrid delegate;
+	private volatile SendGrid delegate;
 
 	/**
 	 * The account username
@@ -72,8 +72,7 @@ public final class DelegateSendGridClient implements SendGridClient {
 		LOG.debug("Sending to SendGrid client: TEXT CONTENT {}", email.getText());
 		LOG.debug("Sending to SendGrid client: HTML CONTENT {}", email.getHtml());
 
-		initSendGridClient();
-		final SendGrid.Response response = delegate.send(email);
+		final SendGrid.Response response = initSendGridClient().send(email);
 
 		if (response.getStatus()) {
 			LOG.debug("Response from SendGrid client: ({}) {}", response.getCode(), response.getMessage());
@@ -82,16 +81,28 @@ public final class DelegateSendGridClient implements SendGridClient {
 		}
 	}
 
-	private void initSendGridClient() {
-		if (delegate == null) {
-			if(username!=null && password!=null) {
-				delegate = new SendGrid(username, password);
-			} else if(apiKey!=null) {
-				delegate = new SendGrid(apiKey);
-			} else {
-				throw new IllegalStateException("No SendGrid instance available. Either provide an instance manually or provide username/password or provide API key");
+	private SendGrid initSendGridClient() {
+		SendGrid client = delegate;
+		if (client == null) {
+			synchronized (this) {
+				client = delegate;
+				if (client == null) {
+					client = createSendGridClient();
+					delegate = client;
+				}
 			}
 		}
+		return client;
+	}
+
+	private SendGrid createSendGridClient() {
+		if(username!=null && password!=null) {
+			return new SendGrid(username, password);
+		} else if(apiKey!=null) {
+			return new SendGrid(apiKey);
+		} else {
+			throw new IllegalStateException("No SendGrid instance available. Either provide an instance manually or provide username/password or provide API key");
+		}
 	}
 
 	public String getUsername() {
@@ -0,0 +1,106 @@
+package fr.sii.ogham.email.sender.impl.sendgrid.client;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sendgrid.SendGrid;
+import com.sendgrid.SendGridException;
+
+import fr.sii.ogham.core.util.http.HttpClientOptions;
+import fr.sii.ogham.core.util.http.HttpClientPool;
+
+/**
+ * SendGrid client that uses an explicitly configured pool of HTTP connections
+ * (see {@link HttpClientPool}). Connections to SendGrid are kept alive and
+ * reused between calls. Each call has a deadline: connection, socket and pool
+ * timeouts are always set.
+ * 
+ * <p>
+ * Emails can also be sent asynchronously (see {@link #sendAsync(SendGrid.Email)}).
+ * The number of threads used for asynchronous sending is bounded.
+ * </p>
+ * 
+ * <p>
+ * The client must be closed in order to release the connections and the
+ * threads.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public final class PooledSendGridClient implements AsyncSendGridClient, Closeable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(PooledSendGridClient.class);
+
+	private final HttpClientPool pool;
+	private final SendGridClient delegate;
+
+	/**
+	 * Initializes the client using an <a href=
+	 * "https://sendgrid.com/docs/Classroom/Send/How_Emails_Are_Sent/api_keys.html">API
+	 * key</a>.
+	 * 
+	 * @param apiKey
+	 *            the SendGrid API key
+	 * @param options
+	 *            the HTTP configuration
+	 */
+	public PooledSendGridClient(String apiKey, HttpClientOptions options) {
+		this(new SendGrid(apiKey), options);
+	}
+
+	/**
+	 * Initializes the client using username/password authentication.
+	 * 
+	 * @param username
+	 *            the SendGrid account username
+	 * @param password
+	 *            the SendGrid account password
+	 * @param options
+	 *            the HTTP configuration
+	 */
+	public PooledSendGridClient(String username, String password, HttpClientOptions options) {
+		this(new SendGrid(username, password), options);
+	}
+
+	private PooledSendGridClient(SendGrid sendGrid, HttpClientOptions options) {
+		super();
+		this.pool = new HttpClientPool("sendgrid", options);
+		sendGrid.setClient(pool.getClient());
+		this.delegate = new DelegateSendGridClient(sendGrid);
+	}
+
+	@Override
+	public void send(SendGrid.Email email) throws SendGridException {
+		delegate.send(email);
+	}
+
+	@Override
+	public Future<Void> sendAsync(final SendGrid.Email email) {
+		if (email == null) {
+			throw new IllegalArgumentException("[email] cannot be null");
+		}
+		return pool.getExecutor().submit(new Callable<Void>() {
+			@Override
+			public Void call() throws SendGridException {
+				delegate.send(email);
+				return null;
+			}
+		});
+	}
+
+	@Override
+	public void close() throws IOException {
+		LOG.debug("Closing SendGrid client");
+		pool.close();
+	}
+
+	public HttpClientOptions getOptions() {
+		return pool.getOptions();
+	}
+}
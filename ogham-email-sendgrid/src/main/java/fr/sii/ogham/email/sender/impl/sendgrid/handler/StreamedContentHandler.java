@@ -0,0 +1,85 @@
+package fr.sii.ogham.email.sender.impl.sendgrid.handler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sendgrid.SendGrid;
+
+import fr.sii.ogham.core.message.content.Content;
+import fr.sii.ogham.core.message.content.StreamedContent;
+import fr.sii.ogham.core.message.content.StringContent;
+import fr.sii.ogham.email.exception.sendgrid.ContentHandlerException;
+
+/**
+ * Content handler for {@link StreamedContent} instances (templates rendered
+ * directly as bytes). SendGrid needs the content as a string: the content is
+ * decoded and processing is delegated to an injected content handler as a
+ * {@link StringContent}.
+ * 
+ * <p>
+ * The streamed content is not released by this handler. It is released once
+ * the message has been sent (see
+ * {@link fr.sii.ogham.core.sender.ContentTranslatorSender}).
+ * </p>
+ *
+ */
+public final class StreamedContentHandler implements SendGridContentHandler {
+
+	private static final Logger LOG = LoggerFactory.getLogger(StreamedContentHandler.class);
+
+	private final SendGridContentHandler delegate;
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param delegate
+	 *            the underlying content handler that handles the decoded
+	 *            content
+	 */
+	public StreamedContentHandler(final SendGridContentHandler delegate) {
+		if (delegate == null) {
+			throw new IllegalArgumentException("[delegate] cannot be null");
+		}
+
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Decodes the content and adds it into the email. This method is expected
+	 * to update the content of the {@code email} parameter.
+	 * 
+	 * While the method signature accepts any {@link Content} instance as
+	 * parameter, the method will fail if anything other than a
+	 * {@link StreamedContent} is provided.
+	 * 
+	 * @param email
+	 *            the email to put the content in
+	 * @param content
+	 *            the unprocessed content
+	 * @throws ContentHandlerException
+	 *             the handler is unable to add the content to the email
+	 * @throws IllegalArgumentException
+	 *             the content provided is not of the right type
+	 */
+	@Override
+	public void setContent(final SendGrid.Email email, final Content content) throws ContentHandlerException {
+		if (email == null) {
+			throw new IllegalArgumentException("[email] cannot be null");
+		}
+		if (content == null) {
+			throw new IllegalArgumentException("[content] cannot be null");
+		}
+
+		if (content instanceof StreamedContent) {
+			LOG.debug("Converting {} to string", content);
+			try {
+				delegate.setContent(email, new StringContent(((StreamedContent) content).asString()));
+			} catch (IllegalStateException e) {
+				throw new ContentHandlerException("Unable to read the streamed content", e);
+			}
+		} else {
+			throw new IllegalArgumentException("This instance can only work with StreamedContent instances, but was passed " + content.getClass().getSimpleName());
+		}
+	}
+
+}
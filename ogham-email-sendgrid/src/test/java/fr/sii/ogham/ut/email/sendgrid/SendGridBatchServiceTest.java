@@ -0,0 +1,128 @@
+package fr.sii.ogham.ut.email.sendgrid;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.exception.PartialDeliveryException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.message.content.TemplateContent;
+import fr.sii.ogham.core.service.MessagingService;
+import fr.sii.ogham.core.template.context.SimpleContext;
+import fr.sii.ogham.email.message.Email;
+import fr.sii.ogham.email.message.EmailAddress;
+import fr.sii.ogham.email.sender.impl.sendgrid.batch.MergedEmail;
+import fr.sii.ogham.email.sender.impl.sendgrid.batch.SendGridBatchResult;
+import fr.sii.ogham.email.sender.impl.sendgrid.batch.SendGridBatchService;
+
+/**
+ * Test campaign for the {@link SendGridBatchService} class.
+ */
+public final class SendGridBatchServiceTest {
+
+	private MessagingService delegate;
+	private SendGridBatchService instance;
+
+	@Before
+	public void setUp() {
+		delegate = mock(MessagingService.class);
+		instance = new SendGridBatchService(delegate, "name");
+	}
+
+	@Test
+	public void sameTemplateIsMergedWithSubstitutionTags() throws MessagingException {
+		SendGridBatchResult result = instance.sendBatch(Arrays.asList(email("foo", "/template/hello"), email("bar", "/template/hello")));
+
+		ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+		verify(delegate, times(1)).send(captor.capture());
+		assertTrue(captor.getValue() instanceof MergedEmail);
+		MergedEmail merged = (MergedEmail) captor.getValue();
+		TemplateContent content = (TemplateContent) merged.getContent();
+		assertEquals("/template/hello", content.getPath());
+		assertEquals("-name-", content.getContext().getVariables().get("name"));
+		assertEquals("shared", content.getContext().getVariables().get("common"));
+		assertEquals(Collections.singletonMap("-name-", "foo"), merged.getSubstitutions(0));
+		assertEquals(Collections.singletonMap("-name-", "bar"), merged.getSubstitutions(1));
+		assertEquals(2, result.getSent().size());
+		assertTrue(result.isSuccess());
+	}
+
+	@Test
+	public void differentTemplatesAreNotMerged() throws MessagingException {
+		SendGridBatchResult result = instance.sendBatch(Arrays.asList(email("foo", "/template/hello"), email("bar", "/template/goodbye")));
+
+		ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+		verify(delegate, times(2)).send(captor.capture());
+		for (Message message : captor.getAllValues()) {
+			assertFalse(message instanceof MergedEmail);
+		}
+		assertEquals(2, result.getSent().size());
+	}
+
+	@Test
+	public void differentValuesOfOtherVariablesAreNotMerged() throws MessagingException {
+		Email foo = email("foo", "/template/hello");
+		Email bar = new Email()
+				.subject("subject")
+				.content(new TemplateContent("/template/hello", new SimpleContext(variables("bar", "other"))))
+				.from(new EmailAddress("sender@sii.fr", "Sender"))
+				.to(new EmailAddress("bar@sii.fr", "bar"));
+
+		instance.sendBatch(Arrays.asList(foo, bar));
+
+		verify(delegate).send(foo);
+		verify(delegate).send(bar);
+	}
+
+	@Test
+	public void failuresAreReportedPerEmail() throws MessagingException {
+		Email foo = email("foo", "/template/hello");
+		Email bar = email("bar", "/template/hello");
+		Map<String, Exception> failures = new LinkedHashMap<>();
+		Exception cause = new Exception("boom");
+		failures.put("bar@sii.fr", cause);
+		doThrow(new PartialDeliveryException("partial", null, failures, Arrays.asList("foo@sii.fr"))).when(delegate).send(any(Message.class));
+
+		SendGridBatchResult result = instance.sendBatch(Arrays.asList(foo, bar));
+
+		assertFalse(result.isSuccess());
+		List<Email> sent = result.getSent();
+		assertEquals(Arrays.asList(foo), sent);
+		assertEquals(1, result.getFailures().size());
+		assertSame(bar, result.getFailures().get(0).getOghamMessage());
+		assertSame(cause, result.getFailures().get(0).getCause());
+	}
+
+	private static Email email(String name, String template) {
+		return new Email()
+				.subject("subject")
+				.content(new TemplateContent(template, new SimpleContext(variables(name, "shared"))))
+				.from(new EmailAddress("sender@sii.fr", "Sender"))
+				.to(new EmailAddress(name + "@sii.fr", name));
+	}
+
+	private static Map<String, Object> variables(String name, String common) {
+		Map<String, Object> variables = new HashMap<>();
+		variables.put("name", name);
+		variables.put("common", common);
+		return variables;
+	}
+}
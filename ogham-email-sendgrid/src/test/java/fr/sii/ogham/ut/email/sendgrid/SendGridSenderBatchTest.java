@@ -0,0 +1,173 @@
+package fr.sii.ogham.ut.email.sendgrid;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import javax.activation.MimeType;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.sendgrid.SendGrid;
+import com.sendgrid.SendGridException;
+
+import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.exception.MessageNotSentException;
+import fr.sii.ogham.core.exception.PartialDeliveryException;
+import fr.sii.ogham.core.message.content.StringContent;
+import fr.sii.ogham.core.mimetype.MimeTypeProvider;
+import fr.sii.ogham.email.message.Email;
+import fr.sii.ogham.email.message.EmailAddress;
+import fr.sii.ogham.email.sender.impl.SendGridSender;
+import fr.sii.ogham.email.sender.impl.sendgrid.batch.MergedEmail;
+import fr.sii.ogham.email.sender.impl.sendgrid.client.AsyncSendGridClient;
+import fr.sii.ogham.email.sender.impl.sendgrid.client.SendGridClient;
+import fr.sii.ogham.email.sender.impl.sendgrid.client.SendGridInterceptor;
+import fr.sii.ogham.email.sender.impl.sendgrid.handler.StringContentHandler;
+
+/**
+ * Test campaign for the sending of {@link MergedEmail}s by the
+ * {@link SendGridSender} class.
+ */
+public final class SendGridSenderBatchTest {
+
+	private SendGridClient client;
+	private SendGridSender instance;
+	private MimeTypeProvider provider;
+
+	@Before
+	public void setUp() throws Exception {
+		client = mock(SendGridClient.class);
+		provider = mock(MimeTypeProvider.class);
+		when(provider.detect(anyString())).thenReturn(new MimeType("text/plain"));
+		instance = new SendGridSender(client, new StringContentHandler(provider), null, 2);
+	}
+
+	@Test
+	public void recipientsAreDeclaredInSmtpApiWithNames() throws MessageException, SendGridException {
+		instance.send(merged(email("foo"), email("bar")));
+
+		ArgumentCaptor<SendGrid.Email> captor = ArgumentCaptor.forClass(SendGrid.Email.class);
+		verify(client, times(1)).send(captor.capture());
+		String smtpapi = captor.getValue().getSMTPAPI().jsonString();
+		assertTrue("recipients are declared with their name in X-SMTPAPI", smtpapi.contains("foo <foo@sii.fr>") && smtpapi.contains("bar <bar@sii.fr>"));
+		assertTrue("substitutions are declared in X-SMTPAPI", smtpapi.contains("-name-") && smtpapi.contains("foo-value") && smtpapi.contains("bar-value"));
+	}
+
+	@Test
+	public void interceptorIsCalledOncePerRequest() throws MessageException, SendGridException {
+		SendGridInterceptor interceptor = mock(SendGridInterceptor.class);
+		when(interceptor.intercept(any(SendGrid.Email.class), any(Email.class))).thenAnswer(new Answer<SendGrid.Email>() {
+			@Override
+			public SendGrid.Email answer(InvocationOnMock invocation) {
+				return (SendGrid.Email) invocation.getArguments()[0];
+			}
+		});
+		instance = new SendGridSender(client, new StringContentHandler(provider), interceptor, 2);
+		MergedEmail merged = merged(email("foo"), email("bar"));
+
+		instance.send(merged);
+
+		verify(client, times(1)).send(any(SendGrid.Email.class));
+		verify(interceptor, times(1)).intercept(any(SendGrid.Email.class), same((Email) merged));
+	}
+
+	@Test
+	public void recipientsAreSplitAccordingToBatchSize() throws MessageException, SendGridException {
+		instance.send(merged(email("a"), email("b"), email("c")));
+
+		verify(client, times(2)).send(any(SendGrid.Email.class));
+	}
+
+	@Test
+	public void requestsAreSentConcurrentlyByAsyncClient() throws MessageException, SendGridException {
+		AsyncSendGridClient asyncClient = mock(AsyncSendGridClient.class);
+		when(asyncClient.sendAsync(any(SendGrid.Email.class))).thenReturn(sent());
+		instance = new SendGridSender(asyncClient, new StringContentHandler(provider), null, 2);
+
+		instance.send(merged(email("a"), email("b"), email("c")));
+
+		verify(asyncClient, times(2)).sendAsync(any(SendGrid.Email.class));
+		verify(asyncClient, never()).send(any(SendGrid.Email.class));
+	}
+
+	@Test
+	public void failedRequestReportsPartialDelivery() throws MessageException, SendGridException {
+		doNothing().doThrow(new SendGridException(new Exception("boom"))).when(client).send(any(SendGrid.Email.class));
+
+		try {
+			instance.send(merged(email("a"), email("b"), email("c")));
+			fail("PartialDeliveryException expected");
+		} catch (PartialDeliveryException e) {
+			assertEquals(Arrays.asList("a@sii.fr", "b@sii.fr"), e.getDelivered());
+			assertEquals(Collections.singleton("c@sii.fr"), e.getFailures().keySet());
+		}
+	}
+
+	@Test
+	public void noDeliveredRecipientIsNotPartial() throws SendGridException {
+		SendGridException failure = new SendGridException(new Exception("boom"));
+		doThrow(failure).when(client).send(any(SendGrid.Email.class));
+
+		try {
+			instance.send(merged(email("foo"), email("bar")));
+			fail("MessageNotSentException expected");
+		} catch (MessageException e) {
+			assertTrue(e instanceof MessageNotSentException);
+			assertFalse(e instanceof PartialDeliveryException);
+			assertSame(failure, e.getCause());
+		}
+	}
+
+	private static Future<Void> sent() {
+		FutureTask<Void> task = new FutureTask<>(new Runnable() {
+			@Override
+			public void run() {
+				// nothing to do
+			}
+		}, null);
+		task.run();
+		return task;
+	}
+
+	private static MergedEmail merged(Email... emails) {
+		List<Email> list = Arrays.asList(emails);
+		List<Map<String, String>> substitutions = new ArrayList<>();
+		for (Email email : emails) {
+			substitutions.add(Collections.singletonMap("-name-", email.getRecipients().get(0).getAddress().getPersonal() + "-value"));
+		}
+		return new MergedEmail(list, new StringContent("Hello -name-"), substitutions);
+	}
+
+	private static Email email(String name) {
+		return new Email()
+				.subject("subject")
+				.content("Hello -name-")
+				.from(new EmailAddress("sender@sii.fr", "Sender"))
+				.to(new EmailAddress(name + "@sii.fr", name));
+	}
+}
@@ -0,0 +1,71 @@
+package fr.sii.ogham.ut.email.sendgrid;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.RETURNS_SMART_NULLS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sendgrid.SendGrid;
+
+import fr.sii.ogham.core.message.content.StreamedContent;
+import fr.sii.ogham.core.message.content.StringContent;
+import fr.sii.ogham.core.util.SpillToDiskOutputStream;
+import fr.sii.ogham.email.exception.sendgrid.ContentHandlerException;
+import fr.sii.ogham.email.sender.impl.sendgrid.handler.SendGridContentHandler;
+import fr.sii.ogham.email.sender.impl.sendgrid.handler.StreamedContentHandler;
+
+/**
+ * Test campaign for the {@link StreamedContentHandler} class.
+ */
+public final class StreamedContentHandlerTest {
+
+	private SendGridContentHandler delegate;
+	private StreamedContentHandler instance;
+
+
+	@Before
+	public void setUp() {
+		delegate = mock(SendGridContentHandler.class, RETURNS_SMART_NULLS);
+		this.instance = new StreamedContentHandler(delegate);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void emailParamCannotBeNull() throws ContentHandlerException {
+		instance.setContent(null, new StringContent(""));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void contentParamCannotBeNull() throws ContentHandlerException {
+		instance.setContent(new SendGrid.Email(), null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void constructor_delegateParamCannotBeNull() {
+		new StreamedContentHandler(null);
+	}
+
+	@Test
+	public void setContent_decoded() throws ContentHandlerException, IOException {
+		final SpillToDiskOutputStream buffer = new SpillToDiskOutputStream(1024);
+		buffer.write("<html>Insignificant</html>".getBytes(StandardCharsets.UTF_8));
+		buffer.close();
+		final SendGrid.Email email = new SendGrid.Email();
+
+		instance.setContent(email, new StreamedContent(buffer, StandardCharsets.UTF_8));
+
+		verify(delegate).setContent(any(SendGrid.Email.class), eq(new StringContent("<html>Insignificant</html>")));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void setContent_notStreamedContent() throws ContentHandlerException {
+		instance.setContent(new SendGrid.Email(), new StringContent("Insignificant"));
+	}
+
+}
@@ -1,13 +1,22 @@
 package fr.sii.ogham.ut.email.sendgrid.builder;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+
+import java.io.Closeable;
+import java.io.IOException;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import fr.sii.ogham.email.builder.sendgrid.SendGridBuilder;
 import fr.sii.ogham.email.sender.impl.SendGridSender;
+import fr.sii.ogham.email.sender.impl.sendgrid.client.DelegateSendGridClient;
+import fr.sii.ogham.email.sender.impl.sendgrid.client.PooledSendGridClient;
 import fr.sii.ogham.email.sender.impl.sendgrid.client.SendGridClient;
 
 /**
@@ -55,4 +64,42 @@ public final class SendGridBuilderTest {
 		assertNotNull("The builder returned no sender", val);
 	}
 
+	@Test
+	public void build_withHttpPool() {
+		instance.apiKey("apiKey");
+		instance.http()
+			.maxConnectionsPerRoute(50)
+			.socketTimeout(5000);
+
+		final SendGridSender val = instance.build();
+
+		assertTrue("The client should be pooled", val.getService() instanceof PooledSendGridClient);
+		PooledSendGridClient client = (PooledSendGridClient) val.getService();
+		assertEquals(50, client.getOptions().getMaxConnectionsPerRoute());
+		assertEquals(50, client.getOptions().getAsyncThreads());
+		assertEquals(5000, client.getOptions().getSocketTimeout());
+	}
+
+	@Test
+	public void build_withUnsetHttpPropertiesUsesDefaultClient() {
+		instance.apiKey("apiKey");
+		instance.http()
+			.maxConnections("${ogham.email.sendgrid.http.max-connections}")
+			.keepAlive("${ogham.email.sendgrid.http.keep-alive}");
+
+		final SendGridSender val = instance.build();
+
+		assertTrue("The client should not be pooled", val.getService() instanceof DelegateSendGridClient);
+	}
+
+	@Test
+	public void close_closesClient() throws IOException {
+		SendGridClient client = mock(SendGridClient.class, withSettings().extraInterfaces(Closeable.class));
+		instance.client(client);
+
+		instance.build().close();
+
+		verify((Closeable) client).close();
+	}
+
 }
@@ -1,5 +1,6 @@
 package fr.sii.ogham.sms.builder.cloudhopper;
 
+import static com.cloudhopper.commons.charset.CharsetUtil.NAME_UCS_2;
 import static fr.sii.ogham.core.util.BuilderUtils.evaluate;
 
 import java.nio.charset.Charset;
@@ -14,6 +15,7 @@ import fr.sii.ogham.core.builder.env.EnvironmentBuilder;
 import fr.sii.ogham.core.charset.CharsetDetector;
 import fr.sii.ogham.core.env.PropertyResolver;
 import fr.sii.ogham.core.exception.builder.BuildException;
+import fr.sii.ogham.sms.charset.SmsCharsetDetector;
 import fr.sii.ogham.sms.exception.message.EncodingException;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.CloudhopperCharsetHandler;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.MapCloudhopperCharsetHandler;
@@ -32,9 +34,13 @@ import fr.sii.ogham.sms.sender.impl.cloudhopper.MapCloudhopperCharsetHandler;
  *
  */
 public class CharsetBuilder extends AbstractParent<CloudhopperBuilder> implements Builder<CloudhopperCharsetHandler> {
+	private static final String UNICODE_CHARSET = "UTF-16BE";
+
 	private EnvironmentBuilder<?> environmentBuilder;
 	private List<CharsetMapping> mappings;
 	private SimpleCharsetDetectorBuilder<CharsetBuilder> charsetDetectorBuilder;
+	private Boolean autoDetect;
+	private List<String> autoDetectProps;
 
 	/**
 	 * Initializes the builder with a parent builder. The parent builder is used
@@ -50,6 +56,7 @@ public class CharsetBuilder extends AbstractParent<CloudhopperBuilder> implement
 		super(parent);
 		this.environmentBuilder = environmentBuilder;
 		mappings = new ArrayList<>();
+		autoDetectProps = new ArrayList<>();
 	}
 
 	/**
@@ -84,18 +91,85 @@ public class CharsetBuilder extends AbstractParent<CloudhopperBuilder> implement
 		return this;
 	}
 
+	/**
+	 * Enable/disable selection of the cheapest encoding according to the SMS
+	 * content. If enabled, the content is scanned against the GSM 7-bit basic
+	 * and extension tables:
+	 * <ul>
+	 * <li>If every character is GSM compatible, the charset provided by the
+	 * detector (see {@link #detector()}) is used (and converted according to
+	 * registered conversions, GSM by default)</li>
+	 * <li>Otherwise UTF-16BE is used and converted to UCS-2</li>
+	 * </ul>
+	 * 
+	 * This value preempts any other value defined by calling
+	 * {@link #autoDetect(String...)} method.
+	 * 
+	 * @param enable
+	 *            enable or disable automatic selection (may be null)
+	 * @return this instance for fluent chaining
+	 */
+	public CharsetBuilder autoDetect(Boolean enable) {
+		if (enable != null) {
+			autoDetect = enable;
+		}
+		return this;
+	}
+
+	/**
+	 * Enable/disable selection of the cheapest encoding according to the SMS
+	 * content (see {@link #autoDetect(Boolean)}).
+	 * 
+	 * <p>
+	 * You can specify one or several property keys. For example:
+	 * 
+	 * <pre>
+	 * .autoDetect("${custom.property.high-priority}", "${custom.property.low-priority}");
+	 * </pre>
+	 * 
+	 * The properties are not immediately evaluated. The evaluation will be done
+	 * when the {@link #build()} method is called.
+	 * 
+	 * @param enable
+	 *            one value, or one or several property keys
+	 * @return this instance for fluent chaining
+	 */
+	public CharsetBuilder autoDetect(String... enable) {
+		for (String e : enable) {
+			if (e != null) {
+				autoDetectProps.add(e);
+			}
+		}
+		return this;
+	}
+
 	@Override
 	public CloudhopperCharsetHandler build() {
 		PropertyResolver propertyResolver = environmentBuilder.build();
 		CharsetDetector charsetDetector = charsetDetectorBuilder.build();
+		boolean smsOptimized = isAutoDetect(propertyResolver);
+		if (smsOptimized) {
+			charsetDetector = new SmsCharsetDetector(charsetDetector, Charset.forName(UNICODE_CHARSET));
+		}
 		MapCloudhopperCharsetHandler charsetHandler = new MapCloudhopperCharsetHandler(charsetDetector);
 		List<String> registered = new ArrayList<>();
 		for (CharsetMapping mapping : mappings) {
 			addCharset(propertyResolver, charsetHandler, mapping, registered);
 		}
+		if (smsOptimized && !registered.contains(UNICODE_CHARSET)) {
+			addCharset(propertyResolver, charsetHandler, new CharsetMapping(UNICODE_CHARSET, NAME_UCS_2), registered);
+		}
 		return charsetHandler;
 	}
 
+	private boolean isAutoDetect(PropertyResolver propertyResolver) {
+		if (autoDetect != null) {
+			return autoDetect;
+		}
+		Boolean value = evaluate(autoDetectProps, propertyResolver, Boolean.class);
+		return value != null && value;
+	}
+
 	private void addCharset(PropertyResolver propertyResolver, MapCloudhopperCharsetHandler charsetHandler, CharsetMapping mapping, List<String> registered) {
 		try {
 			String nioCharset = evaluate(mapping.getNioCharset(), propertyResolver, String.class);
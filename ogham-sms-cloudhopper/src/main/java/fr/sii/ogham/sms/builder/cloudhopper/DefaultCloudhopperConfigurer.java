@@ -59,6 +59,9 @@ import fr.sii.ogham.core.util.ClasspathUtils;
  * <li>A conversion from "ogham.sms.cloudhopper.default-app-charset" to
  * "ogham.sms.cloudhopper.smpp-charset" properties if both are defined</li>
  * <li>A conversion from "UTF-8" to "GSM" charset by default</li>
+ * <li>It uses "ogham.sms.cloudhopper.encoding.auto-detect" property value to
+ * enable selection of the cheapest encoding according to the content (GSM
+ * 7-bit if possible, UCS-2 otherwise). Disabled by default</li>
  * </ul>
  * </li>
  * <li>Configures session management:
@@ -87,6 +90,7 @@ public class DefaultCloudhopperConfigurer implements MessagingConfigurer {
 				.charset()
 					.convert("${ogham.sms.cloudhopper.default-app-charset}", "${ogham.sms.cloudhopper.smpp-charset}")
 					.convert("UTF-8", NAME_GSM)
+					.autoDetect("${ogham.sms.cloudhopper.encoding.auto-detect}")
 					.detector()
 						.defaultCharset("${ogham.sms.cloudhopper.default-app-charset}", "UTF-8")
 						.and()
@@ -9,7 +9,9 @@ import java.util.concurrent.Callable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.cloudhopper.commons.gsm.GsmUtil;
+import com.cloudhopper.commons.charset.Charset;
+import com.cloudhopper.commons.charset.CharsetUtil;
+import com.cloudhopper.commons.charset.UCS2Charset;
 import com.cloudhopper.smpp.SmppConstants;
 import com.cloudhopper.smpp.SmppSession;
 import com.cloudhopper.smpp.SmppSessionConfiguration;
@@ -33,7 +35,9 @@ import fr.sii.ogham.sms.message.Sms;
 import fr.sii.ogham.sms.message.addressing.AddressedPhoneNumber;
 import fr.sii.ogham.sms.message.addressing.translator.PhoneNumberTranslator;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.CloudhopperCharsetHandler;
+import fr.sii.ogham.sms.sender.impl.cloudhopper.CloudhopperCharsetProvider;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.CloudhopperOptions;
+import fr.sii.ogham.sms.sender.impl.cloudhopper.PreparedSms;
 
 
 /**
@@ -108,14 +112,52 @@ public class CloudhopperSMPPSender extends AbstractSpecializedSender<Sms> {
 
 	@Override
 	public void send(Sms message) throws MessageException {
+		try {
+			send(prepare(message));
+		} catch (EncodingException e) {
+			throw new MessageException("Failed to create SMPP message", message, e);
+		}
+	}
+
+	/**
+	 * Encodes and splits the content of the message. The result is
+	 * independent of the recipients and can be reused to send the same
+	 * message again (see {@link #send(PreparedSms)}).
+	 * 
+	 * @param message
+	 *            the message to prepare
+	 * @return the encoded segments ready to be sent
+	 * @throws EncodingException
+	 *             when the content couldn't be encoded
+	 */
+	public PreparedSms prepare(Sms message) throws EncodingException {
+		String content = message.getContent().toString();
+		PreparedSms prepared = encode(message, content);
+		if (prepared.isSplit()) {
+			LOG.debug("Content split into {} parts", prepared.getSegmentCount());
+		}
+		return prepared;
+	}
+
+	/**
+	 * Sends a message that has already been prepared (see
+	 * {@link #prepare(Sms)}) to all its recipients.
+	 * 
+	 * @param prepared
+	 *            the prepared message
+	 * @throws MessageException
+	 *             when the message couldn't be sent
+	 */
+	public void send(PreparedSms prepared) throws MessageException {
+		Sms message = prepared.getMessage();
 		DefaultSmppClient client = new DefaultSmppClient();
 		SmppSession session = null;
 		try {
 			LOG.debug("Creating a new SMPP session...");
 			session = connect(client);
 			LOG.info("SMPP session bounded");
-			send(message, session);
-		} catch (PhoneNumberTranslatorException | EncodingException e) {
+			send(prepared, session);
+		} catch (PhoneNumberTranslatorException e) {
 			throw new MessageException("Failed to create SMPP message", message, e);
 		} catch (SmppTimeoutException | SmppChannelException | UnrecoverablePduException | InterruptedException | RecoverablePduException e) {
 			throw new MessageException("Failed to initialize SMPP session", message, e);
@@ -131,13 +173,13 @@ public class CloudhopperSMPPSender extends AbstractSpecializedSender<Sms> {
 		}
 	}
 
-	private void send(Sms message, SmppSession session) throws MessageException, PhoneNumberTranslatorException, EncodingException {
+	private void send(PreparedSms prepared, SmppSession session) throws MessageException, PhoneNumberTranslatorException {
 		try {
-			for (SubmitSm msg : createMessages(message)) {
+			for (SubmitSm msg : createMessages(prepared)) {
 				session.submit(msg, options.getResponseTimeout());
 			}
 		} catch(RecoverablePduException | UnrecoverablePduException | SmppTimeoutException | SmppChannelException | InterruptedException e) {
-			throw new MessageException("Failed to send SMPP message", message, e);
+			throw new MessageException("Failed to send SMPP message", prepared.getMessage(), e);
 		}
 	}
 
@@ -155,63 +197,67 @@ public class CloudhopperSMPPSender extends AbstractSpecializedSender<Sms> {
 		});
 	}
 
-	private List<SubmitSm> createMessages(Sms message) throws SmppInvalidArgumentException, PhoneNumberTranslatorException, EncodingException {
-		List<SubmitSm> messages = new ArrayList<>();
-		for (Recipient recipient : message.getRecipients()) {
-			messages.addAll(createMessages(message, recipient));
-		}
-		return messages;
-	}
-
-	private List<SubmitSm> createMessages(Sms message, Recipient recipient) throws SmppInvalidArgumentException, PhoneNumberTranslatorException, EncodingException {
-		List<SubmitSm> messages = new ArrayList<>();
-		byte[] textBytes = charsetHandler.encode(message.getContent().toString());
-
-		// generate new reference number
+	private List<SubmitSm> createMessages(PreparedSms prepared) throws SmppInvalidArgumentException, PhoneNumberTranslatorException {
+		Sms message = prepared.getMessage();
+		// source address is the same for all recipients
+		Address source = toAddress(message.getFrom().getPhoneNumber());
+		List<SubmitSm> messages = new ArrayList<>(message.getRecipients().size() * prepared.getSegmentCount());
 		byte[] referenceNumber = new byte[1];
-		splitMessagesReferenceGenerator.nextBytes(referenceNumber);
-
-		// split message when too long
-		byte[][] msgs = GsmUtil.createConcatenatedBinaryShortMessages(textBytes, referenceNumber[0]);
-		if (msgs == null) {
-			addSubmit(message, recipient, messages, textBytes);
-		} else {
-			LOG.debug("Content split into {} parts", msgs.length);
-			for (int i = 0; i < msgs.length; i++) {
-				addEsmClassSubmit(message, recipient, messages, msgs, i);
+		for (Recipient recipient : message.getRecipients()) {
+			Address dest = toAddress(recipient.getPhoneNumber());
+			// generate new reference number for each destination
+			splitMessagesReferenceGenerator.nextBytes(referenceNumber);
+			for (byte[] segment : prepared.getSegments(referenceNumber[0])) {
+				messages.add(createMessage(source, dest, segment, prepared.isSplit(), prepared.getDataCoding()));
 			}
 		}
 		return messages;
 	}
 
-	private void addEsmClassSubmit(Sms message, Recipient recipient, List<SubmitSm> messages, byte[][] msgs, int i) throws SmppInvalidArgumentException, PhoneNumberTranslatorException {
-		SubmitSm submit = createMessage(message, recipient, msgs[i]);
-		if(LOG.isDebugEnabled()) {
-			LOG.debug("SubmitSm generated with content '{}'", new String(Arrays.copyOfRange(msgs[i], BODY_OFFSET, msgs[i].length)));
-		}
-		submit.setEsmClass(SmppConstants.ESM_CLASS_UDHI_MASK);
-		messages.add(submit);
-	}
-
-	private void addSubmit(Sms message, Recipient recipient, List<SubmitSm> messages, byte[] textBytes) throws SmppInvalidArgumentException, PhoneNumberTranslatorException {
-		SubmitSm submit = createMessage(message, recipient, textBytes);
-		if(LOG.isDebugEnabled()) {
-			LOG.debug("SubmitSm generated with content '{}'", new String(textBytes));
-		}
-		messages.add(submit);
-	}
-
-	private SubmitSm createMessage(Sms message, Recipient recipient, byte[] content) throws SmppInvalidArgumentException, PhoneNumberTranslatorException {
+	private static SubmitSm createMessage(Address source, Address dest, byte[] content, boolean split, byte dataCoding) throws SmppInvalidArgumentException {
 		SubmitSm submit = new SubmitSm();
-		submit.setSourceAddress(toAddress(message.getFrom().getPhoneNumber()));
-		submit.setDestAddress(toAddress(recipient.getPhoneNumber()));
+		submit.setSourceAddress(source);
+		submit.setDestAddress(dest);
 
 		// TODO: should be configurable ?
 		submit.setRegisteredDelivery(SmppConstants.REGISTERED_DELIVERY_SMSC_RECEIPT_REQUESTED);
 		submit.setShortMessage(content);
+		submit.setDataCoding(dataCoding);
+		if (split) {
+			submit.setEsmClass(SmppConstants.ESM_CLASS_UDHI_MASK);
+		}
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("SubmitSm generated with content '{}'", new String(split ? Arrays.copyOfRange(content, BODY_OFFSET, content.length) : content));
+		}
 		return submit;
 	}
 
+	/**
+	 * Encodes the content and indicates to the SMSC how the content is
+	 * encoded. Only UCS-2 needs a specific data coding, other charsets use the
+	 * default data coding (the SMSC default alphabet). The charset is only
+	 * known if the charset handler is also a
+	 * {@link CloudhopperCharsetProvider}: the charset is then detected only
+	 * once and used to encode the content. Otherwise, the content is encoded
+	 * by the charset handler.
+	 * 
+	 * @param message
+	 *            the original message
+	 * @param content
+	 *            the content of the message
+	 * @return the encoded content with the SMPP data coding
+	 * @throws EncodingException
+	 *             when no charset could be found for the content
+	 */
+	private PreparedSms encode(Sms message, String content) throws EncodingException {
+		if (!(charsetHandler instanceof CloudhopperCharsetProvider)) {
+			return new PreparedSms(message, charsetHandler.encode(content), SmppConstants.DATA_CODING_DEFAULT);
+		}
+		Charset charset = ((CloudhopperCharsetProvider) charsetHandler).getCharset(content);
+		byte dataCoding = charset instanceof UCS2Charset ? SmppConstants.DATA_CODING_UCS2 : SmppConstants.DATA_CODING_DEFAULT;
+		return new PreparedSms(message, CharsetUtil.encode(content, charset), dataCoding);
+	}
+
 	/**
 	 * Transforms a {@link PhoneNumber} in a {@link Address} type.
 	 * 
@@ -0,0 +1,33 @@
+package fr.sii.ogham.sms.sender.impl.cloudhopper;
+
+import com.cloudhopper.commons.charset.Charset;
+
+import fr.sii.ogham.sms.exception.message.EncodingException;
+
+/**
+ * Optional capability of a {@link CloudhopperCharsetHandler} that indicates
+ * which Cloudhopper charset is used to encode the message string content.
+ * This is useful to know which data coding to indicate to the SMSC. When the
+ * handler provides the charset, the sender detects the charset only once and
+ * encodes the content with it (using
+ * {@link com.cloudhopper.commons.charset.CharsetUtil}) instead of calling
+ * {@link CloudhopperCharsetHandler#encode(String)}.
+ * 
+ * @author Aurélien Baudet
+ * 
+ */
+public interface CloudhopperCharsetProvider {
+
+	/**
+	 * Detects the Cloudhopper charset to use to encode the message string
+	 * content.
+	 * 
+	 * @param messageStringContent
+	 *            the message as string to encode
+	 * @return the charset used to encode the message
+	 * @throws EncodingException
+	 *             when no charset could be found for the message
+	 */
+	Charset getCharset(String messageStringContent) throws EncodingException;
+
+}
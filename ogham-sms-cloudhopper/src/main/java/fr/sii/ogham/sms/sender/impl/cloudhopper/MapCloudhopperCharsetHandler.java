@@ -19,7 +19,7 @@ import fr.sii.ogham.sms.exception.message.EncodingException;
  * @author cdejonghe
  * 
  */
-public class MapCloudhopperCharsetHandler implements CloudhopperCharsetHandler {
+public class MapCloudhopperCharsetHandler implements CloudhopperCharsetHandler, CloudhopperCharsetProvider {
 	private static final Logger LOG = LoggerFactory.getLogger(MapCloudhopperCharsetHandler.class);
 
 	/**
@@ -100,6 +100,11 @@ public class MapCloudhopperCharsetHandler implements CloudhopperCharsetHandler {
 
 	@Override
 	public byte[] encode(String messageStringContent) throws EncodingException {
+		return CharsetUtil.encode(messageStringContent, getCharset(messageStringContent));
+	}
+
+	@Override
+	public Charset getCharset(String messageStringContent) throws EncodingException {
 		java.nio.charset.Charset nioCharset = charsetProvider.detect(messageStringContent);
 		if (nioCharset == null) {
 			throw new EncodingException("No charset provided for message : \n" + messageStringContent);
@@ -107,6 +112,6 @@ public class MapCloudhopperCharsetHandler implements CloudhopperCharsetHandler {
 
 		Charset cloudhopperCharset = get(nioCharset);
 		LOG.debug("Encoding message using mapping nio {} -> {}", nioCharset, cloudhopperCharset);
-		return CharsetUtil.encode(messageStringContent, cloudhopperCharset);
+		return cloudhopperCharset;
 	}
 }
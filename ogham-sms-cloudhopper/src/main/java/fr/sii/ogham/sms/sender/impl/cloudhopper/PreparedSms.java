@@ -0,0 +1,136 @@
+package fr.sii.ogham.sms.sender.impl.cloudhopper;
+
+import java.util.Arrays;
+
+import com.cloudhopper.commons.gsm.GsmUtil;
+
+import fr.sii.ogham.sms.message.Sms;
+
+/**
+ * The content of a {@link Sms} ready to be sent through SMPP: the content is
+ * encoded and split into segments only once, whatever the number of
+ * recipients.
+ *
+ * <p>
+ * When the content is too long to fit in a single SMS, each segment starts
+ * with a User Data Header (UDH) that contains a reference number. Recipients
+ * must receive segments with the same reference number but different
+ * recipients should receive different reference numbers. The segments are
+ * therefore computed once with a placeholder reference number and
+ * {@link #getSegments(byte)} only copies them to apply the real reference
+ * number. Callers always receive copies so they can't alter the prepared
+ * content.
+ * </p>
+ *
+ * <p>
+ * The content is split into segments of at most 134 bytes (140 bytes with the
+ * UDH): 67 characters in UCS-2, 134 characters in unpacked GSM 7-bit (see
+ * {@link fr.sii.ogham.sms.charset.SmsEncoding#GSM_7_UNPACKED}).
+ * </p>
+ *
+ * <p>
+ * The instance is immutable and can be reused when the message is sent again.
+ * </p>
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class PreparedSms {
+	/**
+	 * Position of the reference number in the UDH (length, IEI, IEI length,
+	 * reference number, total parts, part number)
+	 */
+	private static final int REFERENCE_NUMBER_INDEX = 3;
+
+	/**
+	 * The original message
+	 */
+	private final Sms message;
+
+	/**
+	 * The encoded content
+	 */
+	private final byte[] content;
+
+	/**
+	 * The SMPP data coding that corresponds to the charset used to encode the
+	 * content
+	 */
+	private final byte dataCoding;
+
+	/**
+	 * The segments (with UDH) if the content has been split, null otherwise
+	 */
+	private final byte[][] segments;
+
+	/**
+	 * Splits the encoded content into segments if too long.
+	 *
+	 * @param message
+	 *            the original message
+	 * @param content
+	 *            the encoded content of the message
+	 * @param dataCoding
+	 *            the SMPP data coding that corresponds to the charset used to
+	 *            encode the content
+	 */
+	public PreparedSms(Sms message, byte[] content, byte dataCoding) {
+		super();
+		this.message = message;
+		this.content = Arrays.copyOf(content, content.length);
+		this.dataCoding = dataCoding;
+		this.segments = GsmUtil.createConcatenatedBinaryShortMessages(content, (byte) 0);
+	}
+
+	/**
+	 * Provides the segments to send to one destination. If the content has
+	 * been split, the provided reference number is applied on a copy of each
+	 * segment. If the content has not been split, there is only one segment
+	 * (the encoded content) and the reference number is not used.
+	 *
+	 * @param referenceNumber
+	 *            the reference number used to concatenate the segments
+	 * @return copies of the segments to send
+	 */
+	public byte[][] getSegments(byte referenceNumber) {
+		if (segments == null) {
+			return new byte[][] { getContent() };
+		}
+		byte[][] copy = new byte[segments.length][];
+		for (int i = 0; i < segments.length; i++) {
+			copy[i] = Arrays.copyOf(segments[i], segments[i].length);
+			copy[i][REFERENCE_NUMBER_INDEX] = referenceNumber;
+		}
+		return copy;
+	}
+
+	/**
+	 * @return true if the content has been split into several segments (each
+	 *         segment starts with a UDH)
+	 */
+	public boolean isSplit() {
+		return segments != null;
+	}
+
+	/**
+	 * @return the number of SMS needed for one destination
+	 */
+	public int getSegmentCount() {
+		return segments == null ? 1 : segments.length;
+	}
+
+	public Sms getMessage() {
+		return message;
+	}
+
+	/**
+	 * @return a copy of the encoded content
+	 */
+	public byte[] getContent() {
+		return Arrays.copyOf(content, content.length);
+	}
+
+	public byte getDataCoding() {
+		return dataCoding;
+	}
+}
@@ -0,0 +1,75 @@
+package fr.sii.ogham.ut.sms.cloudhopper;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+import fr.sii.ogham.sms.message.Sms;
+import fr.sii.ogham.sms.sender.impl.cloudhopper.PreparedSms;
+
+public class PreparedSmsTest {
+	private static final int REFERENCE_NUMBER_INDEX = 3;
+	private static final int UDH_LENGTH = 6;
+
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	@Test
+	public void shortContentIsNotSplit() {
+		byte[] content = "short message".getBytes();
+		PreparedSms prepared = new PreparedSms(new Sms(), content, (byte) 0);
+		assertFalse(prepared.isSplit());
+		assertEquals(1, prepared.getSegmentCount());
+		byte[][] segments = prepared.getSegments((byte) 42);
+		assertEquals(1, segments.length);
+		assertArrayEquals(content, segments[0]);
+	}
+
+	@Test
+	public void longContentIsSplitWithReferenceNumber() {
+		byte[] content = new byte[300];
+		Arrays.fill(content, (byte) 'a');
+		PreparedSms prepared = new PreparedSms(new Sms(), content, (byte) 0);
+		assertTrue(prepared.isSplit());
+		assertEquals(3, prepared.getSegmentCount());
+		byte[][] first = prepared.getSegments((byte) 1);
+		byte[][] second = prepared.getSegments((byte) 2);
+		assertEquals(3, first.length);
+		int total = 0;
+		for (int i = 0; i < first.length; i++) {
+			assertEquals(1, first[i][REFERENCE_NUMBER_INDEX]);
+			assertEquals(2, second[i][REFERENCE_NUMBER_INDEX]);
+			assertEquals(3, first[i][REFERENCE_NUMBER_INDEX + 1]);
+			assertEquals(i + 1, first[i][REFERENCE_NUMBER_INDEX + 2]);
+			total += first[i].length - UDH_LENGTH;
+		}
+		assertEquals(content.length, total);
+	}
+
+	@Test
+	public void callersCantAlterPreparedContent() {
+		byte[] content = "short message".getBytes();
+		PreparedSms prepared = new PreparedSms(new Sms(), content, (byte) 0);
+		content[0] = 'S';
+		prepared.getContent()[1] = 'H';
+		prepared.getSegments((byte) 0)[0][2] = 'O';
+		assertArrayEquals("short message".getBytes(), prepared.getContent());
+		assertArrayEquals("short message".getBytes(), prepared.getSegments((byte) 0)[0]);
+	}
+
+	@Test
+	public void segmentsAreCopiedForEachCall() {
+		byte[] content = new byte[300];
+		PreparedSms prepared = new PreparedSms(new Sms(), content, (byte) 0);
+		byte[][] segments = prepared.getSegments((byte) 7);
+		segments[0][UDH_LENGTH] = 1;
+		assertEquals(0, prepared.getSegments((byte) 7)[0][UDH_LENGTH]);
+	}
+}
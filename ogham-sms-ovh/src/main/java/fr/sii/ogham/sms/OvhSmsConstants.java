@@ -7,6 +7,12 @@ public final class OvhSmsConstants {
 	 */
 	public static final int DEFAULT_OVHSMS_CONFIGURER_PRIORITY = 20000;
 
+	/**
+	 * Maximum number of recipients sent in a single request to OVH web service
+	 * in order to keep the query string at a reasonable size.
+	 */
+	public static final int DEFAULT_RECIPIENTS_PER_REQUEST = 50;
+
 	private OvhSmsConstants() {
 		super();
 	}
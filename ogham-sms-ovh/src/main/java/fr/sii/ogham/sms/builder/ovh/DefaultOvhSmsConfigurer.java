@@ -56,6 +56,18 @@ import fr.sii.ogham.sms.sender.impl.ovh.SmsCoding;
  * character string</li>
  * </ul>
  * </li>
+ * <li>Configures the HTTP layer:
+ * <ul>
+ * <li>It uses "ogham.sms.ovh.recipients-per-request" to split SMS with many
+ * recipients into several requests (50 recipients per request by
+ * default)</li>
+ * <li>It uses the properties prefixed by "ogham.sms.ovh.http"
+ * (max-connections, max-connections-per-route, connect-timeout,
+ * socket-timeout, connection-request-timeout, keep-alive, async-threads and
+ * async-queue-size)
+ * to configure the pool of HTTP connections</li>
+ * </ul>
+ * </li>
  * </ul>
  * 
  * @author Aurélien Baudet
@@ -75,6 +87,17 @@ public class DefaultOvhSmsConfigurer implements MessagingConfigurer {
 			.account("${ogham.sms.ovh.account}")
 			.login("${ogham.sms.ovh.login}")
 			.password("${ogham.sms.ovh.password}")
+			.recipientsPerRequest("${ogham.sms.ovh.recipients-per-request}")
+			.http()
+				.maxConnections("${ogham.sms.ovh.http.max-connections}")
+				.maxConnectionsPerRoute("${ogham.sms.ovh.http.max-connections-per-route}")
+				.connectTimeout("${ogham.sms.ovh.http.connect-timeout}")
+				.socketTimeout("${ogham.sms.ovh.http.socket-timeout}")
+				.connectionRequestTimeout("${ogham.sms.ovh.http.connection-request-timeout}")
+				.keepAlive("${ogham.sms.ovh.http.keep-alive}")
+				.asyncThreads("${ogham.sms.ovh.http.async-threads}")
+				.asyncQueueSize("${ogham.sms.ovh.http.async-queue-size}")
+				.and()
 			.options()
 				.noStop("${ogham.sms.ovh.no-stop}", "true")
 				.smsCoding("${ogham.sms.ovh.sms-coding}")
@@ -1,5 +1,7 @@
 package fr.sii.ogham.sms.builder.ovh;
 
+import static fr.sii.ogham.sms.OvhSmsConstants.DEFAULT_RECIPIENTS_PER_REQUEST;
+
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
@@ -15,15 +17,19 @@ import fr.sii.ogham.core.builder.MessagingBuilder;
 import fr.sii.ogham.core.builder.env.EnvironmentBuilder;
 import fr.sii.ogham.core.builder.env.EnvironmentBuilderDelegate;
 import fr.sii.ogham.core.builder.env.SimpleEnvironmentBuilder;
+import fr.sii.ogham.core.builder.http.HttpPoolBuilder;
 import fr.sii.ogham.core.env.PropertyResolver;
 import fr.sii.ogham.core.exception.builder.BuildException;
 import fr.sii.ogham.core.util.BuilderUtils;
+import fr.sii.ogham.core.util.http.HttpClientOptions;
 import fr.sii.ogham.sms.builder.SmsBuilder;
 import fr.sii.ogham.sms.message.Sms;
 import fr.sii.ogham.sms.sender.impl.OvhSmsSender;
 import fr.sii.ogham.sms.sender.impl.ovh.OvhAuthParams;
 import fr.sii.ogham.sms.sender.impl.ovh.OvhOptions;
 import fr.sii.ogham.sms.sender.impl.ovh.SmsCoding;
+import fr.sii.ogham.sms.util.http.HttpClient;
+import fr.sii.ogham.sms.util.http.PooledHttpClient;
 
 /**
  * Configures how to send {@link Sms} using OVH HTTP API.
@@ -80,6 +86,10 @@ public class OvhSmsBuilder extends AbstractParent<SmsBuilder> implements Builder
 	private List<String> logins;
 	private List<String> passwords;
 	private OvhOptionsBuilder ovhOptionsBuilder;
+	private HttpPoolBuilder<OvhSmsBuilder> httpBuilder;
+	private HttpClient httpClient;
+	private List<String> recipientsPerRequestProps;
+	private Integer recipientsPerRequest;
 
 	/**
 	 * Default constructor when using OVH SMS sender without all Ogham work.
@@ -110,6 +120,7 @@ public class OvhSmsBuilder extends AbstractParent<SmsBuilder> implements Builder
 		accounts = new ArrayList<>();
 		logins = new ArrayList<>();
 		passwords = new ArrayList<>();
+		recipientsPerRequestProps = new ArrayList<>();
 	}
 
 	/**
@@ -356,6 +367,113 @@ public class OvhSmsBuilder extends AbstractParent<SmsBuilder> implements Builder
 		return ovhOptionsBuilder;
 	}
 
+	/**
+	 * Configures the HTTP layer used to call OVH HTTP API: size of the
+	 * connection pool, timeouts, keep-alive and number of threads used to
+	 * execute requests concurrently.
+	 * 
+	 * <pre>
+	 * .http()
+	 *    .maxConnectionsPerRoute(50)
+	 *    .socketTimeout(20000)
+	 * </pre>
+	 * 
+	 * <p>
+	 * If no HTTP configuration was previously defined, it creates a new one.
+	 * Then each time you call {@link #http()}, the same instance is used.
+	 * </p>
+	 * 
+	 * NOTE: this configuration is not used if a custom client is provided
+	 * using {@link #httpClient(HttpClient)}.
+	 * 
+	 * @return the builder to configure the HTTP layer
+	 */
+	public HttpPoolBuilder<OvhSmsBuilder> http() {
+		if (httpBuilder == null) {
+			httpBuilder = new HttpPoolBuilder<>(this, environmentBuilder);
+		}
+		return httpBuilder;
+	}
+
+	/**
+	 * By default, OVH HTTP API is called through a {@link PooledHttpClient}
+	 * (configured using {@link #http()}). If you want to use another client
+	 * implementation, you can implement the {@link HttpClient} interface and
+	 * provide it:
+	 * 
+	 * <pre>
+	 * .httpClient(new MyCustomHttpClient())
+	 * </pre>
+	 * 
+	 * @param client
+	 *            the custom client used to call OVH HTTP API
+	 * @return this instance for fluent chaining
+	 */
+	public OvhSmsBuilder httpClient(HttpClient client) {
+		this.httpClient = client;
+		return this;
+	}
+
+	/**
+	 * Set the maximum number of recipients sent in a single request. If a SMS
+	 * has more recipients, several requests are sent concurrently. Defaults to
+	 * 50.
+	 * 
+	 * This value preempts any other value defined by calling
+	 * {@link #recipientsPerRequest(String...)} method.
+	 * 
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * @param max
+	 *            the maximum number of recipients per request (may be null)
+	 * @return this instance for fluent chaining
+	 */
+	public OvhSmsBuilder recipientsPerRequest(Integer max) {
+		if (max != null) {
+			this.recipientsPerRequest = max;
+		}
+		return this;
+	}
+
+	/**
+	 * Set the maximum number of recipients sent in a single request. If a SMS
+	 * has more recipients, several requests are sent concurrently. Defaults to
+	 * 50.
+	 * 
+	 * You can specify a direct value. For example:
+	 * 
+	 * <pre>
+	 * .recipientsPerRequest("50");
+	 * </pre>
+	 * 
+	 * <p>
+	 * You can also specify one or several property keys. For example:
+	 * 
+	 * <pre>
+	 * .recipientsPerRequest("${custom.property.high-priority}", "${custom.property.low-priority}");
+	 * </pre>
+	 * 
+	 * The properties are not immediately evaluated. The evaluation will be done
+	 * when the {@link #build()} method is called.
+	 * 
+	 * If you provide several property keys, evaluation will be done on the
+	 * first key and if the property exists (see {@link EnvironmentBuilder}),
+	 * its value is used. If the first property doesn't exist in properties,
+	 * then it tries with the second one and so on.
+	 * 
+	 * @param max
+	 *            one value, or one or several property keys
+	 * @return this instance for fluent chaining
+	 */
+	public OvhSmsBuilder recipientsPerRequest(String... max) {
+		for (String m : max) {
+			if (m != null) {
+				recipientsPerRequestProps.add(m);
+			}
+		}
+		return this;
+	}
+
 	@Override
 	public OvhSmsSender build() {
 		PropertyResolver propertyResolver = environmentBuilder.build();
@@ -367,7 +485,23 @@ public class OvhSmsBuilder extends AbstractParent<SmsBuilder> implements Builder
 		}
 		LOG.info("Sending SMS using OVH API is registered");
 		LOG.debug("OVH account: account={}, login={}", authParams.getAccount(), authParams.getLogin());
-		return new OvhSmsSender(url, authParams, options);
+		return new OvhSmsSender(url, authParams, options, buildHttpClient(), buildRecipientsPerRequest(propertyResolver));
+	}
+
+	private HttpClient buildHttpClient() {
+		if (httpClient != null) {
+			return httpClient;
+		}
+		HttpClientOptions options = httpBuilder == null ? null : httpBuilder.build();
+		return new PooledHttpClient(options == null ? new HttpClientOptions() : options);
+	}
+
+	private int buildRecipientsPerRequest(PropertyResolver propertyResolver) {
+		if (recipientsPerRequest != null) {
+			return recipientsPerRequest;
+		}
+		Integer value = BuilderUtils.evaluate(recipientsPerRequestProps, propertyResolver, Integer.class);
+		return value == null ? DEFAULT_RECIPIENTS_PER_REQUEST : value;
 	}
 
 	private URL buildUrl(PropertyResolver propertyResolver) {
@@ -1,9 +1,16 @@
 package fr.sii.ogham.sms.sender.impl;
 
+import static fr.sii.ogham.sms.OvhSmsConstants.DEFAULT_RECIPIENTS_PER_REQUEST;
+
+import java.io.Closeable;
 import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,9 +21,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import fr.sii.ogham.core.exception.MessageException;
 import fr.sii.ogham.core.exception.MessageNotSentException;
+import fr.sii.ogham.core.exception.PartialDeliveryException;
 import fr.sii.ogham.core.exception.util.HttpException;
 import fr.sii.ogham.core.exception.util.PhoneNumberException;
 import fr.sii.ogham.core.sender.AbstractSpecializedSender;
+import fr.sii.ogham.core.util.IOUtils;
 import fr.sii.ogham.core.util.StringUtils;
 import fr.sii.ogham.sms.message.PhoneNumber;
 import fr.sii.ogham.sms.message.Recipient;
@@ -24,8 +33,10 @@ import fr.sii.ogham.sms.message.Sms;
 import fr.sii.ogham.sms.sender.impl.ovh.OvhAuthParams;
 import fr.sii.ogham.sms.sender.impl.ovh.OvhOptions;
 import fr.sii.ogham.sms.util.HttpUtils;
+import fr.sii.ogham.sms.util.http.HttpClient;
 import fr.sii.ogham.sms.util.http.Parameter;
 import fr.sii.ogham.sms.util.http.Response;
+import fr.sii.ogham.sms.util.http.SimpleHttpClient;
 
 /**
  * Implementation that is able to send SMS through <a
@@ -42,10 +53,23 @@ import fr.sii.ogham.sms.util.http.Response;
  * additional '0' are added to reach the 4 digits)</li>
  * </ul>
  * 
+ * <p>
+ * If the SMS has many recipients, the recipients are split into several
+ * requests (see {@code recipientsPerRequest}) to avoid oversized query
+ * strings. The requests are then executed through the {@link HttpClient}
+ * (concurrently if the client is a
+ * {@link fr.sii.ogham.sms.util.http.PooledHttpClient}).
+ * </p>
+ * 
+ * <p>
+ * The sender must be closed in order to release the connections of the
+ * {@link HttpClient}.
+ * </p>
+ * 
  * @author Aurélien Baudet
  *
  */
-public class OvhSmsSender extends AbstractSpecializedSender<Sms> {
+public class OvhSmsSender extends AbstractSpecializedSender<Sms> implements Closeable {
 	private static final Logger LOG = LoggerFactory.getLogger(OvhSmsSender.class);
 	private static final String CONTENT_TYPE = "application/json";
 	private static final String RESPONSE_TYPE = "contentType";
@@ -76,27 +100,61 @@ public class OvhSmsSender extends AbstractSpecializedSender<Sms> {
 	 */
 	private final URL url;
 
+	/**
+	 * The HTTP layer used to call OVH web service
+	 */
+	private final HttpClient httpClient;
+
+	/**
+	 * The maximum number of recipients sent in a single request
+	 */
+	private final int recipientsPerRequest;
+
+	/**
+	 * Initializes the sender with a {@link SimpleHttpClient}: no pool is
+	 * created and requests are sent one after the other. Use
+	 * {@link fr.sii.ogham.sms.builder.ovh.OvhSmsBuilder} to send requests
+	 * through a configured pool.
+	 * 
+	 * @param url
+	 *            the URL to OVH web service
+	 * @param authParams
+	 *            the authentication parameters
+	 * @param options
+	 *            the OVH options
+	 */
 	public OvhSmsSender(URL url, OvhAuthParams authParams, OvhOptions options) {
+		this(url, authParams, options, new SimpleHttpClient(), DEFAULT_RECIPIENTS_PER_REQUEST);
+	}
+
+	public OvhSmsSender(URL url, OvhAuthParams authParams, OvhOptions options, HttpClient httpClient, int recipientsPerRequest) {
 		super();
+		if (httpClient == null) {
+			throw new IllegalArgumentException("[httpClient] cannot be null");
+		}
+		if (recipientsPerRequest <= 0) {
+			throw new IllegalArgumentException("[recipientsPerRequest] must be strictly positive");
+		}
 		this.url = url;
 		this.authParams = authParams;
 		this.options = options;
+		this.httpClient = httpClient;
+		this.recipientsPerRequest = recipientsPerRequest;
 		this.mapper = new ObjectMapper();
 	}
 
 	@Override
 	public void send(Sms message) throws MessageException {
 		try {
-			// @formatter:off
-			Response response = HttpUtils.get(url.toString(), authParams, options,
-									new Parameter(RESPONSE_TYPE, CONTENT_TYPE),
-									// convert phone number to international format
-									new Parameter(FROM, toInternational(message.getFrom().getPhoneNumber())),
-									new Parameter(TO, StringUtils.join(convert(message.getRecipients()), RECIPIENTS_SEPARATOR)),
-									// TODO: manage long messages: how to do ??
-									new Parameter(MESSAGE, getContent(message)));
-			// @formatter:on
-			handleResponse(message, response);
+			// convert phone number to international format
+			String from = toInternational(message.getFrom().getPhoneNumber());
+			String content = getContent(message);
+			List<String> tos = convert(message.getRecipients());
+			if (tos.size() <= recipientsPerRequest) {
+				handleResponse(message, httpClient.get(url.toString(), buildParameters(from, tos, content)));
+			} else {
+				sendChunks(message, from, tos, content);
+			}
 		} catch (IOException e) {
 			throw new MessageException("Failed to read response when sending SMS through OVH", message, e);
 		} catch (HttpException e) {
@@ -106,6 +164,78 @@ public class OvhSmsSender extends AbstractSpecializedSender<Sms> {
 		}
 	}
 
+	/**
+	 * Split the recipients into several requests that are executed
+	 * concurrently. Every request is awaited even if one fails. If at least
+	 * one request has failed, a {@link PartialDeliveryException} provides the
+	 * recipients that have been delivered and the reason of the failure for
+	 * each recipient that has not been delivered. If every request has failed,
+	 * a {@link MessageNotSentException} is thrown instead.
+	 * 
+	 * @param message
+	 *            the SMS to send
+	 * @param from
+	 *            the sender phone number (international format)
+	 * @param tos
+	 *            the recipient phone numbers (international format)
+	 * @param content
+	 *            the content formatted for OVH
+	 * @throws MessageException
+	 *             when at least one request has failed
+	 * @throws HttpException
+	 *             when the parameters couldn't be generated
+	 */
+	private void sendChunks(Sms message, String from, List<String> tos, String content) throws MessageException, HttpException {
+		List<List<String>> chunks = new ArrayList<>();
+		List<Future<Response>> responses = new ArrayList<>();
+		for (int i = 0; i < tos.size(); i += recipientsPerRequest) {
+			List<String> chunk = tos.subList(i, Math.min(i + recipientsPerRequest, tos.size()));
+			LOG.debug("Sending SMS through OVH to recipients {}", chunk);
+			chunks.add(chunk);
+			responses.add(httpClient.getAsync(url.toString(), buildParameters(from, chunk, content)));
+		}
+		List<String> delivered = new ArrayList<>(tos.size());
+		Map<String, Exception> failures = new LinkedHashMap<>();
+		for (int i = 0; i < responses.size(); i++) {
+			List<String> chunk = chunks.get(i);
+			try {
+				handleResponse(message, responses.get(i).get());
+				delivered.addAll(chunk);
+			} catch (MessageException | IOException e) {
+				addFailures(failures, chunk, e);
+			} catch (ExecutionException e) {
+				addFailures(failures, chunk, e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new MessageException("Interrupted while sending SMS through OVH", message, e);
+			}
+		}
+		if (!failures.isEmpty() && delivered.isEmpty()) {
+			throw new MessageNotSentException("SMS couldn't be delivered to any of the " + tos.size() + " recipients through OVH", message, failures.values().iterator().next());
+		}
+		if (!failures.isEmpty()) {
+			LOG.error("SMS couldn't be delivered to {} of {} recipients through OVH", failures.size(), tos.size());
+			throw new PartialDeliveryException("SMS couldn't be delivered to " + failures.size() + " of " + tos.size() + " recipients through OVH", message, failures, delivered);
+		}
+	}
+
+	private static void addFailures(Map<String, Exception> failures, List<String> recipients, Exception cause) {
+		for (String recipient : recipients) {
+			failures.put(recipient, cause);
+		}
+	}
+
+	private List<Parameter> buildParameters(String from, List<String> tos, String content) throws HttpException {
+		// @formatter:off
+		return HttpUtils.toParameters(authParams, options,
+						new Parameter(RESPONSE_TYPE, CONTENT_TYPE),
+						new Parameter(FROM, from),
+						new Parameter(TO, StringUtils.join(tos, RECIPIENTS_SEPARATOR)),
+						// TODO: manage long messages: how to do ??
+						new Parameter(MESSAGE, content));
+		// @formatter:on
+	}
+
 	/**
 	 * Handle OVH response. If status provided in response is less than 200,
 	 * then the message has been sent. Otherwise, the message has not been sent.
@@ -197,6 +327,11 @@ public class OvhSmsSender extends AbstractSpecializedSender<Sms> {
 		}
 	}
 
+	@Override
+	public void close() throws IOException {
+		IOUtils.closeAll(httpClient);
+	}
+
 	public OvhAuthParams getAuthParams() {
 		return authParams;
 	}
@@ -208,4 +343,12 @@ public class OvhSmsSender extends AbstractSpecializedSender<Sms> {
 	public URL getUrl() {
 		return url;
 	}
+
+	public HttpClient getHttpClient() {
+		return httpClient;
+	}
+
+	public int getRecipientsPerRequest() {
+		return recipientsPerRequest;
+	}
 }
@@ -1,6 +1,5 @@
 package fr.sii.ogham.sms.util;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -9,32 +8,29 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
-import org.apache.http.HttpResponse;
-import org.apache.http.NameValuePair;
-import org.apache.http.client.HttpClient;
-import org.apache.http.client.methods.HttpGet;
-import org.apache.http.client.utils.URLEncodedUtils;
-import org.apache.http.impl.client.HttpClientBuilder;
-import org.apache.http.message.BasicNameValuePair;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 import fr.sii.ogham.core.exception.template.BeanException;
 import fr.sii.ogham.core.exception.util.HttpException;
 import fr.sii.ogham.core.util.BeanUtils;
-import fr.sii.ogham.core.util.IOUtils;
+import fr.sii.ogham.sms.util.http.HttpClient;
 import fr.sii.ogham.sms.util.http.Parameter;
+import fr.sii.ogham.sms.util.http.PooledHttpClient;
 import fr.sii.ogham.sms.util.http.Response;
+import fr.sii.ogham.sms.util.http.SimpleHttpClient;
 
 /**
  * Utility class that helps to send HTTP requests.
  * 
+ * <p>
+ * The static methods use a {@link SimpleHttpClient} with default
+ * configuration. If you need to configure the HTTP layer (pool size,
+ * timeouts...), use a {@link PooledHttpClient} instance instead.
+ * </p>
+ * 
  * @author Aurélien Baudet
  *
  */
 public final class HttpUtils {
-	private static final Logger LOG = LoggerFactory.getLogger(HttpUtils.class);
-	private static final HttpClient CLIENT = HttpClientBuilder.create().useSystemProperties().build();
+	private static final HttpClient CLIENT = new SimpleHttpClient();
 
 	/**
 	 * Do a GET request on the provided URL and construct the Query String part
@@ -54,23 +50,7 @@ public final class HttpUtils {
 	 *             when the request has failed
 	 */
 	public static Response get(String url, List<Parameter> params) throws HttpException {
-		String fullUrl = url;
-		String paramsStr = URLEncodedUtils.format(convert(params), "UTF-8");
-		fullUrl += (fullUrl.contains("?") ? "&" : "?") + paramsStr;
-		// spaces are replaced by '+' but some servers doesn't handle it
-		// correctly
-		// => convert space to '%20'
-		fullUrl = fullUrl.replaceAll("\\+", "%20");
-		try {
-			LOG.debug("Sending HTTP GET request to {}", fullUrl);
-			HttpGet request = new HttpGet(fullUrl);
-			HttpResponse response = CLIENT.execute(request);
-			int statusCode = response.getStatusLine().getStatusCode();
-			LOG.debug("HTTP GET request successfully sent to {}. Status code: {}", fullUrl, statusCode);
-			return new Response(statusCode, IOUtils.toString(response.getEntity().getContent()));
-		} catch (IOException e) {
-			throw new HttpException("Failed to send GET request to " + fullUrl, e);
-		}
+		return CLIENT.get(url, params);
 	}
 
 	/**
@@ -123,8 +103,30 @@ public final class HttpUtils {
 	 * @throws HttpException
 	 *             when the request has failed
 	 */
-	@SuppressWarnings("unchecked")
 	public static Response get(String url, Object... params) throws HttpException {
+		return get(url, toParameters(params));
+	}
+
+	/**
+	 * Converts anything into a list of parameters:
+	 * <ul>
+	 * <li>{@link Parameter}: used as is</li>
+	 * <li>{@link Map}: each entry is used as a parameter. The key of the entry
+	 * is the name of the parameter, the value of the entry is the value of the
+	 * parameter</li>
+	 * <li>A bean (any object): each property of the bean is used as parameter
+	 * (see {@link BeanUtils}). The name of the property is the name of the
+	 * parameter, the value of the property is the value of the parameter</li>
+	 * </ul>
+	 * 
+	 * @param params
+	 *            none, one or several parameters
+	 * @return the list of parameters
+	 * @throws HttpException
+	 *             when a bean couldn't be converted
+	 */
+	@SuppressWarnings("unchecked")
+	public static List<Parameter> toParameters(Object... params) throws HttpException {
 		try {
 			Map<String, Object> map = new HashMap<>();
 			for (Object bean : params) {
@@ -137,7 +139,7 @@ public final class HttpUtils {
 					map.putAll(BeanUtils.convert(bean));
 				}
 			}
-			return get(url, map);
+			return convert(map);
 		} catch (BeanException e) {
 			throw new HttpException("Failed to convert bean fields into request parameters", e);
 		}
@@ -187,24 +189,6 @@ public final class HttpUtils {
 		return parameters;
 	}
 
-	/**
-	 * Convert a list of parameters to a list of {@link NameValuePair}.
-	 * 
-	 * @param params
-	 *            the parameters abstraction used in the library
-	 * @return the parameters used by the real implementation (Apache Commons
-	 *         HTTP)
-	 */
-	private static List<NameValuePair> convert(List<Parameter> params) {
-		List<NameValuePair> pairs = new ArrayList<>(params.size());
-		for (Parameter param : params) {
-			if (param.getValue() != null) {
-				pairs.add(new BasicNameValuePair(param.getName(), param.getValue()));
-			}
-		}
-		return pairs;
-	}
-
 	private HttpUtils() {
 		super();
 	}
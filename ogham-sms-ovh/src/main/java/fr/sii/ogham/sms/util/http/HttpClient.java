@@ -0,0 +1,44 @@
+package fr.sii.ogham.sms.util.http;
+
+import java.util.List;
+import java.util.concurrent.Future;
+
+import fr.sii.ogham.core.exception.util.HttpException;
+
+/**
+ * Abstraction of the HTTP layer used to call HTTP APIs.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public interface HttpClient {
+	/**
+	 * Do a GET request on the provided URL and construct the Query String part
+	 * with the provided list of parameters. If the URL already contains
+	 * parameters (already contains a '?' character), then the parameters are
+	 * added to the existing parameters.
+	 * 
+	 * @param url
+	 *            the base url
+	 * @param params
+	 *            the list of parameters to append to the query string
+	 * @return the response
+	 * @throws HttpException
+	 *             when the request has failed
+	 */
+	Response get(String url, List<Parameter> params) throws HttpException;
+
+	/**
+	 * Same as {@link #get(String, List)} but the request is executed in
+	 * background. If the request fails, {@link Future#get()} throws an
+	 * {@link java.util.concurrent.ExecutionException} that wraps the
+	 * {@link HttpException}.
+	 * 
+	 * @param url
+	 *            the base url
+	 * @param params
+	 *            the list of parameters to append to the query string
+	 * @return the future response
+	 */
+	Future<Response> getAsync(String url, List<Parameter> params);
+}
@@ -0,0 +1,95 @@
+package fr.sii.ogham.sms.util.http;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.exception.util.HttpException;
+import fr.sii.ogham.core.util.http.HttpClientOptions;
+import fr.sii.ogham.core.util.http.HttpClientPool;
+
+/**
+ * {@link HttpClient} implementation based on Apache HttpClient with an
+ * explicitly configured pool of connections (see {@link HttpClientPool}).
+ * Connections are kept alive and reused between requests. Each request has a
+ * deadline: connection, socket and pool timeouts are always set.
+ * 
+ * <p>
+ * The parameters are converted into
+ * <code>application/x-www-form-urlencoded</code>. For example:
+ * <code>field1=value1&amp;field1=value2&amp;field2=value3</code>. The special
+ * characters are encoded. If there is a space, it is encoded into '%20'.
+ * </p>
+ * 
+ * <p>
+ * The client must be closed in order to release the connections and the
+ * threads used for asynchronous requests.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class PooledHttpClient implements HttpClient, Closeable {
+	private static final Logger LOG = LoggerFactory.getLogger(PooledHttpClient.class);
+
+	private final HttpClientPool pool;
+
+	/**
+	 * Initializes the client with default options.
+	 */
+	public PooledHttpClient() {
+		this(new HttpClientOptions());
+	}
+
+	/**
+	 * Initializes the client with the provided options.
+	 * 
+	 * @param options
+	 *            the HTTP configuration
+	 */
+	public PooledHttpClient(HttpClientOptions options) {
+		super();
+		this.pool = new HttpClientPool("http", options);
+	}
+
+	@Override
+	public Response get(String url, List<Parameter> params) throws HttpException {
+		String fullUrl = SimpleHttpClient.buildUrl(url, params);
+		LOG.debug("Sending HTTP GET request to {}", fullUrl);
+		try (CloseableHttpResponse response = pool.getClient().execute(new HttpGet(fullUrl))) {
+			int statusCode = response.getStatusLine().getStatusCode();
+			LOG.debug("HTTP GET request successfully sent to {}. Status code: {}", fullUrl, statusCode);
+			// fully consume the entity to release the connection to the pool
+			return new Response(statusCode, EntityUtils.toString(response.getEntity(), "UTF-8"));
+		} catch (IOException e) {
+			throw new HttpException("Failed to send GET request to " + fullUrl, e);
+		}
+	}
+
+	@Override
+	public Future<Response> getAsync(final String url, final List<Parameter> params) {
+		return pool.getExecutor().submit(new Callable<Response>() {
+			@Override
+			public Response call() throws HttpException {
+				return get(url, params);
+			}
+		});
+	}
+
+	@Override
+	public void close() throws IOException {
+		pool.close();
+	}
+
+	public HttpClientOptions getOptions() {
+		return pool.getOptions();
+	}
+}
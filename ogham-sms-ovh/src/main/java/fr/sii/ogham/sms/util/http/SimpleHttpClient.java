@@ -0,0 +1,148 @@
+package fr.sii.ogham.sms.util.http;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.utils.URLEncodedUtils;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.exception.util.HttpException;
+
+/**
+ * {@link HttpClient} implementation based on Apache HttpClient with default
+ * configuration (system properties are used). There is no dedicated pool of
+ * connections nor threads: asynchronous requests are executed immediately in
+ * the calling thread. Nothing needs to be released.
+ *
+ * <p>
+ * Use {@link PooledHttpClient} to control the connections, the timeouts and to
+ * execute requests concurrently.
+ * </p>
+ *
+ * <p>
+ * The parameters are converted into
+ * <code>application/x-www-form-urlencoded</code>. For example:
+ * <code>field1=value1&amp;field1=value2&amp;field2=value3</code>. The special
+ * characters are encoded. If there is a space, it is encoded into '%20'.
+ * </p>
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class SimpleHttpClient implements HttpClient {
+	private static final Logger LOG = LoggerFactory.getLogger(SimpleHttpClient.class);
+	private static final String ENCODED_SPACE = "%20";
+
+	private final org.apache.http.client.HttpClient client;
+
+	/**
+	 * Initializes with a client that uses the default configuration.
+	 */
+	public SimpleHttpClient() {
+		this(DefaultClientHolder.CLIENT);
+	}
+
+	/**
+	 * Initializes with the Apache client to use.
+	 *
+	 * @param client
+	 *            the Apache client
+	 */
+	public SimpleHttpClient(org.apache.http.client.HttpClient client) {
+		super();
+		this.client = client;
+	}
+
+	@Override
+	public Response get(String url, List<Parameter> params) throws HttpException {
+		String fullUrl = buildUrl(url, params);
+		try {
+			LOG.debug("Sending HTTP GET request to {}", fullUrl);
+			HttpResponse response = client.execute(new HttpGet(fullUrl));
+			int statusCode = response.getStatusLine().getStatusCode();
+			LOG.debug("HTTP GET request successfully sent to {}. Status code: {}", fullUrl, statusCode);
+			return new Response(statusCode, EntityUtils.toString(response.getEntity(), "UTF-8"));
+		} catch (IOException e) {
+			throw new HttpException("Failed to send GET request to " + fullUrl, e);
+		}
+	}
+
+	@Override
+	public Future<Response> getAsync(final String url, final List<Parameter> params) {
+		FutureTask<Response> task = new FutureTask<>(new Callable<Response>() {
+			@Override
+			public Response call() throws HttpException {
+				return get(url, params);
+			}
+		});
+		task.run();
+		return task;
+	}
+
+	/**
+	 * Build the full URL with the query string. Spaces are encoded into '+'
+	 * by form encoding but some servers doesn't handle it correctly so they
+	 * are converted to '%20'. A '+' in a value is already encoded ('%2B') so
+	 * any remaining '+' is a space.
+	 *
+	 * @param url
+	 *            the base URL
+	 * @param params
+	 *            the parameters to add to the query string
+	 * @return the full URL
+	 */
+	static String buildUrl(String url, List<Parameter> params) {
+		String paramsStr = URLEncodedUtils.format(convert(params), "UTF-8");
+		StringBuilder fullUrl = new StringBuilder(url.length() + paramsStr.length() + params.size() * 2 + 1);
+		fullUrl.append(url).append(url.indexOf('?') >= 0 ? '&' : '?');
+		for (int i = 0; i < paramsStr.length(); i++) {
+			char c = paramsStr.charAt(i);
+			if (c == '+') {
+				fullUrl.append(ENCODED_SPACE);
+			} else {
+				fullUrl.append(c);
+			}
+		}
+		return fullUrl.toString();
+	}
+
+	/**
+	 * Convert a list of parameters to a list of {@link NameValuePair}.
+	 *
+	 * @param params
+	 *            the parameters abstraction used in the library
+	 * @return the parameters used by the real implementation (Apache Commons
+	 *         HTTP)
+	 */
+	private static List<NameValuePair> convert(List<Parameter> params) {
+		List<NameValuePair> pairs = new ArrayList<>(params.size());
+		for (Parameter param : params) {
+			if (param.getValue() != null) {
+				pairs.add(new BasicNameValuePair(param.getName(), param.getValue()));
+			}
+		}
+		return pairs;
+	}
+
+	/**
+	 * Lazily creates the shared client on first use.
+	 */
+	private static final class DefaultClientHolder {
+		private static final org.apache.http.client.HttpClient CLIENT = HttpClientBuilder.create().useSystemProperties().build();
+
+		private DefaultClientHolder() {
+			super();
+		}
+	}
+}
@@ -10,7 +10,10 @@ import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.verify;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Ignore;
@@ -20,6 +23,7 @@ import org.junit.Test;
 import com.github.tomakehurst.wiremock.junit.WireMockRule;
 
 import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.exception.PartialDeliveryException;
 import fr.sii.ogham.core.util.IOUtils;
 import fr.sii.ogham.helper.rule.LoggingTestRule;
 import fr.sii.ogham.sms.builder.ovh.OvhSmsBuilder;
@@ -49,6 +53,11 @@ public class OvhSmsTest {
 						.build();
 	}
 
+	@After
+	public void tearDown() throws IOException {
+		sender.close();
+	}
+
 	@Test
 	public void simple() throws MessagingException, IOException, InterruptedException {
 		stubFor(get(urlMatching(".*"))
@@ -172,6 +181,78 @@ public class OvhSmsTest {
 					.withQueryParam("message", equalTo("sms content")));
 	}
 
+	@Test
+	public void recipientsSplitIntoSeveralRequests() throws MessagingException, IOException {
+		stubFor(get(urlMatching(".*"))
+				.willReturn(aResponse()
+						.withStatus(200)
+						.withHeader("Content-Type", "application/json")
+						.withBody(IOUtils.toString(getClass().getResourceAsStream("/ovh/response/ok.json")))));
+		OvhSmsSender chunkingSender = new OvhSmsBuilder()
+						.url("http://localhost:"+serverRule.port()+"/cgi-bin/sms/http2sms.cgi")
+						.account("sms-nic-foobar42")
+						.login("login")
+						.password("password")
+						.recipientsPerRequest(2)
+						.http()
+							.maxConnectionsPerRoute(2)
+							.socketTimeout(5000)
+							.and()
+						.options()
+							.noStop(true)
+							.and()
+						.build();
+		chunkingSender.send(new Sms()
+						.content("sms content")
+						.from(new Sender("0033203040506"))
+						.to("0033605040302")
+						.to("0033605040303")
+						.to("0033605040304"));
+		chunkingSender.close();
+		verify(2, getRequestedFor(urlPathEqualTo("/cgi-bin/sms/http2sms.cgi")));
+		verify(getRequestedFor(urlPathEqualTo("/cgi-bin/sms/http2sms.cgi"))
+					.withQueryParam("to", equalTo("0033605040302,0033605040303")));
+		verify(getRequestedFor(urlPathEqualTo("/cgi-bin/sms/http2sms.cgi"))
+					.withQueryParam("to", equalTo("0033605040304")));
+	}
+
+	@Test
+	public void failedRequestReportsPartialDelivery() throws MessagingException, IOException {
+		stubFor(get(urlMatching(".*"))
+				.willReturn(aResponse()
+						.withStatus(200)
+						.withHeader("Content-Type", "application/json")
+						.withBody(IOUtils.toString(getClass().getResourceAsStream("/ovh/response/ok.json")))));
+		stubFor(get(urlPathEqualTo("/cgi-bin/sms/http2sms.cgi"))
+				.withQueryParam("to", equalTo("0033605040304"))
+				.willReturn(aResponse()
+						.withStatus(200)
+						.withHeader("Content-Type", "application/json")
+						.withBody(IOUtils.toString(getClass().getResourceAsStream("/ovh/response/ko.json")))));
+		OvhSmsSender chunkingSender = new OvhSmsBuilder()
+						.url("http://localhost:"+serverRule.port()+"/cgi-bin/sms/http2sms.cgi")
+						.account("sms-nic-foobar42")
+						.login("login")
+						.password("password")
+						.recipientsPerRequest(2)
+						.build();
+		try {
+			chunkingSender.send(new Sms()
+							.content("sms content")
+							.from(new Sender("0033203040506"))
+							.to("0033605040302")
+							.to("0033605040303")
+							.to("0033605040304"));
+			Assert.fail("PartialDeliveryException expected");
+		} catch (PartialDeliveryException e) {
+			Assert.assertEquals(Arrays.asList("0033605040302", "0033605040303"), e.getDelivered());
+			Assert.assertEquals(Collections.singleton("0033605040304"), e.getFailures().keySet());
+		} finally {
+			chunkingSender.close();
+		}
+		verify(2, getRequestedFor(urlPathEqualTo("/cgi-bin/sms/http2sms.cgi")));
+	}
+
 	@Test(expected=IllegalArgumentException.class)
 	public void nationalNumber() throws MessagingException, IOException {
 		sender.send(new Sms()
@@ -0,0 +1,25 @@
+package fr.sii.ogham.sms;
+
+public final class SmsglobalConstants {
+	/**
+	 * The configurer has a priority of 10000 in order to be applied after
+	 * templating configurers, email configurers, SMPP configurer and OVH
+	 * configurer.
+	 */
+	public static final int DEFAULT_SMSGLOBAL_CONFIGURER_PRIORITY = 10000;
+
+	/**
+	 * The URL of the SmsGlobal REST API used to submit messages
+	 */
+	public static final String DEFAULT_SMSGLOBAL_URL = "https://api.smsglobal.com/v2/sms/";
+
+	/**
+	 * Maximum number of destinations sent in a single request to the SmsGlobal
+	 * REST API.
+	 */
+	public static final int DEFAULT_DESTINATIONS_PER_REQUEST = 100;
+
+	private SmsglobalConstants() {
+		super();
+	}
+}
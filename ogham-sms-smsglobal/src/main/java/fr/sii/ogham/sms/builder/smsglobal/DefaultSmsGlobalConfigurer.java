@@ -0,0 +1,78 @@
+package fr.sii.ogham.sms.builder.smsglobal;
+
+import static fr.sii.ogham.sms.SmsglobalConstants.DEFAULT_SMSGLOBAL_CONFIGURER_PRIORITY;
+
+import fr.sii.ogham.core.builder.MessagingBuilder;
+import fr.sii.ogham.core.builder.configurer.ConfigurerFor;
+import fr.sii.ogham.core.builder.configurer.MessagingConfigurer;
+import fr.sii.ogham.core.builder.env.EnvironmentBuilder;
+
+/**
+ * Default configurer that configures sending of SMS through SmsGlobal REST
+ * API. The configurer is automatically applied every time a
+ * {@link MessagingBuilder} instance is created through
+ * {@link MessagingBuilder#standard()}.
+ * 
+ * <p>
+ * The configurer has a priority of 10000 in order to be applied after
+ * templating configurers, email configurers, SMPP configurer and OVH
+ * configurer.
+ * </p>
+ * 
+ * This configurer is always applied but sender is only used if SmsGlobal API
+ * key and API secret are defined.
+ * 
+ * <p>
+ * This configurer inherits environment configuration (see
+ * {@link EnvironmentBuilder} and
+ * {@link SmsGlobalBuilder#environment(EnvironmentBuilder)}).
+ * </p>
+ * 
+ * <p>
+ * This configurer applies the following configuration:
+ * <ul>
+ * <li>It uses the property "ogham.sms.smsglobal.rest.url" if defined. By
+ * default URL is "https://api.smsglobal.com/v2/sms/"</li>
+ * <li>It uses properties "ogham.sms.smsglobal.rest.api-key" and
+ * "ogham.sms.smsglobal.rest.api-secret" (these properties are mandatory to be
+ * able to send SMS through SmsGlobal)</li>
+ * <li>It uses "ogham.sms.smsglobal.rest.destinations-per-request" to split
+ * SMS with many recipients into several requests (100 destinations per
+ * request by default)</li>
+ * <li>It uses the properties prefixed by "ogham.sms.smsglobal.rest.http"
+ * (max-connections, max-connections-per-route, connect-timeout,
+ * socket-timeout, connection-request-timeout, keep-alive, async-threads and
+ * async-queue-size) to configure the pool of HTTP connections</li>
+ * </ul>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+@ConfigurerFor(targetedBuilder = "standard", priority = DEFAULT_SMSGLOBAL_CONFIGURER_PRIORITY)
+public class DefaultSmsGlobalConfigurer implements MessagingConfigurer {
+
+	@Override
+	public void configure(MessagingBuilder msgBuilder) {
+		SmsGlobalBuilder builder = msgBuilder.sms().sender(SmsGlobalBuilder.class);
+		// use same environment as parent builder
+		builder.environment(msgBuilder.environment());
+		// @formatter:off
+		builder
+			.rest()
+				.url("${ogham.sms.smsglobal.rest.url}")
+				.apiKey("${ogham.sms.smsglobal.rest.api-key}")
+				.apiSecret("${ogham.sms.smsglobal.rest.api-secret}")
+				.destinationsPerRequest("${ogham.sms.smsglobal.rest.destinations-per-request}")
+				.http()
+					.maxConnections("${ogham.sms.smsglobal.rest.http.max-connections}")
+					.maxConnectionsPerRoute("${ogham.sms.smsglobal.rest.http.max-connections-per-route}")
+					.connectTimeout("${ogham.sms.smsglobal.rest.http.connect-timeout}")
+					.socketTimeout("${ogham.sms.smsglobal.rest.http.socket-timeout}")
+					.connectionRequestTimeout("${ogham.sms.smsglobal.rest.http.connection-request-timeout}")
+					.keepAlive("${ogham.sms.smsglobal.rest.http.keep-alive}")
+					.asyncThreads("${ogham.sms.smsglobal.rest.http.async-threads}")
+					.asyncQueueSize("${ogham.sms.smsglobal.rest.http.async-queue-size}");
+		// @formatter:on
+	}
+
+}
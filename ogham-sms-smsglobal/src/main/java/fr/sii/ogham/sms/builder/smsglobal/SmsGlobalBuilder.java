@@ -1,8 +1,158 @@
 package fr.sii.ogham.sms.builder.smsglobal;
 
-import fr.sii.ogham.core.builder.Parent;
+import java.util.Properties;
+
+import fr.sii.ogham.core.builder.AbstractParent;
+import fr.sii.ogham.core.builder.Builder;
+import fr.sii.ogham.core.builder.MessagingBuilder;
+import fr.sii.ogham.core.builder.env.EnvironmentBuilder;
+import fr.sii.ogham.core.builder.env.EnvironmentBuilderDelegate;
+import fr.sii.ogham.core.builder.env.SimpleEnvironmentBuilder;
 import fr.sii.ogham.sms.builder.SmsBuilder;
+import fr.sii.ogham.sms.message.Sms;
+import fr.sii.ogham.sms.sender.impl.SmsglobalRestSender;
+
+/**
+ * Configures how to send {@link Sms} using SmsGlobal.
+ * 
+ * <p>
+ * To send {@link Sms} using SmsGlobal REST API, you need to register this
+ * builder into a {@link MessagingBuilder} like this:
+ * 
+ * <pre>
+ * <code>
+ * MessagingBuilder msgBuilder = ...
+ * msgBuilder.sms()
+ *    .sender(SmsGlobalBuilder.class)    // registers the builder and accesses to that builder for configuring it
+ *       .rest()
+ *          .apiKey("your-api-key")
+ *          .apiSecret("your-api-secret")
+ * </code>
+ * </pre>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class SmsGlobalBuilder extends AbstractParent<SmsBuilder> implements Builder<SmsglobalRestSender> {
+	private EnvironmentBuilder<SmsGlobalBuilder> environmentBuilder;
+	private SmsGlobalRestApiBuilder restBuilder;
+
+	/**
+	 * Default constructor when using SmsGlobal sender without all Ogham work.
+	 * 
+	 * <strong>WARNING: use is only if you know what you are doing !</strong>
+	 */
+	public SmsGlobalBuilder() {
+		this(null);
+		environmentBuilder = new SimpleEnvironmentBuilder<>(this);
+	}
+
+	/**
+	 * Constructor that is called when using Ogham builder:
+	 * 
+	 * <pre>
+	 * MessagingBuilder msgBuilder = ...
+	 * msgBuilder
+	 * .sms()
+	 *    .sender(SmsGlobalBuilder.class)
+	 * </pre>
+	 * 
+	 * @param parent
+	 *            the parent builder instance for fluent chaining
+	 */
+	public SmsGlobalBuilder(SmsBuilder parent) {
+		super(parent);
+	}
+
+	/**
+	 * Configures environment for the builder (and sub-builders). Environment
+	 * consists of configuration properties/values that are used to configure
+	 * the system (see {@link EnvironmentBuilder} for more information).
+	 * 
+	 * You can use system properties:
+	 * 
+	 * <pre>
+	 * .environment()
+	 *    .systemProperties();
+	 * </pre>
+	 * 
+	 * Or, you can load properties from a file:
+	 * 
+	 * <pre>
+	 * .environment()
+	 *    .properties("/path/to/file.properties")
+	 * </pre>
+	 * 
+	 * Or using directly a {@link Properties} object:
+	 * 
+	 * <pre>
+	 * Properties myprops = new Properties();
+	 * myprops.setProperty("foo", "bar");
+	 * .environment()
+	 *    .properties(myprops)
+	 * </pre>
+	 * 
+	 * <p>
+	 * If no environment was previously used, it creates a new one. Then each
+	 * time you call {@link #environment()}, the same instance is used.
+	 * </p>
+	 * 
+	 * @return the builder to configure properties handling
+	 */
+	public EnvironmentBuilder<SmsGlobalBuilder> environment() {
+		if (environmentBuilder == null) {
+			environmentBuilder = new SimpleEnvironmentBuilder<>(this);
+		}
+		return environmentBuilder;
+	}
+
+	/**
+	 * NOTE: this is mostly for advance usage (when creating a custom module).
+	 * 
+	 * Inherits environment configuration from another builder. This is useful
+	 * for configuring independently different parts of Ogham but keeping a
+	 * whole coherence (see {@link DefaultSmsGlobalConfigurer} for an example
+	 * of use).
+	 * 
+	 * The same instance is shared meaning that all changes done here will also
+	 * impact the other builder.
+	 * 
+	 * <p>
+	 * If a previous builder was defined (by calling {@link #environment()} for
+	 * example), the new builder will override it.
+	 * 
+	 * @param builder
+	 *            the builder to inherit
+	 * @return this instance for fluent chaining
+	 */
+	public SmsGlobalBuilder environment(EnvironmentBuilder<?> builder) {
+		environmentBuilder = new EnvironmentBuilderDelegate<>(this, builder);
+		return this;
+	}
+
+	/**
+	 * Configures SmsGlobal REST API access (URL, credentials, connection pool,
+	 * timeouts...).
+	 * 
+	 * <p>
+	 * If no REST configuration was previously defined, it creates a new one.
+	 * Then each time you call {@link #rest()}, the same instance is used.
+	 * </p>
+	 * 
+	 * @return the builder to configure REST API access
+	 */
+	public SmsGlobalRestApiBuilder rest() {
+		if (restBuilder == null) {
+			restBuilder = new SmsGlobalRestApiBuilder(this, environment());
+		}
+		return restBuilder;
+	}
 
-public interface SmsGlobalBuilder extends Parent<SmsBuilder> {
-	SmsGlobalRestApiBuilder rest();
+	@Override
+	public SmsglobalRestSender build() {
+		if (restBuilder == null) {
+			return null;
+		}
+		return restBuilder.build();
+	}
 }
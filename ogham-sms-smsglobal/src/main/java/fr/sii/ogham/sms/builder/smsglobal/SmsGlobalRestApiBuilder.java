@@ -1,7 +1,231 @@
 package fr.sii.ogham.sms.builder.smsglobal;
 
-import fr.sii.ogham.core.builder.Parent;
+import static fr.sii.ogham.sms.SmsglobalConstants.DEFAULT_DESTINATIONS_PER_REQUEST;
 
-public interface SmsGlobalRestApiBuilder extends Parent<SmsGlobalBuilder> {
-	SmsGlobalRestApiBuilder apiKey(String key);
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.builder.AbstractParent;
+import fr.sii.ogham.core.builder.Builder;
+import fr.sii.ogham.core.builder.env.EnvironmentBuilder;
+import fr.sii.ogham.core.builder.http.HttpPoolBuilder;
+import fr.sii.ogham.core.env.PropertyResolver;
+import fr.sii.ogham.core.exception.builder.BuildException;
+import fr.sii.ogham.core.util.BuilderUtils;
+import fr.sii.ogham.core.util.http.HttpClientOptions;
+import fr.sii.ogham.sms.SmsglobalConstants;
+import fr.sii.ogham.sms.sender.impl.SmsglobalRestSender;
+import fr.sii.ogham.sms.sender.impl.smsglobal.SmsglobalAuthParams;
+
+/**
+ * Configures access to SmsGlobal REST API: URL, credentials, number of
+ * destinations per request and HTTP layer (see {@link #http()}).
+ * 
+ * <p>
+ * Each value can be provided directly or using one or several property keys.
+ * The properties are not immediately evaluated. The evaluation will be done
+ * when the {@link #build()} method is called.
+ * </p>
+ * 
+ * If you provide several property keys, evaluation will be done on the first
+ * key and if the property exists (see {@link EnvironmentBuilder}), its value is
+ * used. If the first property doesn't exist in properties, then it tries with
+ * the second one and so on.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class SmsGlobalRestApiBuilder extends AbstractParent<SmsGlobalBuilder> implements Builder<SmsglobalRestSender> {
+	private static final Logger LOG = LoggerFactory.getLogger(SmsGlobalRestApiBuilder.class);
+
+	private EnvironmentBuilder<?> environmentBuilder;
+	private List<String> urls;
+	private List<String> apiKeys;
+	private List<String> apiSecrets;
+	private Integer destinationsPerRequest;
+	private List<String> destinationsPerRequestProps;
+	private HttpPoolBuilder<SmsGlobalRestApiBuilder> httpBuilder;
+
+	/**
+	 * Initializes the builder with a parent builder. The parent builder is used
+	 * when calling {@link #and()} method. The {@link EnvironmentBuilder} is
+	 * used to evaluate properties when {@link #build()} method is called.
+	 * 
+	 * @param parent
+	 *            the parent builder
+	 * @param environmentBuilder
+	 *            the configuration for property resolution and evaluation
+	 */
+	public SmsGlobalRestApiBuilder(SmsGlobalBuilder parent, EnvironmentBuilder<?> environmentBuilder) {
+		super(parent);
+		this.environmentBuilder = environmentBuilder;
+		urls = new ArrayList<>();
+		apiKeys = new ArrayList<>();
+		apiSecrets = new ArrayList<>();
+		destinationsPerRequestProps = new ArrayList<>();
+	}
+
+	/**
+	 * Set the URL of the SmsGlobal REST API. Defaults to
+	 * {@value SmsglobalConstants#DEFAULT_SMSGLOBAL_URL}.
+	 * 
+	 * <pre>
+	 * .url("https://api.smsglobal.com/v2/sms/");
+	 * .url("${custom.property.high-priority}", "${custom.property.low-priority}");
+	 * </pre>
+	 * 
+	 * @param url
+	 *            one value, or one or several property keys
+	 * @return this instance for fluent chaining
+	 */
+	public SmsGlobalRestApiBuilder url(String... url) {
+		addAll(urls, url);
+		return this;
+	}
+
+	/**
+	 * Set the SmsGlobal REST API key.
+	 * 
+	 * <pre>
+	 * .apiKey("your-api-key");
+	 * .apiKey("${custom.property.high-priority}", "${custom.property.low-priority}");
+	 * </pre>
+	 * 
+	 * @param key
+	 *            one value, or one or several property keys
+	 * @return this instance for fluent chaining
+	 */
+	public SmsGlobalRestApiBuilder apiKey(String... key) {
+		addAll(apiKeys, key);
+		return this;
+	}
+
+	/**
+	 * Set the SmsGlobal REST API secret (used to sign the requests).
+	 * 
+	 * <pre>
+	 * .apiSecret("your-api-secret");
+	 * .apiSecret("${custom.property.high-priority}", "${custom.property.low-priority}");
+	 * </pre>
+	 * 
+	 * @param secret
+	 *            one value, or one or several property keys
+	 * @return this instance for fluent chaining
+	 */
+	public SmsGlobalRestApiBuilder apiSecret(String... secret) {
+		addAll(apiSecrets, secret);
+		return this;
+	}
+
+	/**
+	 * Set the maximum number of destinations sent in a single request. If a
+	 * SMS has more recipients, several requests are sent. Defaults to
+	 * {@value SmsglobalConstants#DEFAULT_DESTINATIONS_PER_REQUEST}.
+	 * 
+	 * This value preempts any other value defined by calling
+	 * {@link #destinationsPerRequest(String...)} method.
+	 * 
+	 * @param max
+	 *            the value to use (may be null)
+	 * @return this instance for fluent chaining
+	 */
+	public SmsGlobalRestApiBuilder destinationsPerRequest(Integer max) {
+		if (max != null) {
+			this.destinationsPerRequest = max;
+		}
+		return this;
+	}
+
+	/**
+	 * Set the maximum number of destinations sent in a single request. If a
+	 * SMS has more recipients, several requests are sent. Defaults to
+	 * {@value SmsglobalConstants#DEFAULT_DESTINATIONS_PER_REQUEST}.
+	 * 
+	 * @param max
+	 *            one value, or one or several property keys
+	 * @return this instance for fluent chaining
+	 */
+	public SmsGlobalRestApiBuilder destinationsPerRequest(String... max) {
+		addAll(destinationsPerRequestProps, max);
+		return this;
+	}
+
+	/**
+	 * Configures the pool of HTTP connections used to call SmsGlobal REST API
+	 * (maximum number of concurrent requests, timeouts, keep-alive, threads
+	 * used to send the requests of a SMS with many recipients concurrently).
+	 * For example:
+	 * 
+	 * <pre>
+	 * .http()
+	 *    .maxConnectionsPerRoute(50)
+	 *    .socketTimeout(20000)
+	 * </pre>
+	 * 
+	 * <p>
+	 * If no HTTP configuration was previously defined, it creates a new one.
+	 * Then each time you call {@link #http()}, the same instance is used.
+	 * </p>
+	 * 
+	 * @return the builder to configure the HTTP layer
+	 */
+	public HttpPoolBuilder<SmsGlobalRestApiBuilder> http() {
+		if (httpBuilder == null) {
+			httpBuilder = new HttpPoolBuilder<>(this, environmentBuilder);
+		}
+		return httpBuilder;
+	}
+
+	@Override
+	public SmsglobalRestSender build() {
+		PropertyResolver propertyResolver = environmentBuilder.build();
+		String apiKey = BuilderUtils.evaluate(apiKeys, propertyResolver, String.class);
+		String apiSecret = BuilderUtils.evaluate(apiSecrets, propertyResolver, String.class);
+		if (apiKey == null || apiSecret == null) {
+			return null;
+		}
+		URL url = buildUrl(propertyResolver);
+		LOG.info("Sending SMS using SmsGlobal REST API is registered");
+		LOG.debug("SmsGlobal account: apiKey={}", apiKey);
+		return new SmsglobalRestSender(url, new SmsglobalAuthParams(apiKey, apiSecret), buildOptions(), buildDestinationsPerRequest(propertyResolver));
+	}
+
+	private URL buildUrl(PropertyResolver propertyResolver) {
+		try {
+			String url = BuilderUtils.evaluate(urls, propertyResolver, String.class);
+			return new URL(url == null ? SmsglobalConstants.DEFAULT_SMSGLOBAL_URL : url);
+		} catch (MalformedURLException e) {
+			throw new BuildException("Failed to create SmsGlobal sender due to invalid URL", e);
+		}
+	}
+
+	private int buildDestinationsPerRequest(PropertyResolver propertyResolver) {
+		Integer value = evaluate(destinationsPerRequest, destinationsPerRequestProps, propertyResolver);
+		return value == null ? DEFAULT_DESTINATIONS_PER_REQUEST : value;
+	}
+
+	private HttpClientOptions buildOptions() {
+		HttpClientOptions options = httpBuilder == null ? null : httpBuilder.build();
+		return options == null ? new HttpClientOptions() : options;
+	}
+
+	private static Integer evaluate(Integer value, List<String> props, PropertyResolver propertyResolver) {
+		if (value != null) {
+			return value;
+		}
+		return BuilderUtils.evaluate(props, propertyResolver, Integer.class);
+	}
+
+	private static void addAll(List<String> list, String... values) {
+		for (String v : values) {
+			if (v != null) {
+				list.add(v);
+			}
+		}
+	}
 }
@@ -1,24 +1,377 @@
 package fr.sii.ogham.sms.sender.impl;
 
+import static fr.sii.ogham.sms.SmsglobalConstants.DEFAULT_DESTINATIONS_PER_REQUEST;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
 import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.exception.MessageNotSentException;
+import fr.sii.ogham.core.exception.PartialDeliveryException;
 import fr.sii.ogham.core.sender.AbstractSpecializedSender;
+import fr.sii.ogham.core.util.Base64Utils;
+import fr.sii.ogham.core.util.IOUtils;
+import fr.sii.ogham.core.util.http.HttpClientOptions;
+import fr.sii.ogham.core.util.http.HttpClientPool;
+import fr.sii.ogham.sms.message.Recipient;
 import fr.sii.ogham.sms.message.Sms;
+import fr.sii.ogham.sms.sender.impl.smsglobal.SmsglobalAuthParams;
 
 /**
  * Implementation that sends a HTTP REST request on the <a
  * href="http://www.smsglobal.com/rest-api/">smsglobal REST API</a> .
- * 
+ *
+ * <p>
+ * The sender is designed to be shared between many threads:
+ * <ul>
+ * <li>HTTP connections are pooled (see {@link HttpClientPool}) and kept alive
+ * between requests</li>
+ * <li>The size of the pool bounds the number of concurrent requests. When the
+ * limit is reached, the sending thread waits for a free connection at most
+ * {@link HttpClientOptions#getConnectionRequestTimeout()} milliseconds</li>
+ * <li>Connection and socket timeouts are always set</li>
+ * </ul>
+ *
+ * <p>
+ * All the recipients of a SMS are sent in a single request (using
+ * "destinations" field). If the SMS has more recipients than
+ * {@code destinationsPerRequest}, several requests are sent. The requests are
+ * executed concurrently by the threads of the pool (at most
+ * {@link HttpClientOptions#getAsyncThreads()} requests at a time). If the
+ * sender is created with a {@link CloseableHttpClient}, the requests are sent
+ * one after the other.
+ * </p>
+ *
+ * <p>
+ * Each request is authenticated using the MAC authentication scheme required
+ * by SmsGlobal (request signed with the API secret).
+ * </p>
+ *
+ * <p>
+ * The sender must be closed in order to release the connections.
+ * </p>
+ *
  * @author Aurélien Baudet
  */
-public class SmsglobalRestSender extends AbstractSpecializedSender<Sms> {
+public class SmsglobalRestSender extends AbstractSpecializedSender<Sms> implements Closeable {
 	private static final Logger LOG = LoggerFactory.getLogger(SmsglobalRestSender.class);
+	private static final String HMAC_ALGORITHM = "HmacSHA256";
+	private static final String AUTHORIZATION = "Authorization";
+	private static final String ORIGIN = "origin";
+	private static final String DESTINATIONS = "destinations";
+	private static final String MESSAGE = "message";
+	private static final int MILLIS_PER_SECOND = 1000;
+
+	/**
+	 * The URL to SmsGlobal REST API
+	 */
+	private final URL url;
+
+	/**
+	 * The authentication parameters
+	 */
+	private final SmsglobalAuthParams authParams;
+
+	/**
+	 * The pooled HTTP client used to call SmsGlobal REST API
+	 */
+	private final CloseableHttpClient httpClient;
+
+	/**
+	 * The pool (or client) to close in order to release the connections
+	 */
+	private final Closeable connections;
+
+	/**
+	 * The pool that provides threads to send requests concurrently (may be
+	 * null)
+	 */
+	private final HttpClientPool pool;
+
+	/**
+	 * The maximum number of destinations sent in a single request
+	 */
+	private final int destinationsPerRequest;
+
+	/**
+	 * This is used to generate request body
+	 */
+	private final ObjectMapper mapper;
+
+	/**
+	 * Used to generate nonce for authentication
+	 */
+	private final SecureRandom random;
 
+	public SmsglobalRestSender(URL url, SmsglobalAuthParams authParams) {
+		this(url, authParams, new HttpClientOptions(), DEFAULT_DESTINATIONS_PER_REQUEST);
+	}
+
+	public SmsglobalRestSender(URL url, SmsglobalAuthParams authParams, HttpClientOptions options, int destinationsPerRequest) {
+		this(url, authParams, createPool(options), destinationsPerRequest);
+	}
+
+	public SmsglobalRestSender(URL url, SmsglobalAuthParams authParams, CloseableHttpClient httpClient, int destinationsPerRequest) {
+		this(url, authParams, httpClient, httpClient, null, destinationsPerRequest);
+	}
+
+	private SmsglobalRestSender(URL url, SmsglobalAuthParams authParams, HttpClientPool pool, int destinationsPerRequest) {
+		this(url, authParams, pool.getClient(), pool, pool, destinationsPerRequest);
+	}
+
+	private SmsglobalRestSender(URL url, SmsglobalAuthParams authParams, CloseableHttpClient httpClient, Closeable connections, HttpClientPool pool, int destinationsPerRequest) {
+		super();
+		if (httpClient == null) {
+			throw new IllegalArgumentException("[httpClient] cannot be null");
+		}
+		if (destinationsPerRequest <= 0) {
+			throw new IllegalArgumentException("[destinationsPerRequest] must be strictly positive");
+		}
+		this.url = url;
+		this.authParams = authParams;
+		this.httpClient = httpClient;
+		this.connections = connections;
+		this.pool = pool;
+		this.destinationsPerRequest = destinationsPerRequest;
+		this.mapper = new ObjectMapper();
+		this.random = new SecureRandom();
+	}
+
+	/**
+	 * Sends the requests (concurrently if a pool is used). Every request is
+	 * awaited even if one fails. If at least one request has failed, a
+	 * {@link PartialDeliveryException} provides the destinations that have
+	 * been delivered and the reason of the failure for each destination that
+	 * has not been delivered. If every request has failed, a
+	 * {@link MessageNotSentException} is thrown instead.
+	 */
 	@Override
 	public void send(Sms message) throws MessageException {
+		String origin = toMsisdn(message.getFrom().getPhoneNumber().getNumber());
+		String content = message.getContent().toString();
+		List<String> destinations = convert(message.getRecipients());
+		if (destinations.size() <= destinationsPerRequest) {
+			LOG.debug("Sending SMS through SmsGlobal to destinations {}", destinations);
+			post(message, buildBody(origin, destinations, content));
+			return;
+		}
+		List<List<String>> chunks = new ArrayList<>();
+		List<Future<Void>> requests = new ArrayList<>();
+		for (int i = 0; i < destinations.size(); i += destinationsPerRequest) {
+			List<String> chunk = destinations.subList(i, Math.min(i + destinationsPerRequest, destinations.size()));
+			LOG.debug("Sending SMS through SmsGlobal to destinations {}", chunk);
+			chunks.add(chunk);
+			requests.add(submit(message, buildBody(origin, chunk, content)));
+		}
+		List<String> delivered = new ArrayList<>(destinations.size());
+		Map<String, Exception> failures = new LinkedHashMap<>();
+		for (int i = 0; i < requests.size(); i++) {
+			List<String> chunk = chunks.get(i);
+			try {
+				requests.get(i).get();
+				delivered.addAll(chunk);
+			} catch (ExecutionException e) {
+				addFailures(failures, chunk, e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new MessageException("Interrupted while sending SMS through SmsGlobal", message, e);
+			}
+		}
+		if (!failures.isEmpty() && delivered.isEmpty()) {
+			throw new MessageNotSentException("SMS couldn't be delivered to any of the " + destinations.size() + " destinations through SmsGlobal", message, failures.values().iterator().next());
+		}
+		if (!failures.isEmpty()) {
+			LOG.error("SMS couldn't be delivered to {} of {} destinations through SmsGlobal", failures.size(), destinations.size());
+			throw new PartialDeliveryException("SMS couldn't be delivered to " + failures.size() + " of " + destinations.size() + " destinations through SmsGlobal", message, failures, delivered);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		IOUtils.closeAll(connections);
+	}
+
+	/**
+	 * Executes the request using a thread of the pool. If there is no pool,
+	 * the request is executed immediately in the calling thread.
+	 * 
+	 * @param message
+	 *            the message to send (used for error reporting)
+	 * @param body
+	 *            the body of the request
+	 * @return the result of the request
+	 */
+	private Future<Void> submit(final Sms message, final String body) {
+		Callable<Void> request = new Callable<Void>() {
+			@Override
+			public Void call() throws MessageException {
+				post(message, body);
+				return null;
+			}
+		};
+		if (pool != null) {
+			try {
+				return pool.getExecutor().submit(request);
+			} catch (final RejectedExecutionException e) {
+				request = new Callable<Void>() {
+					@Override
+					public Void call() throws MessageException {
+						throw new MessageException("Failed to send SMS through SmsGlobal (sender is closed)", message, e);
+					}
+				};
+			}
+		}
+		FutureTask<Void> task = new FutureTask<>(request);
+		task.run();
+		return task;
+	}
+
+	private static void addFailures(Map<String, Exception> failures, List<String> destinations, Exception cause) {
+		for (String destination : destinations) {
+			failures.put(destination, cause);
+		}
+	}
+
+	private void post(Sms message, String body) throws MessageException {
+		HttpPost request = new HttpPost(url.toString());
+		request.setEntity(new StringEntity(body, ContentType.APPLICATION_JSON));
+		request.setHeader(AUTHORIZATION, authorization(message, "POST"));
+		try (CloseableHttpResponse response = httpClient.execute(request)) {
+			int status = response.getStatusLine().getStatusCode();
+			// fully consume the entity to release the connection to the pool
+			String responseBody = response.getEntity() == null ? null : EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
+			if (status < 200 || status >= 300) {
+				LOG.error("Response status {}", status);
+				LOG.error("Response body {}", responseBody);
+				throw new MessageNotSentException("SMS couldn't be sent through SmsGlobal. Response status is " + status, message);
+			}
+			LOG.info("SMS successfully sent through SmsGlobal");
+			LOG.debug("Sent SMS: {}", message);
+			LOG.debug("Response: {}", responseBody);
+		} catch (ConnectionPoolTimeoutException e) {
+			throw new MessageException("Failed to send SMS through SmsGlobal (too many concurrent requests)", message, e);
+		} catch (IOException e) {
+			throw new MessageException("Failed to send SMS through SmsGlobal", message, e);
+		}
+	}
+
+	private String buildBody(String origin, List<String> destinations, String content) {
+		ObjectNode body = mapper.createObjectNode();
+		body.put(ORIGIN, origin);
+		ArrayNode dests = body.putArray(DESTINATIONS);
+		for (String destination : destinations) {
+			dests.add(destination);
+		}
+		body.put(MESSAGE, content);
+		return body.toString();
+	}
+
+	/**
+	 * Generates the value of the Authorization header (MAC authentication):
+	 *
+	 * <pre>
+	 * MAC id="apiKey", ts="timestamp", nonce="nonce", mac="base64(hmac-sha256(apiSecret, ts\nnonce\nmethod\nuri\nhost\nport\n\n))"
+	 * </pre>
+	 *
+	 * @param message
+	 *            the message to send (used for error reporting)
+	 * @param method
+	 *            the HTTP method
+	 * @return the header value
+	 * @throws MessageException
+	 *             when the request couldn't be signed
+	 */
+	private String authorization(Sms message, String method) throws MessageException {
+		String ts = Long.toString(System.currentTimeMillis() / MILLIS_PER_SECOND);
+		String nonce = Long.toHexString(random.nextLong());
+		int port = url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+		String uri = url.getQuery() == null ? url.getPath() : url.getPath() + "?" + url.getQuery();
+		String toSign = ts + "\n" + nonce + "\n" + method + "\n" + uri + "\n" + url.getHost() + "\n" + port + "\n\n";
+		try {
+			Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+			mac.init(new SecretKeySpec(authParams.getApiSecret().getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+			String hash = Base64Utils.encodeToString(mac.doFinal(toSign.getBytes(StandardCharsets.UTF_8)));
+			return "MAC id=\"" + authParams.getApiKey() + "\", ts=\"" + ts + "\", nonce=\"" + nonce + "\", mac=\"" + hash + "\"";
+		} catch (NoSuchAlgorithmException | InvalidKeyException e) {
+			throw new MessageException("Failed to sign request for SmsGlobal", message, e);
+		}
+	}
+
+	/**
+	 * Convert the list of SMS recipients to phone numbers usable by SmsGlobal.
+	 *
+	 * @param recipients
+	 *            the list of recipients
+	 * @return the list of phone numbers
+	 */
+	private static List<String> convert(List<Recipient> recipients) {
+		List<String> destinations = new ArrayList<>(recipients.size());
+		for (Recipient recipient : recipients) {
+			destinations.add(toMsisdn(recipient.getPhoneNumber().getNumber()));
+		}
+		return destinations;
+	}
+
+	/**
+	 * SmsGlobal expects phone numbers in international format without '+'
+	 * and without spaces.
+	 *
+	 * @param number
+	 *            the phone number
+	 * @return the phone number usable by SmsGlobal
+	 */
+	private static String toMsisdn(String number) {
+		return number.replace("+", "").replaceAll("\\s+", "");
+	}
+
+	private static HttpClientPool createPool(HttpClientOptions options) {
+		if (options == null) {
+			throw new IllegalArgumentException("[options] cannot be null");
+		}
+		return new HttpClientPool("smsglobal", options);
+	}
+
+	public URL getUrl() {
+		return url;
+	}
+
+	public SmsglobalAuthParams getAuthParams() {
+		return authParams;
+	}
 
+	public int getDestinationsPerRequest() {
+		return destinationsPerRequest;
 	}
 
 	@Override
@@ -0,0 +1,33 @@
+package fr.sii.ogham.sms.sender.impl.smsglobal;
+
+/**
+ * Authentication parameters required by SmsGlobal REST API.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class SmsglobalAuthParams {
+	/**
+	 * The REST API key
+	 */
+	private final String apiKey;
+
+	/**
+	 * The REST API secret used to sign requests
+	 */
+	private final String apiSecret;
+
+	public SmsglobalAuthParams(String apiKey, String apiSecret) {
+		super();
+		this.apiKey = apiKey;
+		this.apiSecret = apiSecret;
+	}
+
+	public String getApiKey() {
+		return apiKey;
+	}
+
+	public String getApiSecret() {
+		return apiSecret;
+	}
+}
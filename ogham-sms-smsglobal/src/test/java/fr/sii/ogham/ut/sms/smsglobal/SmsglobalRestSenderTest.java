@@ -0,0 +1,140 @@
+package fr.sii.ogham.ut.sms.smsglobal;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.matching;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+
+import fr.sii.ogham.core.exception.MessageNotSentException;
+import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.exception.PartialDeliveryException;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+import fr.sii.ogham.sms.builder.smsglobal.SmsGlobalBuilder;
+import fr.sii.ogham.sms.message.Sender;
+import fr.sii.ogham.sms.message.Sms;
+import fr.sii.ogham.sms.sender.impl.SmsglobalRestSender;
+
+public class SmsglobalRestSenderTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	@Rule
+	public WireMockRule serverRule = new WireMockRule(8079);
+
+	private SmsglobalRestSender sender;
+
+	@Before
+	public void setUp() {
+		sender = new SmsGlobalBuilder()
+						.rest()
+							.url("http://localhost:"+serverRule.port()+"/v2/sms/")
+							.apiKey("key")
+							.apiSecret("secret")
+							.destinationsPerRequest(2)
+							.http()
+								.maxConnectionsPerRoute(5)
+								.socketTimeout(5000)
+								.and()
+							.and()
+						.build();
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		sender.close();
+	}
+
+	@Test
+	public void severalRecipientsInSingleRequest() throws MessagingException {
+		stubFor(post(urlPathEqualTo("/v2/sms/"))
+				.willReturn(aResponse().withStatus(200).withHeader("Content-Type", "application/json").withBody("{\"messages\":[]}")));
+		sender.send(new Sms()
+						.content("sms content")
+						.from(new Sender("+33203040506"))
+						.to("+33605040302", "+33605040303"));
+		verify(1, postRequestedFor(urlPathEqualTo("/v2/sms/")));
+		verify(postRequestedFor(urlPathEqualTo("/v2/sms/"))
+				.withHeader("Authorization", matching("MAC id=\"key\", ts=\"[0-9]+\", nonce=\"[0-9a-f]+\", mac=\".+\""))
+				.withRequestBody(equalToJson("{\"origin\":\"33203040506\",\"destinations\":[\"33605040302\",\"33605040303\"],\"message\":\"sms content\"}")));
+	}
+
+	@Test
+	public void destinationsSplitIntoSeveralRequests() throws MessagingException {
+		stubFor(post(urlPathEqualTo("/v2/sms/"))
+				.willReturn(aResponse().withStatus(200).withBody("{\"messages\":[]}")));
+		sender.send(new Sms()
+						.content("sms content")
+						.from(new Sender("+33203040506"))
+						.to("+33605040302", "+33605040303", "+33605040304"));
+		verify(2, postRequestedFor(urlPathEqualTo("/v2/sms/")));
+	}
+
+	@Test(expected = MessageNotSentException.class)
+	public void errorStatus() throws MessagingException {
+		stubFor(post(urlPathEqualTo("/v2/sms/"))
+				.willReturn(aResponse().withStatus(400).withBody("{\"errors\":{}}")));
+		sender.send(new Sms()
+						.content("sms content")
+						.from(new Sender("+33203040506"))
+						.to("+33605040302"));
+	}
+
+	@Test
+	public void failedRequestReportsPartialDelivery() throws MessagingException {
+		stubFor(post(urlPathEqualTo("/v2/sms/"))
+				.willReturn(aResponse().withStatus(200).withBody("{\"messages\":[]}")));
+		stubFor(post(urlPathEqualTo("/v2/sms/"))
+				.withRequestBody(containing("33605040304"))
+				.willReturn(aResponse().withStatus(400).withBody("{\"errors\":{}}")));
+		try {
+			sender.send(new Sms()
+							.content("sms content")
+							.from(new Sender("+33203040506"))
+							.to("+33605040302", "+33605040303", "+33605040304"));
+			fail("PartialDeliveryException expected");
+		} catch (PartialDeliveryException e) {
+			assertEquals(Arrays.asList("33605040302", "33605040303"), e.getDelivered());
+			assertEquals(Collections.singleton("33605040304"), e.getFailures().keySet());
+			assertTrue(e.getFailures().get("33605040304") instanceof MessageNotSentException);
+		}
+		verify(2, postRequestedFor(urlPathEqualTo("/v2/sms/")));
+	}
+
+	@Test
+	public void noDeliveredDestinationIsNotPartial() throws MessagingException {
+		stubFor(post(urlPathEqualTo("/v2/sms/"))
+				.willReturn(aResponse().withStatus(400).withBody("{\"errors\":{}}")));
+		try {
+			sender.send(new Sms()
+							.content("sms content")
+							.from(new Sender("+33203040506"))
+							.to("+33605040302", "+33605040303", "+33605040304"));
+			fail("MessageNotSentException expected");
+		} catch (MessageNotSentException e) {
+			assertThat(e, not(instanceOf(PartialDeliveryException.class)));
+		}
+		verify(2, postRequestedFor(urlPathEqualTo("/v2/sms/")));
+	}
+}
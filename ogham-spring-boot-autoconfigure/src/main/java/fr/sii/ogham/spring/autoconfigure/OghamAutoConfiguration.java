@@ -17,6 +17,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.core.env.Environment;
 
 import fr.sii.ogham.core.builder.MessagingBuilder;
+import fr.sii.ogham.core.env.PropertyResolver;
 import fr.sii.ogham.core.service.MessagingService;
 import fr.sii.ogham.core.template.parser.TemplateParser;
 import fr.sii.ogham.spring.common.OghamMimetypeProperties;
@@ -25,13 +26,15 @@ import fr.sii.ogham.spring.common.SpringMessagingConfigurer;
 import fr.sii.ogham.spring.email.OghamEmailProperties;
 import fr.sii.ogham.spring.email.OghamJavaMailConfiguration;
 import fr.sii.ogham.spring.email.OghamSendGridConfiguration;
+import fr.sii.ogham.spring.env.OghamPropertyResolverConfiguration;
 import fr.sii.ogham.spring.sms.OghamCloudhopperConfiguration;
 import fr.sii.ogham.spring.sms.OghamOvhSmsConfiguration;
 import fr.sii.ogham.spring.sms.OghamSmsProperties;
+import fr.sii.ogham.spring.template.OghamCommonTemplateProperties;
 import fr.sii.ogham.spring.template.OghamFreemarkerConfiguration;
 import fr.sii.ogham.spring.template.OghamNoTemplateEngineConfiguration;
-import fr.sii.ogham.spring.template.OghamCommonTemplateProperties;
 import fr.sii.ogham.spring.template.OghamThymeleafConfiguration;
+import fr.sii.ogham.spring.template.TemplatePrecompilationRunner;
 
 /**
  * <p>
@@ -58,7 +61,8 @@ import fr.sii.ogham.spring.template.OghamThymeleafConfiguration;
 								 OghamSmsProperties.class, 
 								 OghamMimetypeProperties.class,
 								 OghamCommonTemplateProperties.class })
-@Import({ OghamNoTemplateEngineConfiguration.class, 
+@Import({ OghamPropertyResolverConfiguration.class,
+							OghamNoTemplateEngineConfiguration.class, 
 							OghamFreemarkerConfiguration.class, 
 							OghamThymeleafConfiguration.class, 
 							OghamJavaMailConfiguration.class,
@@ -89,6 +93,12 @@ public class OghamAutoConfiguration {
 		return builder.build();
 	}
 
+	@Bean
+	@ConditionalOnMissingBean
+	public TemplatePrecompilationRunner templatePrecompilationRunner(MessagingService messagingService, OghamCommonTemplateProperties templateProperties) {
+		return new TemplatePrecompilationRunner(messagingService, templateProperties);
+	}
+
 	@Bean
 	public MessagingBuilder defaultMessagingBuilder(List<SpringMessagingConfigurer> configurers) {
 		MessagingBuilder builder = MessagingBuilder.standard(false);
@@ -99,7 +109,7 @@ public class OghamAutoConfiguration {
 	}
 
 	@Bean
-	public SpringEnvironmentConfigurer springEnvironmentConfigurer() {
-		return new SpringEnvironmentConfigurer(environment);
+	public SpringEnvironmentConfigurer springEnvironmentConfigurer(PropertyResolver oghamPropertyResolver) {
+		return new SpringEnvironmentConfigurer(oghamPropertyResolver);
 	}
 }
@@ -0,0 +1,70 @@
+package fr.sii.ogham.spring.autoconfigure;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import fr.sii.ogham.core.service.AsyncMessagingService;
+import fr.sii.ogham.core.service.MessagingService;
+import fr.sii.ogham.core.service.ReactiveMessagingService;
+import fr.sii.ogham.spring.reactive.OghamReactiveProperties;
+
+/**
+ * <p>
+ * Spring Boot auto-configuration of the {@link ReactiveMessagingService}
+ * (for WebFlux applications for example).
+ * </p>
+ * 
+ * <p>
+ * It is applied after {@link OghamAutoConfiguration} and only if Reactive
+ * Streams API is available. The reactive service uses the
+ * {@link MessagingService} bean. If the {@link MessagingService} doesn't
+ * already send asynchronously (see
+ * {@link fr.sii.ogham.core.builder.MessagingBuilder#virtualThreads(int)}), it
+ * is decorated by an {@link AsyncMessagingService}.
+ * </p>
+ * 
+ * <p>
+ * The {@link MessagingService} bean is closed by Spring on its own: closing
+ * the reactive service would close it a second time. Only the threads of the
+ * {@link AsyncMessagingService} created by this configuration are released
+ * on shutdown.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ */
+@Configuration
+@AutoConfigureAfter(OghamAutoConfiguration.class)
+@ConditionalOnClass({ Publisher.class, ReactiveMessagingService.class })
+@ConditionalOnBean(MessagingService.class)
+@EnableConfigurationProperties(OghamReactiveProperties.class)
+public class OghamReactiveAutoConfiguration implements DisposableBean {
+	private AsyncMessagingService createdAsyncService;
+
+	@Bean(destroyMethod = "")
+	@ConditionalOnMissingBean
+	public ReactiveMessagingService reactiveMessagingService(MessagingService messagingService, OghamReactiveProperties reactiveProperties) {
+		AsyncMessagingService async;
+		if (messagingService instanceof AsyncMessagingService) {
+			async = (AsyncMessagingService) messagingService;
+		} else {
+			async = new AsyncMessagingService(messagingService);
+			createdAsyncService = async;
+		}
+		return new ReactiveMessagingService(async, reactiveProperties.getMaxInFlight());
+	}
+
+	@Override
+	public void destroy() {
+		if (createdAsyncService != null) {
+			// the decorated service is a bean: it is closed by Spring
+			createdAsyncService.getExecutor().shutdown();
+		}
+	}
+}
@@ -7,26 +7,36 @@ import org.springframework.core.env.Environment;
 import fr.sii.ogham.core.CoreConstants;
 import fr.sii.ogham.core.builder.configurer.MessagingConfigurerAdapter;
 import fr.sii.ogham.core.builder.env.EnvironmentBuilder;
+import fr.sii.ogham.core.env.PropertyResolver;
 import fr.sii.ogham.spring.env.SpringEnvironmentPropertyResolver;
 
 /**
  * Configures general environment (and may be inherited) to use Spring
  * {@link Environment} instead of basic Java {@link Properties} object.
  * 
+ * <p>
+ * A custom {@link PropertyResolver} that wraps the Spring {@link Environment}
+ * may be provided (a snapshot for example).
+ * </p>
+ * 
  * @author Aurélien Baudet
  *
  */
 public class SpringEnvironmentConfigurer extends MessagingConfigurerAdapter implements SpringMessagingConfigurer {
-	private final Environment environment;
+	private final PropertyResolver propertyResolver;
 
 	public SpringEnvironmentConfigurer(Environment environment) {
+		this(new SpringEnvironmentPropertyResolver(environment));
+	}
+
+	public SpringEnvironmentConfigurer(PropertyResolver propertyResolver) {
 		super();
-		this.environment = environment;
+		this.propertyResolver = propertyResolver;
 	}
 
 	@Override
 	public void configure(EnvironmentBuilder<?> environmentBuilder) {
-		environmentBuilder.resolver(new SpringEnvironmentPropertyResolver(environment));
+		environmentBuilder.resolver(propertyResolver);
 	}
 
 	@Override
@@ -1,6 +1,7 @@
 package fr.sii.ogham.spring.email;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 @ConfigurationProperties("ogham.email.sendgrid")
 public class OghamSendGridProperties {
@@ -16,6 +17,17 @@ public class OghamSendGridProperties {
 	 * Set password for SendGrid HTTP API
 	 */
 	private String password;
+	/**
+	 * The maximum number of emails merged into a single SendGrid request when
+	 * sending a batch of emails
+	 */
+	private Integer batchSize;
+	/**
+	 * The pool of HTTP connections used to call SendGrid. The pool is used
+	 * only if at least one of the properties is set
+	 */
+	@NestedConfigurationProperty
+	private HttpProperties http = new HttpProperties();
 
 	public String getApiKey() {
 		return apiKey;
@@ -41,4 +53,127 @@ public class OghamSendGridProperties {
 		this.password = password;
 	}
 
+	public Integer getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(Integer batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	public HttpProperties getHttp() {
+		return http;
+	}
+
+	public void setHttp(HttpProperties http) {
+		this.http = http;
+	}
+
+	public static class HttpProperties {
+		/**
+		 * The maximum number of connections in the pool. Defaults to 20.
+		 */
+		private Integer maxConnections;
+		/**
+		 * The maximum number of connections to SendGrid (per route). Defaults
+		 * to 20.
+		 */
+		private Integer maxConnectionsPerRoute;
+		/**
+		 * The maximum amount of time (in milliseconds) to wait for
+		 * establishing the connection. Defaults to 10000.
+		 */
+		private Integer connectTimeout;
+		/**
+		 * The maximum amount of time (in milliseconds) to wait for data from
+		 * SendGrid. Defaults to 30000.
+		 */
+		private Integer socketTimeout;
+		/**
+		 * The maximum amount of time (in milliseconds) to wait for a free
+		 * connection in the pool. Defaults to 10000.
+		 */
+		private Integer connectionRequestTimeout;
+		/**
+		 * The maximum amount of time (in milliseconds) an idle connection is
+		 * kept alive for reuse. Defaults to 30000.
+		 */
+		private Long keepAlive;
+		/**
+		 * The number of threads used for asynchronous sending. Defaults to the
+		 * maximum number of connections per route.
+		 */
+		private Integer asyncThreads;
+		/**
+		 * The maximum number of asynchronous requests waiting for a thread.
+		 * When the queue is full, the request is executed by the calling
+		 * thread. Defaults to 1000.
+		 */
+		private Integer asyncQueueSize;
+
+		public Integer getMaxConnections() {
+			return maxConnections;
+		}
+
+		public void setMaxConnections(Integer maxConnections) {
+			this.maxConnections = maxConnections;
+		}
+
+		public Integer getMaxConnectionsPerRoute() {
+			return maxConnectionsPerRoute;
+		}
+
+		public void setMaxConnectionsPerRoute(Integer maxConnectionsPerRoute) {
+			this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+		}
+
+		public Integer getConnectTimeout() {
+			return connectTimeout;
+		}
+
+		public void setConnectTimeout(Integer connectTimeout) {
+			this.connectTimeout = connectTimeout;
+		}
+
+		public Integer getSocketTimeout() {
+			return socketTimeout;
+		}
+
+		public void setSocketTimeout(Integer socketTimeout) {
+			this.socketTimeout = socketTimeout;
+		}
+
+		public Integer getConnectionRequestTimeout() {
+			return connectionRequestTimeout;
+		}
+
+		public void setConnectionRequestTimeout(Integer connectionRequestTimeout) {
+			this.connectionRequestTimeout = connectionRequestTimeout;
+		}
+
+		public Long getKeepAlive() {
+			return keepAlive;
+		}
+
+		public void setKeepAlive(Long keepAlive) {
+			this.keepAlive = keepAlive;
+		}
+
+		public Integer getAsyncThreads() {
+			return asyncThreads;
+		}
+
+		public void setAsyncThreads(Integer asyncThreads) {
+			this.asyncThreads = asyncThreads;
+		}
+
+		public Integer getAsyncQueueSize() {
+			return asyncQueueSize;
+		}
+
+		public void setAsyncQueueSize(Integer asyncQueueSize) {
+			this.asyncQueueSize = asyncQueueSize;
+		}
+	}
+
 }
@@ -63,7 +63,17 @@ public class SpringSendGridConfigurer implements SpringMessagingConfigurer {
 			.sender(SendGridBuilder.class)
 				.apiKey(properties.getApiKey())
 				.username(properties.getUsername())
-				.password(properties.getPassword());
+				.password(properties.getPassword())
+				.batchSize(properties.getBatchSize())
+				.http()
+					.maxConnections(properties.getHttp().getMaxConnections())
+					.maxConnectionsPerRoute(properties.getHttp().getMaxConnectionsPerRoute())
+					.connectTimeout(properties.getHttp().getConnectTimeout())
+					.socketTimeout(properties.getHttp().getSocketTimeout())
+					.connectionRequestTimeout(properties.getHttp().getConnectionRequestTimeout())
+					.keepAlive(properties.getHttp().getKeepAlive())
+					.asyncThreads(properties.getHttp().getAsyncThreads())
+					.asyncQueueSize(properties.getHttp().getAsyncQueueSize());
 		// @formatter:on
 	}
 
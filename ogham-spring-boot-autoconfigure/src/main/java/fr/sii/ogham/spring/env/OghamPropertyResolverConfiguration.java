@@ -0,0 +1,61 @@
+package fr.sii.ogham.spring.env;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import fr.sii.ogham.core.convert.DefaultConverter;
+import fr.sii.ogham.core.env.PropertyResolver;
+import fr.sii.ogham.core.env.SnapshotPropertyResolver;
+
+/**
+ * Provides the {@link PropertyResolver} used by Ogham to read the Spring
+ * environment.
+ * 
+ * <p>
+ * By default, the values are read from a snapshot of the Spring environment
+ * (see {@link SnapshotPropertyResolver}) that is reloaded when Spring Cloud
+ * changes the environment (see {@link PropertySnapshotRefresher}). Set
+ * {@code ogham.environment.snapshot.enabled} to false to read the Spring
+ * environment directly each time.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+@Configuration
+public class OghamPropertyResolverConfiguration {
+	/**
+	 * The property used to enable/disable the snapshot of properties
+	 */
+	public static final String SNAPSHOT_ENABLED_PROPERTY = "ogham.environment.snapshot.enabled";
+
+	@Configuration
+	@ConditionalOnProperty(name = SNAPSHOT_ENABLED_PROPERTY, havingValue = "true", matchIfMissing = true)
+	public static class SnapshotConfiguration {
+		@Bean
+		@ConditionalOnMissingBean(PropertyResolver.class)
+		public SnapshotPropertyResolver oghamPropertyResolver(Environment environment) {
+			return new SnapshotPropertyResolver(new SpringEnvironmentPropertyResolver(environment), new DefaultConverter());
+		}
+
+		@Bean
+		@ConditionalOnBean(SnapshotPropertyResolver.class)
+		public PropertySnapshotRefresher oghamPropertySnapshotRefresher(SnapshotPropertyResolver oghamPropertyResolver) {
+			return new PropertySnapshotRefresher(oghamPropertyResolver);
+		}
+	}
+
+	@Configuration
+	@ConditionalOnProperty(name = SNAPSHOT_ENABLED_PROPERTY, havingValue = "false")
+	public static class DirectConfiguration {
+		@Bean
+		@ConditionalOnMissingBean(PropertyResolver.class)
+		public PropertyResolver oghamPropertyResolver(Environment environment) {
+			return new SpringEnvironmentPropertyResolver(environment);
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package fr.sii.ogham.spring.env;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+
+import fr.sii.ogham.core.env.SnapshotPropertyResolver;
+
+/**
+ * Reloads the snapshot of properties used by Ogham when the Spring environment
+ * has changed.
+ * 
+ * <p>
+ * The environment is changed at runtime by Spring Cloud (refresh endpoint,
+ * configuration server...). Spring Cloud then publishes an
+ * {@code EnvironmentChangeEvent}. Spring Cloud is optional so the event is
+ * detected by its class name.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class PropertySnapshotRefresher implements ApplicationListener<ApplicationEvent> {
+	private static final Logger LOG = LoggerFactory.getLogger(PropertySnapshotRefresher.class);
+	private static final String ENVIRONMENT_CHANGE_EVENT = "org.springframework.cloud.context.environment.EnvironmentChangeEvent";
+
+	private final SnapshotPropertyResolver resolver;
+
+	public PropertySnapshotRefresher(SnapshotPropertyResolver resolver) {
+		super();
+		this.resolver = resolver;
+	}
+
+	@Override
+	public void onApplicationEvent(ApplicationEvent event) {
+		if (ENVIRONMENT_CHANGE_EVENT.equals(event.getClass().getName())) {
+			LOG.debug("Spring environment has changed => reload Ogham properties");
+			resolver.reload();
+		}
+	}
+
+}
@@ -0,0 +1,24 @@
+package fr.sii.ogham.spring.reactive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import fr.sii.ogham.core.service.ReactiveMessagingService;
+
+@ConfigurationProperties("ogham.reactive")
+public class OghamReactiveProperties {
+	/**
+	 * The maximum number of messages that are sent at the same time when
+	 * sending a stream of messages. Messages are requested from the source
+	 * only when there is room for them. This value should match the
+	 * concurrency limits of the providers.
+	 */
+	private int maxInFlight = ReactiveMessagingService.DEFAULT_MAX_IN_FLIGHT;
+
+	public int getMaxInFlight() {
+		return maxInFlight;
+	}
+
+	public void setMaxInFlight(int maxInFlight) {
+		this.maxInFlight = maxInFlight;
+	}
+}
@@ -23,8 +23,15 @@ public class OghamOvhSmsProperties {
 	 * The OVH password
 	 */
 	private String password;
+	/**
+	 * The maximum number of recipients sent in a single request to OVH. If a
+	 * SMS has more recipients, several requests are sent concurrently.
+	 */
+	private Integer recipientsPerRequest = 50;
 	@NestedConfigurationProperty
 	private Options options = new Options();
+	@NestedConfigurationProperty
+	private HttpProperties http = new HttpProperties();
 
 	public String getUrl() {
 		return url;
@@ -58,6 +65,22 @@ public class OghamOvhSmsProperties {
 		this.password = password;
 	}
 
+	public Integer getRecipientsPerRequest() {
+		return recipientsPerRequest;
+	}
+
+	public void setRecipientsPerRequest(Integer recipientsPerRequest) {
+		this.recipientsPerRequest = recipientsPerRequest;
+	}
+
+	public HttpProperties getHttp() {
+		return http;
+	}
+
+	public void setHttp(HttpProperties http) {
+		this.http = http;
+	}
+
 	public Options getOptions() {
 		return options;
 	}
@@ -109,4 +132,111 @@ public class OghamOvhSmsProperties {
 			this.tag = tag;
 		}
 	}
+
+	public static class HttpProperties {
+		/**
+		 * The maximum number of connections in the pool. Defaults to 20.
+		 */
+		private Integer maxConnections = 20;
+		/**
+		 * The maximum number of connections per route. Defaults
+		 * to 20.
+		 */
+		private Integer maxConnectionsPerRoute = 20;
+		/**
+		 * The maximum amount of time (in milliseconds) to wait for
+		 * establishing the connection. Defaults to 10000.
+		 */
+		private Integer connectTimeout = 10000;
+		/**
+		 * The maximum amount of time (in milliseconds) to wait for data from
+		 * OVH. Defaults to 30000.
+		 */
+		private Integer socketTimeout = 30000;
+		/**
+		 * The maximum amount of time (in milliseconds) to wait for a free
+		 * connection in the pool. Defaults to 10000.
+		 */
+		private Integer connectionRequestTimeout = 10000;
+		/**
+		 * The maximum amount of time (in milliseconds) an idle connection is
+		 * kept alive for reuse. Defaults to 30000.
+		 */
+		private Long keepAlive = 30000L;
+		/**
+		 * The number of threads used to execute requests concurrently. Defaults to the
+		 * maximum number of connections per route.
+		 */
+		private Integer asyncThreads;
+		/**
+		 * The maximum number of asynchronous requests waiting for a thread.
+		 * When the queue is full, the request is executed by the calling
+		 * thread. Defaults to 1000.
+		 */
+		private Integer asyncQueueSize;
+
+		public Integer getMaxConnections() {
+			return maxConnections;
+		}
+
+		public void setMaxConnections(Integer maxConnections) {
+			this.maxConnections = maxConnections;
+		}
+
+		public Integer getMaxConnectionsPerRoute() {
+			return maxConnectionsPerRoute;
+		}
+
+		public void setMaxConnectionsPerRoute(Integer maxConnectionsPerRoute) {
+			this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+		}
+
+		public Integer getConnectTimeout() {
+			return connectTimeout;
+		}
+
+		public void setConnectTimeout(Integer connectTimeout) {
+			this.connectTimeout = connectTimeout;
+		}
+
+		public Integer getSocketTimeout() {
+			return socketTimeout;
+		}
+
+		public void setSocketTimeout(Integer socketTimeout) {
+			this.socketTimeout = socketTimeout;
+		}
+
+		public Integer getConnectionRequestTimeout() {
+			return connectionRequestTimeout;
+		}
+
+		public void setConnectionRequestTimeout(Integer connectionRequestTimeout) {
+			this.connectionRequestTimeout = connectionRequestTimeout;
+		}
+
+		public Long getKeepAlive() {
+			return keepAlive;
+		}
+
+		public void setKeepAlive(Long keepAlive) {
+			this.keepAlive = keepAlive;
+		}
+
+		public Integer getAsyncThreads() {
+			return asyncThreads;
+		}
+
+		public void setAsyncThreads(Integer asyncThreads) {
+			this.asyncThreads = asyncThreads;
+		}
+
+		public Integer getAsyncQueueSize() {
+			return asyncQueueSize;
+		}
+
+		public void setAsyncQueueSize(Integer asyncQueueSize) {
+			this.asyncQueueSize = asyncQueueSize;
+		}
+	}
 }
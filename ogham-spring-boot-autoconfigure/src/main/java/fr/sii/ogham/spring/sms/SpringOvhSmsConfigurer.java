@@ -38,6 +38,17 @@ public class SpringOvhSmsConfigurer implements SpringMessagingConfigurer {
 			.account(properties.getAccount())
 			.login(properties.getLogin())
 			.password(properties.getPassword())
+			.recipientsPerRequest(properties.getRecipientsPerRequest())
+			.http()
+				.maxConnections(properties.getHttp().getMaxConnections())
+				.maxConnectionsPerRoute(properties.getHttp().getMaxConnectionsPerRoute())
+				.connectTimeout(properties.getHttp().getConnectTimeout())
+				.socketTimeout(properties.getHttp().getSocketTimeout())
+				.connectionRequestTimeout(properties.getHttp().getConnectionRequestTimeout())
+				.keepAlive(properties.getHttp().getKeepAlive())
+				.asyncThreads(properties.getHttp().getAsyncThreads())
+				.asyncQueueSize(properties.getHttp().getAsyncQueueSize())
+				.and()
 			.options()
 				.noStop(properties.getOptions().isNoStop())
 				.smsCoding(properties.getOptions().getSmsCoding())
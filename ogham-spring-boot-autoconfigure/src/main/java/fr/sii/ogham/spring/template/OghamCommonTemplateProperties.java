@@ -1,10 +1,39 @@
 package fr.sii.ogham.spring.template;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 import fr.sii.ogham.spring.common.PrefixSuffixProperties;
 
 @ConfigurationProperties("ogham.template")
 public class OghamCommonTemplateProperties extends PrefixSuffixProperties {
+	/**
+	 * Templates to precompile when the application starts in order to avoid
+	 * latency on the first message. Each location may contain glob patterns
+	 * (for example "classpath:/templates/email/**&#47;*.html").
+	 */
+	private List<String> precompile = new ArrayList<>();
+
+	/**
+	 * Fail the application startup if any template can't be precompiled.
+	 */
+	private boolean failOnPrecompileError;
+
+	public List<String> getPrecompile() {
+		return precompile;
+	}
+
+	public void setPrecompile(List<String> precompile) {
+		this.precompile = precompile;
+	}
+
+	public boolean isFailOnPrecompileError() {
+		return failOnPrecompileError;
+	}
 
+	public void setFailOnPrecompileError(boolean failOnPrecompileError) {
+		this.failOnPrecompileError = failOnPrecompileError;
+	}
 }
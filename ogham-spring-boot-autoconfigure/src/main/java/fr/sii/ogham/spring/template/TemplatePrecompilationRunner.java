@@ -0,0 +1,40 @@
+package fr.sii.ogham.spring.template;
+
+import java.util.List;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import fr.sii.ogham.core.service.MessagingService;
+import fr.sii.ogham.core.template.precompile.PrecompilationReport;
+import fr.sii.ogham.core.template.precompile.TemplateWarmUp;
+
+/**
+ * Precompiles the templates listed by {@code ogham.template.precompile}
+ * property once the application is started.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class TemplatePrecompilationRunner implements ApplicationRunner {
+	private final MessagingService messagingService;
+	private final OghamCommonTemplateProperties properties;
+
+	public TemplatePrecompilationRunner(MessagingService messagingService, OghamCommonTemplateProperties properties) {
+		super();
+		this.messagingService = messagingService;
+		this.properties = properties;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		List<String> locations = properties.getPrecompile();
+		if (locations == null || locations.isEmpty()) {
+			return;
+		}
+		PrecompilationReport report = TemplateWarmUp.precompile(messagingService, locations.toArray(new String[locations.size()]));
+		if (!report.isSuccess() && properties.isFailOnPrecompileError()) {
+			throw new IllegalStateException("Some templates couldn't be precompiled: " + report);
+		}
+	}
+}
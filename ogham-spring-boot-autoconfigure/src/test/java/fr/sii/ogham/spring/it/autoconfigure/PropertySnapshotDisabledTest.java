@@ -0,0 +1,42 @@
+package fr.sii.ogham.spring.it.autoconfigure;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import fr.sii.ogham.core.env.PropertyResolver;
+import fr.sii.ogham.core.env.SnapshotPropertyResolver;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+import fr.sii.ogham.spring.env.PropertySnapshotRefresher;
+import fr.sii.ogham.spring.env.SpringEnvironmentPropertyResolver;
+import fr.sii.ogham.spring.mock.MockApplication;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest(classes = MockApplication.class, webEnvironment = NONE, properties = "ogham.environment.snapshot.enabled=false")
+public class PropertySnapshotDisabledTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	@Autowired
+	PropertyResolver oghamPropertyResolver;
+
+	@Autowired
+	ApplicationContext context;
+
+	@Test
+	public void springEnvironmentIsReadDirectly() {
+		assertThat(oghamPropertyResolver, instanceOf(SpringEnvironmentPropertyResolver.class));
+		assertThat(oghamPropertyResolver, not(instanceOf(SnapshotPropertyResolver.class)));
+		assertTrue(context.getBeansOfType(PropertySnapshotRefresher.class).isEmpty());
+	}
+}
@@ -0,0 +1,49 @@
+package fr.sii.ogham.spring.ut.env;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.support.StaticApplicationContext;
+
+import fr.sii.ogham.core.convert.DefaultConverter;
+import fr.sii.ogham.core.env.JavaPropertiesResolver;
+import fr.sii.ogham.core.env.SnapshotPropertyResolver;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+import fr.sii.ogham.spring.env.PropertySnapshotRefresher;
+
+public class PropertySnapshotRefresherTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	private Properties properties;
+	private SnapshotPropertyResolver resolver;
+	private PropertySnapshotRefresher refresher;
+
+	@Before
+	public void setUp() {
+		properties = new Properties();
+		properties.setProperty("ogham.email.from", "foo@sii.fr");
+		resolver = new SnapshotPropertyResolver(new JavaPropertiesResolver(properties, new DefaultConverter()), Arrays.asList("ogham.email.from"));
+		refresher = new PropertySnapshotRefresher(resolver);
+		properties.setProperty("ogham.email.from", "changed@sii.fr");
+	}
+
+	@Test
+	public void environmentChangeReloadsSnapshot() {
+		refresher.onApplicationEvent(new EnvironmentChangeEvent(this));
+		assertEquals("changed@sii.fr", resolver.getProperty("ogham.email.from"));
+	}
+
+	@Test
+	public void otherEventsAreIgnored() {
+		refresher.onApplicationEvent(new ContextRefreshedEvent(new StaticApplicationContext()));
+		assertEquals("foo@sii.fr", resolver.getProperty("ogham.email.from"));
+	}
+}
@@ -0,0 +1,14 @@
+package org.springframework.cloud.context.environment;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Stands for the Spring Cloud event (Spring Cloud is not a dependency of this
+ * module). Only the class name matters.
+ */
+@SuppressWarnings("serial")
+public class EnvironmentChangeEvent extends ApplicationEvent {
+	public EnvironmentChangeEvent(Object source) {
+		super(source);
+	}
+}
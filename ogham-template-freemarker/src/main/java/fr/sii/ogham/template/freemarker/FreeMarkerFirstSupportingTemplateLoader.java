@@ -6,11 +6,14 @@ import java.io.Reader;
 import fr.sii.ogham.core.resource.ResourcePath;
 import fr.sii.ogham.core.resource.resolver.FirstSupportingResourceResolver;
 import fr.sii.ogham.core.resource.resolver.ResourceResolver;
+import fr.sii.ogham.core.util.LruCache;
 import fr.sii.ogham.template.exception.NoResolverAdapterException;
 import fr.sii.ogham.template.exception.ResolverAdapterConfigurationException;
 import fr.sii.ogham.template.exception.ResolverAdapterException;
 import fr.sii.ogham.template.exception.ResolverAdapterNotFoundException;
+import fr.sii.ogham.template.freemarker.adapter.CachingTemplateLoaderAdapter;
 import fr.sii.ogham.template.freemarker.adapter.FirstSupportingResolverAdapter;
+import fr.sii.ogham.template.freemarker.adapter.TemplateLoaderAdapter;
 import freemarker.cache.MultiTemplateLoader;
 import freemarker.cache.TemplateLoader;
 
@@ -26,6 +29,10 @@ import freemarker.cache.TemplateLoader;
  * It delegates to a {@link FirstSupportingResolverAdapter} the link between {@link ResourceResolver} and the {@link TemplateLoader} implementation to use with
  * the given path.
  * </p>
+ * <p>
+ * Adapted {@link TemplateLoader}s are created only once per {@link ResourceResolver} (see {@link CachingTemplateLoaderAdapter}) so sources of the same
+ * template are always equal (FreeMarker cache relies on it). The association between a template name, the adapted loader and the resolved path is also cached.
+ * </p>
  * 
  * @author Cyril Dejonghe
  * @see FirstSupportingResourceResolver
@@ -34,25 +41,32 @@ import freemarker.cache.TemplateLoader;
  *
  */
 public class FreeMarkerFirstSupportingTemplateLoader implements TemplateLoader {
+	/**
+	 * The default maximum number of template names for which the resolution is cached
+	 */
+	public static final int DEFAULT_MAX_CACHED_RESOLUTIONS = 1000;
 
 	private FirstSupportingResourceResolver resolver;
-	private FirstSupportingResolverAdapter resolverAdapter;
+	private CachingTemplateLoaderAdapter resolverAdapter;
+	private final LruCache<String, Resolution> resolutions;
 
 	public FreeMarkerFirstSupportingTemplateLoader(FirstSupportingResourceResolver resolver, FirstSupportingResolverAdapter resolverAdapter) {
+		this(resolver, resolverAdapter, DEFAULT_MAX_CACHED_RESOLUTIONS);
+	}
+
+	public FreeMarkerFirstSupportingTemplateLoader(FirstSupportingResourceResolver resolver, FirstSupportingResolverAdapter resolverAdapter, int maxCachedResolutions) {
 		super();
 		this.resolver = resolver;
-		this.resolverAdapter = resolverAdapter;
+		this.resolverAdapter = new CachingTemplateLoaderAdapter(resolverAdapter);
+		this.resolutions = new LruCache<>(maxCachedResolutions);
 	}
 
 	@Override
 	public Object findTemplateSource(String unresolvedTemplateName) throws IOException {
-		ResourceResolver supportingResolver = resolver.getSupportingResolver(unresolvedTemplateName);
-		TemplateLoader templateLoader;
 		try {
-			templateLoader = resolverAdapter.adapt(supportingResolver);
-			String resolvedPath = supportingResolver.getResourcePath(unresolvedTemplateName).getResolvedPath();
-			Object source = templateLoader.findTemplateSource(resolvedPath);
-			return source == null ? null : new AdaptedSource(source, templateLoader);
+			Resolution resolution = getResolution(unresolvedTemplateName);
+			Object source = resolution.loader.findTemplateSource(resolution.resolvedPath);
+			return source == null ? null : new AdaptedSource(source, resolution.loader);
 
 		} catch (NoResolverAdapterException e) {
 			throw new ResolverAdapterNotFoundException("Unable to find template source cause no adapter supporting template name '" + unresolvedTemplateName + "' was found. ", e);
@@ -78,6 +92,39 @@ public class FreeMarkerFirstSupportingTemplateLoader implements TemplateLoader {
 		((AdaptedSource) templateSource).close();
 	}
 
+	private Resolution getResolution(String unresolvedTemplateName) throws ResolverAdapterException {
+		Resolution resolution = resolutions.get(unresolvedTemplateName);
+		if (resolution == null) {
+			ResourceResolver supportingResolver = resolver.getSupportingResolver(unresolvedTemplateName);
+			TemplateLoader templateLoader = resolverAdapter.adapt(supportingResolver);
+			String resolvedPath = supportingResolver.getResourcePath(unresolvedTemplateName).getResolvedPath();
+			resolution = new Resolution(templateLoader, resolvedPath);
+			resolutions.put(unresolvedTemplateName, resolution);
+		}
+		return resolution;
+	}
+
+	/**
+	 * Provides the adapter used by this loader. Adapted loaders are cached so
+	 * other FreeMarker components should use it to get the same
+	 * {@link TemplateLoader} instances.
+	 * 
+	 * @return the caching adapter
+	 */
+	public TemplateLoaderAdapter getResolverAdapter() {
+		return resolverAdapter;
+	}
+
+	private static final class Resolution {
+		private final TemplateLoader loader;
+		private final String resolvedPath;
+
+		Resolution(TemplateLoader loader, String resolvedPath) {
+			this.loader = loader;
+			this.resolvedPath = resolvedPath;
+		}
+	}
+
 	/**
 	 * @see MultiTemplateLoader.MultiSource
 	 */
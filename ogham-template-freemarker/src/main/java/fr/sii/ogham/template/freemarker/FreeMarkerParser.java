@@ -2,6 +2,8 @@ package fr.sii.ogham.template.freemarker;
 
 import java.io.IOException;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,28 +11,49 @@ import org.slf4j.LoggerFactory;
 import fr.sii.ogham.core.exception.template.ContextException;
 import fr.sii.ogham.core.exception.template.ParseException;
 import fr.sii.ogham.core.message.content.Content;
+import fr.sii.ogham.core.message.content.StreamedContent;
 import fr.sii.ogham.core.message.content.StringContent;
 import fr.sii.ogham.core.template.context.Context;
 import fr.sii.ogham.core.template.context.LocaleContext;
+import fr.sii.ogham.core.template.parser.StreamingRenderOptions;
 import fr.sii.ogham.core.template.parser.TemplateParser;
+import fr.sii.ogham.core.template.precompile.TemplatePrecompiler;
+import fr.sii.ogham.core.util.SpillToDiskOutputStream;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
+import freemarker.template.TemplateNotFoundException;
 
 /**
  * Implementation for FreeMarker template engine.
  * 
+ * <p>
+ * If {@link StreamingRenderOptions} are set, the template is directly written
+ * as encoded bytes into a {@link StreamedContent} instead of a
+ * {@link StringContent}.
+ * </p>
+ * 
  * @author Cyril Dejonghe
  *
  */
-public class FreeMarkerParser implements TemplateParser {
+public class FreeMarkerParser implements TemplateParser, TemplatePrecompiler {
 	private static final Logger LOG = LoggerFactory.getLogger(FreeMarkerParser.class);
 
 	private Configuration configuration;
 
+	/**
+	 * Options to render directly as bytes (null to render as string)
+	 */
+	private StreamingRenderOptions streaming;
+
 	public FreeMarkerParser(Configuration configuration) {
+		this(configuration, null);
+	}
+
+	public FreeMarkerParser(Configuration configuration, StreamingRenderOptions streaming) {
 		super();
 		this.configuration = configuration;
+		this.streaming = streaming;
 	}
 
 	@Override
@@ -42,6 +65,9 @@ public class FreeMarkerParser implements TemplateParser {
 			if (ctx instanceof LocaleContext) {
 				template.setLocale(((LocaleContext) ctx).getLocale());
 			}
+			if (streaming != null) {
+				return stream(template, ctx.getVariables());
+			}
 			StringWriter out = new StringWriter();
 			template.process(ctx.getVariables(), out);
 
@@ -58,6 +84,37 @@ public class FreeMarkerParser implements TemplateParser {
 		}
 	}
 
+	private StreamedContent stream(Template template, Map<String, Object> variables) throws IOException, TemplateException {
+		SpillToDiskOutputStream buffer = streaming.newBuffer();
+		try (Writer out = streaming.newWriter(buffer)) {
+			template.process(variables, out);
+		} catch (IOException | TemplateException | RuntimeException e) {
+			buffer.delete();
+			throw e;
+		}
+		LOG.debug("Template {} successfully streamed ({} bytes)", template.getName(), buffer.size());
+		return new StreamedContent(buffer, streaming.getCharset());
+	}
+
+	/**
+	 * Loads and parses the template. The parsed template is then available in
+	 * the FreeMarker template cache.
+	 */
+	@Override
+	public boolean precompile(String templateName) throws ParseException {
+		try {
+			LOG.debug("Precompiling FreeMarker template {}...", templateName);
+			configuration.getTemplate(templateName);
+			LOG.debug("FreeMarker template {} precompiled", templateName);
+			return true;
+		} catch (TemplateNotFoundException e) {
+			LOG.debug("FreeMarker template {} not found", templateName, e);
+			return false;
+		} catch (IOException e) {
+			throw new ParseException("Failed to precompile template with FreeMarker", templateName, null, e);
+		}
+	}
+
 	@Override
 	public String toString() {
 		return "FremarkerParser";
@@ -3,12 +3,12 @@ package fr.sii.ogham.template.freemarker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import fr.sii.ogham.core.exception.resource.ResourceResolutionException;
 import fr.sii.ogham.core.exception.template.EngineDetectionException;
 import fr.sii.ogham.core.resource.ResourcePath;
 import fr.sii.ogham.core.resource.resolver.ResourceResolver;
 import fr.sii.ogham.core.template.context.Context;
 import fr.sii.ogham.core.template.detector.TemplateEngineDetector;
+import fr.sii.ogham.core.util.ResourceResolverUtils;
 
 /**
  * Detector checking template name extension. If it ends with '.ftl' then the
@@ -62,12 +62,7 @@ public class FreeMarkerTemplateDetector implements TemplateEngineDetector {
 	}
 
 	private boolean exists(ResourcePath resolvedTemplatePath) {
-		try {
-			resolver.getResource(resolvedTemplatePath.getPath());
-			return true;
-		} catch(ResourceResolutionException e) {
-			return false;
-		}
+		return ResourceResolverUtils.exists(resolver, resolvedTemplatePath.getPath());
 	}
 
 }
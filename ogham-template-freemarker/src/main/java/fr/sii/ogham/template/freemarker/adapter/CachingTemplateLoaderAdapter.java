@@ -0,0 +1,73 @@
+package fr.sii.ogham.template.freemarker.adapter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import fr.sii.ogham.core.resource.resolver.ResourceResolver;
+import fr.sii.ogham.template.exception.ResolverAdapterException;
+import fr.sii.ogham.template.freemarker.TemplateLoaderOptions;
+import freemarker.cache.TemplateLoader;
+
+/**
+ * Decorator that adapts each {@link ResourceResolver} only once. The same
+ * {@link TemplateLoader} instance is then always provided for the same
+ * {@link ResourceResolver}.
+ * 
+ * <p>
+ * FreeMarker cache compares template sources (that references the
+ * {@link TemplateLoader}) so providing the same instance is required for the
+ * cache to hit.
+ * </p>
+ * 
+ * <p>
+ * Failures are not cached.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class CachingTemplateLoaderAdapter implements TemplateLoaderAdapter {
+	private final TemplateLoaderAdapter delegate;
+	private final ConcurrentMap<ResourceResolver, TemplateLoader> adaptedLoaders;
+
+	public CachingTemplateLoaderAdapter(TemplateLoaderAdapter delegate) {
+		super();
+		this.delegate = delegate;
+		this.adaptedLoaders = new ConcurrentHashMap<>();
+	}
+
+	@Override
+	public boolean supports(ResourceResolver resolver) {
+		return resolver != null && adaptedLoaders.containsKey(resolver) || delegate.supports(resolver);
+	}
+
+	@Override
+	public TemplateLoader adapt(ResourceResolver resolver) throws ResolverAdapterException {
+		if (resolver == null) {
+			return delegate.adapt(resolver);
+		}
+		TemplateLoader templateLoader = adaptedLoaders.get(resolver);
+		if (templateLoader == null) {
+			templateLoader = delegate.adapt(resolver);
+			TemplateLoader existing = adaptedLoaders.putIfAbsent(resolver, templateLoader);
+			if (existing != null) {
+				templateLoader = existing;
+			}
+		}
+		return templateLoader;
+	}
+
+	/**
+	 * Sets the options on the delegate. Already adapted loaders are discarded
+	 * to apply the new options.
+	 */
+	@Override
+	public void setOptions(TemplateLoaderOptions options) {
+		delegate.setOptions(options);
+		adaptedLoaders.clear();
+	}
+
+	public TemplateLoaderAdapter getDelegate() {
+		return delegate;
+	}
+}
@@ -4,9 +4,9 @@ import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
 import java.util.Locale;
+import java.util.Objects;
 
 import fr.sii.ogham.core.util.EqualsBuilder;
-import fr.sii.ogham.core.util.HashCodeBuilder;
 import fr.sii.ogham.template.freemarker.SkipLocaleForStringContentTemplateLookupStrategy;
 import freemarker.cache.StringTemplateLoader;
 import freemarker.cache.TemplateLoader;
@@ -60,12 +60,19 @@ public class StringContentTemplateLoader implements TemplateLoader {
 
 		@Override
 		public int hashCode() {
-			return new HashCodeBuilder().append(source).hashCode();
+			return Objects.hashCode(source);
 		}
 
 		@Override
 		public boolean equals(Object obj) {
-			return new EqualsBuilder(this, obj).appendFields("source").isEqual();
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			StringTemplateSource other = (StringTemplateSource) obj;
+			return new EqualsBuilder().append(source, other.source).isEqual();
 		}
 		
 		
@@ -26,6 +26,7 @@ import fr.sii.ogham.core.template.detector.FixedEngineDetector;
 import fr.sii.ogham.core.template.detector.OrTemplateDetector;
 import fr.sii.ogham.core.template.detector.SimpleResourceEngineDetector;
 import fr.sii.ogham.core.template.detector.TemplateEngineDetector;
+import fr.sii.ogham.core.template.parser.StreamingRenderOptions;
 import fr.sii.ogham.core.template.parser.TemplateParser;
 import fr.sii.ogham.template.freemarker.FreeMarkerFirstSupportingTemplateLoader;
 import fr.sii.ogham.template.freemarker.FreeMarkerParser;
@@ -53,6 +54,7 @@ public abstract class AbstractFreemarkerBuilder<MYSELF extends AbstractFreemarke
 	private Configuration configuration;
 	private List<TemplateLoaderAdapter> customAdapters;
 	private FreemarkerConfigurationBuilder<MYSELF> configurationBuilder;
+	private StreamingRenderOptions streaming;
 
 	protected AbstractFreemarkerBuilder(Class<?> selfType) {
 		this(selfType, null, null);
@@ -223,10 +225,34 @@ public abstract class AbstractFreemarkerBuilder<MYSELF extends AbstractFreemarke
 		return myself;
 	}
 
+	/**
+	 * Renders templates directly as encoded bytes instead of strings. The
+	 * engine writes through a charset encoder into a buffer that is kept in
+	 * memory for small contents and written in a temporary file for big
+	 * contents. The buffer is then directly used by the sender (no
+	 * intermediate string).
+	 * 
+	 * <p>
+	 * This is useful for very big contents. If HTML post-processing (CSS
+	 * inlining, image inlining...) is configured, the content is still decoded
+	 * in memory for post-processing.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * @param options
+	 *            the streaming options (null to render as string)
+	 * @return this instance for fluent chaining
+	 */
+	public MYSELF streamingRender(StreamingRenderOptions options) {
+		streaming = options;
+		return myself;
+	}
+
 	@Override
 	public TemplateParser build() {
 		LOG.info("Freemarker parser is registered");
-		return new FreeMarkerParser(buildConfiguration());
+		return new FreeMarkerParser(buildConfiguration(), streaming);
 	}
 
 	@Override
@@ -264,8 +290,10 @@ public abstract class AbstractFreemarkerBuilder<MYSELF extends AbstractFreemarke
 		}
 		FirstSupportingResourceResolver builtResolver = buildResolver();
 		FirstSupportingResolverAdapter builtAdapter = buildAdapter();
-		builtConfiguration.setTemplateLoader(new FreeMarkerFirstSupportingTemplateLoader(builtResolver, builtAdapter));
-		builtConfiguration.setTemplateLookupStrategy(new SkipLocaleForStringContentTemplateLookupStrategy(builtConfiguration.getTemplateLookupStrategy(), builtResolver, builtAdapter));
+		FreeMarkerFirstSupportingTemplateLoader templateLoader = new FreeMarkerFirstSupportingTemplateLoader(builtResolver, builtAdapter);
+		builtConfiguration.setTemplateLoader(templateLoader);
+		builtConfiguration.setTemplateLookupStrategy(
+				new SkipLocaleForStringContentTemplateLookupStrategy(builtConfiguration.getTemplateLookupStrategy(), builtResolver, templateLoader.getResolverAdapter()));
 		return builtConfiguration;
 	}
 
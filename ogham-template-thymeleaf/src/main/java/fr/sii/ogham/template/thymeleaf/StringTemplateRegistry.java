@@ -0,0 +1,204 @@
+package fr.sii.ogham.template.thymeleaf;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import fr.sii.ogham.core.resource.resolver.DelegateResourceResolver;
+import fr.sii.ogham.core.resource.resolver.FirstSupportingResourceResolver;
+import fr.sii.ogham.core.resource.resolver.ResourceResolver;
+import fr.sii.ogham.core.resource.resolver.StringResourceResolver;
+import fr.sii.ogham.core.util.LruCache;
+
+/**
+ * <p>
+ * Registers the source of string templates under a stable name computed from
+ * the digest of the content.
+ * </p>
+ * <p>
+ * Thymeleaf caches parsed templates using the template name. For string
+ * templates, the template name is the whole source of the template so long
+ * templates are used as cache keys (and are hashed and compared each time).
+ * Instead, the template engine receives the registered name (see
+ * {@link #register(String)}). The same content always gives the same name so
+ * the parsed template is found in the Thymeleaf cache. The source is then
+ * provided by the registry when Thymeleaf needs to parse it (see
+ * {@link #getSource(String)}).
+ * </p>
+ * <p>
+ * Only the most recently used sources are kept. The source registered by the
+ * current thread stays available until {@link #release()} is called even if
+ * it has been evicted meanwhile by other threads (it is then registered
+ * again).
+ * </p>
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class StringTemplateRegistry {
+	/**
+	 * The prefix of the registered names
+	 */
+	public static final String NAME_PREFIX = "ogham-string-template:sha256:";
+
+	/**
+	 * The default maximum number of registered sources
+	 */
+	public static final int DEFAULT_MAX_TEMPLATES = 1000;
+
+	private static final String DIGEST_ALGORITHM = "SHA-256";
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	/**
+	 * The resolvers used to find the templates
+	 */
+	private final FirstSupportingResourceResolver resolver;
+
+	/**
+	 * The registered templates indexed by name
+	 */
+	private final LruCache<String, Entry> templates;
+
+	/**
+	 * The template registered by the current thread that is being processed
+	 */
+	private final ThreadLocal<Entry> inUse;
+
+	public StringTemplateRegistry(FirstSupportingResourceResolver resolver) {
+		this(resolver, DEFAULT_MAX_TEMPLATES);
+	}
+
+	/**
+	 * Initializes with the resolvers used to find the templates and the
+	 * maximum number of registered sources.
+	 *
+	 * @param resolver
+	 *            the resolvers used to find the templates
+	 * @param maxTemplates
+	 *            the maximum number of registered sources
+	 */
+	public StringTemplateRegistry(FirstSupportingResourceResolver resolver, int maxTemplates) {
+		super();
+		this.resolver = resolver;
+		this.templates = new LruCache<>(maxTemplates);
+		this.inUse = new ThreadLocal<>();
+	}
+
+	/**
+	 * If the template name designates a string template, the source is
+	 * registered and the name computed from the content is returned. Otherwise
+	 * the template name is returned unchanged.
+	 * 
+	 * <p>
+	 * The registered source is kept for the current thread until
+	 * {@link #release()} is called.
+	 * </p>
+	 *
+	 * @param templateName
+	 *            the template name (with lookup prefix)
+	 * @return the name to use with the template engine
+	 */
+	public String register(String templateName) {
+		ResourceResolver supportingResolver = resolver.getSupportingResolver(templateName);
+		if (!isStringResolver(supportingResolver)) {
+			return templateName;
+		}
+		String source = supportingResolver.getResourcePath(templateName).getResolvedPath();
+		String name = NAME_PREFIX + digest(source);
+		Entry entry = templates.get(name);
+		if (entry == null) {
+			entry = new Entry(name, supportingResolver, source);
+			templates.put(name, entry);
+		}
+		inUse.set(entry);
+		return name;
+	}
+
+	/**
+	 * Releases the source registered by the current thread (see
+	 * {@link #register(String)}). The source may then be evicted.
+	 */
+	public void release() {
+		inUse.remove();
+	}
+
+	/**
+	 * @param name
+	 *            the template name
+	 * @return true if the name has been computed by {@link #register(String)}
+	 */
+	public boolean isRegisteredName(String name) {
+		return name != null && name.startsWith(NAME_PREFIX);
+	}
+
+	/**
+	 * @param name
+	 *            the registered name
+	 * @return the source of the template or null if not registered (or no
+	 *         more registered)
+	 */
+	public String getSource(String name) {
+		Entry entry = find(name);
+		return entry == null ? null : entry.source;
+	}
+
+	/**
+	 * @param name
+	 *            the registered name
+	 * @return the resolver that handled the template or null if not
+	 *         registered (or no more registered)
+	 */
+	public ResourceResolver getResolver(String name) {
+		Entry entry = find(name);
+		return entry == null ? null : entry.resolver;
+	}
+
+	public int getMaxTemplates() {
+		return templates.getMaxSize();
+	}
+
+	private Entry find(String name) {
+		Entry entry = templates.get(name);
+		if (entry != null) {
+			return entry;
+		}
+		Entry current = inUse.get();
+		if (current != null && current.name.equals(name)) {
+			// evicted by another thread while being processed
+			templates.put(name, current);
+			return current;
+		}
+		return null;
+	}
+
+	private static boolean isStringResolver(ResourceResolver resolver) {
+		ResourceResolver actualResolver = resolver instanceof DelegateResourceResolver ? ((DelegateResourceResolver) resolver).getActualResourceResolver() : resolver;
+		return actualResolver instanceof StringResourceResolver;
+	}
+
+	private static String digest(String source) {
+		try {
+			byte[] digest = MessageDigest.getInstance(DIGEST_ALGORITHM).digest(source.getBytes(StandardCharsets.UTF_8));
+			char[] hex = new char[digest.length * 2];
+			for (int i = 0; i < digest.length; i++) {
+				hex[2 * i] = HEX[(digest[i] >> 4) & 0xF];
+				hex[2 * i + 1] = HEX[digest[i] & 0xF];
+			}
+			return new String(hex);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(DIGEST_ALGORITHM + " algorithm is not available", e);
+		}
+	}
+
+	private static final class Entry {
+		private final String name;
+		private final ResourceResolver resolver;
+		private final String source;
+
+		Entry(String name, ResourceResolver resolver, String source) {
+			this.name = name;
+			this.resolver = resolver;
+			this.source = source;
+		}
+	}
+}
@@ -1,13 +1,42 @@
 package fr.sii.ogham.template.thymeleaf;
 
+import java.nio.charset.Charset;
+
 /**
- * 
+ * Options applied on the adapted Thymeleaf template resolvers.
+ *
  * @author Cyril Dejonghe
  *
  */
 public class TemplateResolverOptions {
+	/**
+	 * The time to live of parsed templates in the Thymeleaf cache (null to
+	 * keep them until evicted)
+	 */
+	private Long cacheTtlMs;
+
+	/**
+	 * The charset used to read the templates (null to let Thymeleaf decide)
+	 */
+	private Charset charset;
 
 	public TemplateResolverOptions() {
 		super();
 	}
-}
\ No newline at end of file
+
+	public Long getCacheTtlMs() {
+		return cacheTtlMs;
+	}
+
+	public void setCacheTtlMs(Long cacheTtlMs) {
+		this.cacheTtlMs = cacheTtlMs;
+	}
+
+	public Charset getCharset() {
+		return charset;
+	}
+
+	public void setCharset(Charset charset) {
+		this.charset = charset;
+	}
+}
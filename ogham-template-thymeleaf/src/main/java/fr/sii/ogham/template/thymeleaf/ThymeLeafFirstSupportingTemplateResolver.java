@@ -1,5 +1,8 @@
 package fr.sii.ogham.template.thymeleaf;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import org.thymeleaf.TemplateProcessingParameters;
 import org.thymeleaf.templateresolver.ITemplateResolver;
 import org.thymeleaf.templateresolver.TemplateResolution;
@@ -7,9 +10,12 @@ import org.thymeleaf.templateresolver.TemplateResolution;
 import fr.sii.ogham.core.resource.ResourcePath;
 import fr.sii.ogham.core.resource.resolver.FirstSupportingResourceResolver;
 import fr.sii.ogham.core.resource.resolver.ResourceResolver;
+import fr.sii.ogham.core.util.LruCache;
+import fr.sii.ogham.html.inliner.TemplateCssInliner;
 import fr.sii.ogham.template.exception.NoResolverAdapterException;
 import fr.sii.ogham.template.exception.ResolverAdapterNotFoundException;
 import fr.sii.ogham.template.thymeleaf.adapter.FirstSupportingResolverAdapter;
+import fr.sii.ogham.template.thymeleaf.resolver.CssInliningResourceResolver;
 
 /**
  * <p>
@@ -25,6 +31,20 @@ import fr.sii.ogham.template.thymeleaf.adapter.FirstSupportingResolverAdapter;
  * {@link ResourceResolver} and the {@link ITemplateResolver} implementation to
  * use with the given path.
  * </p>
+ * <p>
+ * Adapted {@link ITemplateResolver}s are created (and initialized) only once
+ * per {@link ResourceResolver}. The association between a template name, the
+ * adapted resolver and the resolved path is also cached.
+ * </p>
+ * <p>
+ * If a {@link TemplateCssInliner} is provided, CSS is inlined in the source of
+ * the templates when they are loaded.
+ * </p>
+ * <p>
+ * If a {@link StringTemplateRegistry} is provided, names registered for string
+ * templates are directly associated to the resolver that handled the string
+ * template.
+ * </p>
  * 
  * @author Cyril Dejonghe
  * @see FirstSupportingResourceResolver
@@ -32,15 +52,41 @@ import fr.sii.ogham.template.thymeleaf.adapter.FirstSupportingResolverAdapter;
  *
  */
 public class ThymeLeafFirstSupportingTemplateResolver implements ITemplateResolver {
+	/**
+	 * The default maximum number of template names for which the resolution
+	 * is cached
+	 */
+	public static final int DEFAULT_MAX_CACHED_RESOLUTIONS = 1000;
 
 	private FirstSupportingResourceResolver resolver;
 	private FirstSupportingResolverAdapter resolverAdapter;
-	private boolean forceInitialize;
+	private volatile boolean forceInitialize;
+	private TemplateCssInliner cssInliner;
+	private StringTemplateRegistry stringTemplates;
+	private final ConcurrentMap<ResourceResolver, ITemplateResolver> adaptedResolvers;
+	private final LruCache<String, Resolution> resolutions;
 
 	public ThymeLeafFirstSupportingTemplateResolver(FirstSupportingResourceResolver resolver, FirstSupportingResolverAdapter resolverAdapter) {
+		this(resolver, resolverAdapter, DEFAULT_MAX_CACHED_RESOLUTIONS);
+	}
+
+	/**
+	 * Initializes with the resolvers, the adapters and the maximum number of
+	 * template names for which the resolution is cached.
+	 * 
+	 * @param resolver
+	 *            the resolvers used to find the templates
+	 * @param resolverAdapter
+	 *            the adapters that create Thymeleaf resolvers
+	 * @param maxCachedResolutions
+	 *            the maximum number of cached resolutions
+	 */
+	public ThymeLeafFirstSupportingTemplateResolver(FirstSupportingResourceResolver resolver, FirstSupportingResolverAdapter resolverAdapter, int maxCachedResolutions) {
 		super();
 		this.resolver = resolver;
 		this.resolverAdapter = resolverAdapter;
+		this.adaptedResolvers = new ConcurrentHashMap<>();
+		this.resolutions = new LruCache<>(maxCachedResolutions);
 	}
 
 	@Override
@@ -56,18 +102,15 @@ public class ThymeLeafFirstSupportingTemplateResolver implements ITemplateResolv
 	@Override
 	public TemplateResolution resolveTemplate(TemplateProcessingParameters templateProcessingParameters) {
 		String unresolvedTemplateName = templateProcessingParameters.getTemplateName();
-		ResourceResolver supportingResolver = resolver.getSupportingResolver(unresolvedTemplateName);
-		ITemplateResolver templateResolver;
 		try {
-			templateResolver = resolverAdapter.adapt(supportingResolver);
-			if (forceInitialize) {
-				// we must initialize the new templateResolver
-				templateResolver.initialize();
+			Resolution resolution = getResolution(unresolvedTemplateName);
+			if (resolution == null) {
+				// registered string template that is no more available
+				return null;
 			}
-			String resolvedPath = supportingResolver.getResourcePath(unresolvedTemplateName).getResolvedPath();
-			TemplateProcessingParameters resolvedTemplateProcessingParameters = new TemplateProcessingParameters(templateProcessingParameters.getConfiguration(), resolvedPath,
+			TemplateProcessingParameters resolvedTemplateProcessingParameters = new TemplateProcessingParameters(templateProcessingParameters.getConfiguration(), resolution.resolvedPath,
 					templateProcessingParameters.getContext());
-			return templateResolver.resolveTemplate(resolvedTemplateProcessingParameters);
+			return inlineCss(resolution.templateResolver.resolveTemplate(resolvedTemplateProcessingParameters));
 		} catch (NoResolverAdapterException e) {
 			throw new ResolverAdapterNotFoundException("Unable to resolver template cause no adapter supporting template name '" + unresolvedTemplateName + "' was found. ", e);
 
@@ -78,6 +121,84 @@ public class ThymeLeafFirstSupportingTemplateResolver implements ITemplateResolv
 	@Override
 	public void initialize() {
 		forceInitialize = true;
+		// resolvers adapted before must be initialized too
+		adaptedResolvers.clear();
+		resolutions.clear();
+	}
+
+	private Resolution getResolution(String unresolvedTemplateName) throws NoResolverAdapterException {
+		if (stringTemplates != null && stringTemplates.isRegisteredName(unresolvedTemplateName)) {
+			// the registered name is directly used as resource name
+			ResourceResolver supportingResolver = stringTemplates.getResolver(unresolvedTemplateName);
+			return supportingResolver == null ? null : new Resolution(adapt(supportingResolver), unresolvedTemplateName);
+		}
+		Resolution resolution = resolutions.get(unresolvedTemplateName);
+		if (resolution == null) {
+			ResourceResolver supportingResolver = resolver.getSupportingResolver(unresolvedTemplateName);
+			ITemplateResolver templateResolver = adapt(supportingResolver);
+			String resolvedPath = supportingResolver.getResourcePath(unresolvedTemplateName).getResolvedPath();
+			resolution = new Resolution(templateResolver, resolvedPath);
+			resolutions.put(unresolvedTemplateName, resolution);
+		}
+		return resolution;
+	}
+
+	private ITemplateResolver adapt(ResourceResolver supportingResolver) throws NoResolverAdapterException {
+		if (supportingResolver == null) {
+			return resolverAdapter.adapt(supportingResolver);
+		}
+		ITemplateResolver templateResolver = adaptedResolvers.get(supportingResolver);
+		if (templateResolver == null) {
+			templateResolver = resolverAdapter.adapt(supportingResolver);
+			if (forceInitialize) {
+				// we must initialize the new templateResolver
+				templateResolver.initialize();
+			}
+			ITemplateResolver existing = adaptedResolvers.putIfAbsent(supportingResolver, templateResolver);
+			if (existing != null) {
+				templateResolver = existing;
+			}
+		}
+		return templateResolver;
+	}
+
+	/**
+	 * Inline CSS in the source of the templates when they are loaded.
+	 * 
+	 * @param cssInliner
+	 *            the inliner to apply on template sources (null to disable)
+	 */
+	public void setCssInliner(TemplateCssInliner cssInliner) {
+		this.cssInliner = cssInliner;
+	}
+
+	/**
+	 * Use the registry to resolve the names registered for string templates.
+	 * 
+	 * @param stringTemplates
+	 *            the registry of string templates (null to disable)
+	 */
+	public void setStringTemplates(StringTemplateRegistry stringTemplates) {
+		this.stringTemplates = stringTemplates;
+	}
+
+	private TemplateResolution inlineCss(TemplateResolution resolution) {
+		if (cssInliner == null || resolution == null) {
+			return resolution;
+		}
+		CssInliningResourceResolver resourceResolver = new CssInliningResourceResolver(resolution.getResourceResolver(), cssInliner, resolution.getCharacterEncoding());
+		return new TemplateResolution(resolution.getTemplateName(), resolution.getResourceName(), resourceResolver, resolution.getCharacterEncoding(), resolution.getTemplateMode(),
+				resolution.getValidity());
+	}
+
+	private static final class Resolution {
+		private final ITemplateResolver templateResolver;
+		private final String resolvedPath;
+
+		Resolution(ITemplateResolver templateResolver, String resolvedPath) {
+			this.templateResolver = templateResolver;
+			this.resolvedPath = resolvedPath;
+		}
 	}
 
 }
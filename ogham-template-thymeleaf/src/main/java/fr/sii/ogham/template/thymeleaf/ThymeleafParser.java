@@ -1,24 +1,49 @@
 package fr.sii.ogham.template.thymeleaf;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.TemplateProcessingParameters;
+import org.thymeleaf.context.IContext;
 import org.thymeleaf.exceptions.TemplateEngineException;
+import org.thymeleaf.templateresolver.ITemplateResolver;
+import org.thymeleaf.templateresolver.TemplateResolution;
 
 import fr.sii.ogham.core.exception.template.ContextException;
 import fr.sii.ogham.core.exception.template.ParseException;
 import fr.sii.ogham.core.message.content.Content;
+import fr.sii.ogham.core.message.content.StreamedContent;
 import fr.sii.ogham.core.message.content.StringContent;
 import fr.sii.ogham.core.template.context.Context;
+import fr.sii.ogham.core.template.parser.StreamingRenderOptions;
 import fr.sii.ogham.core.template.parser.TemplateParser;
+import fr.sii.ogham.core.template.precompile.TemplatePrecompiler;
+import fr.sii.ogham.core.util.SpillToDiskOutputStream;
+import fr.sii.ogham.template.exception.ResolverAdapterNotFoundException;
 
 /**
  * Implementation for Thymeleaf template engine.
  * 
+ * <p>
+ * If {@link StreamingRenderOptions} are set, the template is directly written
+ * as encoded bytes into a {@link StreamedContent} instead of a
+ * {@link StringContent}.
+ * </p>
+ * 
+ * <p>
+ * If a {@link StringTemplateRegistry} is set, string templates are given to
+ * the engine using a name computed from their content so that the parsed
+ * templates are cached by Thymeleaf.
+ * </p>
+ * 
  * @author Aurélien Baudet
  *
  */
-public class ThymeleafParser implements TemplateParser {
+public class ThymeleafParser implements TemplateParser, TemplatePrecompiler {
 	private static final Logger LOG = LoggerFactory.getLogger(ThymeleafParser.class);
 
 	/**
@@ -30,11 +55,31 @@ public class ThymeleafParser implements TemplateParser {
 	 * Converts general context into Thymeleaf specific context
 	 */
 	private ThymeleafContextConverter contextConverter;
-	
+
+	/**
+	 * Options to render directly as bytes (null to render as string)
+	 */
+	private StreamingRenderOptions streaming;
+
+	/**
+	 * Registry of string templates (null to use the source as template name)
+	 */
+	private StringTemplateRegistry stringTemplates;
+
 	public ThymeleafParser(TemplateEngine engine, ThymeleafContextConverter contextConverter) {
+		this(engine, contextConverter, null);
+	}
+
+	public ThymeleafParser(TemplateEngine engine, ThymeleafContextConverter contextConverter, StreamingRenderOptions streaming) {
+		this(engine, contextConverter, streaming, null);
+	}
+
+	public ThymeleafParser(TemplateEngine engine, ThymeleafContextConverter contextConverter, StreamingRenderOptions streaming, StringTemplateRegistry stringTemplates) {
 		super();
 		this.engine = engine;
 		this.contextConverter = contextConverter;
+		this.streaming = streaming;
+		this.stringTemplates = stringTemplates;
 	}
 
 	public ThymeleafParser(TemplateEngine engine) {
@@ -45,7 +90,10 @@ public class ThymeleafParser implements TemplateParser {
 	public Content parse(String templateName, Context ctx) throws ParseException {
 		try {
 			LOG.debug("Parsing Thymeleaf template {} with context {}...", templateName, ctx);
-			String result = engine.process(templateName, contextConverter.convert(ctx));
+			if (streaming != null) {
+				return stream(templateName, contextConverter.convert(ctx));
+			}
+			String result = engine.process(engineTemplateName(templateName), contextConverter.convert(ctx));
 			LOG.debug("Template {} successfully parsed with context {}. Result:", templateName);
 			LOG.debug(result);
 			return new StringContent(result);
@@ -53,7 +101,103 @@ public class ThymeleafParser implements TemplateParser {
 			throw new ParseException("Failed to parse template with thymeleaf", templateName, ctx, e);
 		} catch (ContextException e) {
 			throw new ParseException("Failed to parse template with thymeleaf due to conversion error", templateName, ctx, e);
+		} catch (IOException e) {
+			throw new ParseException("Failed to write template evaluated with thymeleaf", templateName, ctx, e);
+		} finally {
+			releaseStringTemplate();
+		}
+	}
+
+	private StreamedContent stream(String templateName, IContext context) throws IOException {
+		SpillToDiskOutputStream buffer = streaming.newBuffer();
+		try (Writer out = streaming.newWriter(buffer)) {
+			engine.process(engineTemplateName(templateName), context, out);
+		} catch (IOException | RuntimeException e) {
+			buffer.delete();
+			throw e;
 		}
+		LOG.debug("Template {} successfully streamed ({} bytes)", templateName, buffer.size());
+		return new StreamedContent(buffer, streaming.getCharset());
+	}
+
+	/**
+	 * Resolves and parses the template through the template repository of the
+	 * engine. The parsed template is then available in the Thymeleaf cache
+	 * (if the template is cacheable). If no template resolver can provide the
+	 * template, the template is not handled.
+	 */
+	@Override
+	public boolean precompile(String templateName) throws ParseException {
+		try {
+			LOG.debug("Precompiling Thymeleaf template {}...", templateName);
+			if (!engine.isInitialized()) {
+				engine.initialize();
+			}
+			TemplateProcessingParameters params = new TemplateProcessingParameters(engine.getConfiguration(), engineTemplateName(templateName), new org.thymeleaf.context.Context());
+			if (!exists(params)) {
+				LOG.debug("Thymeleaf template {} not found", templateName);
+				return false;
+			}
+			engine.getTemplateRepository().getTemplate(params);
+			LOG.debug("Thymeleaf template {} precompiled", templateName);
+			return true;
+		} catch (TemplateEngineException e) {
+			throw new ParseException("Failed to precompile template with thymeleaf", templateName, null, e);
+		} finally {
+			releaseStringTemplate();
+		}
+	}
+
+	/**
+	 * Same lookup as the Thymeleaf template repository: the template exists if
+	 * a template resolver resolves the template and the resource can be read.
+	 */
+	private boolean exists(TemplateProcessingParameters params) {
+		for (ITemplateResolver resolver : engine.getConfiguration().getTemplateResolvers()) {
+			TemplateResolution resolution;
+			try {
+				resolution = resolver.resolveTemplate(params);
+			} catch (ResolverAdapterNotFoundException e) {
+				LOG.trace("Template resolver {} can't handle {}", resolver, params.getTemplateName(), e);
+				continue;
+			}
+			if (resolution != null && canRead(params, resolution)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean canRead(TemplateProcessingParameters params, TemplateResolution resolution) {
+		try (InputStream stream = resolution.getResourceResolver().getResourceAsStream(params, resolution.getResourceName())) {
+			return stream != null;
+		} catch (IOException e) {
+			LOG.debug("Failed to close template {}", resolution.getResourceName(), e);
+			return true;
+		}
+	}
+
+	/**
+	 * String templates are registered on each parse so a source that has been
+	 * evicted from the registry is registered again. It stays available for
+	 * the current thread until {@link #releaseStringTemplate()}.
+	 */
+	private String engineTemplateName(String templateName) {
+		return stringTemplates == null ? templateName : stringTemplates.register(templateName);
+	}
+
+	private void releaseStringTemplate() {
+		if (stringTemplates != null) {
+			stringTemplates.release();
+		}
+	}
+
+	public TemplateEngine getEngine() {
+		return engine;
+	}
+
+	public StringTemplateRegistry getStringTemplates() {
+		return stringTemplates;
 	}
 
 	@Override
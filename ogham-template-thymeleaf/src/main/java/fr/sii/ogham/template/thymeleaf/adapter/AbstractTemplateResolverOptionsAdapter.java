@@ -9,7 +9,7 @@ import fr.sii.ogham.template.thymeleaf.TemplateResolverOptions;
  * {@link TemplateResolver}.
  * 
  * @author Cyril Dejonghe
- *
+ * 
  */
 public abstract class AbstractTemplateResolverOptionsAdapter implements TemplateResolverAdapter {
 	private TemplateResolverOptions options;
@@ -30,6 +30,14 @@ public abstract class AbstractTemplateResolverOptionsAdapter implements Template
 	 *            TemplateResolver to configure
 	 */
 	protected void applyOptions(TemplateResolver templateResolver) {
-		// TODO managing options
+		if (options == null) {
+			return;
+		}
+		if (options.getCacheTtlMs() != null) {
+			templateResolver.setCacheTTLMs(options.getCacheTtlMs());
+		}
+		if (options.getCharset() != null) {
+			templateResolver.setCharacterEncoding(options.getCharset().name());
+		}
 	}
 }
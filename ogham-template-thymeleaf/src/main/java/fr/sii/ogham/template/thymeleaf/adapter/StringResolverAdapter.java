@@ -1,9 +1,13 @@
 package fr.sii.ogham.template.thymeleaf.adapter;
 
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
 import org.thymeleaf.templateresolver.ITemplateResolver;
 
 import fr.sii.ogham.core.resource.resolver.DelegateResourceResolver;
 import fr.sii.ogham.core.resource.resolver.ResourceResolver;
+import fr.sii.ogham.template.thymeleaf.StringTemplateRegistry;
 import fr.sii.ogham.template.thymeleaf.resolver.StringTemplateResolver;
 
 /**
@@ -11,10 +15,25 @@ import fr.sii.ogham.template.thymeleaf.resolver.StringTemplateResolver;
  * {@link fr.sii.ogham.core.resource.resolver.StringResourceResolver} into
  * Thymeleaf specific {@link StringTemplateResolver}.
  * 
+ * <p>
+ * If a {@link StringTemplateRegistry} is provided, the adapted resolver reads
+ * the source of the templates registered by their content digest.
+ * </p>
+ * 
  * @author Aurélien Baudet
  *
  */
 public class StringResolverAdapter extends AbstractTemplateResolverOptionsAdapter implements TemplateResolverAdapter {
+	private final StringTemplateRegistry stringTemplates;
+
+	public StringResolverAdapter() {
+		this(null);
+	}
+
+	public StringResolverAdapter(StringTemplateRegistry stringTemplates) {
+		super();
+		this.stringTemplates = stringTemplates;
+	}
 
 	@Override
 	public boolean supports(ResourceResolver resolver) {
@@ -24,9 +43,16 @@ public class StringResolverAdapter extends AbstractTemplateResolverOptionsAdapte
 
 	@Override
 	public ITemplateResolver adapt(ResourceResolver resolver) {
-		StringTemplateResolver templateResolver = new StringTemplateResolver();
+		StringTemplateResolver templateResolver = new StringTemplateResolver(stringTemplates, getCharset());
 		applyOptions(templateResolver);
 		return templateResolver;
 	}
 
+	private Charset getCharset() {
+		if (getOptions() != null && getOptions().getCharset() != null) {
+			return getOptions().getCharset();
+		}
+		return StandardCharsets.UTF_8;
+	}
+
 }
@@ -19,12 +19,16 @@ import fr.sii.ogham.core.builder.resolution.FileResolutionBuilder;
 import fr.sii.ogham.core.builder.resolution.ResourceResolutionBuilder;
 import fr.sii.ogham.core.builder.resolution.ResourceResolutionBuilderHelper;
 import fr.sii.ogham.core.builder.resolution.StringResolutionBuilder;
+import fr.sii.ogham.core.builder.template.CssPreInliningBuilder;
 import fr.sii.ogham.core.builder.template.DetectorBuilder;
 import fr.sii.ogham.core.resource.resolver.FirstSupportingResourceResolver;
 import fr.sii.ogham.core.resource.resolver.ResourceResolver;
 import fr.sii.ogham.core.template.detector.TemplateEngineDetector;
+import fr.sii.ogham.core.template.parser.StreamingRenderOptions;
 import fr.sii.ogham.core.template.parser.TemplateParser;
+import fr.sii.ogham.html.inliner.TemplateCssInliner;
 import fr.sii.ogham.template.thymeleaf.SimpleThymeleafContextConverter;
+import fr.sii.ogham.template.thymeleaf.StringTemplateRegistry;
 import fr.sii.ogham.template.thymeleaf.TemplateResolverOptions;
 import fr.sii.ogham.template.thymeleaf.ThymeLeafFirstSupportingTemplateResolver;
 import fr.sii.ogham.template.thymeleaf.ThymeleafContextConverter;
@@ -38,7 +42,7 @@ import fr.sii.ogham.template.thymeleaf.adapter.TemplateResolverAdapter;
 import fr.sii.ogham.template.thymeleaf.configure.DefaultThymeleafEmailConfigurer;
 
 public abstract class AbstractThymeleafBuilder<MYSELF extends AbstractThymeleafBuilder<MYSELF, P>, P> extends AbstractParent<P>
-		implements DetectorBuilder<MYSELF>, ResourceResolutionBuilder<MYSELF>, Builder<TemplateParser> {
+		implements DetectorBuilder<MYSELF>, ResourceResolutionBuilder<MYSELF>, CssPreInliningBuilder<MYSELF>, Builder<TemplateParser> {
 	private static final Logger LOG = LoggerFactory.getLogger(AbstractThymeleafBuilder.class);
 
 	protected MYSELF myself;
@@ -49,6 +53,8 @@ public abstract class AbstractThymeleafBuilder<MYSELF extends AbstractThymeleafB
 	private ThymeleafContextConverter contextConverter;
 	private ThymeleafEngineConfigBuilder<MYSELF> engineBuilder;
 	private List<TemplateResolverAdapter> customAdapters;
+	private TemplateCssInliner cssPreInliner;
+	private StreamingRenderOptions streaming;
 
 	protected AbstractThymeleafBuilder(Class<?> selfType) {
 		this(selfType, null, null);
@@ -244,10 +250,41 @@ public abstract class AbstractThymeleafBuilder<MYSELF extends AbstractThymeleafB
 		return myself;
 	}
 
+	@Override
+	public MYSELF preInlineCss(TemplateCssInliner inliner) {
+		cssPreInliner = inliner;
+		return myself;
+	}
+
+	/**
+	 * Renders templates directly as encoded bytes instead of strings. The
+	 * engine writes through a charset encoder into a buffer that is kept in
+	 * memory for small contents and written in a temporary file for big
+	 * contents. The buffer is then directly used by the sender (no
+	 * intermediate string).
+	 * 
+	 * <p>
+	 * This is useful for very big contents. If HTML post-processing (CSS
+	 * inlining, image inlining...) is configured, the content is still decoded
+	 * in memory for post-processing.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * @param options
+	 *            the streaming options (null to render as string)
+	 * @return this instance for fluent chaining
+	 */
+	public MYSELF streamingRender(StreamingRenderOptions options) {
+		streaming = options;
+		return myself;
+	}
+
 	@Override
 	public TemplateParser build() {
 		LOG.info("Thymeleaf parser is registered");
-		return new ThymeleafParser(buildEngine(), buildContext());
+		StringTemplateRegistry stringTemplates = buildStringTemplates();
+		return new ThymeleafParser(buildEngine(stringTemplates), buildContext(), streaming, stringTemplates);
 	}
 
 	@Override
@@ -265,6 +302,21 @@ public abstract class AbstractThymeleafBuilder<MYSELF extends AbstractThymeleafB
 	}
 
 	protected TemplateEngine buildEngine() {
+		return buildEngine(null);
+	}
+
+	/**
+	 * Builds the registry that associates string templates to a name computed
+	 * from their content.
+	 * 
+	 * @return the registry of string templates
+	 */
+	protected StringTemplateRegistry buildStringTemplates() {
+		Integer size = engineBuilder == null ? null : engineBuilder.getTemplateCacheSize();
+		return new StringTemplateRegistry(buildResolver(), size == null ? StringTemplateRegistry.DEFAULT_MAX_TEMPLATES : Math.max(1, size));
+	}
+
+	protected TemplateEngine buildEngine(StringTemplateRegistry stringTemplates) {
 		TemplateEngine builtEngine;
 		if (this.engine != null) {
 			LOG.debug("Using custom Thymeleaf engine");
@@ -276,7 +328,10 @@ public abstract class AbstractThymeleafBuilder<MYSELF extends AbstractThymeleafB
 			LOG.debug("Using default Thymeleaf engine");
 			builtEngine = new TemplateEngine();
 		}
-		builtEngine.addTemplateResolver(new ThymeLeafFirstSupportingTemplateResolver(buildResolver(), buildAdapters()));
+		ThymeLeafFirstSupportingTemplateResolver templateResolver = new ThymeLeafFirstSupportingTemplateResolver(buildResolver(), buildAdapters(stringTemplates));
+		templateResolver.setCssInliner(cssPreInliner);
+		templateResolver.setStringTemplates(stringTemplates);
+		builtEngine.addTemplateResolver(templateResolver);
 		return builtEngine;
 	}
 
@@ -289,14 +344,18 @@ public abstract class AbstractThymeleafBuilder<MYSELF extends AbstractThymeleafB
 	}
 
 	protected FirstSupportingResolverAdapter buildAdapters() {
+		return buildAdapters(null);
+	}
+
+	protected FirstSupportingResolverAdapter buildAdapters(StringTemplateRegistry stringTemplates) {
 		FirstSupportingResolverAdapter adapter = new FirstSupportingResolverAdapter();
 		for (TemplateResolverAdapter custom : customAdapters) {
 			adapter.addAdapter(custom);
 		}
 		adapter.addAdapter(new ClassPathResolverAdapter());
 		adapter.addAdapter(new FileResolverAdapter());
-		adapter.addAdapter(new StringResolverAdapter());
-		adapter.setOptions(new TemplateResolverOptions());
+		adapter.addAdapter(new StringResolverAdapter(stringTemplates));
+		adapter.setOptions(engineBuilder == null ? new TemplateResolverOptions() : engineBuilder.buildTemplateResolverOptions());
 		return adapter;
 	}
 
@@ -1,5 +1,6 @@
 package fr.sii.ogham.template.thymeleaf.buider;
 
+import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -7,6 +8,7 @@ import java.util.Set;
 
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.cache.ICacheManager;
+import org.thymeleaf.cache.StandardCacheManager;
 import org.thymeleaf.dialect.IDialect;
 import org.thymeleaf.messageresolver.IMessageResolver;
 import org.thymeleaf.templatemode.ITemplateModeHandler;
@@ -15,6 +17,7 @@ import org.thymeleaf.templateresolver.ITemplateResolver;
 
 import fr.sii.ogham.core.builder.AbstractParent;
 import fr.sii.ogham.core.builder.Builder;
+import fr.sii.ogham.template.thymeleaf.TemplateResolverOptions;
 
 /**
  * Fluent builder to configure Thymeleaf engine.
@@ -34,6 +37,9 @@ public class ThymeleafEngineConfigBuilder<P> extends AbstractParent<P> implement
 	private Set<IMessageResolver> defaultMessageResolvers;
 	private Set<ITemplateModeHandler> templateModeHandlers;
 	private Set<ITemplateModeHandler> defaultTemplateModeHandlers;
+	private Integer templateCacheSize;
+	private Long templateCacheTtl;
+	private Charset templateCharset;
 
 	/**
 	 * Initializes the builder with a parent builder. The parent builder is used
@@ -460,6 +466,73 @@ public class ThymeleafEngineConfigBuilder<P> extends AbstractParent<P> implement
 		return this;
 	}
 
+	/**
+	 * <p>
+	 * Sets the maximum number of parsed templates kept in the Thymeleaf cache.
+	 * String templates are cached using a name computed from their content so
+	 * they are also limited by this size.
+	 * </p>
+	 * <p>
+	 * This value is ignored if a custom cache manager is set (see
+	 * {@link #setCacheManager(ICacheManager)}).
+	 * </p>
+	 * 
+	 * @param size
+	 *            the maximum number of cached templates
+	 * @return this for fluent use
+	 */
+	public ThymeleafEngineConfigBuilder<P> templateCacheSize(int size) {
+		this.templateCacheSize = size;
+		return this;
+	}
+
+	/**
+	 * Sets the time to live (in milliseconds) of parsed templates in the
+	 * Thymeleaf cache. Once expired, the template is resolved and parsed
+	 * again. By default, cached templates never expire.
+	 * 
+	 * @param ttlMs
+	 *            the time to live in milliseconds
+	 * @return this for fluent use
+	 */
+	public ThymeleafEngineConfigBuilder<P> templateCacheTtl(long ttlMs) {
+		this.templateCacheTtl = ttlMs;
+		return this;
+	}
+
+	/**
+	 * Sets the charset used to read the templates. String templates are
+	 * always read using an explicit charset (UTF-8 by default).
+	 * 
+	 * @param charset
+	 *            the charset of the templates
+	 * @return this for fluent use
+	 */
+	public ThymeleafEngineConfigBuilder<P> templateCharset(Charset charset) {
+		this.templateCharset = charset;
+		return this;
+	}
+
+	/**
+	 * @return the maximum number of cached templates or null if not configured
+	 */
+	public Integer getTemplateCacheSize() {
+		return templateCacheSize;
+	}
+
+	/**
+	 * Builds the options applied on the template resolvers (cache time to live
+	 * and charset).
+	 * 
+	 * @return the options for template resolvers
+	 */
+	public TemplateResolverOptions buildTemplateResolverOptions() {
+		TemplateResolverOptions options = new TemplateResolverOptions();
+		options.setCacheTtlMs(templateCacheTtl);
+		options.setCharset(templateCharset);
+		return options;
+	}
+
 	@Override
 	public TemplateEngine build() {
 		TemplateEngine engine = new TemplateEngine();
@@ -474,6 +547,10 @@ public class ThymeleafEngineConfigBuilder<P> extends AbstractParent<P> implement
 	private void configureCacheManager(TemplateEngine engine) {
 		if (cacheManager != null) {
 			engine.setCacheManager(cacheManager);
+		} else if (templateCacheSize != null) {
+			StandardCacheManager standardCacheManager = new StandardCacheManager();
+			standardCacheManager.setTemplateCacheMaxSize(templateCacheSize);
+			engine.setCacheManager(standardCacheManager);
 		}
 	}
 
@@ -0,0 +1,76 @@
+package fr.sii.ogham.template.thymeleaf.resolver;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+import org.thymeleaf.TemplateProcessingParameters;
+import org.thymeleaf.exceptions.TemplateInputException;
+import org.thymeleaf.resourceresolver.IResourceResolver;
+
+import fr.sii.ogham.core.util.IOUtils;
+import fr.sii.ogham.html.inliner.TemplateCssInliner;
+
+/**
+ * Decorates the Thymeleaf resource resolver in order to inline CSS in the
+ * source of the template when it is loaded by Thymeleaf. As Thymeleaf caches
+ * parsed templates, CSS is inlined only once per template instead of after
+ * every render.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class CssInliningResourceResolver implements IResourceResolver {
+	private final IResourceResolver delegate;
+	private final TemplateCssInliner cssInliner;
+	private final Charset charset;
+
+	/**
+	 * Initializes with the resolver that loads the template source, the
+	 * inliner and the charset used to read the template.
+	 * 
+	 * @param delegate
+	 *            the resolver that loads the template source
+	 * @param cssInliner
+	 *            the inliner applied on the template source
+	 * @param characterEncoding
+	 *            the charset used to read the template (null for platform
+	 *            default like Thymeleaf does)
+	 */
+	public CssInliningResourceResolver(IResourceResolver delegate, TemplateCssInliner cssInliner, String characterEncoding) {
+		super();
+		this.delegate = delegate;
+		this.cssInliner = cssInliner;
+		this.charset = characterEncoding == null ? Charset.defaultCharset() : Charset.forName(characterEncoding);
+	}
+
+	@Override
+	public String getName() {
+		return delegate.getName();
+	}
+
+	@Override
+	public InputStream getResourceAsStream(TemplateProcessingParameters templateProcessingParameters, String resourceName) {
+		InputStream stream = delegate.getResourceAsStream(templateProcessingParameters, resourceName);
+		if (stream == null) {
+			return null;
+		}
+		try {
+			String source = IOUtils.toString(stream, charset);
+			return new ByteArrayInputStream(cssInliner.inline(templateProcessingParameters.getTemplateName(), source).getBytes(charset));
+		} catch (IOException e) {
+			throw new TemplateInputException("Failed to read template " + resourceName + " for CSS inlining", e);
+		} finally {
+			closeQuietly(stream);
+		}
+	}
+
+	private static void closeQuietly(InputStream stream) {
+		try {
+			stream.close();
+		} catch (IOException e) {
+			// nothing to do
+		}
+	}
+}
@@ -2,14 +2,50 @@ package fr.sii.ogham.template.thymeleaf.resolver;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 import org.thymeleaf.TemplateProcessingParameters;
 import org.thymeleaf.resourceresolver.IResourceResolver;
 
+import fr.sii.ogham.template.thymeleaf.StringTemplateRegistry;
+
+/**
+ * Provides the source of string templates. The resource name is either a name
+ * registered in the {@link StringTemplateRegistry} or directly the source of
+ * the template.
+ * 
+ * <p>
+ * The source is encoded using the charset that Thymeleaf uses to read it.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
 public class StringResourceResolver implements IResourceResolver {
 
 	private static final String NAME = "STRING";
 
+	/**
+	 * The registered sources (may be null)
+	 */
+	private final StringTemplateRegistry stringTemplates;
+
+	/**
+	 * The charset used to encode the source
+	 */
+	private final Charset charset;
+
+	public StringResourceResolver() {
+		this(null, StandardCharsets.UTF_8);
+	}
+
+	public StringResourceResolver(StringTemplateRegistry stringTemplates, Charset charset) {
+		super();
+		this.stringTemplates = stringTemplates;
+		this.charset = charset;
+	}
+
 	@Override
 	public String getName() {
 		return NAME;
@@ -17,7 +53,12 @@ public class StringResourceResolver implements IResourceResolver {
 
 	@Override
 	public InputStream getResourceAsStream(TemplateProcessingParameters templateProcessingParameters, String resourceName) {
-		return new ByteArrayInputStream(resourceName.getBytes());
+		if (stringTemplates != null && stringTemplates.isRegisteredName(resourceName)) {
+			String source = stringTemplates.getSource(resourceName);
+			// null means not found for Thymeleaf
+			return source == null ? null : new ByteArrayInputStream(source.getBytes(charset));
+		}
+		return new ByteArrayInputStream(resourceName.getBytes(charset));
 	}
 
 }
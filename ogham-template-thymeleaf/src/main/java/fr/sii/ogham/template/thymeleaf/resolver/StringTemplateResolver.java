@@ -1,17 +1,32 @@
 package fr.sii.ogham.template.thymeleaf.resolver;
 
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
 import org.thymeleaf.templateresolver.TemplateResolver;
 
+import fr.sii.ogham.template.thymeleaf.StringTemplateRegistry;
+
 /**
  * Template resolver that provides the template directly using the template
  * string (nothing to load or resolve).
  * 
+ * <p>
+ * The source is encoded and decoded using the same explicit charset (UTF-8 by
+ * default).
+ * </p>
+ * 
  * @author Aurélien Baudet
  *
  */
 public class StringTemplateResolver extends TemplateResolver {
     public StringTemplateResolver() {
+        this(null, StandardCharsets.UTF_8);
+    }
+
+    public StringTemplateResolver(StringTemplateRegistry stringTemplates, Charset charset) {
         super();
-        super.setResourceResolver(new StringResourceResolver());
+        super.setResourceResolver(new StringResourceResolver(stringTemplates, charset));
+        super.setCharacterEncoding(charset.name());
     }
 }
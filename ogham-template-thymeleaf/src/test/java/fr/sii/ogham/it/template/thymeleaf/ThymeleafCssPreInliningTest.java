@@ -0,0 +1,51 @@
+package fr.sii.ogham.it.template.thymeleaf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import fr.sii.ogham.core.exception.template.ParseException;
+import fr.sii.ogham.core.message.content.Content;
+import fr.sii.ogham.core.resource.resolver.ClassPathResolver;
+import fr.sii.ogham.core.template.context.BeanContext;
+import fr.sii.ogham.core.template.parser.TemplateParser;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+import fr.sii.ogham.html.inliner.TemplateCssInliner;
+import fr.sii.ogham.html.inliner.impl.jsoup.JsoupCssInliner;
+import fr.sii.ogham.mock.context.SimpleBean;
+import fr.sii.ogham.template.thymeleaf.buider.ThymeleafSmsBuilder;
+
+public class ThymeleafCssPreInliningTest {
+	private TemplateParser parser;
+
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	@Before
+	public void setUp() {
+		parser = new ThymeleafSmsBuilder()
+					.environment()
+						.systemProperties()
+						.and()
+					.classpath()
+						.lookup("classpath:", "")
+						.pathPrefix("/template/thymeleaf/source/")
+						.and()
+					.preInlineCss(new TemplateCssInliner(new JsoupCssInliner(true), new ClassPathResolver("")))
+					.build();
+	}
+
+	@Test
+	public void cssInlinedInTemplateSource() throws ParseException {
+		String first = parser.parse("classpath:preinline.html", new BeanContext(new SimpleBean("foo", 42))).toString();
+		assertTrue("style should be inlined", first.matches("(?s).*<h1 class=\"title\" style=\"color: red;\">foo</h1>.*"));
+		assertTrue("expression should be evaluated", first.contains("<p class=\"text\">42</p>"));
+		assertFalse("stylesheet should be removed", first.contains("<link"));
+		Content second = parser.parse("classpath:preinline.html", new BeanContext(new SimpleBean("bar", 12)));
+		assertEquals(first.replace("foo", "bar").replace("42", "12"), second.toString());
+	}
+}
@@ -16,6 +16,7 @@ import fr.sii.ogham.core.message.content.StringContent;
 import fr.sii.ogham.core.template.context.BeanContext;
 import fr.sii.ogham.core.template.context.LocaleContext;
 import fr.sii.ogham.core.template.parser.TemplateParser;
+import fr.sii.ogham.core.template.precompile.TemplatePrecompiler;
 import fr.sii.ogham.helper.rule.LoggingTestRule;
 import fr.sii.ogham.helper.template.AssertTemplate;
 import fr.sii.ogham.mock.context.NestedBean;
@@ -105,4 +106,19 @@ public class ThymeleafParserTest {
 	public void invalid() throws ParseException, IOException {
 		parser.parse("classpath:invalid.html", new BeanContext(new NestedBean(new SimpleBean("foo", 42))));
 	}
+	
+	@Test
+	public void precompile() throws ParseException {
+		Assert.assertTrue("existing template should be precompiled", ((TemplatePrecompiler) parser).precompile("classpath:simple.html"));
+	}
+	
+	@Test
+	public void precompileMissing() throws ParseException {
+		Assert.assertFalse("missing template should not be handled", ((TemplatePrecompiler) parser).precompile("classpath:missing.html"));
+	}
+	
+	@Test(expected=ParseException.class)
+	public void precompileInvalid() throws ParseException {
+		((TemplatePrecompiler) parser).precompile("classpath:invalid.html");
+	}
 }
@@ -0,0 +1,73 @@
+package fr.sii.ogham.it.template.thymeleaf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.thymeleaf.Template;
+import org.thymeleaf.cache.StandardCacheManager;
+
+import fr.sii.ogham.core.exception.template.ParseException;
+import fr.sii.ogham.core.template.context.BeanContext;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+import fr.sii.ogham.mock.context.SimpleBean;
+import fr.sii.ogham.template.thymeleaf.StringTemplateRegistry;
+import fr.sii.ogham.template.thymeleaf.ThymeleafParser;
+import fr.sii.ogham.template.thymeleaf.buider.ThymeleafSmsBuilder;
+
+public class ThymeleafStringTemplateTest {
+	private static final String TEMPLATE = "s:<p>héllo ñ <span th:text=\"${name}\">x</span></p>";
+
+	private ThymeleafParser parser;
+
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	@Before
+	public void setUp() {
+		parser = (ThymeleafParser) new ThymeleafSmsBuilder()
+					.environment()
+						.systemProperties()
+						.and()
+					.string()
+						.lookup("s:")
+						.and()
+					.engine()
+						.templateCacheSize(5)
+						.templateCharset(StandardCharsets.ISO_8859_1)
+						.and()
+					.build();
+	}
+
+	@Test
+	public void parsedTemplateCachedUsingDigest() throws ParseException {
+		assertEquals("<p>héllo ñ <span>foo</span></p>", parser.parse(TEMPLATE, new BeanContext(new SimpleBean("foo", 42))).toString().trim());
+		String name = parser.getStringTemplates().register(TEMPLATE);
+		assertTrue(name.startsWith(StringTemplateRegistry.NAME_PREFIX));
+		Template cached = parser.getEngine().getCacheManager().getTemplateCache().get(name);
+		assertNotNull("parsed template should be cached", cached);
+		assertEquals("<p>héllo ñ <span>bar</span></p>", parser.parse(TEMPLATE, new BeanContext(new SimpleBean("bar", 12))).toString().trim());
+		assertSame("parsed template should be reused", cached, parser.getEngine().getCacheManager().getTemplateCache().get(name));
+	}
+
+	@Test
+	public void cacheSizeApplied() {
+		assertEquals(5, ((StandardCacheManager) parser.getEngine().getCacheManager()).getTemplateCacheMaxSize());
+		assertEquals(5, parser.getStringTemplates().getMaxTemplates());
+	}
+
+	@Test
+	public void evictedTemplateRegisteredAgain() throws ParseException {
+		parser.parse(TEMPLATE, new BeanContext(new SimpleBean("foo", 42)));
+		for (int i = 0; i < 10; i++) {
+			parser.parse("s:<p th:text=\"${name}\">" + i + "</p>", new BeanContext(new SimpleBean("foo", i)));
+		}
+		assertEquals("<p>héllo ñ <span>bar</span></p>", parser.parse(TEMPLATE, new BeanContext(new SimpleBean("bar", 12))).toString().trim());
+	}
+}
@@ -0,0 +1,77 @@
+package fr.sii.ogham.ut.template.thymeleaf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.thymeleaf.templateresolver.TemplateResolver;
+
+import fr.sii.ogham.core.resource.resolver.FirstSupportingResourceResolver;
+import fr.sii.ogham.core.util.IOUtils;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+import fr.sii.ogham.template.thymeleaf.StringTemplateRegistry;
+import fr.sii.ogham.template.thymeleaf.TemplateResolverOptions;
+import fr.sii.ogham.template.thymeleaf.adapter.StringResolverAdapter;
+import fr.sii.ogham.template.thymeleaf.resolver.StringResourceResolver;
+
+public class StringTemplateRegistryTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	private StringTemplateRegistry registry;
+
+	@Before
+	public void setUp() {
+		registry = new StringTemplateRegistry(new FirstSupportingResourceResolver(new fr.sii.ogham.core.resource.resolver.StringResourceResolver("s:")), 1);
+	}
+
+	@Test
+	public void evictedByOtherThreadStillAvailableUntilReleased() throws InterruptedException {
+		final String name = registry.register("s:first");
+		Thread other = new Thread() {
+			@Override
+			public void run() {
+				registry.register("s:second");
+				registry.release();
+			}
+		};
+		other.start();
+		other.join();
+		assertEquals("first", registry.getSource(name));
+		assertNotNull(registry.getResolver(name));
+		registry.release();
+		registry.register("s:second");
+		registry.release();
+		assertNull(registry.getSource(name));
+	}
+
+	@Test
+	public void nonAsciiSourceReadWithCharset() throws IOException {
+		String name = registry.register("s:héllo ñ €");
+		StringResourceResolver resolver = new StringResourceResolver(registry, StandardCharsets.UTF_16);
+		try (InputStream stream = resolver.getResourceAsStream(null, name)) {
+			assertEquals("héllo ñ €", new String(IOUtils.toByteArray(stream), StandardCharsets.UTF_16));
+		} finally {
+			registry.release();
+		}
+	}
+
+	@Test
+	public void optionsApplied() {
+		TemplateResolverOptions options = new TemplateResolverOptions();
+		options.setCacheTtlMs(1234L);
+		options.setCharset(StandardCharsets.ISO_8859_1);
+		StringResolverAdapter adapter = new StringResolverAdapter(registry);
+		adapter.setOptions(options);
+		TemplateResolver resolver = (TemplateResolver) adapter.adapt(null);
+		assertEquals(Long.valueOf(1234L), resolver.getCacheTTLMs());
+		assertEquals("ISO-8859-1", resolver.getCharacterEncoding());
+	}
+}
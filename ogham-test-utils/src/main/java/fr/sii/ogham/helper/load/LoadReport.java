@@ -0,0 +1,102 @@
+package fr.sii.ogham.helper.load;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import fr.sii.ogham.helper.load.LoadRunner.ProducerResult;
+
+/**
+ * Measures of a load test (see {@link LoadRunner}): number of messages,
+ * errors, throughput and latency percentiles.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class LoadReport {
+	private static final double PERCENT = 100.0;
+
+	private final int messages;
+	private final int errors;
+	private final long durationNanos;
+	private final long[] sortedLatencies;
+
+	public LoadReport(int messages, int errors, long durationNanos, long[] latencies) {
+		super();
+		this.messages = messages;
+		this.errors = errors;
+		this.durationNanos = durationNanos;
+		this.sortedLatencies = Arrays.copyOf(latencies, latencies.length);
+		Arrays.sort(sortedLatencies);
+	}
+
+	static LoadReport of(List<ProducerResult> results, long durationNanos) {
+		int total = 0;
+		int errors = 0;
+		for (ProducerResult result : results) {
+			total += result.latencies.length;
+			errors += result.errors;
+		}
+		long[] latencies = new long[total];
+		int pos = 0;
+		for (ProducerResult result : results) {
+			System.arraycopy(result.latencies, 0, latencies, pos, result.latencies.length);
+			pos += result.latencies.length;
+		}
+		return new LoadReport(total, errors, durationNanos, latencies);
+	}
+
+	/**
+	 * @return the number of measured messages (sent or failed)
+	 */
+	public int getMessages() {
+		return messages;
+	}
+
+	/**
+	 * @return the number of messages that couldn't be sent
+	 */
+	public int getErrors() {
+		return errors;
+	}
+
+	/**
+	 * @return the duration of the test in milliseconds
+	 */
+	public long getDuration() {
+		return TimeUnit.NANOSECONDS.toMillis(durationNanos);
+	}
+
+	/**
+	 * @return the number of messages successfully sent per second
+	 */
+	public double getThroughput() {
+		if (durationNanos == 0) {
+			return 0;
+		}
+		return (messages - errors) * (double) TimeUnit.SECONDS.toNanos(1) / durationNanos;
+	}
+
+	/**
+	 * Get the latency under which the provided percentage of messages have
+	 * been sent (nearest-rank method).
+	 * 
+	 * @param percentile
+	 *            the percentile (between 0 and 100)
+	 * @return the latency in milliseconds
+	 */
+	public double getLatency(double percentile) {
+		if (sortedLatencies.length == 0) {
+			return 0;
+		}
+		int rank = (int) Math.ceil(percentile / PERCENT * sortedLatencies.length);
+		int index = Math.min(sortedLatencies.length - 1, Math.max(0, rank - 1));
+		return sortedLatencies[index] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%d messages (%d errors) in %d ms: %.1f msg/s, latency p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms", messages, errors, getDuration(), getThroughput(), getLatency(50),
+				getLatency(90), getLatency(99), getLatency(100));
+	}
+}
@@ -0,0 +1,190 @@
+package fr.sii.ogham.helper.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Drives a {@link MessageProducer} (typically a {@code MessagingService}) from
+ * N concurrent producers and measures throughput and latency of each sending.
+ * 
+ * <pre>
+ * LoadReport report = new LoadRunner(producer)
+ *   .producers(20)
+ *   .messagesPerProducer(500)
+ *   .warmup(50)
+ *   .run();
+ * System.out.println(report);
+ * </pre>
+ * 
+ * <p>
+ * All producers start at the same time. The first messages of each producer
+ * (see {@link #warmup(int)}) are sent but not measured.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class LoadRunner {
+	private static final Logger LOG = LoggerFactory.getLogger(LoadRunner.class);
+
+	private final MessageProducer producer;
+	private int producers = 1;
+	private int messagesPerProducer = 1;
+	private int warmup;
+	private long timeout = TimeUnit.MINUTES.toMillis(10);
+
+	public LoadRunner(MessageProducer producer) {
+		super();
+		this.producer = producer;
+	}
+
+	/**
+	 * @param producers
+	 *            the number of concurrent producers (threads)
+	 * @return this instance for fluent chaining
+	 */
+	public LoadRunner producers(int producers) {
+		this.producers = producers;
+		return this;
+	}
+
+	/**
+	 * @param messages
+	 *            the number of measured messages sent by each producer
+	 * @return this instance for fluent chaining
+	 */
+	public LoadRunner messagesPerProducer(int messages) {
+		this.messagesPerProducer = messages;
+		return this;
+	}
+
+	/**
+	 * @param messages
+	 *            the number of messages sent by each producer before measuring
+	 * @return this instance for fluent chaining
+	 */
+	public LoadRunner warmup(int messages) {
+		this.warmup = messages;
+		return this;
+	}
+
+	/**
+	 * @param timeout
+	 *            maximum duration of the test in milliseconds
+	 * @return this instance for fluent chaining
+	 */
+	public LoadRunner timeout(long timeout) {
+		this.timeout = timeout;
+		return this;
+	}
+
+	/**
+	 * Run the load test.
+	 * 
+	 * @return the measures
+	 * @throws InterruptedException
+	 *             if the thread is interrupted while waiting for producers
+	 * @throws ExecutionException
+	 *             if a producer has unexpectedly failed
+	 * @throws TimeoutException
+	 *             if the producers are not done before the timeout (see
+	 *             {@link #timeout(long)})
+	 */
+	public LoadReport run() throws InterruptedException, ExecutionException, TimeoutException {
+		ExecutorService executor = Executors.newFixedThreadPool(producers);
+		try {
+			CountDownLatch ready = new CountDownLatch(producers);
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<ProducerResult>> futures = new ArrayList<>(producers);
+			for (int i = 0; i < producers; i++) {
+				futures.add(executor.submit(new ProducerTask(i, ready, start)));
+			}
+			ready.await();
+			LOG.info("Starting load test with {} producers sending {} messages each", producers, messagesPerProducer);
+			start.countDown();
+			long begin = System.nanoTime();
+			long deadline = begin + TimeUnit.MILLISECONDS.toNanos(timeout);
+			List<ProducerResult> results = new ArrayList<>(producers);
+			for (Future<ProducerResult> future : futures) {
+				results.add(future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+			}
+			long end = results.isEmpty() ? begin : results.get(0).end;
+			long first = results.isEmpty() ? begin : results.get(0).begin;
+			for (ProducerResult result : results) {
+				end = Math.max(end, result.end);
+				first = Math.min(first, result.begin);
+			}
+			LoadReport report = LoadReport.of(results, end - first);
+			LOG.info("Load test done: {}", report);
+			return report;
+		} finally {
+			executor.shutdownNow();
+			executor.awaitTermination(timeout, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private class ProducerTask implements Callable<ProducerResult> {
+		private final int index;
+		private final CountDownLatch ready;
+		private final CountDownLatch start;
+
+		public ProducerTask(int index, CountDownLatch ready, CountDownLatch start) {
+			super();
+			this.index = index;
+			this.ready = ready;
+			this.start = start;
+		}
+
+		@Override
+		public ProducerResult call() throws Exception {
+			ready.countDown();
+			start.await();
+			for (int i = 0; i < warmup; i++) {
+				send(i);
+			}
+			ProducerResult result = new ProducerResult(messagesPerProducer);
+			result.begin = System.nanoTime();
+			for (int i = 0; i < messagesPerProducer; i++) {
+				long t = System.nanoTime();
+				if (!send(warmup + i)) {
+					result.errors++;
+				}
+				result.latencies[i] = System.nanoTime() - t;
+			}
+			result.end = System.nanoTime();
+			return result;
+		}
+
+		private boolean send(int i) {
+			try {
+				producer.send(index, i);
+				return true;
+			} catch (Exception e) {
+				LOG.debug("Producer {} failed to send message {}", index, i, e);
+				return false;
+			}
+		}
+	}
+
+	static class ProducerResult {
+		final long[] latencies;
+		int errors;
+		long begin;
+		long end;
+
+		ProducerResult(int messages) {
+			latencies = new long[messages];
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package fr.sii.ogham.helper.load;
+
+/**
+ * Sends one message during a load test. This is typically a call to
+ * {@code MessagingService.send(message)}:
+ * 
+ * <pre>
+ * new MessageProducer() {
+ *   public void send(int producer, int index) throws Exception {
+ *     service.send(new Sms().content("load " + producer + "-" + index).to("0601020304"));
+ *   }
+ * }
+ * </pre>
+ * 
+ * The implementation is called concurrently by several threads.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public interface MessageProducer {
+	/**
+	 * Send a single message.
+	 * 
+	 * @param producer
+	 *            the index of the producer (thread) that sends the message
+	 * @param index
+	 *            the index of the message for this producer
+	 * @throws Exception
+	 *             when the message couldn't be sent (counted as an error)
+	 */
+	void send(int producer, int index) throws Exception;
+}
@@ -0,0 +1,160 @@
+package fr.sii.ogham.helper.load;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Describes how a stub server degrades the exchanges in order to reproduce
+ * production conditions during load tests:
+ * <ul>
+ * <li>latency added when a connection is opened (SMTP connect, SMPP
+ * bind)</li>
+ * <li>latency added for each command (SMTP command, SMPP submit_sm)</li>
+ * <li>rate of commands/connections that fail (between 0 and 1)</li>
+ * <li>maximum number of requests/connections handled concurrently (SMPP
+ * window, concurrent SMTP connections)</li>
+ * </ul>
+ * 
+ * <pre>
+ * new StubBehavior()
+ *   .connectLatency(200)
+ *   .commandLatency(20)
+ *   .errorRate(0.01)
+ *   .window(10);
+ * </pre>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class StubBehavior {
+	private Random random;
+	private long connectLatency;
+	private long commandLatency;
+	private double errorRate;
+	private int window = Integer.MAX_VALUE;
+
+	/**
+	 * Latency in milliseconds added when a connection is opened (SMTP connect
+	 * or SMPP bind).
+	 * 
+	 * @param latency
+	 *            the latency in milliseconds
+	 * @return this instance for fluent chaining
+	 */
+	public StubBehavior connectLatency(long latency) {
+		this.connectLatency = latency;
+		return this;
+	}
+
+	/**
+	 * Latency in milliseconds added for each command.
+	 * 
+	 * @param latency
+	 *            the latency in milliseconds
+	 * @return this instance for fluent chaining
+	 */
+	public StubBehavior commandLatency(long latency) {
+		this.commandLatency = latency;
+		return this;
+	}
+
+	/**
+	 * Rate of failures (0 means never, 1 means always).
+	 * 
+	 * @param rate
+	 *            the error rate between 0 and 1
+	 * @return this instance for fluent chaining
+	 */
+	public StubBehavior errorRate(double rate) {
+		if (rate < 0 || rate > 1) {
+			throw new IllegalArgumentException("error rate must be between 0 and 1");
+		}
+		this.errorRate = rate;
+		return this;
+	}
+
+	/**
+	 * Use a seeded random generator to decide which commands/connections fail
+	 * so that a run can be reproduced. By default, failures are decided using
+	 * {@link ThreadLocalRandom} (no contention between server threads).
+	 * 
+	 * @param seed
+	 *            the seed of the random generator
+	 * @return this instance for fluent chaining
+	 */
+	public StubBehavior seed(long seed) {
+		this.random = new Random(seed);
+		return this;
+	}
+
+	/**
+	 * Maximum number of requests/connections handled concurrently.
+	 * 
+	 * @param window
+	 *            the maximum number of concurrent requests/connections
+	 * @return this instance for fluent chaining
+	 */
+	public StubBehavior window(int window) {
+		if (window <= 0) {
+			throw new IllegalArgumentException("window must be strictly positive");
+		}
+		this.window = window;
+		return this;
+	}
+
+	/**
+	 * Randomly decides if the current command/connection must fail according
+	 * to the error rate.
+	 * 
+	 * @return true if it must fail
+	 */
+	public boolean shouldFail() {
+		if (errorRate <= 0) {
+			return false;
+		}
+		Random generator = random == null ? ThreadLocalRandom.current() : random;
+		return generator.nextDouble() < errorRate;
+	}
+
+	/**
+	 * Wait for the connect latency.
+	 * 
+	 * @throws InterruptedException
+	 *             if the thread is interrupted while waiting
+	 */
+	public void connectDelay() throws InterruptedException {
+		delay(connectLatency);
+	}
+
+	/**
+	 * Wait for the command latency.
+	 * 
+	 * @throws InterruptedException
+	 *             if the thread is interrupted while waiting
+	 */
+	public void commandDelay() throws InterruptedException {
+		delay(commandLatency);
+	}
+
+	public long getConnectLatency() {
+		return connectLatency;
+	}
+
+	public long getCommandLatency() {
+		return commandLatency;
+	}
+
+	public double getErrorRate() {
+		return errorRate;
+	}
+
+	public int getWindow() {
+		return window;
+	}
+
+	private static void delay(long latency) throws InterruptedException {
+		if (latency > 0) {
+			Thread.sleep(latency);
+		}
+	}
+}
@@ -0,0 +1,200 @@
+package fr.sii.ogham.helper.load.net;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.helper.load.StubBehavior;
+
+/**
+ * TCP proxy placed in front of a server that doesn't provide any way to
+ * degrade exchanges (like GreenMail). It applies a {@link StubBehavior}:
+ * <ul>
+ * <li>each accepted connection is delayed by the connect latency</li>
+ * <li>each chunk of data sent by the client (a command for line-based
+ * protocols) is delayed by the command latency</li>
+ * <li>according to the error rate, some connections are closed as soon as
+ * they are accepted</li>
+ * <li>connections over the window are immediately closed</li>
+ * </ul>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class DelayingTcpProxy {
+	private static final Logger LOG = LoggerFactory.getLogger(DelayingTcpProxy.class);
+	private static final int BUFFER_SIZE = 8192;
+
+	private final int port;
+	private final String targetHost;
+	private final int targetPort;
+	private final StubBehavior behavior;
+	private final Semaphore window;
+	private final AtomicInteger rejected = new AtomicInteger();
+	private final Set<Socket> sockets = Collections.newSetFromMap(new ConcurrentHashMap<Socket, Boolean>());
+	private ServerSocket serverSocket;
+	private ExecutorService executor;
+
+	public DelayingTcpProxy(int port, String targetHost, int targetPort, StubBehavior behavior) {
+		super();
+		this.port = port;
+		this.targetHost = targetHost;
+		this.targetPort = targetPort;
+		this.behavior = behavior;
+		this.window = new Semaphore(behavior.getWindow());
+	}
+
+	/**
+	 * Start listening on the port.
+	 * 
+	 * @throws IOException
+	 *             when the port couldn't be opened
+	 */
+	public void start() throws IOException {
+		serverSocket = new ServerSocket();
+		serverSocket.setReuseAddress(true);
+		serverSocket.bind(new InetSocketAddress(port));
+		executor = Executors.newCachedThreadPool();
+		executor.execute(new Runnable() {
+			@Override
+			public void run() {
+				acceptLoop();
+			}
+		});
+	}
+
+	/**
+	 * Stop listening and close all opened connections.
+	 * 
+	 * @throws IOException
+	 *             when the port couldn't be closed
+	 */
+	public void stop() throws IOException {
+		serverSocket.close();
+		for (Socket socket : sockets) {
+			closeQuietly(socket);
+		}
+		executor.shutdownNow();
+		try {
+			executor.awaitTermination(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public int getPort() {
+		return port;
+	}
+
+	/**
+	 * @return the number of connections that have been closed due to error
+	 *         rate or window
+	 */
+	public int getRejected() {
+		return rejected.get();
+	}
+
+	private void acceptLoop() {
+		while (!serverSocket.isClosed()) {
+			try {
+				final Socket client = serverSocket.accept();
+				if (!window.tryAcquire()) {
+					LOG.debug("Too many concurrent connections, closing {}", client);
+					reject(client);
+					continue;
+				}
+				executor.execute(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							handle(client);
+						} finally {
+							window.release();
+						}
+					}
+				});
+			} catch (SocketException e) {
+				LOG.trace("Proxy server socket closed", e);
+			} catch (IOException e) {
+				LOG.warn("Failed to accept connection", e);
+			}
+		}
+	}
+
+	private void handle(Socket client) {
+		try {
+			behavior.connectDelay();
+			if (behavior.shouldFail()) {
+				LOG.debug("Simulating connection failure for {}", client);
+				reject(client);
+				return;
+			}
+			final Socket server = new Socket(targetHost, targetPort);
+			sockets.add(client);
+			sockets.add(server);
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					pipe(server, client, false);
+				}
+			});
+			pipe(client, server, true);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			closeQuietly(client);
+		} catch (IOException e) {
+			LOG.warn("Failed to connect to {}:{}", targetHost, targetPort, e);
+			closeQuietly(client);
+		}
+	}
+
+	private void pipe(Socket from, Socket to, boolean delayed) {
+		byte[] buffer = new byte[BUFFER_SIZE];
+		try (InputStream in = from.getInputStream(); OutputStream out = to.getOutputStream()) {
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				if (delayed) {
+					behavior.commandDelay();
+				}
+				out.write(buffer, 0, read);
+				out.flush();
+			}
+		} catch (IOException e) {
+			LOG.trace("Connection closed", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			closeQuietly(from);
+			closeQuietly(to);
+		}
+	}
+
+	private void reject(Socket socket) {
+		rejected.incrementAndGet();
+		closeQuietly(socket);
+	}
+
+	private void closeQuietly(Socket socket) {
+		sockets.remove(socket);
+		try {
+			socket.close();
+		} catch (IOException e) {
+			LOG.trace("Failed to close socket", e);
+		}
+	}
+}
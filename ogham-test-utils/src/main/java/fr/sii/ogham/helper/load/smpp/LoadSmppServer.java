@@ -0,0 +1,78 @@
+package fr.sii.ogham.helper.load.smpp;
+
+import java.util.List;
+
+import com.cloudhopper.smpp.SmppServerConfiguration;
+import com.cloudhopper.smpp.impl.DefaultSmppServer;
+import com.cloudhopper.smpp.pdu.PduRequest;
+import com.cloudhopper.smpp.type.SmppChannelException;
+
+import fr.sii.ogham.helper.load.StubBehavior;
+import fr.sii.ogham.helper.sms.rule.SmppServerException;
+import fr.sii.ogham.helper.sms.rule.SmppServerRule;
+import fr.sii.ogham.helper.sms.rule.SmppServerSimulator;
+
+/**
+ * SMPP server (based on Cloudhopper) that degrades exchanges according to a
+ * {@link StubBehavior}:
+ * <ul>
+ * <li>bind is delayed by the connect latency and may fail</li>
+ * <li>each request is delayed by the command latency and submit_sm may
+ * fail</li>
+ * <li>the window of each session is limited</li>
+ * </ul>
+ * 
+ * <p>
+ * Any credentials are accepted. The server can be used directly or through
+ * {@link SmppServerRule}.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class LoadSmppServer implements SmppServerSimulator<PduRequest> {
+	private final DefaultSmppServer server;
+	private final LoadSmppServerHandler serverHandler;
+
+	public LoadSmppServer(int port, StubBehavior behavior) {
+		super();
+		this.serverHandler = new LoadSmppServerHandler(behavior);
+		SmppServerConfiguration configuration = new SmppServerConfiguration();
+		configuration.setPort(port);
+		configuration.setSystemId("cloudhopper");
+		configuration.setDefaultWindowSize(behavior.getWindow());
+		configuration.setMaxConnectionSize(Integer.MAX_VALUE);
+		this.server = new DefaultSmppServer(configuration, serverHandler);
+	}
+
+	@Override
+	public void start() throws SmppServerException {
+		try {
+			server.start();
+		} catch (SmppChannelException e) {
+			throw new SmppServerException("failed to start SMPP server", e);
+		}
+	}
+
+	@Override
+	public void stop() {
+		server.destroy();
+	}
+
+	@Override
+	public int getPort() {
+		return server.getConfiguration().getPort();
+	}
+
+	@Override
+	public List<PduRequest> getReceivedMessages() {
+		return serverHandler.getSessionHandler().getReceivedPduRequests();
+	}
+
+	/**
+	 * @return the number of requests that have been answered with an error
+	 */
+	public int getFailures() {
+		return serverHandler.getSessionHandler().getFailures();
+	}
+}
@@ -0,0 +1,57 @@
+package fr.sii.ogham.helper.load.smpp;
+
+import com.cloudhopper.smpp.SmppConstants;
+import com.cloudhopper.smpp.SmppServerHandler;
+import com.cloudhopper.smpp.SmppServerSession;
+import com.cloudhopper.smpp.SmppSessionConfiguration;
+import com.cloudhopper.smpp.pdu.BaseBind;
+import com.cloudhopper.smpp.pdu.BaseBindResp;
+import com.cloudhopper.smpp.type.SmppProcessingException;
+
+import fr.sii.ogham.helper.load.StubBehavior;
+
+/**
+ * Server handler that applies the connect latency on bind, rejects some binds
+ * according to the error rate and limits the window of each session.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class LoadSmppServerHandler implements SmppServerHandler {
+	private final StubBehavior behavior;
+	private final LoadSmppSessionHandler sessionHandler;
+
+	public LoadSmppServerHandler(StubBehavior behavior) {
+		super();
+		this.behavior = behavior;
+		this.sessionHandler = new LoadSmppSessionHandler(behavior);
+	}
+
+	@Override
+	public void sessionBindRequested(Long sessionId, SmppSessionConfiguration sessionConfiguration, BaseBind bindRequest) throws SmppProcessingException {
+		try {
+			behavior.connectDelay();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SmppProcessingException(SmppConstants.STATUS_BINDFAIL);
+		}
+		if (behavior.shouldFail()) {
+			throw new SmppProcessingException(SmppConstants.STATUS_BINDFAIL);
+		}
+		sessionConfiguration.setWindowSize(behavior.getWindow());
+	}
+
+	@Override
+	public void sessionCreated(Long sessionId, SmppServerSession session, BaseBindResp preparedBindResponse) {
+		session.serverReady(sessionHandler);
+	}
+
+	@Override
+	public void sessionDestroyed(Long sessionId, SmppServerSession session) {
+		session.destroy();
+	}
+
+	public LoadSmppSessionHandler getSessionHandler() {
+		return sessionHandler;
+	}
+}
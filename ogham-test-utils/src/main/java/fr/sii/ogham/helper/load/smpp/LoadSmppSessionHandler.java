@@ -0,0 +1,66 @@
+package fr.sii.ogham.helper.load.smpp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.cloudhopper.smpp.SmppConstants;
+import com.cloudhopper.smpp.impl.DefaultSmppSessionHandler;
+import com.cloudhopper.smpp.pdu.PduRequest;
+import com.cloudhopper.smpp.pdu.PduResponse;
+
+import fr.sii.ogham.helper.load.StubBehavior;
+
+/**
+ * Session handler that answers every request after the configured command
+ * latency. According to the error rate, some requests are answered with
+ * {@link SmppConstants#STATUS_SYSERR}.
+ * 
+ * <p>
+ * The handler is shared by all sessions so received requests are stored in a
+ * thread-safe structure.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class LoadSmppSessionHandler extends DefaultSmppSessionHandler {
+	private final StubBehavior behavior;
+	private final ConcurrentLinkedQueue<PduRequest> receivedPduRequests = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger failures = new AtomicInteger();
+
+	public LoadSmppSessionHandler(StubBehavior behavior) {
+		super();
+		this.behavior = behavior;
+	}
+
+	@Override
+	@SuppressWarnings("rawtypes")
+	public PduResponse firePduRequestReceived(PduRequest pduRequest) {
+		try {
+			behavior.commandDelay();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		PduResponse response = pduRequest.createResponse();
+		if (pduRequest.getCommandId() == SmppConstants.CMD_ID_SUBMIT_SM && behavior.shouldFail()) {
+			failures.incrementAndGet();
+			response.setCommandStatus(SmppConstants.STATUS_SYSERR);
+			return response;
+		}
+		receivedPduRequests.add(pduRequest);
+		return response;
+	}
+
+	public List<PduRequest> getReceivedPduRequests() {
+		return new ArrayList<>(receivedPduRequests);
+	}
+
+	/**
+	 * @return the number of requests that have been answered with an error
+	 */
+	public int getFailures() {
+		return failures.get();
+	}
+}
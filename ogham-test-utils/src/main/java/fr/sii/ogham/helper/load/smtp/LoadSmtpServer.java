@@ -0,0 +1,81 @@
+package fr.sii.ogham.helper.load.smtp;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.mail.internet.MimeMessage;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+
+import fr.sii.ogham.helper.load.StubBehavior;
+import fr.sii.ogham.helper.load.net.DelayingTcpProxy;
+
+/**
+ * SMTP server (based on GreenMail) that degrades exchanges according to a
+ * {@link StubBehavior}. GreenMail listens on a backend port and a
+ * {@link DelayingTcpProxy} listens on the public port:
+ * <ul>
+ * <li>connection is delayed by the connect latency and may be closed
+ * according to the error rate</li>
+ * <li>each SMTP command is delayed by the command latency</li>
+ * <li>the number of concurrent connections is limited by the window</li>
+ * </ul>
+ * 
+ * <p>
+ * Clients must connect to {@link #getPort()}.
+ * </p>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class LoadSmtpServer {
+	private static final String LOCALHOST = "127.0.0.1";
+
+	private final GreenMail greenMail;
+	private final DelayingTcpProxy proxy;
+
+	/**
+	 * @param port
+	 *            the port clients connect to
+	 * @param backendPort
+	 *            the port used by GreenMail
+	 * @param behavior
+	 *            how exchanges are degraded
+	 */
+	public LoadSmtpServer(int port, int backendPort, StubBehavior behavior) {
+		super();
+		this.greenMail = new GreenMail(new ServerSetup(backendPort, LOCALHOST, ServerSetup.PROTOCOL_SMTP));
+		this.proxy = new DelayingTcpProxy(port, LOCALHOST, backendPort, behavior);
+	}
+
+	public void start() throws IOException {
+		greenMail.start();
+		proxy.start();
+	}
+
+	public void stop() throws IOException {
+		try {
+			proxy.stop();
+		} finally {
+			greenMail.stop();
+		}
+	}
+
+	public int getPort() {
+		return proxy.getPort();
+	}
+
+	public List<MimeMessage> getReceivedMessages() {
+		return Arrays.asList(greenMail.getReceivedMessages());
+	}
+
+	/**
+	 * @return the number of connections that have been closed due to error
+	 *         rate or window
+	 */
+	public int getRejected() {
+		return proxy.getRejected();
+	}
+}
@@ -0,0 +1,57 @@
+package fr.sii.ogham.ut.helper.load;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import fr.sii.ogham.helper.load.LoadReport;
+
+public class LoadReportTest {
+	private static final double DELTA = 0.0001;
+
+	@Test
+	public void percentilesUseNearestRank() {
+		long[] latencies = new long[100];
+		for (int i = 0; i < latencies.length; i++) {
+			// unsorted on purpose: 100ms, 99ms, ..., 1ms
+			latencies[i] = TimeUnit.MILLISECONDS.toNanos(latencies.length - i);
+		}
+		LoadReport report = new LoadReport(100, 0, TimeUnit.SECONDS.toNanos(1), latencies);
+		assertEquals(1, report.getLatency(0), DELTA);
+		assertEquals(1, report.getLatency(1), DELTA);
+		assertEquals(50, report.getLatency(50), DELTA);
+		assertEquals(90, report.getLatency(90), DELTA);
+		assertEquals(99, report.getLatency(99), DELTA);
+		assertEquals(100, report.getLatency(100), DELTA);
+	}
+
+	@Test
+	public void percentilesOnFewMeasures() {
+		long[] latencies = { ms(40), ms(10), ms(30), ms(20) };
+		LoadReport report = new LoadReport(4, 0, ms(100), latencies);
+		assertEquals(20, report.getLatency(50), DELTA);
+		assertEquals(30, report.getLatency(51), DELTA);
+		assertEquals(40, report.getLatency(90), DELTA);
+		assertEquals(40, report.getLatency(100), DELTA);
+	}
+
+	@Test
+	public void throughputOnlyCountsSuccessfulMessages() {
+		LoadReport report = new LoadReport(100, 20, TimeUnit.SECONDS.toNanos(2), new long[100]);
+		assertEquals(40, report.getThroughput(), DELTA);
+		assertEquals(2000, report.getDuration());
+	}
+
+	@Test
+	public void emptyReport() {
+		LoadReport report = new LoadReport(0, 0, 0, new long[0]);
+		assertEquals(0, report.getThroughput(), DELTA);
+		assertEquals(0, report.getLatency(99), DELTA);
+	}
+
+	private static long ms(long millis) {
+		return TimeUnit.MILLISECONDS.toNanos(millis);
+	}
+}
@@ -0,0 +1,73 @@
+package fr.sii.ogham.ut.helper.load;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import fr.sii.ogham.helper.load.LoadReport;
+import fr.sii.ogham.helper.load.LoadRunner;
+import fr.sii.ogham.helper.load.MessageProducer;
+import fr.sii.ogham.helper.load.StubBehavior;
+import fr.sii.ogham.helper.rule.LoggingTestRule;
+
+public class LoadRunnerTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	@Test
+	public void warmupMessagesAreSentButNotMeasured() throws InterruptedException, ExecutionException, TimeoutException {
+		final AtomicInteger sent = new AtomicInteger();
+		LoadReport report = new LoadRunner(new MessageProducer() {
+			@Override
+			public void send(int producer, int message) throws Exception {
+				sent.incrementAndGet();
+			}
+		}).producers(4).messagesPerProducer(10).warmup(5).run();
+		assertEquals(60, sent.get());
+		assertEquals(40, report.getMessages());
+		assertEquals(0, report.getErrors());
+	}
+
+	@Test
+	public void failuresAreCounted() throws InterruptedException, ExecutionException, TimeoutException {
+		LoadReport report = new LoadRunner(new MessageProducer() {
+			@Override
+			public void send(int producer, int message) throws Exception {
+				if (message % 2 == 0) {
+					throw new IllegalStateException("failure");
+				}
+			}
+		}).producers(2).messagesPerProducer(10).run();
+		assertEquals(20, report.getMessages());
+		assertEquals(10, report.getErrors());
+	}
+
+	@Test(expected = TimeoutException.class)
+	public void producersThatNeverEndTimeout() throws InterruptedException, ExecutionException, TimeoutException {
+		new LoadRunner(new MessageProducer() {
+			@Override
+			public void send(int producer, int message) throws Exception {
+				Thread.sleep(10000);
+			}
+		}).producers(2).timeout(100).run();
+	}
+
+	@Test
+	public void seededBehaviorIsReproducible() {
+		StubBehavior first = new StubBehavior().errorRate(0.5).seed(42);
+		StubBehavior second = new StubBehavior().errorRate(0.5).seed(42);
+		int failures = 0;
+		for (int i = 0; i < 100; i++) {
+			boolean fail = first.shouldFail();
+			assertEquals(fail, second.shouldFail());
+			failures += fail ? 1 : 0;
+		}
+		assertTrue("some but not all commands should fail", failures > 0 && failures < 100);
+	}
+}